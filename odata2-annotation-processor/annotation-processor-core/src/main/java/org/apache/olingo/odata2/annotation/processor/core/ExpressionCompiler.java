@@ -0,0 +1,490 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.annotation.processor.core;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.olingo.odata2.annotation.processor.core.datasource.ValueAccess;
+import org.apache.olingo.odata2.api.edm.EdmFacets;
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.edm.EdmType;
+import org.apache.olingo.odata2.api.edm.EdmTypeKind;
+import org.apache.olingo.odata2.api.edm.EdmTyped;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.exception.ODataNotImplementedException;
+import org.apache.olingo.odata2.api.uri.expression.BinaryExpression;
+import org.apache.olingo.odata2.api.uri.expression.BinaryOperator;
+import org.apache.olingo.odata2.api.uri.expression.CommonExpression;
+import org.apache.olingo.odata2.api.uri.expression.ExpressionKind;
+import org.apache.olingo.odata2.api.uri.expression.LiteralExpression;
+import org.apache.olingo.odata2.api.uri.expression.MemberExpression;
+import org.apache.olingo.odata2.api.uri.expression.MethodExpression;
+import org.apache.olingo.odata2.api.uri.expression.MethodOperator;
+import org.apache.olingo.odata2.api.uri.expression.PropertyExpression;
+import org.apache.olingo.odata2.api.uri.expression.UnaryExpression;
+import org.apache.olingo.odata2.api.uri.expression.UnaryOperator;
+
+/**
+ * <p>Compiles a filter or order-by expression tree into a tree of {@link Evaluator}s.</p>
+ * <p>The compilation is done once per request; property paths, literal values and the
+ * Java representation of every operand are resolved in advance so that evaluating the
+ * expression for each data object works on typed values (<code>Long</code> for integral
+ * numbers, <code>BigDecimal</code> for <code>Edm.Decimal</code>, <code>Double</code> for
+ * <code>Edm.Double</code> and <code>Edm.Single</code>, <code>Long</code> milliseconds for
+ * date/time values, <code>Boolean</code> and <code>String</code>) without any string
+ * conversion. Numbers of different kinds are compared and combined as <code>BigDecimal</code>
+ * if one of them is a <code>BigDecimal</code>, so decimal values keep their precision.</p>
+ */
+class ExpressionCompiler {
+
+  /**
+   * Compiled expression which can be evaluated for a data object.
+   */
+  abstract static class Evaluator {
+    abstract Object evaluate(Object data) throws ODataException;
+  }
+
+  private static final BigDecimal HALF = new BigDecimal("0.5");
+
+  private final ValueAccess valueAccess;
+
+  ExpressionCompiler(final ValueAccess valueAccess) {
+    this.valueAccess = valueAccess;
+  }
+
+  /**
+   * Compiles the given expression.
+   * @param expression the expression
+   * @return the compiled expression
+   * @throws ODataException if the expression is not supported
+   */
+  Evaluator compile(final CommonExpression expression) throws ODataException {
+    return compile(expression, false);
+  }
+
+  private Evaluator compile(final CommonExpression expression, final boolean asText) throws ODataException {
+    switch (expression.getKind()) {
+    case UNARY:
+      return compileUnary((UnaryExpression) expression);
+    case BINARY:
+      return compileBinary((BinaryExpression) expression);
+    case PROPERTY:
+      final EdmProperty property = (EdmProperty) ((PropertyExpression) expression).getEdmProperty();
+      final List<EdmProperty> path = new ArrayList<EdmProperty>();
+      path.add(property);
+      return new PropertyEvaluator(path, (EdmSimpleType) property.getType(), property.getFacets(), asText);
+    case MEMBER:
+      return compileMember((MemberExpression) expression, asText);
+    case LITERAL:
+      final LiteralExpression literal = (LiteralExpression) expression;
+      final EdmSimpleType literalType = (EdmSimpleType) literal.getEdmType();
+      final Object literalValue = literalType.valueOfString(literal.getUriLiteral(), EdmLiteralKind.URI, null,
+          literalType.getDefaultType());
+      final Object value = asText ?
+          literalType.valueToString(literalValue, EdmLiteralKind.DEFAULT, null) :
+          normalize(literalType, null, literalValue);
+      return new Evaluator() {
+        @Override
+        Object evaluate(final Object data) {
+          return value;
+        }
+      };
+    case METHOD:
+      return compileMethod((MethodExpression) expression);
+    default:
+      throw new ODataNotImplementedException();
+    }
+  }
+
+  private Evaluator compileUnary(final UnaryExpression expression) throws ODataException {
+    final Evaluator operand = compile(expression.getOperand());
+    final UnaryOperator operator = expression.getOperator();
+    if (operator != UnaryOperator.NOT && operator != UnaryOperator.MINUS) {
+      throw new ODataNotImplementedException();
+    }
+    return new Evaluator() {
+      @Override
+      Object evaluate(final Object data) throws ODataException {
+        final Object value = operand.evaluate(data);
+        if (operator == UnaryOperator.NOT) {
+          return !Boolean.TRUE.equals(value);
+        } else if (value instanceof Long) {
+          return -((Long) value);
+        } else if (value instanceof BigDecimal) {
+          return ((BigDecimal) value).negate();
+        } else {
+          return value == null ? null : -((Number) value).doubleValue();
+        }
+      }
+    };
+  }
+
+  private Evaluator compileBinary(final BinaryExpression expression) throws ODataException {
+    final Evaluator left = compile(expression.getLeftOperand());
+    final Evaluator right = compile(expression.getRightOperand());
+    final BinaryOperator operator = expression.getOperator();
+    final boolean decimal = isDecimal(expression.getEdmType()) || isFloatingPoint(expression.getEdmType());
+    if (operator == BinaryOperator.PROPERTY_ACCESS) {
+      throw new ODataNotImplementedException();
+    }
+    return new Evaluator() {
+      @Override
+      Object evaluate(final Object data) throws ODataException {
+        final Object first = left.evaluate(data);
+        switch (operator) {
+        case AND:
+          return Boolean.TRUE.equals(first) && Boolean.TRUE.equals(right.evaluate(data));
+        case OR:
+          return Boolean.TRUE.equals(first) || Boolean.TRUE.equals(right.evaluate(data));
+        default:
+          break;
+        }
+        final Object second = right.evaluate(data);
+        switch (operator) {
+        case EQ:
+          return isEqual(first, second);
+        case NE:
+          return !isEqual(first, second);
+        case LT:
+          return first != null && second != null && compare(first, second) < 0;
+        case LE:
+          return first != null && second != null && compare(first, second) <= 0;
+        case GT:
+          return first != null && second != null && compare(first, second) > 0;
+        case GE:
+          return first != null && second != null && compare(first, second) >= 0;
+        default:
+          return calculate(operator, decimal, (Number) first, (Number) second);
+        }
+      }
+    };
+  }
+
+  private static Object calculate(final BinaryOperator operator, final boolean decimal, final Number left,
+      final Number right) throws ODataException {
+    if (left == null || right == null) {
+      return null;
+    }
+    if (isBigDecimalOperation(left, right)) {
+      final BigDecimal first = toBigDecimal(left);
+      final BigDecimal second = toBigDecimal(right);
+      switch (operator) {
+      case ADD:
+        return first.add(second);
+      case SUB:
+        return first.subtract(second);
+      case MUL:
+        return first.multiply(second);
+      case DIV:
+        return first.divide(second, MathContext.DECIMAL128);
+      case MODULO:
+        return first.remainder(second);
+      default:
+        throw new ODataNotImplementedException();
+      }
+    } else if (operator == BinaryOperator.DIV) {
+      return left.doubleValue() / right.doubleValue();
+    } else if (decimal) {
+      final double first = left.doubleValue();
+      final double second = right.doubleValue();
+      switch (operator) {
+      case ADD:
+        return first + second;
+      case SUB:
+        return first - second;
+      case MUL:
+        return first * second;
+      case MODULO:
+        return first % second;
+      default:
+        throw new ODataNotImplementedException();
+      }
+    } else {
+      final long first = left.longValue();
+      final long second = right.longValue();
+      switch (operator) {
+      case ADD:
+        return first + second;
+      case SUB:
+        return first - second;
+      case MUL:
+        return first * second;
+      case MODULO:
+        return first % second;
+      default:
+        throw new ODataNotImplementedException();
+      }
+    }
+  }
+
+  private Evaluator compileMember(final MemberExpression memberExpression, final boolean asText)
+      throws ODataException {
+    final PropertyExpression propertyExpression = (PropertyExpression) memberExpression.getProperty();
+    final EdmProperty memberProperty = (EdmProperty) propertyExpression.getEdmProperty();
+    List<EdmProperty> propertyPath = new ArrayList<EdmProperty>();
+    CommonExpression currentExpression = memberExpression;
+    while (currentExpression != null) {
+      final PropertyExpression currentPropertyExpression =
+          (PropertyExpression) (currentExpression.getKind() == ExpressionKind.MEMBER ?
+              ((MemberExpression) currentExpression).getProperty() : currentExpression);
+      final EdmTyped currentProperty = currentPropertyExpression.getEdmProperty();
+      final EdmTypeKind kind = currentProperty.getType().getKind();
+      if (kind == EdmTypeKind.SIMPLE || kind == EdmTypeKind.COMPLEX) {
+        propertyPath.add(0, (EdmProperty) currentProperty);
+      } else {
+        throw new ODataNotImplementedException();
+      }
+      currentExpression =
+          currentExpression.getKind() == ExpressionKind.MEMBER ? ((MemberExpression) currentExpression).getPath()
+              : null;
+    }
+    return new PropertyEvaluator(propertyPath, (EdmSimpleType) memberExpression.getEdmType(),
+        memberProperty.getFacets(), asText);
+  }
+
+  private Evaluator compileMethod(final MethodExpression methodExpression) throws ODataException {
+    final MethodOperator method = methodExpression.getMethod();
+    // The date and time parts are extracted from the canonical string representation.
+    final boolean asText = method == MethodOperator.YEAR || method == MethodOperator.MONTH
+        || method == MethodOperator.DAY || method == MethodOperator.HOUR
+        || method == MethodOperator.MINUTE || method == MethodOperator.SECOND;
+    final List<CommonExpression> parameters = methodExpression.getParameters();
+    final Evaluator firstParameter = compile(parameters.get(0), asText);
+    final Evaluator secondParameter = parameters.size() > 1 ? compile(parameters.get(1)) : null;
+    final Evaluator thirdParameter = parameters.size() > 2 ? compile(parameters.get(2)) : null;
+
+    return new Evaluator() {
+      @Override
+      Object evaluate(final Object data) throws ODataException {
+        final Object first = firstParameter.evaluate(data);
+        final Object second = secondParameter == null ? null : secondParameter.evaluate(data);
+        if (first == null) {
+          return null;
+        }
+        switch (method) {
+        case ENDSWITH:
+          return toText(first).endsWith(toText(second));
+        case INDEXOF:
+          return (long) toText(first).indexOf(toText(second));
+        case STARTSWITH:
+          return toText(first).startsWith(toText(second));
+        case TOLOWER:
+          return toText(first).toLowerCase(Locale.ROOT);
+        case TOUPPER:
+          return toText(first).toUpperCase(Locale.ROOT);
+        case TRIM:
+          return toText(first).trim();
+        case SUBSTRING:
+          final String text = toText(first);
+          final int offset = second == null ? 0 : ((Number) second).intValue();
+          final Object third = thirdParameter == null ? null : thirdParameter.evaluate(data);
+          return third == null ? text.substring(offset) : text.substring(offset, offset + ((Number) third).intValue());
+        case SUBSTRINGOF:
+          return second != null && toText(second).contains(toText(first));
+        case CONCAT:
+          return toText(first) + (second == null ? "" : toText(second));
+        case LENGTH:
+          return (long) toText(first).length();
+        case YEAR:
+          return Long.parseLong(toText(first).substring(0, 4));
+        case MONTH:
+          return Long.parseLong(toText(first).substring(5, 7));
+        case DAY:
+          return Long.parseLong(toText(first).substring(8, 10));
+        case HOUR:
+          return Long.parseLong(toText(first).substring(11, 13));
+        case MINUTE:
+          return Long.parseLong(toText(first).substring(14, 16));
+        case SECOND:
+          return Long.parseLong(toText(first).substring(17, 19));
+        case ROUND:
+          if (first instanceof BigDecimal) {
+            // rounds half up towards positive infinity like Math.round
+            return ((BigDecimal) first).add(HALF).setScale(0, RoundingMode.FLOOR).longValue();
+          }
+          return Math.round(((Number) first).doubleValue());
+        case FLOOR:
+          if (first instanceof BigDecimal) {
+            return ((BigDecimal) first).setScale(0, RoundingMode.FLOOR).longValue();
+          }
+          return Math.round(Math.floor(((Number) first).doubleValue()));
+        case CEILING:
+          if (first instanceof BigDecimal) {
+            return ((BigDecimal) first).setScale(0, RoundingMode.CEILING).longValue();
+          }
+          return Math.round(Math.ceil(((Number) first).doubleValue()));
+        default:
+          throw new ODataNotImplementedException();
+        }
+      }
+    };
+  }
+
+  /**
+   * Reads a (possibly nested) property value and converts it into its typed Java representation.
+   */
+  private class PropertyEvaluator extends Evaluator {
+    private final EdmProperty[] path;
+    private final EdmSimpleType type;
+    private final EdmFacets facets;
+    private final boolean asText;
+
+    PropertyEvaluator(final List<EdmProperty> path, final EdmSimpleType type, final EdmFacets facets,
+        final boolean asText) {
+      this.path = path.toArray(new EdmProperty[path.size()]);
+      this.type = type;
+      this.facets = facets;
+      this.asText = asText;
+    }
+
+    @Override
+    Object evaluate(final Object data) throws ODataException {
+      Object value = data;
+      for (final EdmProperty property : path) {
+        if (value == null) {
+          return null;
+        }
+        value = valueAccess.getPropertyValue(value, property);
+      }
+      return asText ? type.valueToString(value, EdmLiteralKind.DEFAULT, facets) : normalize(type, facets, value);
+    }
+  }
+
+  /**
+   * Converts a value of the given simple type into the Java representation used for evaluation.
+   */
+  private static Object normalize(final EdmSimpleType type, final EdmFacets facets, final Object value)
+      throws ODataException {
+    if (value == null) {
+      return null;
+    } else if (isIntegral(type)) {
+      return value instanceof Number ? Long.valueOf(((Number) value).longValue()) :
+          Long.valueOf(type.valueToString(value, EdmLiteralKind.DEFAULT, facets));
+    } else if (isDecimal(type)) {
+      return value instanceof Number && isFinite((Number) value) ? toBigDecimal((Number) value) :
+          new BigDecimal(type.valueToString(value, EdmLiteralKind.DEFAULT, facets));
+    } else if (isFloatingPoint(type)) {
+      return value instanceof Number ? Double.valueOf(((Number) value).doubleValue()) :
+          Double.valueOf(type.valueToString(value, EdmLiteralKind.DEFAULT, facets));
+    } else if (type == EdmSimpleTypeKind.Boolean.getEdmSimpleTypeInstance()) {
+      return value instanceof Boolean ? value :
+          Boolean.valueOf(type.valueToString(value, EdmLiteralKind.DEFAULT, facets));
+    } else if (type == EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance()
+        || type == EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance()) {
+      if (value instanceof Calendar) {
+        return ((Calendar) value).getTimeInMillis();
+      } else if (value instanceof Date) {
+        return ((Date) value).getTime();
+      } else if (value instanceof Long) {
+        return value;
+      } else {
+        return type.valueOfString(type.valueToString(value, EdmLiteralKind.DEFAULT, facets),
+            EdmLiteralKind.DEFAULT, facets, Calendar.class).getTimeInMillis();
+      }
+    } else {
+      return type.valueToString(value, EdmLiteralKind.DEFAULT, facets);
+    }
+  }
+
+  private static boolean isIntegral(final EdmType type) {
+    // the default type covers also internal types like the one for unsigned 7-bit literals
+    final Class<?> defaultType = type instanceof EdmSimpleType ? ((EdmSimpleType) type).getDefaultType() : null;
+    return defaultType == Long.class || defaultType == Integer.class
+        || defaultType == Short.class || defaultType == Byte.class;
+  }
+
+  private static boolean isDecimal(final EdmType type) {
+    return type == EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance();
+  }
+
+  private static boolean isFloatingPoint(final EdmType type) {
+    return type == EdmSimpleTypeKind.Double.getEdmSimpleTypeInstance()
+        || type == EdmSimpleTypeKind.Single.getEdmSimpleTypeInstance();
+  }
+
+  private static boolean isFinite(final Number value) {
+    return !(value instanceof Double || value instanceof Float)
+        || !Double.isNaN(value.doubleValue()) && !Double.isInfinite(value.doubleValue());
+  }
+
+  /**
+   * Whether two numbers are combined as <code>BigDecimal</code>; a non-finite floating-point
+   * number has no <code>BigDecimal</code> representation.
+   */
+  private static boolean isBigDecimalOperation(final Number first, final Number second) {
+    return (first instanceof BigDecimal || second instanceof BigDecimal) && isFinite(first) && isFinite(second);
+  }
+
+  private static BigDecimal toBigDecimal(final Number value) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    } else if (value instanceof Double || value instanceof Float) {
+      return BigDecimal.valueOf(value.doubleValue());
+    } else {
+      return new BigDecimal(value.toString());
+    }
+  }
+
+  private static String toText(final Object value) {
+    return value == null ? null : value instanceof String ? (String) value : String.valueOf(value);
+  }
+
+  private static boolean isEqual(final Object first, final Object second) {
+    if (first == null || second == null) {
+      return first == second;
+    } else if (first instanceof Number && second instanceof Number
+        && isBigDecimalOperation((Number) first, (Number) second)) {
+      return toBigDecimal((Number) first).compareTo(toBigDecimal((Number) second)) == 0;
+    } else if (first instanceof Number && second instanceof Number
+        && !(first instanceof Long && second instanceof Long)) {
+      return ((Number) first).doubleValue() == ((Number) second).doubleValue();
+    } else {
+      return first.equals(second);
+    }
+  }
+
+  /**
+   * Compares two non-null values of the same kind.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static int compare(final Object first, final Object second) {
+    if (first instanceof Long && second instanceof Long) {
+      return ((Long) first).compareTo((Long) second);
+    } else if (first instanceof Number && second instanceof Number
+        && isBigDecimalOperation((Number) first, (Number) second)) {
+      return toBigDecimal((Number) first).compareTo(toBigDecimal((Number) second));
+    } else if (first instanceof Number && second instanceof Number) {
+      return Double.compare(((Number) first).doubleValue(), ((Number) second).doubleValue());
+    } else if (first.getClass() == second.getClass() && first instanceof Comparable) {
+      return ((Comparable) first).compareTo(second);
+    } else {
+      return toText(first).compareTo(toText(second));
+    }
+  }
+}
@@ -21,14 +21,15 @@ package org.apache.olingo.odata2.annotation.processor.core;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.PriorityQueue;
 
 import org.apache.olingo.odata2.annotation.processor.core.datasource.DataSource;
 import org.apache.olingo.odata2.annotation.processor.core.datasource.DataSource.BinaryData;
@@ -58,7 +59,6 @@ import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
 import org.apache.olingo.odata2.api.edm.EdmStructuralType;
 import org.apache.olingo.odata2.api.edm.EdmType;
 import org.apache.olingo.odata2.api.edm.EdmTypeKind;
-import org.apache.olingo.odata2.api.edm.EdmTyped;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.ep.EntityProviderBatchProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
@@ -78,7 +78,6 @@ import org.apache.olingo.odata2.api.exception.ODataBadRequestException;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.exception.ODataHttpException;
 import org.apache.olingo.odata2.api.exception.ODataNotFoundException;
-import org.apache.olingo.odata2.api.exception.ODataNotImplementedException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
@@ -87,18 +86,10 @@ import org.apache.olingo.odata2.api.uri.KeyPredicate;
 import org.apache.olingo.odata2.api.uri.NavigationSegment;
 import org.apache.olingo.odata2.api.uri.PathInfo;
 import org.apache.olingo.odata2.api.uri.UriParser;
-import org.apache.olingo.odata2.api.uri.expression.BinaryExpression;
-import org.apache.olingo.odata2.api.uri.expression.CommonExpression;
-import org.apache.olingo.odata2.api.uri.expression.ExpressionKind;
 import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
-import org.apache.olingo.odata2.api.uri.expression.LiteralExpression;
-import org.apache.olingo.odata2.api.uri.expression.MemberExpression;
-import org.apache.olingo.odata2.api.uri.expression.MethodExpression;
 import org.apache.olingo.odata2.api.uri.expression.OrderByExpression;
 import org.apache.olingo.odata2.api.uri.expression.OrderExpression;
-import org.apache.olingo.odata2.api.uri.expression.PropertyExpression;
 import org.apache.olingo.odata2.api.uri.expression.SortOrder;
-import org.apache.olingo.odata2.api.uri.expression.UnaryExpression;
 import org.apache.olingo.odata2.api.uri.info.DeleteUriInfo;
 import org.apache.olingo.odata2.api.uri.info.GetComplexPropertyUriInfo;
 import org.apache.olingo.odata2.api.uri.info.GetEntityCountUriInfo;
@@ -133,22 +124,25 @@ public class ListsProcessor extends DataSourceProcessor {
   @Override
   public ODataResponse readEntitySet(final GetEntitySetUriInfo uriInfo, final String contentType)
       throws ODataException {
-    ArrayList<Object> data = new ArrayList<Object>();
+    List<?> entities;
     try {
-      data.addAll((List<?>) retrieveData(
+      entities = (List<?>) retrieveData(
           uriInfo.getStartEntitySet(),
           uriInfo.getKeyPredicates(),
           uriInfo.getFunctionImport(),
           mapFunctionParameters(uriInfo.getFunctionImportParameters()),
-          uriInfo.getNavigationSegments()));
+          uriInfo.getNavigationSegments());
     } catch (final ODataNotFoundException e) {
-      data.clear();
+      entities = Collections.emptyList();
     }
 
+    ArrayList<Object> data = new ArrayList<Object>();
+
     final EdmEntitySet entitySet = uriInfo.getTargetEntitySet();
     final InlineCount inlineCountType = uriInfo.getInlineCount();
     final Integer count = applySystemQueryOptions(
         entitySet,
+        entities,
         data,
         uriInfo.getFilter(),
         inlineCountType,
@@ -219,20 +213,23 @@ public class ListsProcessor extends DataSourceProcessor {
   @Override
   public ODataResponse countEntitySet(final GetEntitySetCountUriInfo uriInfo, final String contentType)
       throws ODataException {
-    ArrayList<Object> data = new ArrayList<Object>();
+    List<?> entities;
     try {
-      data.addAll((List<?>) retrieveData(
+      entities = (List<?>) retrieveData(
           uriInfo.getStartEntitySet(),
           uriInfo.getKeyPredicates(),
           uriInfo.getFunctionImport(),
           mapFunctionParameters(uriInfo.getFunctionImportParameters()),
-          uriInfo.getNavigationSegments()));
+          uriInfo.getNavigationSegments());
     } catch (final ODataNotFoundException e) {
-      data.clear();
+      entities = Collections.emptyList();
     }
 
+    ArrayList<Object> data = new ArrayList<Object>();
+
     applySystemQueryOptions(
         uriInfo.getTargetEntitySet(),
+        entities,
         data,
         uriInfo.getFilter(),
         null,
@@ -247,20 +244,23 @@ public class ListsProcessor extends DataSourceProcessor {
   @Override
   public ODataResponse readEntityLinks(final GetEntitySetLinksUriInfo uriInfo, final String contentType)
       throws ODataException {
-    ArrayList<Object> data = new ArrayList<Object>();
+    List<?> entities;
     try {
-      data.addAll((List<?>) retrieveData(
+      entities = (List<?>) retrieveData(
           uriInfo.getStartEntitySet(),
           uriInfo.getKeyPredicates(),
           uriInfo.getFunctionImport(),
           mapFunctionParameters(uriInfo.getFunctionImportParameters()),
-          uriInfo.getNavigationSegments()));
+          uriInfo.getNavigationSegments());
     } catch (final ODataNotFoundException e) {
-      data.clear();
+      entities = Collections.emptyList();
     }
 
+    ArrayList<Object> data = new ArrayList<Object>();
+
     final Integer count = applySystemQueryOptions(
         uriInfo.getTargetEntitySet(),
+        entities,
         data,
         uriInfo.getFilter(),
         uriInfo.getInlineCount(),
@@ -1172,102 +1172,188 @@ public class ListsProcessor extends DataSourceProcessor {
     }
   }
 
-  private <T> Integer applySystemQueryOptions(final EdmEntitySet entitySet, final List<T> data,
-      final FilterExpression filter, final InlineCount inlineCount, final OrderByExpression orderBy,
-      final String skipToken, final Integer skip, final Integer top) throws ODataException {
+  /**
+   * Adds the entities the system query options select to <code>data</code>, in the requested order.
+   * The list of read entities is not modified; it may be a snapshot shared with other requests.
+   * @return the number of entities the filter applies for if an inline count is requested, else <code>null</code>
+   */
+  <T> Integer applySystemQueryOptions(final EdmEntitySet entitySet, final List<? extends T> entities,
+      final List<T> data, final FilterExpression filter, final InlineCount inlineCount,
+      final OrderByExpression orderBy, final String skipToken, final Integer skip, final Integer top)
+      throws ODataException {
     ODataContext context = getContext();
     final int timingHandle = context.startRuntimeMeasurement(getClass().getSimpleName(), "applySystemQueryOptions");
 
-    if (filter != null) {
-      // Remove all elements the filter does not apply for.
-      // A for-each loop would not work with "remove", see Java documentation.
-      for (Iterator<T> iterator = data.iterator(); iterator.hasNext();) {
-        if (!appliesFilter(iterator.next(), filter)) {
-          iterator.remove();
+    // Only the entities the filter applies for are copied.
+    if (filter == null) {
+      data.addAll(entities);
+    } else {
+      final ExpressionCompiler.Evaluator compiledFilter =
+          new ExpressionCompiler(valueAccess).compile(filter.getExpression());
+      for (final T entity : entities) {
+        if (appliesFilter(entity, compiledFilter)) {
+          data.add(entity);
         }
       }
     }
 
     final Integer count = inlineCount == InlineCount.ALLPAGES ? data.size() : null;
 
+    List<String> skipTokens = null;
     if (orderBy != null) {
-      sort(data, orderBy);
+      // Without a skip token only the first entities up to $skip + $top have to be sorted.
+      final long limit = skipToken == null && top != null ? (skip == null ? 0L : skip) + top : Long.MAX_VALUE;
+      sort(data, orderBy, limit);
     } else if (skipToken != null || skip != null || top != null) {
-      sortInDefaultOrder(entitySet, data);
+      skipTokens = sortInDefaultOrder(entitySet, data);
     }
 
+    // The requested page is determined by index arithmetic and cut out in one step.
+    int from = 0;
     if (skipToken != null) {
-      while (!data.isEmpty() && !getSkipToken(entitySet, data.get(0)).equals(skipToken)) {
-        data.remove(0);
-      }
+      from = skipTokens == null ?
+          seekSkipToken(entitySet, data, skipToken) :
+          seekSkipToken(skipTokens, skipToken);
     }
-
     if (skip != null) {
-      if (skip >= data.size()) {
-        data.clear();
-      } else {
-        for (int i = 0; i < skip; i++) {
-          data.remove(0);
-        }
-      }
-    }
-
-    if (top != null) {
-      while (data.size() > top) {
-        data.remove(top.intValue());
-      }
+      from = (int) Math.min((long) from + skip, data.size());
     }
+    final int to = top == null ? data.size() : (int) Math.min((long) from + top, data.size());
+    data.subList(to, data.size()).clear();
+    data.subList(0, from).clear();
 
     context.stopRuntimeMeasurement(timingHandle);
 
     return count;
   }
 
-  private <T> void sort(final List<T> data, final OrderByExpression orderBy) {
-    Collections.sort(data, new Comparator<T>() {
-      @Override
-      public int compare(final T entity1, final T entity2) {
-        try {
-          int result = 0;
-          for (final OrderExpression expression : orderBy.getOrders()) {
-            String first = evaluateExpression(entity1, expression.getExpression());
-            String second = evaluateExpression(entity2, expression.getExpression());
-
-            if (first != null && second != null) {
-              result = first.compareTo(second);
-            } else if (first == null && second != null) {
-              result = 1;
-            } else if (first != null && second == null) {
-              result = -1;
-            }
+  /**
+   * Sorts the data according to the order-by expression.
+   * If <code>limit</code> is smaller than the number of entities, only the first <code>limit</code>
+   * entities are determined (with a bounded heap) and all other entities are removed.
+   */
+  private <T> void sort(final List<T> data, final OrderByExpression orderBy, final long limit) throws ODataException {
+    final List<OrderExpression> orders = orderBy.getOrders();
+    final int size = orders.size();
+    final ExpressionCompiler compiler = new ExpressionCompiler(valueAccess);
+    final ExpressionCompiler.Evaluator[] sortKeys = new ExpressionCompiler.Evaluator[size];
+    final boolean[] descending = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      sortKeys[i] = compiler.compile(orders.get(i).getExpression());
+      descending[i] = orders.get(i).getSortOrder() == SortOrder.desc;
+    }
 
-            if (expression.getSortOrder() == SortOrder.desc) {
-              result = -result;
-            }
+    final Comparator<Object[]> comparator = new Comparator<Object[]>() {
+      @Override
+      public int compare(final Object[] entry1, final Object[] entry2) {
+        int result = 0;
+        for (int i = 0; i < size && result == 0; i++) {
+          final Object first = entry1[i];
+          final Object second = entry2[i];
+          if (first != null && second != null) {
+            result = ExpressionCompiler.compare(first, second);
+          } else if (first == null && second != null) {
+            result = 1;
+          } else if (first != null && second == null) {
+            result = -1;
+          }
 
-            if (result != 0) {
-              break;
-            }
+          if (descending[i]) {
+            result = -result;
           }
-          return result;
-        } catch (final ODataException e) {
-          return 0;
         }
+        // The original position keeps the order stable.
+        return result == 0 ? ((Integer) entry1[size + 1]).compareTo((Integer) entry2[size + 1]) : result;
       }
-    });
+    };
+
+    // The sort keys are evaluated only once per entity; the entity itself and its original position
+    // are stored behind its keys.
+    final boolean partial = limit < data.size();
+    Collection<Object[]> entries = partial ?
+        new PriorityQueue<Object[]>((int) limit + 1, Collections.reverseOrder(comparator)) :
+        new ArrayList<Object[]>(data.size());
+    for (int index = 0; index < data.size(); index++) {
+      final T entity = data.get(index);
+      Object[] entry = new Object[size + 2];
+      for (int i = 0; i < size; i++) {
+        entry[i] = sortKeys[i].evaluate(entity);
+      }
+      entry[size] = entity;
+      entry[size + 1] = index;
+      entries.add(entry);
+      if (partial && entries.size() > limit) {
+        ((PriorityQueue<Object[]>) entries).poll();
+      }
+    }
+
+    List<Object[]> sortedEntries = partial ? new ArrayList<Object[]>(entries) : (List<Object[]>) entries;
+    Collections.sort(sortedEntries, comparator);
+
+    data.subList(sortedEntries.size(), data.size()).clear();
+    for (int i = 0; i < sortedEntries.size(); i++) {
+      @SuppressWarnings("unchecked")
+      final T entity = (T) sortedEntries.get(i)[size];
+      data.set(i, entity);
+    }
   }
 
-  private <T> void sortInDefaultOrder(final EdmEntitySet entitySet, final List<T> data) {
-    Collections.sort(data, new Comparator<T>() {
+  /**
+   * Sorts the data by their skip tokens.
+   * @return the skip tokens of the sorted data
+   */
+  private <T> List<String> sortInDefaultOrder(final EdmEntitySet entitySet, final List<T> data)
+      throws ODataException {
+    // The skip token is computed only once per entity.
+    List<Object[]> entries = new ArrayList<Object[]>(data.size());
+    for (final T entity : data) {
+      entries.add(new Object[] { getSkipToken(entitySet, entity), entity });
+    }
+
+    Collections.sort(entries, new Comparator<Object[]>() {
       @Override
-      public int compare(final T entity1, final T entity2) {
-        try {
-          return getSkipToken(entitySet, entity1).compareTo(getSkipToken(entitySet, entity2));
-        } catch (final ODataException e) {
-          return 0;
-        }
+      public int compare(final Object[] entry1, final Object[] entry2) {
+        return ((String) entry1[0]).compareTo((String) entry2[0]);
       }
     });
+
+    List<String> skipTokens = new ArrayList<String>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      skipTokens.add((String) entries.get(i)[0]);
+      @SuppressWarnings("unchecked")
+      final T entity = (T) entries.get(i)[1];
+      data.set(i, entity);
+    }
+    return skipTokens;
+  }
+
+  /**
+   * Determines the position of the entity with the given skip token in data sorted by skip tokens.
+   * @return the position or the size of the data if there is no such entity
+   */
+  private int seekSkipToken(final List<String> sortedSkipTokens, final String skipToken) {
+    int index = Collections.binarySearch(sortedSkipTokens, skipToken);
+    if (index < 0) {
+      return sortedSkipTokens.size();
+    }
+    while (index > 0 && sortedSkipTokens.get(index - 1).equals(skipToken)) {
+      index--;
+    }
+    return index;
+  }
+
+  /**
+   * Determines the position of the first entity with the given skip token.
+   * @return the position or the size of the data if there is no such entity
+   */
+  private <T> int seekSkipToken(final EdmEntitySet entitySet, final List<T> data, final String skipToken)
+      throws ODataException {
+    for (int index = 0; index < data.size(); index++) {
+      if (getSkipToken(entitySet, data.get(index)).equals(skipToken)) {
+        return index;
+      }
+    }
+    return data.size();
   }
 
   private <T> boolean appliesFilter(final T data, final FilterExpression filter) throws ODataException {
@@ -1275,7 +1361,8 @@ public class ListsProcessor extends DataSourceProcessor {
     final int timingHandle = context.startRuntimeMeasurement(getClass().getSimpleName(), "appliesFilter");
 
     try {
-      return data != null && (filter == null || "true".equals(evaluateExpression(data, filter.getExpression())));
+      return data != null && (filter == null
+          || appliesFilter(data, new ExpressionCompiler(valueAccess).compile(filter.getExpression())));
     } catch (final RuntimeException e) {
       return false;
     } finally {
@@ -1283,210 +1370,11 @@ public class ListsProcessor extends DataSourceProcessor {
     }
   }
 
-  private <T> String evaluateExpression(final T data, final CommonExpression expression) throws ODataException {
-    switch (expression.getKind()) {
-    case UNARY:
-      final UnaryExpression unaryExpression = (UnaryExpression) expression;
-      final String operand = evaluateExpression(data, unaryExpression.getOperand());
-
-      switch (unaryExpression.getOperator()) {
-      case NOT:
-        return Boolean.toString(!Boolean.parseBoolean(operand));
-      case MINUS:
-        return operand.startsWith("-") ? operand.substring(1) : "-" + operand;
-      default:
-        throw new ODataNotImplementedException();
-      }
-
-    case BINARY:
-      final BinaryExpression binaryExpression = (BinaryExpression) expression;
-      final EdmSimpleType type = (EdmSimpleType) binaryExpression.getLeftOperand().getEdmType();
-      final String left = evaluateExpression(data, binaryExpression.getLeftOperand());
-      final String right = evaluateExpression(data, binaryExpression.getRightOperand());
-
-      switch (binaryExpression.getOperator()) {
-      case ADD:
-        if (binaryExpression.getEdmType() == EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Double.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Single.getEdmSimpleTypeInstance()) {
-          return Double.toString(Double.valueOf(left) + Double.valueOf(right));
-        } else {
-          return Long.toString(Long.valueOf(left) + Long.valueOf(right));
-        }
-      case SUB:
-        if (binaryExpression.getEdmType() == EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Double.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Single.getEdmSimpleTypeInstance()) {
-          return Double.toString(Double.valueOf(left) - Double.valueOf(right));
-        } else {
-          return Long.toString(Long.valueOf(left) - Long.valueOf(right));
-        }
-      case MUL:
-        if (binaryExpression.getEdmType() == EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Double.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Single.getEdmSimpleTypeInstance()) {
-          return Double.toString(Double.valueOf(left) * Double.valueOf(right));
-        } else {
-          return Long.toString(Long.valueOf(left) * Long.valueOf(right));
-        }
-      case DIV:
-        final String number = Double.toString(Double.valueOf(left) / Double.valueOf(right));
-        return number.endsWith(".0") ? number.replace(".0", "") : number;
-      case MODULO:
-        if (binaryExpression.getEdmType() == EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Double.getEdmSimpleTypeInstance()
-            || binaryExpression.getEdmType() == EdmSimpleTypeKind.Single.getEdmSimpleTypeInstance()) {
-          return Double.toString(Double.valueOf(left) % Double.valueOf(right));
-        } else {
-          return Long.toString(Long.valueOf(left) % Long.valueOf(right));
-        }
-      case AND:
-        return Boolean.toString("true".equals(left) && "true".equals(right));
-      case OR:
-        return Boolean.toString("true".equals(left) || "true".equals(right));
-      case EQ:
-        return Boolean.toString(left.equals(right));
-      case NE:
-        return Boolean.toString(!left.equals(right));
-      case LT:
-        if (type == EdmSimpleTypeKind.String.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Guid.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Time.getEdmSimpleTypeInstance()) {
-          return Boolean.toString(left.compareTo(right) < 0);
-        } else {
-          return Boolean.toString(Double.valueOf(left) < Double.valueOf(right));
-        }
-      case LE:
-        if (type == EdmSimpleTypeKind.String.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Guid.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Time.getEdmSimpleTypeInstance()) {
-          return Boolean.toString(left.compareTo(right) <= 0);
-        } else {
-          return Boolean.toString(Double.valueOf(left) <= Double.valueOf(right));
-        }
-      case GT:
-        if (type == EdmSimpleTypeKind.String.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Guid.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Time.getEdmSimpleTypeInstance()) {
-          return Boolean.toString(left.compareTo(right) > 0);
-        } else {
-          return Boolean.toString(Double.valueOf(left) > Double.valueOf(right));
-        }
-      case GE:
-        if (type == EdmSimpleTypeKind.String.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Guid.getEdmSimpleTypeInstance()
-            || type == EdmSimpleTypeKind.Time.getEdmSimpleTypeInstance()) {
-          return Boolean.toString(left.compareTo(right) >= 0);
-        } else {
-          return Boolean.toString(Double.valueOf(left) >= Double.valueOf(right));
-        }
-      case PROPERTY_ACCESS:
-        throw new ODataNotImplementedException();
-      default:
-        throw new ODataNotImplementedException();
-      }
-
-    case PROPERTY:
-      final EdmProperty property = (EdmProperty) ((PropertyExpression) expression).getEdmProperty();
-      final EdmSimpleType propertyType = (EdmSimpleType) property.getType();
-      return propertyType.valueToString(valueAccess.getPropertyValue(data, property), EdmLiteralKind.DEFAULT,
-          property.getFacets());
-
-    case MEMBER:
-      final MemberExpression memberExpression = (MemberExpression) expression;
-      final PropertyExpression propertyExpression = (PropertyExpression) memberExpression.getProperty();
-      final EdmProperty memberProperty = (EdmProperty) propertyExpression.getEdmProperty();
-      final EdmSimpleType memberType = (EdmSimpleType) memberExpression.getEdmType();
-      List<EdmProperty> propertyPath = new ArrayList<EdmProperty>();
-      CommonExpression currentExpression = memberExpression;
-      while (currentExpression != null) {
-        final PropertyExpression currentPropertyExpression =
-            (PropertyExpression) (currentExpression.getKind() == ExpressionKind.MEMBER ?
-                ((MemberExpression) currentExpression).getProperty() : currentExpression);
-        final EdmTyped currentProperty = currentPropertyExpression.getEdmProperty();
-        final EdmTypeKind kind = currentProperty.getType().getKind();
-        if (kind == EdmTypeKind.SIMPLE || kind == EdmTypeKind.COMPLEX) {
-          propertyPath.add(0, (EdmProperty) currentProperty);
-        } else {
-          throw new ODataNotImplementedException();
-        }
-        currentExpression =
-            currentExpression.getKind() == ExpressionKind.MEMBER ? ((MemberExpression) currentExpression).getPath()
-                : null;
-      }
-      return memberType.valueToString(getPropertyValue(data, propertyPath), EdmLiteralKind.DEFAULT, memberProperty
-          .getFacets());
-
-    case LITERAL:
-      final LiteralExpression literal = (LiteralExpression) expression;
-      final EdmSimpleType literalType = (EdmSimpleType) literal.getEdmType();
-      return literalType.valueToString(literalType.valueOfString(literal.getUriLiteral(), EdmLiteralKind.URI, null,
-          literalType.getDefaultType()),
-          EdmLiteralKind.DEFAULT, null);
-
-    case METHOD:
-      final MethodExpression methodExpression = (MethodExpression) expression;
-      final String first = evaluateExpression(data, methodExpression.getParameters().get(0));
-      final String second = methodExpression.getParameterCount() > 1 ?
-          evaluateExpression(data, methodExpression.getParameters().get(1)) : "";
-      final String third = methodExpression.getParameterCount() > 2 ?
-          evaluateExpression(data, methodExpression.getParameters().get(2)) : "";
-
-      switch (methodExpression.getMethod()) {
-      case ENDSWITH:
-        return Boolean.toString(first.endsWith(second));
-      case INDEXOF:
-        return Integer.toString(first.indexOf(second));
-      case STARTSWITH:
-        return Boolean.toString(first.startsWith(second));
-      case TOLOWER:
-        return first.toLowerCase(Locale.ROOT);
-      case TOUPPER:
-        return first.toUpperCase(Locale.ROOT);
-      case TRIM:
-        return first.trim();
-      case SUBSTRING:
-        final int offset = second.length() == 0 ? 0 : Integer.parseInt(second);
-        final int length = third.length() == 0 ? 0 : Integer.parseInt(second);
-        return first.substring(offset, offset + length);
-      case SUBSTRINGOF:
-        return Boolean.toString(second.contains(first));
-      case CONCAT:
-        return first + second;
-      case LENGTH:
-        return Integer.toString(first.length());
-      case YEAR:
-        return String.valueOf(Integer.parseInt(first.substring(0, 4)));
-      case MONTH:
-        return String.valueOf(Integer.parseInt(first.substring(5, 7)));
-      case DAY:
-        return String.valueOf(Integer.parseInt(first.substring(8, 10)));
-      case HOUR:
-        return String.valueOf(Integer.parseInt(first.substring(11, 13)));
-      case MINUTE:
-        return String.valueOf(Integer.parseInt(first.substring(14, 16)));
-      case SECOND:
-        return String.valueOf(Integer.parseInt(first.substring(17, 19)));
-      case ROUND:
-        return Long.toString(Math.round(Double.valueOf(first)));
-      case FLOOR:
-        return Long.toString(Math.round(Math.floor(Double.valueOf(first))));
-      case CEILING:
-        return Long.toString(Math.round(Math.ceil(Double.valueOf(first))));
-      default:
-        throw new ODataNotImplementedException();
-      }
-
-    default:
-      throw new ODataNotImplementedException();
+  private <T> boolean appliesFilter(final T data, final ExpressionCompiler.Evaluator filter) throws ODataException {
+    try {
+      return data != null && Boolean.TRUE.equals(filter.evaluate(data));
+    } catch (final RuntimeException e) {
+      return false;
     }
   }
 
@@ -1647,13 +1535,10 @@ public class ListsProcessor extends DataSourceProcessor {
   public ODataResponse executeBatch(final BatchHandler handler, final String contentType, final InputStream content)
       throws ODataException {
     ODataResponse batchResponse;
-    List<BatchResponsePart> batchResponseParts = new ArrayList<BatchResponsePart>();
     PathInfo pathInfo = getContext().getPathInfo();
     EntityProviderBatchProperties batchProperties = EntityProviderBatchProperties.init().pathInfo(pathInfo).build();
     List<BatchRequestPart> batchParts = EntityProvider.parseBatchRequest(contentType, content, batchProperties);
-    for (BatchRequestPart batchPart : batchParts) {
-      batchResponseParts.add(handler.handleBatchPart(batchPart));
-    }
+    List<BatchResponsePart> batchResponseParts = handler.handleBatchParts(batchParts);
     batchResponse = EntityProvider.writeBatchResponse(batchResponseParts);
     return batchResponse;
   }
@@ -102,7 +102,10 @@ public class AnnotationInMemoryDs implements DataSource {
 
     DataStore<Object> holder = getDataStore(entitySet);
     if (holder != null) {
-      return new ArrayList<Object>(holder.read());
+      // the read-only snapshot of the store is returned as it is,
+      // the ListsProcessor copies only the entities selected by the system query options
+      final Collection<Object> values = holder.read();
+      return values instanceof List ? (List<?>) values : new ArrayList<Object>(values);
     }
 
     throw new ODataNotFoundException(ODataNotFoundException.ENTITY);
@@ -175,21 +178,27 @@ public class AnnotationInMemoryDs implements DataSource {
       return Collections.emptyList();
     }
 
+    // the referenced instances are resolved via the key map of the target store
+    // instead of comparing them with every stored target instance
     List<Object> resultData = new ArrayList<Object>();
-    for (Object targetInstance : targetStore.read()) {
-      if (navigationInstance instanceof Collection) {
-        for (Object object : (Collection<?>) navigationInstance) {
-          if (targetStore.isKeyEqualChecked(targetInstance, object)) {
-            resultData.add(targetInstance);
-          }
-        }
-      } else if (targetStore.isKeyEqualChecked(targetInstance, navigationInstance)) {
-        resultData.add(targetInstance);
+    if (navigationInstance instanceof Collection) {
+      for (Object object : (Collection<?>) navigationInstance) {
+        addStoredInstance(targetStore, object, resultData);
       }
+    } else {
+      addStoredInstance(targetStore, navigationInstance, resultData);
     }
     return resultData;
   }
 
+  private void addStoredInstance(final DataStore<?> targetStore, final Object navigationInstance,
+      final List<Object> resultData) throws DataStoreException {
+    Object targetInstance = targetStore.readChecked(navigationInstance);
+    if (targetInstance != null) {
+      resultData.add(targetInstance);
+    }
+  }
+
   /**
    * Extract the <code>result data</code> from the <code>resultData</code> list based on
    * <code>navigation information</code> and <code>targetKeys</code>.
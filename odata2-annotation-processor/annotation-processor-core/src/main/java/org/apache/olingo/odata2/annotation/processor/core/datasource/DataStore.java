@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.olingo.odata2.annotation.processor.core.util.AnnotationHelper;
@@ -36,12 +37,19 @@ import org.apache.olingo.odata2.api.annotation.edm.EdmKey;
 import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 
 /**
- *
+ * In-memory store of the instances of one entity type, identified by their key values.
+ * <p>The stored instances are kept in a concurrent map, so key lookups never block. Writers are
+ * serialized and invalidate the cached list of all instances, which {@link #read()} rebuilds on
+ * its next call without holding the write lock; the collection returned by {@link #read()} is not
+ * affected by later writes.</p>
  */
 public class DataStore<T> {
 
   private static final AnnotationHelper ANNOTATION_HELPER = new AnnotationHelper();
   private final Map<KeyElement, T> dataStore;
+  private final Object writeLock = new Object();
+  private volatile Collection<T> values;
+  private volatile int modificationCount;
   private final Class<T> dataTypeClass;
   private final KeyAccess keyAccess;
 
@@ -71,16 +79,12 @@ public class DataStore<T> {
     return (DataStore<T>) InMemoryDataStore.getInstance(clazz, !keepExisting);
   }
 
-  private DataStore(final Map<KeyElement, T> wrapStore, final Class<T> clz) throws DataStoreException {
-    dataStore = Collections.synchronizedMap(wrapStore);
+  private DataStore(final Class<T> clz) throws DataStoreException {
+    dataStore = new ConcurrentHashMap<KeyElement, T>();
     dataTypeClass = clz;
     keyAccess = new KeyAccess(clz);
   }
 
-  private DataStore(final Class<T> clz) throws DataStoreException {
-    this(new HashMap<KeyElement, T>(), clz);
-  }
-
   public Class<T> getDataTypeClass() {
     return dataTypeClass;
   }
@@ -104,8 +108,42 @@ public class DataStore<T> {
     return dataStore.get(objKeys);
   }
 
+  /**
+   * Read the stored instance with the same key values as the given instance.
+   * Before the lookup it is validated that the instance is NOT null
+   * and that it is from the same class as this {@link DataStore} (see {@link #dataTypeClass}).
+   * 
+   * @param obj instance which key values are looked up
+   * @return the stored instance or <code>null</code> if no instance is stored for the key values
+   */
+  @SuppressWarnings("unchecked")
+  public T readChecked(final Object obj) throws DataStoreException {
+    if (obj == null) {
+      throw new DataStoreException("Tried to read with null value which is not allowed.");
+    } else if (obj.getClass() != dataTypeClass) {
+      throw new DataStoreException("Value is no instance from required class '" + dataTypeClass + "'.");
+    }
+
+    return read((T) obj);
+  }
+
+  /**
+   * Read all stored instances.
+   * @return an unmodifiable snapshot of the stored instances
+   */
   public Collection<T> read() {
-    return Collections.unmodifiableCollection(dataStore.values());
+    Collection<T> result = values;
+    if (result == null) {
+      // The list is copied outside of the lock; it is cached only if no write happened meanwhile.
+      final int expectedModificationCount = modificationCount;
+      result = Collections.unmodifiableList(new ArrayList<T>(dataStore.values()));
+      synchronized (writeLock) {
+        if (modificationCount == expectedModificationCount) {
+          values = result;
+        }
+      }
+    }
+    return result;
   }
 
   public T create(final T object) throws DataStoreException {
@@ -118,33 +156,44 @@ public class DataStore<T> {
    * existing and generated keys would produce a duplicate entry, replace all keys.
    */
   private T create(final T object, final KeyElement keyElement) throws DataStoreException {
-    synchronized (dataStore) {
+    synchronized (writeLock) {
       final boolean replaceKeys = dataStore.containsKey(keyElement);
       if (keyElement.keyValuesMissing() || replaceKeys) {
         KeyElement newKey = createSetAndGetKeys(object, replaceKeys);
         return this.create(object, newKey);
       }
       dataStore.put(keyElement, object);
+      modified();
     }
     return object;
   }
 
   public T update(final T object) {
     KeyElement keyElement = getKeys(object);
-    synchronized (dataStore) {
-      dataStore.remove(keyElement);
+    synchronized (writeLock) {
       dataStore.put(keyElement, object);
+      modified();
     }
     return object;
   }
 
   public T delete(final T object) {
     KeyElement keyElement = getKeys(object);
-    synchronized (dataStore) {
-      return dataStore.remove(keyElement);
+    synchronized (writeLock) {
+      T removed = dataStore.remove(keyElement);
+      if (removed != null) {
+        modified();
+      }
+      return removed;
     }
   }
 
+  /** Must be called while holding the write lock. */
+  private void modified() {
+    modificationCount++;
+    values = null;
+  }
+
   /**
    * Are the key values equal for both instances.
    * If all compared key values are <code>null</code> this also means equal.
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.annotation.processor.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.olingo.odata2.annotation.processor.core.datasource.AnnotationValueAccess;
+import org.apache.olingo.odata2.annotation.processor.core.edm.AnnotationEdmProvider;
+import org.apache.olingo.odata2.annotation.processor.core.model.Building;
+import org.apache.olingo.odata2.annotation.processor.core.model.Employee;
+import org.apache.olingo.odata2.annotation.processor.core.model.Location;
+import org.apache.olingo.odata2.annotation.processor.core.model.Room;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+import org.apache.olingo.odata2.api.uri.UriParser;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class ExpressionCompilerTest {
+
+  private static Edm edm;
+  private final ExpressionCompiler compiler = new ExpressionCompiler(new AnnotationValueAccess());
+
+  @BeforeClass
+  public static void createEdm() throws ODataException {
+    edm = RuntimeDelegate.createEdm(new AnnotationEdmProvider(Building.class.getPackage().getName()));
+  }
+
+  @Test
+  public void integerComparison() throws Exception {
+    final EdmEntityType roomType = edm.getDefaultEntityContainer().getEntitySet("Rooms").getEntityType();
+    final Room room = createRoom(1, 9);
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats lt 10", room));
+    Assert.assertEquals(Boolean.FALSE, filter(roomType, "Seats gt 10", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats eq 9 and not (Seats ne 9)", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats add 1 eq 10 or Seats eq 0", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats div 2 gt 4.4M", room));
+  }
+
+  @Test
+  public void decimalPrecision() throws Exception {
+    final EdmEntityType roomType = edm.getDefaultEntityContainer().getEntitySet("Rooms").getEntityType();
+    final Room room = createRoom(1, 9);
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "12345678901234567.1M gt 12345678901234567.0M", room));
+    Assert.assertEquals(Boolean.FALSE, filter(roomType, "12345678901234567.1M eq 12345678901234567.0M", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "0.1M add 0.2M eq 0.3M", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats add 0.000000000000000001M gt 9", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "round(2.5M) eq 3 and floor(-2.5M) eq -3", room));
+  }
+
+  @Test
+  public void nullValues() throws Exception {
+    final EdmEntityType roomType = edm.getDefaultEntityContainer().getEntitySet("Rooms").getEntityType();
+    final Room room = new Room(1, "Room 1");
+    Assert.assertEquals(Boolean.FALSE, filter(roomType, "Seats lt 10", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats eq null", room));
+    Assert.assertEquals(Boolean.TRUE, filter(roomType, "Seats ne 10", room));
+  }
+
+  @Test
+  public void stringMethodsAndMembers() throws Exception {
+    final EdmEntityType employeeType = edm.getDefaultEntityContainer().getEntitySet("Employees").getEntityType();
+    final Employee employee = new Employee("1", "Walter Winter");
+    employee.setLocation(new Location("Germany", "69124", "Heidelberg"));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "startswith(EmployeeName,'Walter')", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "substringof('Win',EmployeeName)", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "length(EmployeeName) eq 13", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "substring(EmployeeName,7) eq 'Winter'", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "substring(EmployeeName,0,6) eq 'Walter'", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "Location/City/CityName eq 'Heidelberg'", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "tolower(Location/Country) eq 'germany'", employee));
+  }
+
+  @Test
+  public void dateTime() throws Exception {
+    final EdmEntityType employeeType = edm.getDefaultEntityContainer().getEntitySet("Employees").getEntityType();
+    final Employee employee = new Employee("1", "Walter Winter");
+    Calendar entryDate = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    entryDate.clear();
+    entryDate.set(1999, Calendar.JANUARY, 1);
+    employee.setEntryDate(entryDate);
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "EntryDate lt datetime'2000-01-01T00:00:00'", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "EntryDate eq datetime'1999-01-01T00:00:00'", employee));
+    Assert.assertEquals(Boolean.TRUE, filter(employeeType, "year(EntryDate) eq 1999", employee));
+  }
+
+  @Test
+  public void numericOrderBy() throws Exception {
+    final EdmEntityType roomType = edm.getDefaultEntityContainer().getEntitySet("Rooms").getEntityType();
+    final ExpressionCompiler.Evaluator seats = compiler.compile(
+        UriParser.parseOrderBy(edm, roomType, "Seats").getOrders().get(0).getExpression());
+    List<Object> keys = new ArrayList<Object>();
+    for (final Room room : Arrays.asList(createRoom(1, 10), createRoom(2, 9))) {
+      keys.add(seats.evaluate(room));
+    }
+    Assert.assertTrue(ExpressionCompiler.compare(keys.get(1), keys.get(0)) < 0);
+  }
+
+  private Object filter(final EdmEntityType entityType, final String expression, final Object data)
+      throws ODataException {
+    return compiler.compile(UriParser.parseFilter(edm, entityType, expression).getExpression()).evaluate(data);
+  }
+
+  private static Room createRoom(final int id, final int seats) {
+    Room room = new Room(id, "Room " + id);
+    room.setSeats(seats);
+    return room;
+  }
+}
@@ -15,13 +15,26 @@
  */
 package org.apache.olingo.odata2.annotation.processor.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.olingo.odata2.annotation.processor.core.datasource.AnnotationInMemoryDs;
 import org.apache.olingo.odata2.annotation.processor.core.datasource.AnnotationValueAccess;
 import org.apache.olingo.odata2.annotation.processor.core.datasource.DataSource;
 import org.apache.olingo.odata2.annotation.processor.core.datasource.ValueAccess;
+import org.apache.olingo.odata2.annotation.processor.core.edm.AnnotationEdmProvider;
 import org.apache.olingo.odata2.annotation.processor.core.model.Building;
+import org.apache.olingo.odata2.annotation.processor.core.model.Room;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+import org.apache.olingo.odata2.api.uri.UriParser;
+import org.apache.olingo.odata2.api.uri.expression.OrderByExpression;
 import org.junit.Assert;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -33,6 +46,12 @@ public class ListsProcessorTest {
   private ListsProcessor listsProcessor;
   private DataSource mockedDataSource = Mockito.mock(DataSource.class);
   private ValueAccess mockedValueAccess = Mockito.mock(ValueAccess.class);
+  private static Edm edm;
+
+  @BeforeClass
+  public static void createEdm() throws ODataException {
+    edm = RuntimeDelegate.createEdm(new AnnotationEdmProvider(Building.class.getPackage().getName()));
+  }
 
   @Test
   public void init() throws ODataException {
@@ -91,4 +110,72 @@ public class ListsProcessorTest {
     String result3 = listsProcessor.percentEncodeNextLink(url3);
     Assert.assertEquals("Rooms", result3);
   }
+
+  @Test
+  public void topWithTiesInSortKey() throws Exception {
+    // Seats: 5, 3, 5, 3, 5; entities with equal seats keep their original order.
+    Assert.assertEquals("1,3,5,2,4", ids(orderedPage("Seats desc", null, null, null, 5, 3, 5, 3, 5)));
+    Assert.assertEquals("1", ids(orderedPage("Seats desc", null, null, 1, 5, 3, 5, 3, 5)));
+    Assert.assertEquals("3,5", ids(orderedPage("Seats desc", null, 1, 2, 5, 3, 5, 3, 5)));
+    Assert.assertEquals("5,2", ids(orderedPage("Seats desc", null, 2, 2, 5, 3, 5, 3, 5)));
+    Assert.assertEquals("2,4,1", ids(orderedPage("Seats", null, null, 3, 5, 3, 5, 3, 5)));
+  }
+
+  @Test
+  public void topLargerThanData() throws Exception {
+    Assert.assertEquals("2,3,1", ids(orderedPage("Seats", null, null, 10, 7, 1, 4)));
+    Assert.assertEquals("3,1", ids(orderedPage("Seats", null, 1, 10, 7, 1, 4)));
+    Assert.assertEquals("3,1", ids(orderedPage("Seats", null, 1, Integer.MAX_VALUE, 7, 1, 4)));
+    Assert.assertEquals("", ids(orderedPage("Seats", null, 5, 10, 7, 1, 4)));
+    Assert.assertEquals("1,2,3", ids(orderedPage(null, null, null, 10, 7, 1, 4)));
+  }
+
+  @Test
+  public void skipTokenSeek() throws Exception {
+    // Without $orderby the entities are sorted by their key strings: 1, 10, 11, 2, ..., 9.
+    final int[] seats = new int[11];
+    Assert.assertEquals("2,3", ids(orderedPage(null, "2", null, 2, seats)));
+    Assert.assertEquals("11,2", ids(orderedPage(null, "10", 1, 2, seats)));
+    Assert.assertEquals("9", ids(orderedPage(null, "9", null, 2, seats)));
+    Assert.assertEquals("3,2", ids(orderedPage("Seats desc", "3", null, 2, 1, 2, 3, 4)));
+  }
+
+  @Test
+  public void skipTokenPastLastEntry() throws Exception {
+    Assert.assertEquals("", ids(orderedPage(null, "99", null, null, 1, 2, 3)));
+    Assert.assertEquals("", ids(orderedPage(null, "99", null, 2, 1, 2, 3)));
+    Assert.assertEquals("", ids(orderedPage("Seats", "99", null, 2, 1, 2, 3)));
+  }
+
+  /**
+   * Applies the system query options to rooms with ids starting at 1 and the given numbers of seats.
+   */
+  private List<Room> orderedPage(final String orderBy, final String skipToken, final Integer skip, final Integer top,
+      final int... seats) throws ODataException {
+    final EdmEntitySet entitySet = edm.getDefaultEntityContainer().getEntitySet("Rooms");
+    List<Room> rooms = new ArrayList<Room>();
+    for (int i = 0; i < seats.length; i++) {
+      Room room = new Room(i + 1, "Room " + (i + 1));
+      room.setSeats(seats[i]);
+      rooms.add(room);
+    }
+    final OrderByExpression orderByExpression = orderBy == null ? null :
+        UriParser.parseOrderBy(edm, entitySet.getEntityType(), orderBy);
+
+    ListsProcessor processor = new ListsProcessor(mockedDataSource, new AnnotationValueAccess());
+    processor.setContext(Mockito.mock(ODataContext.class));
+    List<Room> page = new ArrayList<Room>();
+    // the read entities may be shared between requests and must stay unchanged
+    processor.applySystemQueryOptions(entitySet, Collections.unmodifiableList(rooms), page,
+        null, null, orderByExpression, skipToken, skip, top);
+    return page;
+  }
+
+  private String ids(final List<Room> rooms) {
+    StringBuilder ids = new StringBuilder();
+    for (final Room room : rooms) {
+      ids.append(ids.length() == 0 ? "" : ",").append(room.getId());
+    }
+    return ids.toString();
+  }
 }
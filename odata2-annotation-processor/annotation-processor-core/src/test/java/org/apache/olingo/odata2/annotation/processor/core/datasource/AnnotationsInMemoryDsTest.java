@@ -462,6 +462,37 @@ public class AnnotationsInMemoryDsTest {
     }
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void readRelatedEntitiesOnlyStored() throws Exception {
+    EdmEntitySet buildingsEntitySet = createMockedEdmEntitySet("Buildings");
+    EdmEntitySet roomsEntitySet = createMockedEdmEntitySet("Rooms");
+
+    Building building = new Building();
+    building.setName("Common Building");
+
+    List<Room> rooms = new ArrayList<Room>();
+    for (int i = 5; i > 0; i--) {
+      Room room = new Room(i, "Room " + i);
+      room.setBuilding(building);
+      datasource.createData(roomsEntitySet, room);
+      rooms.add(room);
+    }
+    Room notStoredRoom = new Room(42, "Room 42");
+    rooms.add(notStoredRoom);
+
+    building.getRooms().addAll(rooms);
+    datasource.createData(buildingsEntitySet, building);
+
+    // execute
+    Object relatedData = datasource.readRelatedData(
+        buildingsEntitySet, building, roomsEntitySet, Collections.EMPTY_MAP);
+
+    // validate
+    Assert.assertTrue("Result is no collection.", relatedData instanceof Collection);
+    Assert.assertEquals(rooms.subList(0, 5), new ArrayList<Room>((Collection<Room>) relatedData));
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void readRelatedEntity() throws Exception {
@@ -814,6 +845,28 @@ public class AnnotationsInMemoryDsTest {
     } catch (ODataNotFoundException e) {}
   }
 
+  @Test
+  public void readSnapshotNotAffectedByWrites() throws Exception {
+    DataStore<Building> datastore = datasource.getDataStore(Building.class);
+
+    Building building = new Building();
+    building.setName("Common Building");
+    datastore.create(building);
+    Collection<Building> snapshot = datastore.read();
+
+    Building otherBuilding = new Building();
+    otherBuilding.setName("Other Building");
+    datastore.create(otherBuilding);
+    datastore.delete(building);
+
+    // validate
+    Assert.assertEquals(1, snapshot.size());
+    Assert.assertSame(building, snapshot.iterator().next());
+    Assert.assertEquals(1, datastore.read().size());
+    Assert.assertSame(otherBuilding, datastore.read().iterator().next());
+    Assert.assertSame(datastore.read(), datastore.read());
+  }
+
   @Test(expected = AnnotationRuntimeException.class)
   public void unknownEntitySetForEntity() throws Exception {
     String entitySetName = "Unknown";
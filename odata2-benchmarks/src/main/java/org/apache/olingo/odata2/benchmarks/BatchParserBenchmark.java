@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.batch.BatchRequestPart;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.apache.olingo.odata2.api.ep.EntityProviderBatchProperties;
+import org.apache.olingo.odata2.core.PathInfoImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of <code>$batch</code> request bodies consisting of query operations and one change set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchParserBenchmark {
+
+  private static final String CRLF = "\r\n";
+  private static final String BOUNDARY = "batch_8194-cf13-1f56";
+  private static final String CHANGESET_BOUNDARY = "changeset_f980-1cb6-94dd";
+  private static final String CONTENT_TYPE = "multipart/mixed; boundary=" + BOUNDARY;
+
+  @Param({ "10", "100" })
+  public int operations;
+
+  private EntityProviderBatchProperties properties;
+  private byte[] body;
+
+  @Setup
+  public void setup() throws Exception {
+    PathInfoImpl pathInfo = new PathInfoImpl();
+    pathInfo.setServiceRoot(BenchmarkData.SERVICE_ROOT);
+    properties = EntityProviderBatchProperties.init().pathInfo(pathInfo).build();
+
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < operations; i++) {
+      builder.append("--").append(BOUNDARY).append(CRLF)
+          .append("Content-Type: application/http").append(CRLF)
+          .append("Content-Transfer-Encoding: binary").append(CRLF)
+          .append(CRLF)
+          .append("GET Employees('").append(i % 6 + 1).append("')?$select=EmployeeName,Age HTTP/1.1").append(CRLF)
+          .append("Accept: application/json").append(CRLF)
+          .append("MaxDataServiceVersion: 2.0").append(CRLF)
+          .append(CRLF)
+          .append(CRLF);
+    }
+    builder.append("--").append(BOUNDARY).append(CRLF)
+        .append("Content-Type: multipart/mixed; boundary=").append(CHANGESET_BOUNDARY).append(CRLF)
+        .append(CRLF)
+        .append("--").append(CHANGESET_BOUNDARY).append(CRLF)
+        .append("Content-Type: application/http").append(CRLF)
+        .append("Content-Transfer-Encoding: binary").append(CRLF)
+        .append("Content-ID: changeRequest1").append(CRLF)
+        .append(CRLF)
+        .append("PUT Employees('2')/EmployeeName HTTP/1.1").append(CRLF)
+        .append("Accept: application/json").append(CRLF)
+        .append("Content-Type: application/json").append(CRLF)
+        .append("MaxDataServiceVersion: 2.0").append(CRLF)
+        .append(CRLF)
+        .append("{\"EmployeeName\":\"Frederic Fall MODIFIED\"}").append(CRLF)
+        .append("--").append(CHANGESET_BOUNDARY).append("--").append(CRLF)
+        .append(CRLF)
+        .append("--").append(BOUNDARY).append("--");
+    body = builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public List<BatchRequestPart> parseBatchRequest() throws Exception {
+    return EntityProvider.parseBatchRequest(CONTENT_TYPE, new ByteArrayInputStream(body), properties);
+  }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+import org.apache.olingo.odata2.ref.edm.ScenarioEdmProvider;
+
+/**
+ * Shared model and payload data for the benchmarks, based on the reference scenario.
+ */
+public final class BenchmarkData {
+
+  public static final URI SERVICE_ROOT = URI.create("http://localhost:8080/ReferenceScenario.svc/");
+
+  private BenchmarkData() {}
+
+  /**
+   * Creates the EDM of the reference scenario.
+   * @param preloaded whether the EDM is created eagerly (and therefore shareable and cacheable) or lazily
+   * @return the EDM
+   * @throws ODataException
+   */
+  public static Edm createEdm(final boolean preloaded) throws ODataException {
+    return preloaded ?
+        RuntimeDelegate.createPreloadedEdm(new ScenarioEdmProvider()) :
+        RuntimeDelegate.createEdm(new ScenarioEdmProvider());
+  }
+
+  public static EdmEntitySet getEmployees(final Edm edm) throws ODataException {
+    return edm.getDefaultEntityContainer().getEntitySet("Employees");
+  }
+
+  /**
+   * Creates the property values of one employee as the entity providers expect them.
+   * @param id the employee id
+   * @return the property map
+   */
+  public static Map<String, Object> createEmployee(final int id) {
+    Map<String, Object> city = new HashMap<String, Object>();
+    city.put("PostalCode", "69124");
+    city.put("CityName", "Heidelberg");
+    Map<String, Object> location = new HashMap<String, Object>();
+    location.put("City", city);
+    location.put("Country", "Germany");
+
+    Calendar entryDate = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    entryDate.clear();
+    entryDate.set(1999, Calendar.JANUARY, 1 + id % 28);
+
+    Map<String, Object> employee = new HashMap<String, Object>();
+    employee.put("EmployeeId", String.valueOf(id));
+    employee.put("EmployeeName", "Employee " + id);
+    employee.put("ManagerId", "1");
+    employee.put("RoomId", String.valueOf(id % 5 + 1));
+    employee.put("TeamId", String.valueOf(id % 3 + 1));
+    employee.put("Location", location);
+    employee.put("Age", Integer.valueOf(20 + id % 40));
+    employee.put("EntryDate", entryDate);
+    employee.put("ImageUrl", "Employees('" + id + "')/$value");
+    return employee;
+  }
+
+  public static List<Map<String, Object>> createEmployees(final int count) {
+    List<Map<String, Object>> employees = new ArrayList<Map<String, Object>>(count);
+    for (int i = 1; i <= count; i++) {
+      employees.add(createEmployee(i));
+    }
+    return employees;
+  }
+
+  /**
+   * Reads the given response entity completely so that lazily produced content is really written.
+   * @param entity a response entity
+   * @return the number of bytes read
+   * @throws IOException
+   */
+  public static long consume(final Object entity) throws IOException {
+    if (entity instanceof InputStream) {
+      InputStream stream = (InputStream) entity;
+      try {
+        byte[] buffer = new byte[8192];
+        long count = 0;
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+          count += read;
+        }
+        return count;
+      } finally {
+        stream.close();
+      }
+    } else if (entity instanceof byte[]) {
+      return ((byte[]) entity).length;
+    } else if (entity instanceof String) {
+      return ((String) entity).length();
+    } else {
+      return 0;
+    }
+  }
+}
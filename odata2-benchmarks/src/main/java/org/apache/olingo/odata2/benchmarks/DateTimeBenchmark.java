@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Literal conversion of <code>Edm.DateTime</code> and <code>Edm.DateTimeOffset</code> values,
+ * compared with the former {@link Calendar} based implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeBenchmark {
+
+  private static final String DATE_TIME_LITERAL = "2012-02-29T01:02:03.456";
+  private static final String DATE_TIME_OFFSET_LITERAL = "2012-02-29T01:02:03.456+01:30";
+  private static final String DATE_TIME_OFFSET_JSON_LITERAL = "/Date(1330477323456+0090)/";
+
+  @Param({ "arithmetic", "calendar" })
+  public String implementation;
+
+  private EdmSimpleType dateTime;
+  private EdmSimpleType dateTimeOffset;
+  private Calendar value;
+
+  @Setup
+  public void setup() {
+    if ("calendar".equals(implementation)) {
+      dateTime = CalendarDateTime.getInstance();
+      dateTimeOffset = CalendarDateTimeOffset.getInstance();
+    } else {
+      dateTime = EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance();
+      dateTimeOffset = EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance();
+    }
+    value = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    value.clear();
+    value.set(2012, Calendar.FEBRUARY, 29, 1, 2, 3);
+    value.set(Calendar.MILLISECOND, 456);
+  }
+
+  @Benchmark
+  public String dateTimeToString() throws Exception {
+    return dateTime.valueToString(value, EdmLiteralKind.DEFAULT, null);
+  }
+
+  @Benchmark
+  public Long dateTimeFromString() throws Exception {
+    return dateTime.valueOfString(DATE_TIME_LITERAL, EdmLiteralKind.DEFAULT, null, Long.class);
+  }
+
+  @Benchmark
+  public Calendar dateTimeFromStringToCalendar() throws Exception {
+    return dateTime.valueOfString(DATE_TIME_LITERAL, EdmLiteralKind.DEFAULT, null, Calendar.class);
+  }
+
+  @Benchmark
+  public String dateTimeOffsetToString() throws Exception {
+    return dateTimeOffset.valueToString(value, EdmLiteralKind.DEFAULT, null);
+  }
+
+  @Benchmark
+  public Long dateTimeOffsetFromString() throws Exception {
+    return dateTimeOffset.valueOfString(DATE_TIME_OFFSET_LITERAL, EdmLiteralKind.DEFAULT, null, Long.class);
+  }
+
+  @Benchmark
+  public Long dateTimeOffsetFromJson() throws Exception {
+    return dateTimeOffset.valueOfString(DATE_TIME_OFFSET_JSON_LITERAL, EdmLiteralKind.JSON, null, Long.class);
+  }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of single entries and feeds in Atom and JSON format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityWriteBenchmark {
+
+  @Param({ "application/atom+xml", "application/json" })
+  public String contentType;
+
+  @Param({ "100" })
+  public int feedSize;
+
+  private EdmEntitySet entitySet;
+  private EntityProviderWriteProperties properties;
+  private Map<String, Object> entry;
+  private List<Map<String, Object>> feed;
+
+  @Setup
+  public void setup() throws Exception {
+    entitySet = BenchmarkData.getEmployees(BenchmarkData.createEdm(true));
+    properties = EntityProviderWriteProperties.serviceRoot(BenchmarkData.SERVICE_ROOT).build();
+    entry = BenchmarkData.createEmployee(1);
+    feed = BenchmarkData.createEmployees(feedSize);
+  }
+
+  @Benchmark
+  public long writeEntry() throws Exception {
+    ODataResponse response = EntityProvider.writeEntry(contentType, entitySet, entry, properties);
+    return BenchmarkData.consume(response.getEntity());
+  }
+
+  @Benchmark
+  public long writeFeed() throws Exception {
+    ODataResponse response = EntityProvider.writeFeed(contentType, entitySet, feed, properties);
+    return BenchmarkData.consume(response.getEntity());
+  }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserialization of feeds in Atom and JSON format; the payloads are produced once by the entity providers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedReadBenchmark {
+
+  @Param({ "application/atom+xml", "application/json" })
+  public String contentType;
+
+  @Param({ "100" })
+  public int feedSize;
+
+  private EdmEntitySet entitySet;
+  private EntityProviderReadProperties properties;
+  private byte[] payload;
+
+  @Setup
+  public void setup() throws Exception {
+    entitySet = BenchmarkData.getEmployees(BenchmarkData.createEdm(true));
+    properties = EntityProviderReadProperties.init().mergeSemantic(false).build();
+
+    InputStream content = (InputStream) EntityProvider.writeFeed(contentType, entitySet,
+        BenchmarkData.createEmployees(feedSize),
+        EntityProviderWriteProperties.serviceRoot(BenchmarkData.SERVICE_ROOT).build()).getEntity();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = content.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+    content.close();
+    payload = buffer.toByteArray();
+  }
+
+  @Benchmark
+  public ODataFeed readFeed() throws Exception {
+    return EntityProvider.readFeed(contentType, entitySet, new ByteArrayInputStream(payload), properties);
+  }
+}
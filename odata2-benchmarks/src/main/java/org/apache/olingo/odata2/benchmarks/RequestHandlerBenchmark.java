@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.ODataService;
+import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
+import org.apache.olingo.odata2.api.processor.ODataRequest;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.api.uri.UriParser;
+import org.apache.olingo.odata2.core.ODataContextImpl;
+import org.apache.olingo.odata2.core.ODataRequestHandler;
+import org.apache.olingo.odata2.core.PathInfoImpl;
+import org.apache.olingo.odata2.ref.processor.ScenarioServiceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read requests dispatched end to end through {@link ODataRequestHandler} against the reference scenario,
+ * the way the servlet does it but without a servlet container. The service and its data are created once
+ * and shared by all invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestHandlerBenchmark {
+
+  @Param({ "application/atom+xml", "application/json" })
+  public String accept;
+
+  private ODataServiceFactory factory;
+  private ODataService service;
+  private ODataRequest entityRequest;
+  private ODataRequest feedRequest;
+
+  @Setup
+  public void setup() throws Exception {
+    factory = new ScenarioServiceFactory();
+    service = factory.createService(new ODataContextImpl(createRequest("Employees", null), factory));
+
+    entityRequest = createRequest("Employees('2')", null);
+    Map<String, String> queryOptions = new HashMap<String, String>();
+    queryOptions.put("$filter", "Age gt 20 and substringof('a', EmployeeName)");
+    queryOptions.put("$orderby", "EmployeeName");
+    queryOptions.put("$expand", "ne_Room");
+    feedRequest = createRequest("Employees", queryOptions);
+  }
+
+  private ODataRequest createRequest(final String resourcePath, final Map<String, String> queryOptions) {
+    List<PathSegment> segments = new ArrayList<PathSegment>();
+    for (String segment : resourcePath.split("/")) {
+      segments.add(UriParser.createPathSegment(segment, null));
+    }
+    PathInfoImpl pathInfo = new PathInfoImpl();
+    pathInfo.setServiceRoot(BenchmarkData.SERVICE_ROOT);
+    pathInfo.setPrecedingPathSegment(Collections.<PathSegment> emptyList());
+    pathInfo.setODataPathSegment(segments);
+    pathInfo.setRequestUri(BenchmarkData.SERVICE_ROOT.resolve(resourcePath));
+
+    return ODataRequest.method(ODataHttpMethod.GET)
+        .httpMethod(ODataHttpMethod.GET.name())
+        .acceptHeaders(Collections.singletonList(accept))
+        .acceptableLanguages(new ArrayList<Locale>())
+        .requestHeaders(new HashMap<String, List<String>>())
+        .queryParameters(queryOptions == null ? new HashMap<String, String>() : queryOptions)
+        .pathInfo(pathInfo)
+        .build();
+  }
+
+  private long handle(final ODataRequest request) throws Exception {
+    ODataContextImpl context = new ODataContextImpl(request, factory);
+    context.setService(service);
+    service.getProcessor().setContext(context);
+    ODataResponse response = new ODataRequestHandler(factory, service, context).handle(request);
+    return BenchmarkData.consume(response.getEntity());
+  }
+
+  @Benchmark
+  public long readEntry() throws Exception {
+    return handle(entityRequest);
+  }
+
+  @Benchmark
+  public long readFeed() throws Exception {
+    return handle(feedRequest);
+  }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Literal conversion of <code>Edm.DateTime</code> and <code>Edm.Decimal</code> values in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleTypeBenchmark {
+
+  private static final String DATE_TIME_LITERAL = "2012-02-29T01:02:03.456";
+  private static final String DECIMAL_LITERAL = "-1234567890.0123456789";
+
+  private EdmSimpleType dateTime;
+  private EdmSimpleType decimal;
+  private Calendar dateTimeValue;
+  private BigDecimal decimalValue;
+
+  @Setup
+  public void setup() {
+    dateTime = EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance();
+    decimal = EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance();
+    dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    dateTimeValue.clear();
+    dateTimeValue.set(2012, Calendar.FEBRUARY, 29, 1, 2, 3);
+    dateTimeValue.set(Calendar.MILLISECOND, 456);
+    decimalValue = new BigDecimal(DECIMAL_LITERAL);
+  }
+
+  @Benchmark
+  public String dateTimeToString() throws Exception {
+    return dateTime.valueToString(dateTimeValue, EdmLiteralKind.DEFAULT, null);
+  }
+
+  @Benchmark
+  public Calendar dateTimeFromString() throws Exception {
+    return dateTime.valueOfString(DATE_TIME_LITERAL, EdmLiteralKind.DEFAULT, null, Calendar.class);
+  }
+
+  @Benchmark
+  public String dateTimeToJson() throws Exception {
+    return dateTime.valueToString(dateTimeValue, EdmLiteralKind.JSON, null);
+  }
+
+  @Benchmark
+  public String decimalToString() throws Exception {
+    return decimal.valueToString(decimalValue, EdmLiteralKind.DEFAULT, null);
+  }
+
+  @Benchmark
+  public BigDecimal decimalFromString() throws Exception {
+    return decimal.valueOfString(DECIMAL_LITERAL, EdmLiteralKind.DEFAULT, null, BigDecimal.class);
+  }
+
+  @Benchmark
+  public BigDecimal decimalFromUri() throws Exception {
+    return decimal.valueOfString(DECIMAL_LITERAL + "M", EdmLiteralKind.URI, null, BigDecimal.class);
+  }
+}
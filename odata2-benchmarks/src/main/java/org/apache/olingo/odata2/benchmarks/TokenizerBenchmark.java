@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.core.uri.expression.TokenList;
+import org.apache.olingo.odata2.core.uri.expression.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenization of <code>$filter</code> expressions of growing length,
+ * compared with the former regular expression based tokenizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+
+  @Param({ "1", "10", "200" })
+  public int terms;
+
+  private String expression;
+
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < terms; i++) {
+      if (i > 0) {
+        builder.append(" or ");
+      }
+      builder.append("(EmployeeName eq 'Employee ").append(i).append("' and Age ge ").append(i % 60)
+          .append(" and EntryDate lt datetime'1999-01-01T00:00:00')");
+    }
+    expression = builder.toString();
+  }
+
+  @Benchmark
+  public TokenList tokenize() throws Exception {
+    return new Tokenizer(expression).tokenize();
+  }
+
+  @Benchmark
+  public TokenList tokenizeWithRegex() throws Exception {
+    return new RegexTokenizer(expression).tokenize();
+  }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.api.uri.UriInfo;
+import org.apache.olingo.odata2.api.uri.UriParser;
+import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
+import org.apache.olingo.odata2.core.uri.UriParserImpl;
+import org.apache.olingo.odata2.core.uri.expression.FilterParserImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of resource paths with system query options and of <code>$filter</code> expressions.
+ * A preloaded EDM comes with a parse cache, a lazily loaded one does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriParserBenchmark {
+
+  private static final String FILTER = "EmployeeName eq 'Walter Winter' and Age gt 30"
+      + " or substringof('Heidel', Location/City/CityName) and year(EntryDate) eq 1999"
+      + " or (ManagerId eq '3' and not (TeamId eq '2'))";
+
+  @Param({ "false", "true" })
+  public boolean preloaded;
+
+  private UriParserImpl uriParser;
+  private EdmEntityType employeeType;
+  private List<PathSegment> navigationPath;
+  private List<PathSegment> entitySetPath;
+  private Map<String, String> queryOptions;
+
+  @Setup
+  public void setup() throws Exception {
+    Edm edm = BenchmarkData.createEdm(preloaded);
+    uriParser = new UriParserImpl(edm);
+    employeeType = BenchmarkData.getEmployees(edm).getEntityType();
+
+    navigationPath = new ArrayList<PathSegment>();
+    navigationPath.add(UriParser.createPathSegment("Employees('2')", null));
+    navigationPath.add(UriParser.createPathSegment("ne_Room", null));
+    navigationPath.add(UriParser.createPathSegment("nr_Building", null));
+
+    entitySetPath = new ArrayList<PathSegment>();
+    entitySetPath.add(UriParser.createPathSegment("Employees", null));
+    queryOptions = new HashMap<String, String>();
+    queryOptions.put("$filter", FILTER);
+    queryOptions.put("$orderby", "EmployeeName desc,Age");
+    queryOptions.put("$expand", "ne_Room/nr_Building,ne_Team");
+    queryOptions.put("$select", "EmployeeName,Age,ne_Room/Name,ne_Team");
+    queryOptions.put("$top", "20");
+    queryOptions.put("$skip", "10");
+  }
+
+  @Benchmark
+  public UriInfo parseNavigation() throws Exception {
+    return uriParser.parse(navigationPath, new HashMap<String, String>());
+  }
+
+  @Benchmark
+  public UriInfo parseQueryOptions() throws Exception {
+    return uriParser.parse(entitySetPath, queryOptions);
+  }
+
+  @Benchmark
+  public FilterExpression parseFilter() throws Exception {
+    return new FilterParserImpl(employeeType).parseFilterString(FILTER);
+  }
+}
@@ -222,6 +222,67 @@ public interface ODataJPAContext {
    */
   public void setPageSize(int size);
 
+  /**
+   * The method sets whether server side paging is done with keyset (seek) pagination.
+   * The skip token then carries the ordering values of the last entity of a page instead of
+   * an offset, so that the next page is selected with a seek predicate.
+   * Requests that cannot be paged that way still use offset paging.
+   * The default implementation ignores the setting; keyset pagination then stays disabled.
+   * @param keysetPaging
+   */
+  public default void setKeysetPaging(boolean keysetPaging) {}
+
+  /**
+   * The method returns whether server side paging is done with keyset (seek) pagination.
+   * @return
+   * <ul><li>true - skip tokens carry the ordering values of the last entity of a page.</li>
+   * <li>false - skip tokens carry the offset of the next page (default).</li>
+   * </ul>
+   */
+  public default boolean isKeysetPaging() {
+    return false;
+  }
+
+  /**
+   * The method sets whether the total count of an entity set requested with $inlinecount=allpages
+   * is taken from the page query where possible. If the page query returns fewer entities than it
+   * was limited to, the total count is its offset plus the number of returned entities, and no
+   * separate count query is run.
+   * The default implementation ignores the setting; the count query is then always run.
+   * @param optimizedInlineCount
+   */
+  public default void setOptimizedInlineCount(boolean optimizedInlineCount) {}
+
+  /**
+   * The method returns whether the total count for $inlinecount=allpages is taken from the page
+   * query where possible.
+   * @return
+   * <ul><li>true - the count query is run only if the page query does not tell the total count.</li>
+   * <li>false - the count query is always run (default).</li>
+   * </ul>
+   */
+  public default boolean isOptimizedInlineCount() {
+    return false;
+  }
+
+  /**
+   * The method sets for how many milliseconds the result of a count query for $inlinecount=allpages
+   * is reused for requests with the same count statement and parameter values. Counts served from
+   * this cache may be outdated by up to the given time. 0 (the default) disables the cache.
+   * The default implementation ignores the setting.
+   * @param milliseconds
+   */
+  public default void setInlineCountCacheTimeToLive(long milliseconds) {}
+
+  /**
+   * The method returns for how many milliseconds the result of a count query for
+   * $inlinecount=allpages is reused.
+   * @return time to live in milliseconds; 0 if counts are not cached (default)
+   */
+  public default long getInlineCountCacheTimeToLive() {
+    return 0;
+  }
+
   /**
    * The method sets the server side paging object
    * @param paging an instance of type {@link org.apache.olingo.odata2.jpa.processor.api.access.JPAPaging}
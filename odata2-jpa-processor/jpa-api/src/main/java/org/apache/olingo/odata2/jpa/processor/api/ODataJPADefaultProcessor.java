@@ -252,11 +252,13 @@ public abstract class ODataJPADefaultProcessor extends ODataJPAProcessor {
       oDataJPAContext.setODataContext(getContext());
 
       ODataResponse batchResponse;
-      List<BatchResponsePart> batchResponseParts = new ArrayList<BatchResponsePart>();
       PathInfo pathInfo = getContext().getPathInfo();
       EntityProviderBatchProperties batchProperties = EntityProviderBatchProperties.init().pathInfo(pathInfo).build();
       List<BatchRequestPart> batchParts = EntityProvider.parseBatchRequest(contentType, content, batchProperties);
 
+      // The parts are handled one after another: ODataJPAServiceFactory.createService is not thread-safe,
+      // so the query operations must not be handed to concurrently created services.
+      List<BatchResponsePart> batchResponseParts = new ArrayList<BatchResponsePart>();
       for (BatchRequestPart batchPart : batchParts) {
         batchResponseParts.add(handler.handleBatchPart(batchPart));
       }
@@ -80,6 +80,7 @@ public abstract class ODataJPAServiceFactory extends ODataServiceFactory {
   private ODataJPAContext oDataJPAContext;
   private ODataContext oDataContext;
   private boolean setDetailErrors = false;
+  private boolean edmCaching = false;
   private OnJPAWriteContent onJPAWriteContent = null;
   private ODataJPATransaction oDataJPATransaction = null;
 
@@ -141,6 +142,9 @@ public abstract class ODataJPAServiceFactory extends ODataServiceFactory {
     // OData Entity Data Model Provider based on JPA
     EdmProvider edmProvider = accessFactory.createJPAEdmProvider(oDataJPAContext);
 
+    if (edmCaching) {
+      return createODataSingleProcessorService(getEdmCacheKey(), edmProvider, odataJPAProcessor);
+    }
     return createODataSingleProcessorService(edmProvider, odataJPAProcessor);
   }
 
@@ -217,6 +221,31 @@ public abstract class ODataJPAServiceFactory extends ODataServiceFactory {
     this.setDetailErrors = setDetailErrors;
   }
 
+  /**
+   * The method sets the context whether the entity data model built from the JPA metamodel
+   * should be shared across requests. If enabled, the JPA metamodel is introspected only for
+   * the first request; all further requests use the cached entity data model until it is removed
+   * with {@link org.apache.olingo.odata2.api.edm.provider.EdmCache#invalidate(String)} using the key
+   * returned by {@link #getEdmCacheKey()}.
+   * @param edmCaching takes
+   * <ul><li>true - to indicate that the entity data model should be shared across requests</li>
+   * <li>false - to indicate that the entity data model should be built for each request</li>
+   * </ul>
+   */
+  protected void setEdmCaching(final boolean edmCaching) {
+    this.edmCaching = edmCaching;
+  }
+
+  /**
+   * Returns the key under which the shared entity data model of this service is cached.
+   * The default key consists of the factory class name and the persistence unit name;
+   * override the method if one factory serves several differently mapped models.
+   * @return the cache key
+   */
+  protected String getEdmCacheKey() {
+    return getClass().getName() + ":" + oDataJPAContext.getPersistenceUnitName();
+  }
+
   private void validatePreConditions() throws ODataJPARuntimeException {
 
     if (oDataJPAContext.getEntityManager() == null) {
@@ -29,4 +29,12 @@ public interface JPAPaging {
 
   public int getStartPage();
 
+  /**
+   * The method returns the skip token of the next page if keyset (seek) pagination is used.
+   * @return the skip token or null if the next page is addressed by {@link #getNextPage()}
+   */
+  public default String getNextSkipToken() {
+    return null;
+  }
+
 }
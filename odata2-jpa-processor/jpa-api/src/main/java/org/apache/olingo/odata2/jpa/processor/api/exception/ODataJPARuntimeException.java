@@ -74,6 +74,8 @@ public class ODataJPARuntimeException extends ODataJPAException {
       "OPERATOR_EQ_NE_MISSING");
   public static final MessageReference FILTER_ON_NAVIGATION_NOT_SUPPORTED =
       createMessageReference(ODataJPARuntimeException.class, "FILTER_ON_NAVIGATION_NOT_SUPPORTED");
+  public static final MessageReference INVALID_SKIP_TOKEN = createMessageReference(ODataJPARuntimeException.class,
+      "INVALID_SKIP_TOKEN");
 
   private ODataJPARuntimeException(final String localizedMessage, final Throwable e, final MessageReference msgRef) {
     super(localizedMessage, e, msgRef);
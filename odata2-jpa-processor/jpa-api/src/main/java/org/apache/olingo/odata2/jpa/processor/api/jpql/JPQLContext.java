@@ -128,7 +128,7 @@ public abstract class JPQLContext implements JPQLContextView {
    */
   public final static JPQLContextBuilder createBuilder(final JPQLContextType contextType, final Object resultsView)
       throws ODataJPARuntimeException {
-    return JPQLContextBuilder.create(contextType, resultsView, false);
+    return JPQLContextBuilder.create(contextType, resultsView, false, false);
   }
 
   /**
@@ -149,7 +149,30 @@ public abstract class JPQLContext implements JPQLContextView {
   public final static JPQLContextBuilder createBuilder(final JPQLContextType contextType, final Object resultsView,
       final boolean withPaging)
       throws ODataJPARuntimeException {
-    return JPQLContextBuilder.create(contextType, resultsView, withPaging);
+    return JPQLContextBuilder.create(contextType, resultsView, withPaging, false);
+  }
+
+  /**
+   * the method returns an instance of type
+   * {@link org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLContext.JPQLContextBuilder} based on the
+   * JPQLContextType. The context builder can be used for
+   * building different JPQL contexts.
+   * 
+   * @param contextType
+   * is the JPQLContextType
+   * @param resultsView
+   * is the OData request view
+   * @param withPaging
+   * indicates whether to build the context with paging
+   * @param withKeysetPaging
+   * indicates whether paging is done with keyset (seek) pagination
+   * @return an instance of type {@link org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLContext.JPQLContextBuilder}
+   * @throws ODataJPARuntimeException
+   */
+  public final static JPQLContextBuilder createBuilder(final JPQLContextType contextType, final Object resultsView,
+      final boolean withPaging, final boolean withKeysetPaging)
+      throws ODataJPARuntimeException {
+    return JPQLContextBuilder.create(contextType, resultsView, withPaging, withKeysetPaging);
   }
   
   protected static void setJPQLContext(JPQLContext context) {
@@ -182,6 +205,8 @@ public abstract class JPQLContext implements JPQLContextView {
 
     protected boolean withPaging = false;
 
+    protected boolean withKeysetPaging = false;
+
     protected JPQLContextBuilder() {}
 
     /**
@@ -191,12 +216,16 @@ public abstract class JPQLContext implements JPQLContextView {
      * indicates the type of JPQLContextBuilder to instantiate.
      * @param resultsView
      * is the OData request view
+     * @param withPaging
+     * indicates whether to build the context with paging
+     * @param withKeysetPaging
+     * indicates whether paging is done with keyset (seek) pagination
      * @return an instance of type
      * {@link org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLContext.JPQLContextBuilder}
      * @throws ODataJPARuntimeException
      */
     private static JPQLContextBuilder create(final JPQLContextType contextType, final Object resultsView,
-        final boolean withPaging)
+        final boolean withPaging, final boolean withKeysetPaging)
         throws ODataJPARuntimeException {
       JPQLContextBuilder contextBuilder =
           ODataJPAFactory.createFactory().getJPQLBuilderFactory().getContextBuilder(contextType);
@@ -205,6 +234,7 @@ public abstract class JPQLContext implements JPQLContextView {
       }
       contextBuilder.setResultsView(resultsView);
       contextBuilder.withPaging = withPaging;
+      contextBuilder.withKeysetPaging = withKeysetPaging;
       return contextBuilder;
     }
 
@@ -40,6 +40,9 @@ public class ODataJPAContextImpl implements ODataJPAContext {
   private String jpaEdmMappingModelName;
   private JPAEdmExtension jpaEdmExtension;
   private int pageSize = 0;
+  private boolean keysetPaging = false;
+  private boolean optimizedInlineCount = false;
+  private long inlineCountCacheTimeToLive = 0;
   private JPAPaging jpaPaging;
   private static final ThreadLocal<ODataContext> oDataContextThreadLocal = new ThreadLocal<ODataContext>();
   private boolean defaultNaming = true;
@@ -160,6 +163,36 @@ public class ODataJPAContextImpl implements ODataJPAContext {
     pageSize = size;
   }
 
+  @Override
+  public void setKeysetPaging(final boolean keysetPaging) {
+    this.keysetPaging = keysetPaging;
+  }
+
+  @Override
+  public boolean isKeysetPaging() {
+    return keysetPaging;
+  }
+
+  @Override
+  public void setOptimizedInlineCount(final boolean optimizedInlineCount) {
+    this.optimizedInlineCount = optimizedInlineCount;
+  }
+
+  @Override
+  public boolean isOptimizedInlineCount() {
+    return optimizedInlineCount;
+  }
+
+  @Override
+  public void setInlineCountCacheTimeToLive(final long milliseconds) {
+    inlineCountCacheTimeToLive = milliseconds;
+  }
+
+  @Override
+  public long getInlineCountCacheTimeToLive() {
+    return inlineCountCacheTimeToLive;
+  }
+
   @Override
   public void setPaging(final JPAPaging paging) {
     jpaPaging = paging;
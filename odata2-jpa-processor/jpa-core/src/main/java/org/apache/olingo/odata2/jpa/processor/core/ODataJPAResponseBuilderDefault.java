@@ -20,6 +20,7 @@ package org.apache.olingo.odata2.jpa.processor.core;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +70,7 @@ import org.apache.olingo.odata2.jpa.processor.api.ODataJPATombstoneContext;
 import org.apache.olingo.odata2.jpa.processor.api.access.JPAPaging;
 import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
 import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAEntityParser;
+import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAExpandLoader;
 import org.apache.olingo.odata2.jpa.processor.core.callback.JPAExpandCallBack;
 import org.apache.olingo.odata2.jpa.processor.core.callback.JPATombstoneCallBack;
 import org.apache.olingo.odata2.jpa.processor.core.callback.JPATombstoneCallBackFI;
@@ -103,13 +105,17 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
         edmEntityList = jpaResultParser.parse2EdmEntityList(jpaEntities, edmEntityType);
       }
       expandList = resultsView.getExpand();
+      JPAExpandLoader expandLoader = null;
       if (expandList != null && !expandList.isEmpty()) {
+        // The expanded entities of the whole page are loaded at once instead of entity by entity.
+        expandLoader = new JPAExpandLoader(oDataJPAContext.getEntityManager());
+        expandLoader.load(edmEntityType, jpaEntities, expandList);
         int count = 0;
         List<EdmNavigationProperty> edmNavPropertyList = constructListofNavProperty(expandList);
         for (Object jpaEntity : jpaEntities) {
           Map<String, Object> relationShipMap = edmEntityList.get(count);
           HashMap<String, Object> navigationMap =
-              jpaResultParser.parse2EdmNavigationValueMap(jpaEntity, edmNavPropertyList);
+              expandLoader.parse2EdmNavigationValueMap(jpaEntity, edmNavPropertyList);
           relationShipMap.putAll(navigationMap);
           count++;
         }
@@ -117,7 +123,7 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
 
       EntityProviderWriteProperties feedProperties = null;
 
-      feedProperties = getEntityProviderProperties(oDataJPAContext, resultsView, edmEntityList);
+      feedProperties = getEntityProviderProperties(oDataJPAContext, resultsView, edmEntityList, expandLoader);
       odataResponse =
           EntityProvider.writeFeed(contentType, resultsView.getTargetEntitySet(), edmEntityList, feedProperties);
       odataResponse = ODataResponse.fromResponse(odataResponse).status(HttpStatusCodes.OK).build();
@@ -160,13 +166,16 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
       }
 
       expandList = resultsView.getExpand();
+      JPAExpandLoader expandLoader = null;
       if (expandList != null && !expandList.isEmpty()) {
+        expandLoader = new JPAExpandLoader(oDataJPAContext.getEntityManager());
+        expandLoader.load(edmEntityType, Collections.singletonList(jpaEntity), expandList);
         HashMap<String, Object> navigationMap =
-            jpaResultParser.parse2EdmNavigationValueMap(jpaEntity, constructListofNavProperty(expandList));
+            expandLoader.parse2EdmNavigationValueMap(jpaEntity, constructListofNavProperty(expandList));
         edmPropertyValueMap.putAll(navigationMap);
       }
       EntityProviderWriteProperties feedProperties = null;
-      feedProperties = getEntityProviderProperties(oDataJPAContext, resultsView);
+      feedProperties = getEntityProviderProperties(oDataJPAContext, resultsView, expandLoader);
       odataResponse =
           EntityProvider.writeEntry(contentType, resultsView.getTargetEntitySet(), edmPropertyValueMap, feedProperties);
 
@@ -517,7 +526,7 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
             serviceRoot.relativize(pathInfo.getRequestUri()).toString();
         nextLink = percentEncodeNextLink(nextLink);
         nextLink += (nextLink != null ? nextLink.contains("?") ? "&" : "?" : "?")
-            + "$skiptoken=" + odataJPAContext.getPaging().getNextPage();
+            + "$skiptoken=" + (paging.getNextSkipToken() == null ? paging.getNextPage() : paging.getNextSkipToken());
         entityFeedPropertiesBuilder.nextLink(nextLink);
       }
       entityFeedPropertiesBuilder.inlineCount(count);
@@ -554,6 +563,12 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
   private static EntityProviderWriteProperties getEntityProviderProperties(final ODataJPAContext odataJPAContext,
       final GetEntitySetUriInfo resultsView, final List<Map<String, Object>> edmEntityList)
       throws ODataJPARuntimeException {
+    return getEntityProviderProperties(odataJPAContext, resultsView, edmEntityList, null);
+  }
+
+  private static EntityProviderWriteProperties getEntityProviderProperties(final ODataJPAContext odataJPAContext,
+      final GetEntitySetUriInfo resultsView, final List<Map<String, Object>> edmEntityList,
+      final JPAExpandLoader expandLoader) throws ODataJPARuntimeException {
     ODataEntityProviderPropertiesBuilder entityFeedPropertiesBuilder = null;
     ODataContext context = odataJPAContext.getODataContext();
 
@@ -574,7 +589,7 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
             serviceRoot.relativize(pathInfo.getRequestUri()).toString();
         nextLink = percentEncodeNextLink(nextLink);
         nextLink += (nextLink != null ? nextLink.contains("?") ? "&" : "?" : "?")
-            + "$skiptoken=" + odataJPAContext.getPaging().getNextPage();
+            + "$skiptoken=" + (paging.getNextSkipToken() == null ? paging.getNextPage() : paging.getNextSkipToken());
         entityFeedPropertiesBuilder.nextLink(nextLink);
       }
       entityFeedPropertiesBuilder.inlineCount(count);
@@ -583,7 +598,7 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
           UriParser.createExpandSelectTree(resultsView.getSelect(), resultsView.getExpand());
 
       Map<String, ODataCallback> expandCallBack =
-          JPAExpandCallBack.getCallbacks(serviceRoot, expandSelectTree, resultsView.getExpand());
+          JPAExpandCallBack.getCallbacks(serviceRoot, expandSelectTree, resultsView.getExpand(), expandLoader);
 
       Map<String, ODataCallback> callBackMap = new HashMap<String, ODataCallback>();
       callBackMap.putAll(expandCallBack);
@@ -668,6 +683,11 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
 
   private static EntityProviderWriteProperties getEntityProviderProperties(final ODataJPAContext odataJPAContext,
       final GetEntityUriInfo resultsView) throws ODataJPARuntimeException {
+    return getEntityProviderProperties(odataJPAContext, resultsView, null);
+  }
+
+  private static EntityProviderWriteProperties getEntityProviderProperties(final ODataJPAContext odataJPAContext,
+      final GetEntityUriInfo resultsView, final JPAExpandLoader expandLoader) throws ODataJPARuntimeException {
     ODataEntityProviderPropertiesBuilder entityFeedPropertiesBuilder = null;
     ExpandSelectTreeNode expandSelectTree = null;
     try {
@@ -676,7 +696,7 @@ public final class ODataJPAResponseBuilderDefault implements ODataJPAResponseBui
       expandSelectTree = UriParser.createExpandSelectTree(resultsView.getSelect(), resultsView.getExpand());
       entityFeedPropertiesBuilder.expandSelectTree(expandSelectTree);
       entityFeedPropertiesBuilder.callbacks(JPAExpandCallBack.getCallbacks(odataJPAContext.getODataContext()
-          .getPathInfo().getServiceRoot(), expandSelectTree, resultsView.getExpand()));
+          .getPathInfo().getServiceRoot(), expandSelectTree, resultsView.getExpand(), expandLoader));
     } catch (ODataException e) {
       throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e);
     }
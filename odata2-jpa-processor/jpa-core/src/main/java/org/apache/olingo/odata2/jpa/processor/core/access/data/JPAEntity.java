@@ -233,8 +233,10 @@ public class JPAEntity {
             if (!embeddableObjMap.containsKey(embeddableKeyNameSplit[0])) {
                 methodPartName = embeddableKeyNameSplit[0];
                 method = jpaEntityParser.getAccessModifierSet(entity, methodPartName);
-                embeddableObj = method.getParameterTypes()[0].newInstance();
-                method.invoke(entity, embeddableObj);
+                JPAPropertyAccessor accessor = JPAPropertyAccessor.get(method);
+                embeddableObj = accessor.getParameterType()
+                                        .newInstance();
+                accessor.setValue(entity, embeddableObj);
                 embeddableObjMap.put(embeddableKeyNameSplit[0], embeddableObj);
             } else {
                 embeddableObj = embeddableObjMap.get(embeddableKeyNameSplit[0]);
@@ -244,7 +246,8 @@ public class JPAEntity {
                 methodPartName = embeddableKeyNameSplit[1];
                 method = jpaEntityParser.getAccessModifierSet(embeddableObj, methodPartName);
                 Object simpleObj = oDataEntryProperties.get(edmProperty.getName());
-                method.invoke(embeddableObj, simpleObj);
+                JPAPropertyAccessor.get(method)
+                                   .setValue(embeddableObj, simpleObj);
             } else if (embeddableKeyNameSplit.length > 2) { // Deeply nested
                 leftODataEntryKeyProperties.add(edmProperty);
                 leftEmbeddableKeys.put(edmPropertyName, embeddableKeyNameComposite.split(embeddableKeyNameSplit[0] + ".", 2)[1]);
@@ -415,9 +418,11 @@ public class JPAEntity {
         Object embeddableObject = mapping.getJPAType()
                                          .newInstance();
         if (propertyName != null) {
-            accessModifier.invoke(jpaEntity, propertyName, embeddableObject);
+            JPAPropertyAccessor.get(accessModifier)
+                               .setValue(jpaEntity, propertyName, embeddableObject);
         } else {
-            accessModifier.invoke(jpaEntity, embeddableObject);
+            JPAPropertyAccessor.get(accessModifier)
+                               .setValue(jpaEntity, embeddableObject);
         }
 
         HashMap<String, Method> accessModifiers =
@@ -456,31 +461,32 @@ public class JPAEntity {
             String propertyName, boolean isNullable)
             throws IllegalAccessException, IllegalArgumentException, InvocationTargetException, ODataJPARuntimeException, EdmException {
         if (entityPropertyValue != null || isNullable) {
+            JPAPropertyAccessor accessor = JPAPropertyAccessor.get(method);
             if (propertyName != null) {
-                method.invoke(entity, propertyName, entityPropertyValue);
+                accessor.setValue(entity, propertyName, entityPropertyValue);
                 return;
             }
-            Class<?> parameterType = method.getParameterTypes()[0];
+            Class<?> parameterType = accessor.getParameterType();
             if (type != null && type.getDefaultType()
                                     .equals(String.class)) {
                 if (parameterType.equals(String.class)) {
-                    method.invoke(entity, entityPropertyValue);
+                    accessor.setValue(entity, entityPropertyValue);
                 } else if (parameterType.equals(char[].class)) {
                     char[] characters = entityPropertyValue != null ? ((String) entityPropertyValue).toCharArray() : null;
-                    method.invoke(entity, characters);
+                    accessor.setValue(entity, characters);
                 } else if (parameterType.equals(char.class)) {
                     char c = entityPropertyValue != null ? ((String) entityPropertyValue).charAt(0) : '\u0000';
-                    method.invoke(entity, c);
+                    accessor.setValue(entity, c);
                 } else if (parameterType.equals(Character[].class)) {
                     Character[] characters =
                             entityPropertyValue != null ? JPAEntityParser.toCharacterArray((String) entityPropertyValue) : null;
-                    method.invoke(entity, (Object) characters);
+                    accessor.setValue(entity, (Object) characters);
                 } else if (parameterType.equals(Character.class)) {
                     Character c = entityPropertyValue != null ? Character.valueOf(((String) entityPropertyValue).charAt(0)) : null;
-                    method.invoke(entity, c);
+                    accessor.setValue(entity, c);
                 } else if (parameterType.isEnum()) {
                     Enum e = entityPropertyValue != null ? Enum.valueOf((Class<Enum>) parameterType, (String) entityPropertyValue) : null;
-                    method.invoke(entity, e);
+                    accessor.setValue(entity, e);
                 } else {
                     String setterName = method.getName();
                     String getterName = setterName.replace("set", "get");
@@ -491,7 +497,7 @@ public class JPAEntity {
                             XmlAdapter xmlAdapter = getMethod.getAnnotation(XmlJavaTypeAdapter.class)
                                                              .value()
                                                              .newInstance();
-                            method.invoke(entity, xmlAdapter.unmarshal(entityPropertyValue));
+                            accessor.setValue(entity, xmlAdapter.unmarshal(entityPropertyValue));
                         }
                     } catch (Exception e) {
                         throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL, e);
@@ -501,32 +507,32 @@ public class JPAEntity {
                 if (onJPAWriteContent == null) {
                     throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.ERROR_JPA_BLOB_NULL, null);
                 }
-                method.invoke(entity, entityPropertyValue != null ? onJPAWriteContent.getJPABlob((byte[]) entityPropertyValue) : null);
+                accessor.setValue(entity, entityPropertyValue != null ? onJPAWriteContent.getJPABlob((byte[]) entityPropertyValue) : null);
             } else if (parameterType.equals(Clob.class)) {
                 if (onJPAWriteContent == null) {
                     throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.ERROR_JPA_CLOB_NULL, null);
                 }
-                method.invoke(entity,
+                accessor.setValue(entity,
                         entityPropertyValue != null ? onJPAWriteContent.getJPAClob(((String) entityPropertyValue).toCharArray()) : null);
             } else if (parameterType.equals(Timestamp.class)) {
                 Timestamp ts = entityPropertyValue != null ? new Timestamp(((Calendar) entityPropertyValue).getTimeInMillis()) : null;
-                method.invoke(entity, ts);
+                accessor.setValue(entity, ts);
             } else if (parameterType.equals(java.util.Date.class)) {
                 Date d = entityPropertyValue != null ? ((Calendar) entityPropertyValue).getTime() : null;
-                method.invoke(entity, d);
+                accessor.setValue(entity, d);
             } else if (parameterType.equals(java.sql.Date.class)) {
                 java.sql.Date d =
                         entityPropertyValue != null ? new java.sql.Date(((Calendar) entityPropertyValue).getTimeInMillis()) : null;
-                method.invoke(entity, d);
+                accessor.setValue(entity, d);
             } else if (parameterType.equals(java.sql.Time.class)) {
                 java.sql.Time t =
                         entityPropertyValue != null ? new java.sql.Time(((Calendar) entityPropertyValue).getTimeInMillis()) : null;
-                method.invoke(entity, t);
+                accessor.setValue(entity, t);
             } else if (parameterType.equals(byte.class)) {
                 byte b = entityPropertyValue != null ? Byte.parseByte(entityPropertyValue.toString()) : 0;
-                method.invoke(entity, b);
+                accessor.setValue(entity, b);
             } else {
-                method.invoke(entity, entityPropertyValue);
+                accessor.setValue(entity, entityPropertyValue);
             }
         }
     }
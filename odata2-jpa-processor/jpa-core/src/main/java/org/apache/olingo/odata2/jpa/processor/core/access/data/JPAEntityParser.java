@@ -185,13 +185,11 @@ public final class JPAEntityParser {
     			Method getterMethod = null;
     			JPAEdmMapping jpaEdmMapping = (JPAEdmMapping)navigationProperty.getMapping();
     			if(jpaEdmMapping != null && jpaEdmMapping.isVirtualAccess()) {
-    				getterMethod = jpaEntity.getClass().getMethod(ACCESS_MODIFIER_GET, String.class);
+    				getterMethod = getMethod(jpaEntity.getClass(), ACCESS_MODIFIER_GET, String.class);
     			}else{
-    				getterMethod = jpaEntity.getClass()
-    						.getMethod(methodName, (Class<?>[]) null);
+    				getterMethod = getMethod(jpaEntity.getClass(), methodName);
     			}
 
-    			getterMethod.setAccessible(true);
     			result = getPropertyValue(getterMethod, jpaEntity,
     					navigationProperty.getMapping().getInternalName());
     			navigationMap.put(navigationProperty.getName(), result);
@@ -215,9 +213,9 @@ public final class JPAEntityParser {
     Method method = null;
 
     try {
-      method = jpaType.getMethod(methodNameGet, (Class<?>[]) null);
+      method = getMethod(jpaType, methodNameGet);
       Class<?> parameterType = method.getReturnType();
-      method = jpaType.getMethod(methodName, new Class<?>[] { parameterType });
+      method = getMethod(jpaType, methodName, parameterType);
     } catch (NoSuchMethodException e) {
       throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e);
     } catch (SecurityException e) {
@@ -234,42 +232,11 @@ public final class JPAEntityParser {
 
   public static Object getPropertyValue(final Method method, final Object entity, String propertyName) 
 		  throws ODataJPARuntimeException {
-    Object propertyValue = null;
     if (method == null) {
       return null;
     }
     try {
-      method.setAccessible(true);
-      Class<?> returnType = method.getReturnType();
-
-      if (returnType.equals(char[].class)) {
-        char[] ch = (char[]) method.invoke(entity);
-        if (ch != null) {
-          propertyValue = (String) String.valueOf((char[]) method.invoke(entity));
-        }
-      } else if (returnType.equals(Character[].class)) {
-        propertyValue = (String) toString((Character[]) method.invoke(entity));
-      } else if (returnType.equals(char.class)) {
-        char c = (Character) method.invoke(entity);
-        if (c != '\u0000') {
-          propertyValue = (String) String.valueOf(c);
-        }
-      } else if (returnType.equals(Character.class)) {
-        Character c = (Character) method.invoke(entity);
-        if (c != null) {
-          propertyValue = toString(new Character[] { c });
-        }
-      } else if (returnType.equals(Blob.class)) {
-        propertyValue = getBytes((Blob) method.invoke(entity));
-      } else if (returnType.equals(Clob.class)) {
-        propertyValue = getString((Clob) method.invoke(entity));
-      } else {
-    	  if(method.getParameterTypes().length>0) {
-    		  propertyValue = method.invoke(entity,propertyName);
-    	  } else {
-    		  propertyValue = method.invoke(entity);
-    	  }
-      }
+      return JPAPropertyAccessor.get(method).getValue(entity, propertyName);
     } catch (IllegalAccessException e) {
       throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e);
     } catch (IllegalArgumentException e) {
@@ -279,8 +246,6 @@ public final class JPAEntityParser {
     } catch (SecurityException e) {
       throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e);
     }
-
-    return propertyValue;
   }
 
   public static String getString(final Clob clob) throws ODataJPARuntimeException {
@@ -415,12 +380,11 @@ public final class JPAEntityParser {
         }
         if (isVirtualAccess) {
 
-        	method = propertyValue.getClass().getMethod(ACCESS_MODIFIER_GET, String.class);
+        	method = getMethod(propertyValue.getClass(), ACCESS_MODIFIER_GET, String.class);
         	namePart = namePart.replaceFirst(ACCESS_MODIFIER_GET, "");
         } else {
-        	method = propertyValue.getClass().getMethod(namePart, (Class<?>[]) null);
+        	method = getMethod(propertyValue.getClass(), namePart);
         }
-        method.setAccessible(true);
         propertyValue = getPropertyValue(method, propertyValue,namePart);
       }
     } catch (NoSuchMethodException e) {
@@ -524,7 +488,7 @@ public final class JPAEntityParser {
       Class<?>[] params = null;
       if (navPropMapping != null && navPropMapping.isVirtualAccess()) {
   
-    	  return jpaEntityType.getMethod(ACCESS_MODIFIER_SET, String.class, Object.class);
+    	  return getMethod(jpaEntityType, ACCESS_MODIFIER_SET, String.class, Object.class);
       } else {
 	      name = getAccessModifierName(navigationProperty.getName(), (EdmMapping) navPropMapping, accessModifier);
 	
@@ -542,7 +506,7 @@ public final class JPAEntityParser {
 	          break;
 	        }
 	      }
-	      return jpaEntityType.getMethod(name, params);
+	      return getMethod(jpaEntityType, name, params);
       }
 
     } catch (NoSuchMethodException e) {
@@ -587,19 +551,19 @@ public final class JPAEntityParser {
         	  if (accessModifier.equals(ACCESS_MODIFIER_SET)) {
         		  JPAEdmMapping jpaEdmMapping = (JPAEdmMapping) property.getMapping();
         		  if(jpaEdmMapping != null && jpaEdmMapping.isVirtualAccess()) {
-        			  accessModifierMap.put(propertyName, jpaEntityType.getMethod(ACCESS_MODIFIER_SET,
+        			  accessModifierMap.put(propertyName, getMethod(jpaEntityType, ACCESS_MODIFIER_SET,
         					  new Class<?>[] { String.class,Object.class }));
         		  }else {
-        			  accessModifierMap.put(propertyName, jpaEntityType.getMethod(methodName,
+        			  accessModifierMap.put(propertyName, getMethod(jpaEntityType, methodName,
         					  new Class<?>[] { jpaEdmMapping != null ? 
         					      jpaEdmMapping.getJPAType() : null }));
         		  }
         	  } else {
         		  JPAEdmMapping jpaEdmMapping = (JPAEdmMapping) property.getMapping();
         		  if(jpaEdmMapping != null && jpaEdmMapping.isVirtualAccess()) {
-        			  method = jpaEntityType.getMethod(ACCESS_MODIFIER_GET, String.class);
+        			  method = getMethod(jpaEntityType, ACCESS_MODIFIER_GET, String.class);
         		  }else{
-        			  method = jpaEntityType.getMethod(methodName, (Class<?>[]) null);
+        			  method = getMethod(jpaEntityType, methodName);
         		  }
         	  }
           }
@@ -612,7 +576,7 @@ public final class JPAEntityParser {
                 && accessModifier.equals(ACCESS_MODIFIER_GET)) {
               String nameWithIs = getAccessModifierName(property.getName(),
                   property.getMapping(), ACCESS_MODIFIER_IS);
-              method = jpaEntityType.getMethod(nameWithIs, (Class<?>[]) null);
+              method = getMethod(jpaEntityType, nameWithIs);
             } else {
               throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e1);
             }
@@ -639,6 +603,19 @@ public final class JPAEntityParser {
     return accessModifierMap;
   }
 
+  /**
+   * Looks up a public method through the shared {@link JPAPropertyAccessor} registry instead of
+   * {@link Class#getMethod(String, Class...)}, which copies the method on every call.
+   */
+  private static Method getMethod(final Class<?> jpaType, final String name, final Class<?>... parameterTypes)
+      throws NoSuchMethodException {
+    Method method = JPAPropertyAccessor.getMethod(jpaType, name, parameterTypes);
+    if (method == null) {
+      throw new NoSuchMethodException(jpaType.getName() + "." + name);
+    }
+    return method;
+  }
+
   private List<EdmProperty> getEdmProperties(final EdmStructuralType structuralType) throws ODataJPARuntimeException {
     List<EdmProperty> edmProperties = new ArrayList<EdmProperty>();
     try {
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmMapping;
+import org.apache.olingo.odata2.api.edm.EdmMultiplicity;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
+import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
+import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLStatement;
+
+/**
+ * Loads the navigation targets of an $expand for a whole page of JPA entities at once.
+ * <p>Reading the navigation properties through their getters issues one query per entity and navigation
+ * property for lazily loaded associations. The loader instead plans the $expand paths level by level and loads
+ * each level with one query per chunk of source keys:</p>
+ * <pre>SELECT E1.key, E2 FROM Source E1 JOIN E1.navigation E2 WHERE E1.key IN :keys</pre>
+ * <p>The loaded targets are stitched to their source entities and are then used by
+ * {@link #parse2EdmNavigationValueMap(Object, List)} instead of the getters. The order mapped for a
+ * collection by <code>@OrderColumn</code> or <code>@OrderBy</code> is kept by ordering the query accordingly.
+ * Levels that cannot be loaded that way (for example sources with composite keys or key values that
+ * cannot be matched) are read through the getters as before.</p>
+ */
+public class JPAExpandLoader {
+
+  private static final int MAX_KEYS_PER_QUERY = 500;
+  private static final String KEYS_PARAMETER = "keys";
+
+  private final EntityManager em;
+  private final JPAEntityParser jpaEntityParser = new JPAEntityParser();
+  private final Map<Object, Map<String, Object>> loadedNavigations =
+      new IdentityHashMap<Object, Map<String, Object>>();
+
+  public JPAExpandLoader(final EntityManager em) {
+    this.em = em;
+  }
+
+  /**
+   * Loads all navigation targets of the $expand paths for the given JPA entities.
+   * @param entityType the entity type of the JPA entities
+   * @param jpaEntities the JPA entities
+   * @param expandList the $expand paths
+   * @throws ODataJPARuntimeException
+   */
+  public void load(final EdmEntityType entityType, final Collection<?> jpaEntities,
+      final List<ArrayList<NavigationPropertySegment>> expandList) throws ODataJPARuntimeException {
+    if (em == null || jpaEntities == null || jpaEntities.isEmpty() || expandList == null) {
+      return;
+    }
+    try {
+      load(entityType, jpaEntities, expandList, 0);
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(e.getMessage()), e);
+    }
+  }
+
+  private void load(final EdmEntityType entityType, final Collection<?> jpaEntities,
+      final List<ArrayList<NavigationPropertySegment>> expandList, final int level) throws EdmException,
+      ODataJPARuntimeException {
+    // Group the paths by their segment at this level, so that each navigation property is loaded only once.
+    Map<String, List<ArrayList<NavigationPropertySegment>>> pathsByNavigation =
+        new LinkedHashMap<String, List<ArrayList<NavigationPropertySegment>>>();
+    for (ArrayList<NavigationPropertySegment> path : expandList) {
+      if (path.size() > level) {
+        final String name = path.get(level).getNavigationProperty().getName();
+        if (!pathsByNavigation.containsKey(name)) {
+          pathsByNavigation.put(name, new ArrayList<ArrayList<NavigationPropertySegment>>());
+        }
+        pathsByNavigation.get(name).add(path);
+      }
+    }
+
+    for (List<ArrayList<NavigationPropertySegment>> paths : pathsByNavigation.values()) {
+      final NavigationPropertySegment segment = paths.get(0).get(level);
+      final List<Object> targets = load(entityType, jpaEntities, segment.getNavigationProperty());
+      if (targets != null && !targets.isEmpty()) {
+        load(segment.getTargetEntitySet().getEntityType(), targets, paths, level + 1);
+      }
+    }
+  }
+
+  /**
+   * Loads the targets of one navigation property for all given source entities.
+   * @return the distinct targets or <code>null</code> if the navigation property could not be loaded
+   */
+  private List<Object> load(final EdmEntityType entityType, final Collection<?> jpaEntities,
+      final EdmNavigationProperty navigationProperty) throws EdmException, ODataJPARuntimeException {
+    final List<EdmProperty> keyProperties = entityType.getKeyProperties();
+    final String keyName = keyProperties.size() == 1 ? getInternalName(keyProperties.get(0).getMapping()) : null;
+    final String navigationName = getInternalName(navigationProperty.getMapping());
+    if (keyName == null || keyName.indexOf(JPQLStatement.DELIMITER.PERIOD) >= 0 || navigationName == null) {
+      return null;
+    }
+    final boolean isCollection = navigationProperty.getMultiplicity() == EdmMultiplicity.MANY;
+
+    // Sources by key value; each source starts with an empty result as it might have no targets at all.
+    Map<Object, List<Object>> sourcesByKey = new LinkedHashMap<Object, List<Object>>();
+    for (final Object jpaEntity : jpaEntities) {
+      final Object key = jpaEntityParser.parse2EdmPropertyValueMap(jpaEntity, keyProperties)
+          .get(keyProperties.get(0).getName());
+      if (key == null) {
+        return null;
+      }
+      if (!sourcesByKey.containsKey(key)) {
+        sourcesByKey.put(key, new ArrayList<Object>());
+      }
+      sourcesByKey.get(key).add(jpaEntity);
+      getLoadedNavigations(jpaEntity).put(navigationProperty.getName(), isCollection ? new ArrayList<Object>() : null);
+    }
+
+    final String jpql = JPQLStatement.KEYWORD.SELECT + " E1." + keyName + ", E2 "
+        + JPQLStatement.KEYWORD.FROM + " " + getJPAEntityName(entityType) + " E1 "
+        + JPQLStatement.KEYWORD.JOIN + " E1." + navigationName + " E2 "
+        + JPQLStatement.KEYWORD.WHERE + " E1." + keyName + " IN :" + KEYS_PARAMETER
+        + (isCollection ? getOrderByClause(jpaEntities.iterator().next().getClass(), navigationName,
+            navigationProperty) : "");
+    Map<Object, Object> targets = new IdentityHashMap<Object, Object>();
+    List<Object> keys = new ArrayList<Object>(sourcesByKey.keySet());
+    try {
+      for (int start = 0; start < keys.size(); start += MAX_KEYS_PER_QUERY) {
+        Query query = em.createQuery(jpql);
+        query.setParameter(KEYS_PARAMETER, keys.subList(start, Math.min(start + MAX_KEYS_PER_QUERY, keys.size())));
+        for (final Object row : query.getResultList()) {
+          final Object target = ((Object[]) row)[1];
+          final List<Object> sources = sourcesByKey.get(normalizeKey(((Object[]) row)[0]));
+          if (sources == null) {
+            // The key value read from the database does not match the one parsed from the entity.
+            forget(jpaEntities, navigationProperty.getName());
+            return null;
+          }
+          targets.put(target, target);
+          for (final Object source : sources) {
+            stitch(source, navigationProperty.getName(), target, isCollection);
+          }
+        }
+      }
+    } catch (PersistenceException e) {
+      if (isRollbackOnly()) {
+        // The failed query has spoiled the transaction, so the getters cannot be used instead.
+        throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(e.getMessage()),
+            e);
+      }
+      // The navigation cannot be expressed in JPQL for this model; the getters are used instead.
+      forget(jpaEntities, navigationProperty.getName());
+      return null;
+    } catch (IllegalArgumentException e) {
+      forget(jpaEntities, navigationProperty.getName());
+      return null;
+    }
+    return new ArrayList<Object>(targets.keySet());
+  }
+
+  /**
+   * Whether the current resource-local transaction can only be rolled back.
+   * The transaction of a JTA entity manager is not accessible through JPA, so the getters are tried as for
+   * a resource-local transaction; if the failed query has marked the JTA transaction for rollback, the container
+   * rolls it back at its end like after any other failed query.
+   */
+  private boolean isRollbackOnly() {
+    try {
+      final EntityTransaction transaction = em.getTransaction();
+      return transaction.isActive() && transaction.getRollbackOnly();
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Converts a key value read by a query into the representation of
+   * {@link JPAEntityParser#parse2EdmPropertyValueMap(Object, List)}.
+   */
+  private static Object normalizeKey(final Object key) {
+    if (key instanceof Character) {
+      return key.toString();
+    } else if (key instanceof char[]) {
+      return String.valueOf((char[]) key);
+    } else if (key instanceof Character[]) {
+      return JPAEntityParser.toString((Character[]) key);
+    }
+    return key;
+  }
+
+  /**
+   * Returns the ORDER BY clause for the order mapped by <code>@OrderColumn</code> or <code>@OrderBy</code> at the
+   * collection attribute of the JPA entity type, or an empty string if no order is mapped.
+   */
+  private static String getOrderByClause(final Class<?> jpaType, final String attributeName,
+      final EdmNavigationProperty navigationProperty) throws EdmException {
+    StringBuilder orderBy = new StringBuilder();
+    final OrderBy mappedOrder = getAnnotation(jpaType, attributeName, OrderBy.class);
+    if (getAnnotation(jpaType, attributeName, OrderColumn.class) != null) {
+      orderBy.append("INDEX(E2)");
+    } else if (mappedOrder != null && mappedOrder.value().trim().isEmpty()) {
+      // ordered by the primary key of the target
+      for (final EdmProperty keyProperty : ((EdmEntityType) navigationProperty.getType()).getKeyProperties()) {
+        orderBy.append(orderBy.length() > 0 ? ", " : "").append("E2.")
+            .append(getInternalName(keyProperty.getMapping()));
+      }
+    } else if (mappedOrder != null) {
+      for (final String item : mappedOrder.value().split(",")) {
+        orderBy.append(orderBy.length() > 0 ? ", " : "").append("E2.").append(item.trim());
+      }
+    }
+    return orderBy.length() == 0 ? "" : " " + JPQLStatement.KEYWORD.ORDERBY + " " + orderBy;
+  }
+
+  /**
+   * Returns the annotation of a persistent attribute, taken from its field or its getter.
+   */
+  private static <A extends Annotation> A getAnnotation(final Class<?> jpaType, final String attributeName,
+      final Class<A> annotationType) {
+    final String getterName = "get" + Character.toUpperCase(attributeName.charAt(0)) + attributeName.substring(1);
+    for (Class<?> type = jpaType; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (final Field field : type.getDeclaredFields()) {
+        if (field.getName().equals(attributeName) && field.getAnnotation(annotationType) != null) {
+          return field.getAnnotation(annotationType);
+        }
+      }
+      for (final Method method : type.getDeclaredMethods()) {
+        if (method.getName().equals(getterName) && method.getParameterTypes().length == 0
+            && method.getAnnotation(annotationType) != null) {
+          return method.getAnnotation(annotationType);
+        }
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stitch(final Object source, final String navigationName, final Object target,
+      final boolean isCollection) {
+    if (isCollection) {
+      ((List<Object>) getLoadedNavigations(source).get(navigationName)).add(target);
+    } else {
+      getLoadedNavigations(source).put(navigationName, target);
+    }
+  }
+
+  private void forget(final Collection<?> jpaEntities, final String navigationName) {
+    for (final Object jpaEntity : jpaEntities) {
+      getLoadedNavigations(jpaEntity).remove(navigationName);
+    }
+  }
+
+  private Map<String, Object> getLoadedNavigations(final Object jpaEntity) {
+    Map<String, Object> navigations = loadedNavigations.get(jpaEntity);
+    if (navigations == null) {
+      navigations = new HashMap<String, Object>();
+      loadedNavigations.put(jpaEntity, navigations);
+    }
+    return navigations;
+  }
+
+  /**
+   * Returns the values of the navigation properties of a JPA entity. Navigation targets loaded before are taken
+   * from the loader; all others are read through the getters of the JPA entity.
+   * @param jpaEntity the JPA entity
+   * @param navigationPropertyList the navigation properties
+   * @return the values of the navigation properties by navigation property name
+   * @throws ODataJPARuntimeException
+   */
+  public HashMap<String, Object> parse2EdmNavigationValueMap(final Object jpaEntity,
+      final List<EdmNavigationProperty> navigationPropertyList) throws ODataJPARuntimeException {
+    final Map<String, Object> loaded = jpaEntity == null ? null : loadedNavigations.get(jpaEntity);
+    if (loaded == null || navigationPropertyList == null) {
+      return jpaEntityParser.parse2EdmNavigationValueMap(jpaEntity, navigationPropertyList);
+    }
+    HashMap<String, Object> navigationMap = new HashMap<String, Object>();
+    List<EdmNavigationProperty> notLoaded = new ArrayList<EdmNavigationProperty>();
+    try {
+      for (final EdmNavigationProperty navigationProperty : navigationPropertyList) {
+        if (loaded.containsKey(navigationProperty.getName())) {
+          navigationMap.put(navigationProperty.getName(), loaded.get(navigationProperty.getName()));
+        } else {
+          notLoaded.add(navigationProperty);
+        }
+      }
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.INNER_EXCEPTION, e);
+    }
+    if (!notLoaded.isEmpty()) {
+      navigationMap.putAll(jpaEntityParser.parse2EdmNavigationValueMap(jpaEntity, notLoaded));
+    }
+    return navigationMap;
+  }
+
+  private static String getJPAEntityName(final EdmEntityType entityType) throws EdmException {
+    final EdmMapping mapping = entityType.getMapping();
+    return mapping != null && mapping.getInternalName() != null ? mapping.getInternalName() : entityType.getName();
+  }
+
+  private static String getInternalName(final EdmMapping mapping) {
+    return mapping == null ? null : mapping.getInternalName();
+  }
+}
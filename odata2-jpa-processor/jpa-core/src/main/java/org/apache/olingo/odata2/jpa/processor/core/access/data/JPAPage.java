@@ -31,6 +31,8 @@ public class JPAPage implements JPAPaging {
   private int startPage;
   private int nextPage;
   private List<Object> pagedEntries;
+  private String nextSkipToken;
+  private long totalCount = -1;
 
   protected JPAPage(final int startPage, final int nextPage, final List<Object> pagedEntities, final int pageSize) {
     this.pageSize = pageSize;
@@ -59,6 +61,28 @@ public class JPAPage implements JPAPaging {
     return startPage;
   }
 
+  @Override
+  public String getNextSkipToken() {
+    return nextSkipToken;
+  }
+
+  void setNextSkipToken(final String nextSkipToken) {
+    this.nextSkipToken = nextSkipToken;
+  }
+
+  /**
+   * Returns the number of all entities the page query selects without offset and limit,
+   * as far as it is known from the page itself.
+   * @return the total count or -1 if unknown
+   */
+  long getTotalCount() {
+    return totalCount;
+  }
+
+  void setTotalCount(final long totalCount) {
+    this.totalCount = totalCount;
+  }
+
   public static class JPAPageBuilder {
 
     private int pageSize;
@@ -125,7 +149,14 @@ public class JPAPage implements JPAPaging {
       }
       pagedEntities = query.getResultList();
       formulateNextPage();
-      return new JPAPage(startPage, nextPage, pagedEntities, pageSize);
+      JPAPage page = new JPAPage(startPage, nextPage, pagedEntities, pageSize);
+      // A page that did not reach its limit ends with the last entity of the query.
+      final int firstResult = topSkip.skip == null ? 0 : topSkip.skip;
+      if ((topSkip.top == null || pagedEntities.size() < topSkip.top)
+          && (firstResult == 0 || !pagedEntities.isEmpty())) {
+        page.setTotalCount((long) firstResult + pagedEntities.size());
+      }
+      return page;
     }
 
     private TopSkip formulateTopSkip() {
@@ -62,6 +62,7 @@ import org.apache.olingo.odata2.jpa.processor.api.model.JPAEdmMapping;
 import org.apache.olingo.odata2.jpa.processor.core.ODataEntityParser;
 import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAPage.JPAPageBuilder;
 import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAQueryBuilder.JPAQueryInfo;
+import org.apache.olingo.odata2.jpa.processor.core.jpql.JPAKeyset;
 
 public class JPAProcessorImpl implements JPAProcessor {
 
@@ -157,19 +158,22 @@ public class JPAProcessorImpl implements JPAProcessor {
       if (deltaToken != null) {
         ODataJPATombstoneContext.setDeltaToken(deltaToken);
       }
+      JPAPage page = null;
       if (listener != null && (!queryInfo.isTombstoneQuery() && listener.isTombstoneSupported())) {
         query.getResultList();
         List<Object> deltaResult =
             (List<Object>) ODataJPATombstoneContext.getDeltaResult(((EdmMapping) mapping).getInternalName());
         result = handlePaging(deltaResult, uriParserResultView);
       } else {
-        result = handlePaging(query, uriParserResultView);
+        page = handlePaging(query, uriParserResultView, !queryInfo.isTombstoneQuery());
+        result = page.getPagedEntities();
       }
       if (listener != null && listener.isTombstoneSupported()) {
         ODataJPATombstoneContext.setDeltaToken(listener.generateDeltaToken((List<Object>) result, query));
       }
       if(InlineCount.ALLPAGES.equals(uriParserResultView.getInlineCount())){
-        queryBuilder.getCount(uriParserResultView);
+        queryBuilder.getCount(uriParserResultView,
+            oDataJPAContext.isOptimizedInlineCount() && page != null ? page.getTotalCount() : -1);
       }
       return result == null ? new ArrayList<Object>() : result;
     } catch (EdmException e) {
@@ -442,12 +446,20 @@ public class JPAProcessorImpl implements JPAProcessor {
     return page.getPagedEntities();
   }
 
-  private List<Object> handlePaging(final Query query, final GetEntitySetUriInfo uriParserResultView) {
+  private JPAPage handlePaging(final Query query, final GetEntitySetUriInfo uriParserResultView,
+      final boolean isGeneratedQuery) throws ODataJPARuntimeException {
+
+    // With keyset paging the skip token has already been turned into a seek predicate of the generated query.
+    final JPAKeyset keyset = isGeneratedQuery && oDataJPAContext.getPageSize() > 0
+        && oDataJPAContext.isKeysetPaging()
+        && (uriParserResultView.getNavigationSegments() == null
+        || uriParserResultView.getNavigationSegments().isEmpty()) ?
+        JPAKeyset.create(uriParserResultView) : null;
 
     JPAPageBuilder pageBuilder = new JPAPageBuilder();
     pageBuilder.pageSize(oDataJPAContext.getPageSize())
         .query(query)
-        .skipToken(uriParserResultView.getSkipToken());
+        .skipToken(keyset == null ? uriParserResultView.getSkipToken() : null);
 
     // $top/$skip with $inlinecount case handled in response builder to avoid multiple DB call
     if (uriParserResultView.getSkip() != null) {
@@ -459,9 +471,18 @@ public class JPAProcessorImpl implements JPAProcessor {
     }
 
     JPAPage page = pageBuilder.build();
+    if (keyset != null && page.getNextPage() > 0) {
+      final List<Object> pagedEntities = page.getPagedEntities();
+      page.setNextSkipToken(keyset.createSkipToken(new JPAEntityParser()
+          .parse2EdmPropertyValueMap(pagedEntities.get(pagedEntities.size() - 1), keyset.getProperties())));
+    }
+    if (keyset != null && uriParserResultView.getSkipToken() != null) {
+      // the seek predicate restricts the page query, so its offset is not the position in the entity set
+      page.setTotalCount(-1);
+    }
     oDataJPAContext.setPaging(page);
 
-    return page.getPagedEntities();
+    return page;
 
   }
 
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
+
+/**
+ * Getter or setter of a JPA entity or embeddable type, invoked through a {@link MethodHandle}.
+ * <p>
+ * Accessors are held in a registry keyed by the JPA type, so the reflective lookup, the handle and
+ * the value conversion needed for the declared type (Clob, Blob, char and Character variants) are
+ * resolved once per method and shared by all {@link JPAEntityParser} and {@link JPAEntity}
+ * instances. The registry is a {@link ClassValue} and therefore does not keep entity classes of
+ * undeployed applications alive.
+ */
+final class JPAPropertyAccessor {
+
+  private static final Object NO_METHOD = new Object();
+
+  private static final ClassValue<TypeAccessors> REGISTRY = new ClassValue<TypeAccessors>() {
+    @Override
+    protected TypeAccessors computeValue(final Class<?> type) {
+      return new TypeAccessors(type);
+    }
+  };
+
+  private enum Conversion {
+    NONE, CHAR_ARRAY, CHARACTER_ARRAY, CHAR, CHARACTER, BLOB, CLOB
+  }
+
+  private final Method method;
+  private final MethodHandle handle;
+  private final Class<?> parameterType;
+  private final boolean hasParameters;
+  private final Conversion conversion;
+
+  private JPAPropertyAccessor(final Method method) throws IllegalAccessException {
+    this.method = method;
+    method.setAccessible(true);
+    MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+    handle = methodHandle.asType(methodHandle.type().generic());
+
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    hasParameters = parameterTypes.length > 0;
+    parameterType = hasParameters ? parameterTypes[0] : null;
+
+    Class<?> returnType = method.getReturnType();
+    if (returnType.equals(char[].class)) {
+      conversion = Conversion.CHAR_ARRAY;
+    } else if (returnType.equals(Character[].class)) {
+      conversion = Conversion.CHARACTER_ARRAY;
+    } else if (returnType.equals(char.class)) {
+      conversion = Conversion.CHAR;
+    } else if (returnType.equals(Character.class)) {
+      conversion = Conversion.CHARACTER;
+    } else if (returnType.equals(Blob.class)) {
+      conversion = Conversion.BLOB;
+    } else if (returnType.equals(Clob.class)) {
+      conversion = Conversion.CLOB;
+    } else {
+      conversion = Conversion.NONE;
+    }
+  }
+
+  /**
+   * Returns the accessor for the given method.
+   * @param method a public getter or setter
+   * @return the shared accessor
+   * @throws IllegalAccessException if no method handle can be created for the method
+   */
+  public static JPAPropertyAccessor get(final Method method) throws IllegalAccessException {
+    return REGISTRY.get(method.getDeclaringClass()).getAccessor(method);
+  }
+
+  /**
+   * Looks up a public method of a JPA type; the result, including the absence of the method,
+   * is cached per type.
+   * @param type the JPA entity or embeddable type
+   * @param name the method name
+   * @param parameterTypes the parameter types
+   * @return the method or <code>null</code> if the type has no such method
+   */
+  public static Method getMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+    return REGISTRY.get(type).getMethod(name, parameterTypes);
+  }
+
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * Returns the type of the first parameter of a setter.
+   */
+  public Class<?> getParameterType() {
+    return parameterType;
+  }
+
+  /**
+   * Reads the property value, converting character types to {@link String}, {@link Blob} to a byte
+   * array, and {@link Clob} to {@link String}.
+   * @param entity the JPA entity or embeddable object
+   * @param propertyName the name passed to a virtual-access getter
+   * @return the converted property value
+   */
+  public Object getValue(final Object entity, final String propertyName)
+      throws InvocationTargetException, ODataJPARuntimeException {
+    // a getter with a parameter is the virtual-access get(String propertyName)
+    Object value = hasParameters ? invoke(entity, propertyName) : invoke(entity);
+    switch (conversion) {
+    case CHAR_ARRAY:
+      return value == null ? null : String.valueOf((char[]) value);
+    case CHARACTER_ARRAY:
+      return JPAEntityParser.toString((Character[]) value);
+    case CHAR:
+      return ((Character) value).charValue() == '\u0000' ? null : String.valueOf(((Character) value).charValue());
+    case CHARACTER:
+      return value == null ? null : JPAEntityParser.toString(new Character[] { (Character) value });
+    case BLOB:
+      return JPAEntityParser.getBytes((Blob) value);
+    case CLOB:
+      return JPAEntityParser.getString((Clob) value);
+    default:
+      return value;
+    }
+  }
+
+  /**
+   * Sets the property value without any conversion.
+   * @param entity the JPA entity or embeddable object
+   * @param value the value
+   */
+  public void setValue(final Object entity, final Object value) throws InvocationTargetException {
+    invoke(entity, value);
+  }
+
+  /**
+   * Sets the property value through a virtual-access setter.
+   * @param entity the JPA entity or embeddable object
+   * @param propertyName the property name
+   * @param value the value
+   */
+  public void setValue(final Object entity, final String propertyName, final Object value)
+      throws InvocationTargetException {
+    invoke(entity, propertyName, value);
+  }
+
+  // CHECKSTYLE:OFF
+  // MethodHandle.invokeExact declares Throwable; like Method.invoke, anything thrown is wrapped.
+
+  private Object invoke(final Object entity) throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(entity);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  private Object invoke(final Object entity, final Object argument) throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(entity, argument);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  private Object invoke(final Object entity, final Object first, final Object second)
+      throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(entity, first, second);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  // CHECKSTYLE:ON
+
+  private static final class TypeAccessors {
+    private final Class<?> type;
+    private final ConcurrentMap<String, Object> methods = new ConcurrentHashMap<String, Object>();
+    private final ConcurrentMap<Method, JPAPropertyAccessor> accessors =
+        new ConcurrentHashMap<Method, JPAPropertyAccessor>();
+
+    private TypeAccessors(final Class<?> type) {
+      this.type = type;
+    }
+
+    private Method getMethod(final String name, final Class<?>... parameterTypes) {
+      StringBuilder key = new StringBuilder(name);
+      if (parameterTypes != null) {
+        for (Class<?> parameterType : parameterTypes) {
+          key.append(',').append(parameterType == null ? null : parameterType.getName());
+        }
+      }
+      Object method = methods.get(key.toString());
+      if (method == null) {
+        try {
+          method = type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+          method = NO_METHOD;
+        }
+        methods.put(key.toString(), method);
+      }
+      return method == NO_METHOD ? null : (Method) method;
+    }
+
+    private JPAPropertyAccessor getAccessor(final Method method) throws IllegalAccessException {
+      JPAPropertyAccessor accessor = accessors.get(method);
+      if (accessor == null) {
+        accessor = new JPAPropertyAccessor(method);
+        JPAPropertyAccessor existing = accessors.putIfAbsent(method, accessor);
+        if (existing != null) {
+          accessor = existing;
+        }
+      }
+      return accessor;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +35,7 @@ import jakarta.persistence.Query;
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.metamodel.Attribute;
 import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
 
 import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.uri.UriInfo;
@@ -70,12 +72,18 @@ public class JPAQueryBuilder {
     Delete
   }
 
+  private static final String COUNT = "count";
+
+  private ODataJPAContext odataJPAContext = null;
   private EntityManager em = null;
   private int pageSize = 0;
+  private boolean keysetPaging = false;
 
   public JPAQueryBuilder(ODataJPAContext odataJPAContext) {
+    this.odataJPAContext = odataJPAContext;
     this.em = odataJPAContext.getEntityManager();
     this.pageSize = odataJPAContext.getPageSize();
+    this.keysetPaging = pageSize > 0 && odataJPAContext.isKeysetPaging();
   }
 
   public JPAQueryInfo build(GetEntitySetUriInfo uriInfo) throws ODataJPARuntimeException {
@@ -106,8 +114,22 @@ public class JPAQueryBuilder {
 
 
   public void getCount(GetEntitySetUriInfo uriInfo) throws ODataJPARuntimeException {
-    JPAQueryInfo queryInfo = new JPAQueryInfo();
+    getCount(uriInfo, -1);
+  }
+
+  /**
+   * Determines the count of the entity set for <code>$inlinecount</code>; the count query is only
+   * built and executed if the count is neither known from the page nor cached.
+   * @param uriInfo the request
+   * @param totalCount the total count if it is already known from the page, or a negative value
+   */
+  void getCount(GetEntitySetUriInfo uriInfo, long totalCount) throws ODataJPARuntimeException {
+    if (totalCount >= 0) {
+      setCountOption(uriInfo, String.valueOf(totalCount));
+      return;
+    }
     Query query = null;
+    JPQLTemplate template = null;
     UriInfoImpl info = (UriInfoImpl)uriInfo;
     boolean count = info.isCount();
     info.setCount(true);
@@ -124,9 +146,7 @@ public class JPAQueryBuilder {
         }
       }
       if (query == null) {
-        query = buildQuery((UriInfo) uriInfo, UriInfoType.GetEntitySetCount);
-      } else {
-        queryInfo.setTombstoneQuery(true);
+        template = buildTemplate((UriInfo) uriInfo, UriInfoType.GetEntitySetCount);
       }
     } catch (Exception e) {
       throw ODataJPARuntimeException.throwException(
@@ -135,18 +155,40 @@ public class JPAQueryBuilder {
       JPQLContext.removeJPQLContext();
       ODataExpressionParser.removePositionalParametersThreadLocal();
     }
-    queryInfo.setQuery(query);
-    Query countQuery = queryInfo.getQuery();
-    List<Object> countList = countQuery.getResultList();
+    final long timeToLive = template == null ? 0 : odataJPAContext.getInlineCountCacheTimeToLive();
+    final JPQLTemplateCache cache = timeToLive > 0 ? JPQLTemplateCache.getInstance(em.getMetamodel()) : null;
+    Long cachedCount = cache == null ? null :
+        cache.getCount(template.statement, template.parameters, System.currentTimeMillis());
+    if (cachedCount != null) {
+      info.setCount(count);
+      setCountOption(uriInfo, cachedCount.toString());
+      return;
+    }
+    if (query == null) {
+      try {
+        query = createQuery(template);
+      } catch (Exception e) {
+        throw ODataJPARuntimeException.throwException(
+            ODataJPARuntimeException.ERROR_JPQL_QUERY_CREATE, e);
+      }
+    }
+    List<Object> countList = query.getResultList();
     info.setCount(count);
     if(countList!= null && !countList.isEmpty()){
       String countNumber = countList.get(0).toString();
-      Map<String, String> customQueryOptions = new HashMap<String, String>();
-      customQueryOptions.put("count", countNumber);
-      info.setCustomQueryOptions(customQueryOptions);
+      setCountOption(uriInfo, countNumber);
+      if (cache != null) {
+        cache.putCount(template.statement, template.parameters, Long.parseLong(countNumber),
+            System.currentTimeMillis() + timeToLive);
+      }
     }
   }
 
+  private static void setCountOption(GetEntitySetUriInfo uriInfo, String countNumber) {
+    Map<String, String> customQueryOptions = new HashMap<String, String>();
+    customQueryOptions.put(COUNT, countNumber);
+    ((UriInfoImpl) uriInfo).setCustomQueryOptions(customQueryOptions);
+  }
 
   public Query build(GetEntityUriInfo uriInfo) throws ODataJPARuntimeException {
     Query query = null;
@@ -261,13 +303,32 @@ public class JPAQueryBuilder {
   private Query buildQuery(UriInfo uriParserResultView, UriInfoType type)
       throws EdmException,
       ODataJPAModelException, ODataJPARuntimeException {
+    return createQuery(buildTemplate(uriParserResultView, type));
+  }
+
+  private JPQLTemplate buildTemplate(UriInfo uriParserResultView, UriInfoType type)
+      throws EdmException,
+      ODataJPAModelException, ODataJPARuntimeException {
 
     JPQLContextType contextType = determineJPQLContextType(uriParserResultView, type);
     JPQLContext jpqlContext = buildJPQLContext(contextType, uriParserResultView);
     JPQLStatement jpqlStatement = JPQLStatement.createBuilder(jpqlContext).build();
-    
-    Query query = em.createQuery(normalizeMembers(em, jpqlStatement.toString()));
-    getParameterizedQuery(contextType, jpqlContext, jpqlStatement, query);
+
+    return new JPQLTemplate(normalizeMembers(em, jpqlStatement.toString()),
+        getParameters(contextType, jpqlContext, jpqlStatement));
+  }
+
+  private Query createQuery(JPQLTemplate template) {
+    Query query = em.createQuery(template.statement);
+    for (Entry<Integer, Object> param : template.parameters.entrySet()) {
+      if (param.getValue() instanceof Calendar || param.getValue() instanceof Timestamp) {
+        query.setParameter(param.getKey(), (Calendar) param.getValue(), TemporalType.TIMESTAMP);
+      } else if (param.getValue() instanceof Time) {
+        query.setParameter(param.getKey(), (Time) param.getValue(), TemporalType.TIME);
+      } else {
+        query.setParameter(param.getKey(), param.getValue());
+      }
+    }
     return query;
   }
 
@@ -275,11 +336,12 @@ public class JPAQueryBuilder {
    * @param contextType
    * @param jpqlContext
    * @param jpqlStatement
-   * @param query
+   * @return the positional parameters used in the statement
    */
-  private Query getParameterizedQuery(JPQLContextType contextType, JPQLContext jpqlContext, JPQLStatement jpqlStatement,
-      Query query) {
+  private Map<Integer, Object> getParameters(JPQLContextType contextType, JPQLContext jpqlContext,
+      JPQLStatement jpqlStatement) {
     Map<String, Map<Integer, Object>> parameterizedMap = null;
+    Map<Integer, Object> parameters = new TreeMap<Integer, Object>();
     if (contextType == JPQLContextType.JOIN || contextType == JPQLContextType.JOIN_COUNT) {
       parameterizedMap = ((JPQLJoinContextView) jpqlContext).getParameterizedQueryMap();
     } else if (contextType == JPQLContextType.JOIN_SINGLE) {
@@ -292,22 +354,13 @@ public class JPAQueryBuilder {
     if (parameterizedMap != null && parameterizedMap.size() > 0) {
       for (Entry<String, Map<Integer, Object>> parameterEntry : parameterizedMap.entrySet()) {
         if (jpqlStatement.toString().contains(parameterEntry.getKey())) {
-          Map<Integer, Object> positionalParameters = parameterEntry.getValue();
-          for (Entry<Integer, Object> param : positionalParameters.entrySet()) {
-            if (param.getValue() instanceof Calendar || param.getValue() instanceof Timestamp) {
-              query.setParameter(param.getKey(), (Calendar) param.getValue(), TemporalType.TIMESTAMP);
-            } else if (param.getValue() instanceof Time) {
-              query.setParameter(param.getKey(), (Time) param.getValue(), TemporalType.TIME);
-            } else {
-              query.setParameter(param.getKey(), param.getValue());
-            }
-          }
+          parameters.putAll(parameterEntry.getValue());
         }
       }
-     }
-    return query;
+    }
+    return parameters;
   }
-  
+
   private Query getParameterizedQueryForListeners(JPQLContext jpqlContext, Query query) {
     Map<String, Map<Integer, Object>> parameterizedMap = null;
     String jpqlStatement = null;
@@ -365,7 +418,7 @@ public class JPAQueryBuilder {
   public JPQLContext buildJPQLContext(JPQLContextType contextType, UriInfo uriParserResultView)
       throws ODataJPAModelException, ODataJPARuntimeException {
     if (pageSize > 0 && (contextType == JPQLContextType.SELECT || contextType == JPQLContextType.JOIN)) {
-      return JPQLContext.createBuilder(contextType, uriParserResultView, true).build();
+      return JPQLContext.createBuilder(contextType, uriParserResultView, true, keysetPaging).build();
     } else {
       return JPQLContext.createBuilder(contextType, uriParserResultView).build();
     }
@@ -401,8 +454,31 @@ public class JPAQueryBuilder {
   private static final Pattern VALUE_NORM_PATTERN = Pattern.compile("(?:^|\\s|\\()'(([^']*)')");
   private static final Pattern JOIN_ALIAS_PATTERN = Pattern.compile(".*\\sJOIN\\s(\\S*\\s\\S*).*");
 
-  private static String normalizeMembers(EntityManager em, String jpqlQuery) {  
-    
+  /**
+   * Replaces member paths of the form "x.y.z" with joins unless the queried entity has embedded
+   * attributes; the results are cached per statement template, see {@link JPQLTemplateCache}.
+   */
+  private static String normalizeMembers(EntityManager em, String jpqlQuery) {
+    String normalizedJpqlQuery = JPQLTemplateCache.getNormalized(jpqlQuery);
+    if (normalizedJpqlQuery == null) {
+      normalizedJpqlQuery = normalizeMemberPaths(jpqlQuery);
+      JPQLTemplateCache.putNormalized(jpqlQuery, normalizedJpqlQuery);
+    }
+    if (normalizedJpqlQuery.equals(jpqlQuery)) {
+      return jpqlQuery;
+    }
+
+    Metamodel metamodel = em.getMetamodel();
+    JPQLTemplateCache cache = JPQLTemplateCache.getInstance(metamodel);
+    Boolean embedded = cache.containsEmbeddedAttributes(jpqlQuery);
+    if (embedded == null) {
+      embedded = containsEmbeddedAttributes(metamodel, jpqlQuery);
+      cache.putContainsEmbeddedAttributes(jpqlQuery, embedded);
+    }
+    return embedded ? jpqlQuery : normalizedJpqlQuery;
+  }
+
+  private static String normalizeMemberPaths(String jpqlQuery) {
     //check if clause values are string with x.y.z format
     //starting with quotes;
     String query = checkConditionValues(jpqlQuery);
@@ -416,10 +492,6 @@ public class JPAQueryBuilder {
       return jpqlQuery;
     }
 
-    if (containsEmbeddedAttributes(em, jpqlQuery)) {
-      return jpqlQuery;
-    }
-    
     String normalizedJpqlQuery = jpqlQuery;
     Map<String, String> joinAliases = new HashMap<String, String>();
 
@@ -511,18 +583,18 @@ public class JPAQueryBuilder {
   }
 
   /**
-   * Verify via {@link EntityManager} if one of the attributes of the selected entity
+   * Verify via {@link Metamodel} if one of the attributes of the selected entity
    * contains a embedded attribute.
    * Return true if at least one embedded attribute is found or false if non embedded
    * attribute is found.
    *
-   * @param em according entity manager
+   * @param metamodel metamodel of the according entity manager
    * @param jpqlQuery query to verify
    * @return true if at least one embedded attribute is found or false if non embedded
    * attribute is found.
    */
-  private static boolean containsEmbeddedAttributes(EntityManager em, String jpqlQuery) {
-    Set<EntityType<?>> types = em.getMetamodel().getEntities();
+  private static boolean containsEmbeddedAttributes(Metamodel metamodel, String jpqlQuery) {
+    Set<EntityType<?>> types = metamodel.getEntities();
     int pos = jpqlQuery.indexOf("FROM ") + 5;
     int lastpos = jpqlQuery.indexOf(" ", pos);
     final String queriedEntity = jpqlQuery.substring(pos, lastpos);
@@ -548,6 +620,19 @@ public class JPAQueryBuilder {
     return pos;
   }
 
+  /**
+   * Normalized JPQL statement with the values of its positional parameters.
+   */
+  private static final class JPQLTemplate {
+    private final String statement;
+    private final Map<Integer, Object> parameters;
+
+    JPQLTemplate(String statement, Map<Integer, Object> parameters) {
+      this.statement = statement;
+      this.parameters = parameters;
+    }
+  }
+
   final class JPAQueryInfo {
     private Query query = null;
     private boolean isTombstoneQuery = false;
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jakarta.persistence.metamodel.Metamodel;
+
+/**
+ * Bounded LRU caches of normalized JPQL statement templates.
+ * <p>The JPQL statements built for a request carry all <code>$filter</code> and key predicate literals as
+ * positional parameters, so the statement text is a template for the shape of the request (entity set,
+ * navigation path, filter and order structure) and repeats for requests that only differ in their
+ * literal values. The normalization of member paths into joins depends only on the statement text and is
+ * cached per text for all persistence units; whether the queried entity has embedded attributes depends on
+ * the persistence unit and is cached in the instance belonging to its {@link Metamodel}. These instances
+ * are only weakly reachable from their metamodel, so a redeployed persistence unit and its class loader
+ * are not kept alive by the cache.</p>
+ * <p>Handing identical statement texts to the entity manager also lets the JPA provider reuse the query
+ * plans it caches per JPQL text.</p>
+ * <p>Results of <code>$inlinecount</code> queries can be kept for a limited time; they are cached per
+ * persistence unit, count statement and parameter values.</p>
+ */
+final class JPQLTemplateCache {
+
+  static final int DEFAULT_MAX_ENTRIES = 512;
+
+  private static final Lru<String, String> NORMALIZED_STATEMENTS = new Lru<String, String>(DEFAULT_MAX_ENTRIES);
+  private static final Map<Metamodel, JPQLTemplateCache> INSTANCES = new WeakHashMap<Metamodel, JPQLTemplateCache>();
+
+  private final Lru<String, Boolean> embeddedAttributes;
+  private final Lru<Key, CountEntry> counts;
+
+  /**
+   * @param maxEntries maximum number of entries kept for each kind of result
+   */
+  JPQLTemplateCache(final int maxEntries) {
+    embeddedAttributes = new Lru<String, Boolean>(maxEntries);
+    counts = new Lru<Key, CountEntry>(maxEntries);
+  }
+
+  /**
+   * @return the cache of the persistence unit described by the given metamodel
+   */
+  static JPQLTemplateCache getInstance(final Metamodel metamodel) {
+    synchronized (INSTANCES) {
+      JPQLTemplateCache cache = INSTANCES.get(metamodel);
+      if (cache == null) {
+        cache = new JPQLTemplateCache(DEFAULT_MAX_ENTRIES);
+        INSTANCES.put(metamodel, cache);
+      }
+      return cache;
+    }
+  }
+
+  /**
+   * @return the normalized statement or <code>null</code> if the statement has not been normalized yet
+   */
+  static String getNormalized(final String jpqlStatement) {
+    return NORMALIZED_STATEMENTS.get(jpqlStatement);
+  }
+
+  static void putNormalized(final String jpqlStatement, final String normalizedJpqlStatement) {
+    NORMALIZED_STATEMENTS.put(jpqlStatement, normalizedJpqlStatement);
+  }
+
+  /**
+   * @return whether the statement refers to an embedded attribute of the queried entity or
+   * <code>null</code> if this has not been checked yet
+   */
+  Boolean containsEmbeddedAttributes(final String jpqlStatement) {
+    return embeddedAttributes.get(jpqlStatement);
+  }
+
+  void putContainsEmbeddedAttributes(final String jpqlStatement, final boolean containsEmbeddedAttributes) {
+    embeddedAttributes.put(jpqlStatement, containsEmbeddedAttributes);
+  }
+
+  /**
+   * @param now the current time in milliseconds
+   * @return the count or <code>null</code> if the count is not cached or has expired
+   */
+  Long getCount(final String jpqlStatement, final Map<Integer, Object> parameters, final long now) {
+    final CountEntry entry = counts.get(new Key(jpqlStatement, parameters));
+    return entry == null || entry.expiry <= now ? null : entry.count;
+  }
+
+  void putCount(final String jpqlStatement, final Map<Integer, Object> parameters, final long count,
+      final long expiry) {
+    counts.put(new Key(jpqlStatement, parameters), new CountEntry(count, expiry));
+  }
+
+  /**
+   * Cache key of a statement text and its parameter values.
+   */
+  private static final class Key {
+    private final String text;
+    private final Map<Integer, Object> parameters;
+
+    Key(final String text, final Map<Integer, Object> parameters) {
+      this.text = text;
+      this.parameters = parameters;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return text.equals(other.text) && parameters.equals(other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * text.hashCode() + parameters.hashCode();
+    }
+  }
+
+  private static final class CountEntry {
+    private final long count;
+    private final long expiry;
+
+    CountEntry(final long count, final long expiry) {
+      this.count = count;
+      this.expiry = expiry;
+    }
+  }
+
+  private static final class Lru<K, V> {
+    private final Map<K, V> map;
+
+    Lru(final int maxEntries) {
+      map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+          return size() > maxEntries;
+        }
+      };
+    }
+
+    synchronized V get(final K key) {
+      return map.get(key);
+    }
+
+    synchronized void put(final K key, final V value) {
+      map.put(key, value);
+    }
+  }
+}
@@ -46,6 +46,7 @@ import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
 import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
 import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
 import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAEntityParser;
+import org.apache.olingo.odata2.jpa.processor.core.access.data.JPAExpandLoader;
 
 public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryContent, ODataCallback {
 
@@ -53,11 +54,14 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
   private List<ArrayList<NavigationPropertySegment>> expandList;
   private EdmEntitySet nextEntitySet = null;
   private HashMap<String, List<EdmProperty>> edmPropertyMap = new HashMap<String, List<EdmProperty>>();
+  private JPAExpandLoader expandLoader;
 
-  private JPAExpandCallBack(final URI baseUri, final List<ArrayList<NavigationPropertySegment>> expandList) {
+  private JPAExpandCallBack(final URI baseUri, final List<ArrayList<NavigationPropertySegment>> expandList,
+      final JPAExpandLoader expandLoader) {
     super();
     this.baseUri = baseUri;
     this.expandList = expandList;
+    this.expandLoader = expandLoader;
   }
 
   @Override
@@ -86,7 +90,7 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
           currentNavPropertyList.addAll(nextNavProperty);
         }
         HashMap<String, Object> navigationMap =
-            jpaResultParser.parse2EdmNavigationValueMap(inlinedEntry, currentNavPropertyList);
+            parse2EdmNavigationValueMap(jpaResultParser, inlinedEntry, currentNavPropertyList);
         if (edmPropertyValueMap != null) {
           edmPropertyValueMap.putAll(navigationMap);
         }
@@ -168,7 +172,7 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
         int count = 0;
         for (Object object : listOfItems) {
           HashMap<String, Object> navigationMap =
-              jpaResultParser.parse2EdmNavigationValueMap(object, currentNavPropertyList);
+              parse2EdmNavigationValueMap(jpaResultParser, object, currentNavPropertyList);
           edmEntityList.get(count).putAll(navigationMap);
           count++;
         }
@@ -183,6 +187,14 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
     return result;
   }
 
+  private HashMap<String, Object> parse2EdmNavigationValueMap(final JPAEntityParser jpaResultParser,
+      final Object jpaEntity, final List<EdmNavigationProperty> navigationPropertyList)
+      throws ODataJPARuntimeException {
+    return expandLoader == null ?
+        jpaResultParser.parse2EdmNavigationValueMap(jpaEntity, navigationPropertyList) :
+        expandLoader.parse2EdmNavigationValueMap(jpaEntity, navigationPropertyList);
+  }
+
   private List<EdmNavigationProperty> getNextNavigationProperty(final EdmEntityType sourceEntityType,
       final EdmNavigationProperty navigationProperty) throws EdmException {
     final List<EdmNavigationProperty> edmNavigationPropertyList = new ArrayList<EdmNavigationProperty>();
@@ -222,10 +234,21 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
   public static Map<String, ODataCallback> getCallbacks(final URI baseUri,
       final ExpandSelectTreeNode expandSelectTreeNode, final List<ArrayList<NavigationPropertySegment>> expandList)
       throws EdmException {
+    return getCallbacks(baseUri, expandSelectTreeNode, expandList, null);
+  }
+
+  /**
+   * Creates the callbacks for the expanded navigation properties.
+   * @param expandLoader the loader holding the expanded entities loaded in advance; may be <code>null</code>
+   * in which case the navigation properties are read through their getters
+   */
+  public static Map<String, ODataCallback> getCallbacks(final URI baseUri,
+      final ExpandSelectTreeNode expandSelectTreeNode, final List<ArrayList<NavigationPropertySegment>> expandList,
+      final JPAExpandLoader expandLoader) throws EdmException {
     Map<String, ODataCallback> callbacks = new HashMap<String, ODataCallback>();
 
     for (String navigationPropertyName : expandSelectTreeNode.getLinks().keySet()) {
-      callbacks.put(navigationPropertyName, new JPAExpandCallBack(baseUri, expandList));
+      callbacks.put(navigationPropertyName, new JPAExpandCallBack(baseUri, expandList, expandLoader));
     }
 
     return callbacks;
@@ -235,7 +258,8 @@ public class JPAExpandCallBack implements OnWriteFeedContent, OnWriteEntryConten
   private EntityProviderWriteProperties getInlineEntityProviderProperties(final WriteCallbackContext context)
       throws EdmException {
     ODataEntityProviderPropertiesBuilder propertiesBuilder = EntityProviderWriteProperties.serviceRoot(baseUri);
-    propertiesBuilder.callbacks(getCallbacks(baseUri, context.getCurrentExpandSelectTreeNode(), expandList));
+    propertiesBuilder.callbacks(getCallbacks(baseUri, context.getCurrentExpandSelectTreeNode(), expandList,
+        expandLoader));
     propertiesBuilder.expandSelectTree(context.getCurrentExpandSelectTreeNode());
     return propertiesBuilder.build();
   }
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.jpql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmFacets;
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmMapping;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeException;
+import org.apache.olingo.odata2.api.edm.EdmTypeKind;
+import org.apache.olingo.odata2.api.exception.ODataBadRequestException;
+import org.apache.olingo.odata2.api.uri.expression.ExpressionKind;
+import org.apache.olingo.odata2.api.uri.expression.OrderExpression;
+import org.apache.olingo.odata2.api.uri.expression.PropertyExpression;
+import org.apache.olingo.odata2.api.uri.expression.SortOrder;
+import org.apache.olingo.odata2.api.uri.info.GetEntitySetUriInfo;
+import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
+import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLStatement;
+import org.apache.olingo.odata2.jpa.processor.api.model.JPAEdmMapping;
+
+/**
+ * Keyset (seek) pagination of an entity set.
+ * <p>The entities are ordered by the $orderby properties followed by the key properties. The skip token
+ * of the next page carries the values of these properties of the last entity of the current page; the next
+ * page is selected with a seek predicate on these values instead of an offset, so the cost of a page does
+ * not depend on its position.</p>
+ * <p>Keyset pagination is only possible if every $orderby expression is a non-nullable simple property of the
+ * entity type; otherwise {@link #create(GetEntitySetUriInfo)} returns <code>null</code>.</p>
+ */
+public class JPAKeyset {
+
+  private static final char LENGTH_DELIMITER = ':';
+
+  private final List<EdmProperty> properties;
+  private final List<Boolean> descending;
+
+  private JPAKeyset(final List<EdmProperty> properties, final List<Boolean> descending) {
+    this.properties = properties;
+    this.descending = descending;
+  }
+
+  /**
+   * Determines the keyset of the requested entity set.
+   * @param uriInfo the OData request view
+   * @return the keyset or <code>null</code> if the request cannot be paged by keyset
+   * @throws ODataJPARuntimeException
+   */
+  public static JPAKeyset create(final GetEntitySetUriInfo uriInfo) throws ODataJPARuntimeException {
+    List<EdmProperty> properties = new ArrayList<EdmProperty>();
+    List<Boolean> descending = new ArrayList<Boolean>();
+    try {
+      if (uriInfo.getOrderBy() != null) {
+        for (final OrderExpression order : uriInfo.getOrderBy().getOrders()) {
+          if (order.getExpression().getKind() != ExpressionKind.PROPERTY
+              || !(((PropertyExpression) order.getExpression()).getEdmProperty() instanceof EdmProperty)) {
+            return null;
+          }
+          final EdmProperty property = (EdmProperty) ((PropertyExpression) order.getExpression()).getEdmProperty();
+          final EdmFacets facets = property.getFacets();
+          if (property.getType().getKind() != EdmTypeKind.SIMPLE
+              || facets == null || !Boolean.FALSE.equals(facets.isNullable())) {
+            return null;
+          }
+          if (!properties.contains(property)) {
+            properties.add(property);
+            descending.add(order.getSortOrder() == SortOrder.desc);
+          }
+        }
+      }
+      // The key properties make the order total.
+      for (final EdmProperty keyProperty : uriInfo.getTargetEntitySet().getEntityType().getKeyProperties()) {
+        if (!properties.contains(keyProperty)) {
+          properties.add(keyProperty);
+          descending.add(false);
+        }
+      }
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(e.getMessage()), e);
+    }
+    return new JPAKeyset(properties, descending);
+  }
+
+  /**
+   * Builds the JPQL order by expression of the keyset.
+   * @param tableAlias the JPA entity alias
+   * @return the JPQL order by expression
+   * @throws ODataJPARuntimeException
+   */
+  public String getOrderByExpression(final String tableAlias) throws ODataJPARuntimeException {
+    StringBuilder orderByExpression = new StringBuilder();
+    for (int i = 0; i < properties.size(); i++) {
+      if (i > 0) {
+        orderByExpression.append(" , ");
+      }
+      orderByExpression.append(getPath(tableAlias, properties.get(i)));
+      if (descending.get(i)) {
+        orderByExpression.append(JPQLStatement.DELIMITER.SPACE).append("DESC");
+      }
+    }
+    return orderByExpression.toString();
+  }
+
+  /**
+   * Builds the JPQL seek predicate selecting all entities after the entity the skip token has been created for.
+   * The predicate refers to one positional parameter per keyset property, starting with <code>index</code>.
+   * @param tableAlias the JPA entity alias
+   * @param skipToken the skip token
+   * @param index the index of the first positional parameter
+   * @param positionalParameters map to which the parameter values are added
+   * @return the JPQL seek predicate
+   * @throws ODataJPARuntimeException if the skip token is not a valid keyset skip token
+   */
+  public String getSeekExpression(final String tableAlias, final String skipToken, final int index,
+      final Map<Integer, Object> positionalParameters) throws ODataJPARuntimeException {
+    final List<String> values = decode(skipToken);
+    if (values.size() != properties.size()) {
+      throw invalidSkipToken(skipToken, null);
+    }
+
+    List<String> paths = new ArrayList<String>(properties.size());
+    for (int i = 0; i < properties.size(); i++) {
+      paths.add(getPath(tableAlias, properties.get(i)));
+      positionalParameters.put(index + i, parseValue(properties.get(i), values.get(i), skipToken));
+    }
+
+    // (a > ?1) OR (a = ?1 AND b > ?2) OR ...; the leading range condition on the first property
+    // allows the database to seek on an index of that property.
+    StringBuilder seekExpression = new StringBuilder();
+    seekExpression.append(JPQLStatement.DELIMITER.PARENTHESIS_LEFT)
+        .append(paths.get(0)).append(JPQLStatement.DELIMITER.SPACE)
+        .append(descending.get(0) ? JPQLStatement.Operator.LE : JPQLStatement.Operator.GE)
+        .append(JPQLStatement.DELIMITER.SPACE).append('?').append(index)
+        .append(JPQLStatement.DELIMITER.SPACE).append(JPQLStatement.Operator.AND)
+        .append(JPQLStatement.DELIMITER.SPACE).append(JPQLStatement.DELIMITER.PARENTHESIS_LEFT);
+    for (int i = 0; i < paths.size(); i++) {
+      if (i > 0) {
+        seekExpression.append(JPQLStatement.DELIMITER.SPACE).append(JPQLStatement.Operator.OR)
+            .append(JPQLStatement.DELIMITER.SPACE);
+      }
+      seekExpression.append(JPQLStatement.DELIMITER.PARENTHESIS_LEFT);
+      for (int j = 0; j < i; j++) {
+        seekExpression.append(paths.get(j)).append(JPQLStatement.DELIMITER.SPACE)
+            .append(JPQLStatement.Operator.EQ).append(JPQLStatement.DELIMITER.SPACE).append('?').append(index + j)
+            .append(JPQLStatement.DELIMITER.SPACE).append(JPQLStatement.Operator.AND)
+            .append(JPQLStatement.DELIMITER.SPACE);
+      }
+      seekExpression.append(paths.get(i)).append(JPQLStatement.DELIMITER.SPACE)
+          .append(descending.get(i) ? JPQLStatement.Operator.LT : JPQLStatement.Operator.GT)
+          .append(JPQLStatement.DELIMITER.SPACE).append('?').append(index + i)
+          .append(JPQLStatement.DELIMITER.PARENTHESIS_RIGHT);
+    }
+    seekExpression.append(JPQLStatement.DELIMITER.PARENTHESIS_RIGHT)
+        .append(JPQLStatement.DELIMITER.PARENTHESIS_RIGHT);
+    return seekExpression.toString();
+  }
+
+  /**
+   * @return the properties the entities are ordered by, followed by the key properties
+   */
+  public List<EdmProperty> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Creates the skip token of the page following the last entity of a page.
+   * @param values the values of the {@link #getProperties() keyset properties} of the last entity of a page,
+   * by property name
+   * @return the skip token
+   * @throws ODataJPARuntimeException
+   */
+  public String createSkipToken(final Map<String, Object> values) throws ODataJPARuntimeException {
+    StringBuilder token = new StringBuilder();
+    try {
+      for (final EdmProperty property : properties) {
+        final Object value = values.get(property.getName());
+        if (value == null) {
+          throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL
+              .addContent(property.getName()), null);
+        }
+        final String literal = ((EdmSimpleType) property.getType()).valueToString(value, EdmLiteralKind.DEFAULT, null);
+        token.append(literal.length()).append(LENGTH_DELIMITER).append(literal);
+      }
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(e.getMessage()), e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> decode(final String skipToken) throws ODataJPARuntimeException {
+    List<String> values = new ArrayList<String>();
+    try {
+      final String token = new String(Base64.getUrlDecoder().decode(skipToken), StandardCharsets.UTF_8);
+      int position = 0;
+      while (position < token.length()) {
+        final int delimiter = token.indexOf(LENGTH_DELIMITER, position);
+        final int start = delimiter + 1;
+        final int end = start + Integer.parseInt(token.substring(position, delimiter));
+        values.add(token.substring(start, end));
+        position = end;
+      }
+    } catch (RuntimeException e) {
+      // Invalid Base64, missing delimiter, invalid length
+      throw invalidSkipToken(skipToken, e);
+    }
+    return values;
+  }
+
+  private static Object parseValue(final EdmProperty property, final String value, final String skipToken)
+      throws ODataJPARuntimeException {
+    try {
+      final EdmSimpleType type = (EdmSimpleType) property.getType();
+      final EdmMapping mapping = property.getMapping();
+      Class<?> javaType = mapping instanceof JPAEdmMapping ? ((JPAEdmMapping) mapping).getJPAType() : null;
+      if (javaType == null || javaType.isPrimitive()) {
+        javaType = type.getDefaultType();
+      }
+      try {
+        return type.valueOfString(value, EdmLiteralKind.DEFAULT, null, javaType);
+      } catch (EdmSimpleTypeException e) {
+        // The JPA type is not supported by the EDM type; the JPA provider converts the default type.
+        return type.valueOfString(value, EdmLiteralKind.DEFAULT, null, type.getDefaultType());
+      }
+    } catch (EdmSimpleTypeException e) {
+      throw invalidSkipToken(skipToken, e);
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(value), e);
+    }
+  }
+
+  /**
+   * The skip token is client input, so an invalid one is reported as <code>400 Bad Request</code>.
+   */
+  private static ODataJPARuntimeException invalidSkipToken(final String skipToken, final Throwable cause) {
+    return ODataJPARuntimeException.throwException(ODataJPARuntimeException.INVALID_SKIP_TOKEN.addContent(skipToken),
+        new ODataBadRequestException(ODataBadRequestException.INVALID_SYNTAX, cause));
+  }
+
+  private static String getPath(final String tableAlias, final EdmProperty property) throws ODataJPARuntimeException {
+    try {
+      final EdmMapping mapping = property.getMapping();
+      return tableAlias + JPQLStatement.DELIMITER.PERIOD
+          + (mapping != null && mapping.getInternalName() != null ? mapping.getInternalName() : property.getName());
+    } catch (EdmException e) {
+      throw ODataJPARuntimeException.throwException(ODataJPARuntimeException.GENERAL.addContent(e.getMessage()), e);
+    }
+  }
+}
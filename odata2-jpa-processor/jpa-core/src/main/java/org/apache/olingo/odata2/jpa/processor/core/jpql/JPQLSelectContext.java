@@ -33,6 +33,7 @@ import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeExcep
 import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLContext;
 import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLContextType;
 import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLSelectContextView;
+import org.apache.olingo.odata2.jpa.processor.api.jpql.JPQLStatement;
 import org.apache.olingo.odata2.jpa.processor.core.ODataExpressionParser;
 
 public class JPQLSelectContext extends JPQLContext implements JPQLSelectContextView {
@@ -116,11 +117,15 @@ public class JPQLSelectContext extends JPQLContext implements JPQLSelectContextV
 
           setJPAEntityAlias(generateJPAEntityAlias());
 
-          setOrderByCollection(generateOrderByFileds());
+          JPAKeyset keyset = withKeysetPaging && !isCountOnly ? JPAKeyset.create(entitySetView) : null;
+
+          setOrderByCollection(keyset == null ? generateOrderByFileds() : keyset.getOrderByExpression(
+              getJPAEntityAlias()));
 
           setSelectExpression(generateSelectExpression());
 
-          setWhereExpression(generateWhereExpression());
+          setWhereExpression(keyset == null || entitySetView.getSkipToken() == null ?
+              generateWhereExpression() : generateWhereExpression(keyset));
           
           setJPQLContext(JPQLSelectContext.this);
           
@@ -199,6 +204,31 @@ public class JPQLSelectContext extends JPQLContext implements JPQLSelectContextV
       }
       return null;
     }
+
+    /*
+     * Generate Where Clause Expression with the seek predicate of keyset paging
+     */
+    protected String generateWhereExpression(final JPAKeyset keyset) throws ODataException {
+      final String whereExpression = generateWhereExpression();
+      int index = 1;
+      if (parameterizedQueryMap != null) {
+        for (Map<Integer, Object> parameters : parameterizedQueryMap.values()) {
+          for (Integer parameterIndex : parameters.keySet()) {
+            index = Math.max(index, parameterIndex + 1);
+          }
+        }
+      }
+      Map<Integer, Object> positionalParameters = new HashMap<Integer, Object>();
+      final String seekExpression = keyset.getSeekExpression(getJPAEntityAlias(), entitySetView.getSkipToken(),
+          index, positionalParameters);
+      Map<String, Map<Integer, Object>> parameterizedExpressionMap = new HashMap<String, Map<Integer, Object>>();
+      parameterizedExpressionMap.put(seekExpression, positionalParameters);
+      setParameterizedQueryMap(parameterizedExpressionMap);
+      return whereExpression == null ? seekExpression :
+          JPQLStatement.DELIMITER.PARENTHESIS_LEFT + whereExpression + JPQLStatement.DELIMITER.PARENTHESIS_RIGHT
+              + JPQLStatement.DELIMITER.SPACE + JPQLStatement.Operator.AND + JPQLStatement.DELIMITER.SPACE
+              + seekExpression;
+    }
   }
   
   private int getIndexValue(Map<Integer, Object> map) {
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmMultiplicity;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
+import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
+import org.apache.olingo.odata2.jpa.processor.core.mock.data.Note;
+import org.apache.olingo.odata2.jpa.processor.core.mock.data.SalesOrderHeader;
+import org.apache.olingo.odata2.jpa.processor.core.model.JPAEdmMappingImpl;
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+public class JPAExpandLoaderTest {
+
+  private static final String JPQL = "SELECT E1.id, E2 FROM SalesOrderHeader E1 JOIN E1.notesDetails E2 "
+      + "WHERE E1.id IN :keys";
+
+  @Test
+  public void loadsNavigationOfAllEntitiesWithOneQuery() throws Exception {
+    SalesOrderHeader header1 = new SalesOrderHeader(1, "first");
+    SalesOrderHeader header2 = new SalesOrderHeader(2, "second");
+    Note note1 = new Note();
+    Note note2 = new Note();
+    Note note3 = new Note();
+
+    List<Object> rows = new ArrayList<Object>();
+    rows.add(new Object[] { 1, note1 });
+    rows.add(new Object[] { 1, note2 });
+    rows.add(new Object[] { 1, note3 });
+    Query query = EasyMock.createMock(Query.class);
+    EasyMock.expect(query.setParameter("keys", Arrays.asList(1, 2))).andReturn(query);
+    EasyMock.expect(query.getResultList()).andReturn(rows).once();
+    EasyMock.replay(query);
+    EntityManager em = EasyMock.createMock(EntityManager.class);
+    EasyMock.expect(em.createQuery(JPQL)).andReturn(query).once();
+    EasyMock.replay(em);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    JPAExpandLoader loader = new JPAExpandLoader(em);
+    loader.load(mockEntityType(), Arrays.asList(header1, header2), mockExpandList(navigationProperty));
+    EasyMock.verify(em, query);
+
+    HashMap<String, Object> navigation =
+        loader.parse2EdmNavigationValueMap(header1, Arrays.asList(navigationProperty));
+    assertEquals(Arrays.asList(note1, note2, note3), navigation.get("NotesDetails"));
+    navigation = loader.parse2EdmNavigationValueMap(header2, Arrays.asList(navigationProperty));
+    assertTrue(((List<?>) navigation.get("NotesDetails")).isEmpty());
+  }
+
+  @Test
+  public void fallsBackToGetters() throws Exception {
+    SalesOrderHeader header = new SalesOrderHeader(1, "first");
+    List<Note> notes = new ArrayList<Note>();
+    notes.add(new Note());
+    header.setNotesDetails(notes);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    JPAExpandLoader loader = new JPAExpandLoader(null);
+    loader.load(mockEntityType(), Arrays.asList(header), mockExpandList(navigationProperty));
+
+    assertSame(notes,
+        loader.parse2EdmNavigationValueMap(header, Arrays.asList(navigationProperty)).get("NotesDetails"));
+  }
+
+  @Test
+  public void keepsMappedOrder() throws Exception {
+    OrderedHeader header = new OrderedHeader();
+    Note note1 = new Note();
+    Note note2 = new Note();
+
+    List<Object> rows = new ArrayList<Object>();
+    rows.add(new Object[] { 'a', note1 });
+    rows.add(new Object[] { 'a', note2 });
+    Query query = EasyMock.createMock(Query.class);
+    EasyMock.expect(query.setParameter("keys", Arrays.asList("a"))).andReturn(query);
+    EasyMock.expect(query.getResultList()).andReturn(rows).once();
+    EasyMock.replay(query);
+    EntityManager em = EasyMock.createMock(EntityManager.class);
+    EasyMock.expect(em.createQuery("SELECT E1.id, E2 FROM OrderedHeader E1 JOIN E1.notesDetails E2 "
+        + "WHERE E1.id IN :keys ORDER BY INDEX(E2)")).andReturn(query).once();
+    EasyMock.replay(em);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    JPAExpandLoader loader = new JPAExpandLoader(em);
+    loader.load(mockEntityType("OrderedHeader", char.class), Arrays.asList(header),
+        mockExpandList(navigationProperty));
+    EasyMock.verify(em, query);
+
+    assertEquals(Arrays.asList(note1, note2),
+        loader.parse2EdmNavigationValueMap(header, Arrays.asList(navigationProperty)).get("NotesDetails"));
+  }
+
+  @Test
+  public void fallsBackToGettersForUnmatchedKeys() throws Exception {
+    SalesOrderHeader header = new SalesOrderHeader(1, "first");
+    List<Note> notes = new ArrayList<Note>();
+    header.setNotesDetails(notes);
+
+    List<Object> rows = new ArrayList<Object>();
+    rows.add(new Object[] { 1L, new Note() });
+    Query query = EasyMock.createMock(Query.class);
+    EasyMock.expect(query.setParameter("keys", Arrays.asList(1))).andReturn(query);
+    EasyMock.expect(query.getResultList()).andReturn(rows).once();
+    EasyMock.replay(query);
+    EntityManager em = EasyMock.createMock(EntityManager.class);
+    EasyMock.expect(em.createQuery(JPQL)).andReturn(query).once();
+    EasyMock.replay(em);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    JPAExpandLoader loader = new JPAExpandLoader(em);
+    loader.load(mockEntityType(), Arrays.asList(header), mockExpandList(navigationProperty));
+
+    assertSame(notes,
+        loader.parse2EdmNavigationValueMap(header, Arrays.asList(navigationProperty)).get("NotesDetails"));
+  }
+
+  @Test(expected = ODataJPARuntimeException.class)
+  public void failsOnRollbackOnlyTransaction() throws Exception {
+    Query query = EasyMock.createMock(Query.class);
+    EasyMock.expect(query.setParameter("keys", Arrays.asList(1))).andReturn(query);
+    EasyMock.expect(query.getResultList()).andThrow(new PersistenceException());
+    EasyMock.replay(query);
+    EntityTransaction transaction = EasyMock.createMock(EntityTransaction.class);
+    EasyMock.expect(transaction.isActive()).andStubReturn(true);
+    EasyMock.expect(transaction.getRollbackOnly()).andStubReturn(true);
+    EasyMock.replay(transaction);
+    EntityManager em = EasyMock.createMock(EntityManager.class);
+    EasyMock.expect(em.createQuery(JPQL)).andReturn(query).once();
+    EasyMock.expect(em.getTransaction()).andStubReturn(transaction);
+    EasyMock.replay(em);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    new JPAExpandLoader(em).load(mockEntityType(), Arrays.asList(new SalesOrderHeader(1, "first")),
+        mockExpandList(navigationProperty));
+  }
+
+  @Test
+  public void fallsBackToGettersWithJtaTransaction() throws Exception {
+    SalesOrderHeader header = new SalesOrderHeader(1, "first");
+    List<Note> notes = new ArrayList<Note>();
+    header.setNotesDetails(notes);
+
+    Query query = EasyMock.createMock(Query.class);
+    EasyMock.expect(query.setParameter("keys", Arrays.asList(1))).andReturn(query);
+    EasyMock.expect(query.getResultList()).andThrow(new PersistenceException());
+    EasyMock.replay(query);
+    EntityManager em = EasyMock.createMock(EntityManager.class);
+    EasyMock.expect(em.createQuery(JPQL)).andReturn(query).once();
+    EasyMock.expect(em.getTransaction()).andStubThrow(new IllegalStateException());
+    EasyMock.replay(em);
+
+    EdmNavigationProperty navigationProperty = mockNavigationProperty();
+    JPAExpandLoader loader = new JPAExpandLoader(em);
+    loader.load(mockEntityType(), Arrays.asList(header), mockExpandList(navigationProperty));
+    EasyMock.verify(em, query);
+
+    assertSame(notes,
+        loader.parse2EdmNavigationValueMap(header, Arrays.asList(navigationProperty)).get("NotesDetails"));
+  }
+
+  private EdmEntityType mockEntityType() throws EdmException {
+    return mockEntityType("SalesOrderHeader", int.class);
+  }
+
+  private EdmEntityType mockEntityType(final String name, final Class<?> keyType) throws EdmException {
+    JPAEdmMappingImpl keyMapping = new JPAEdmMappingImpl();
+    keyMapping.setInternalName("id");
+    keyMapping.setJPAType(keyType);
+    EdmProperty keyProperty = EasyMock.createMock(EdmProperty.class);
+    EasyMock.expect(keyProperty.getName()).andStubReturn("ID");
+    EasyMock.expect(keyProperty.getMapping()).andStubReturn(keyMapping);
+    EasyMock.expect(keyProperty.getType()).andStubReturn(EdmSimpleTypeKind.Int32.getEdmSimpleTypeInstance());
+    EasyMock.replay(keyProperty);
+
+    JPAEdmMappingImpl entityMapping = new JPAEdmMappingImpl();
+    entityMapping.setInternalName(name);
+    EdmEntityType entityType = EasyMock.createMock(EdmEntityType.class);
+    EasyMock.expect(entityType.getKeyProperties()).andStubReturn(Arrays.asList(keyProperty));
+    EasyMock.expect(entityType.getMapping()).andStubReturn(entityMapping);
+    EasyMock.expect(entityType.getName()).andStubReturn(name);
+    EasyMock.replay(entityType);
+    return entityType;
+  }
+
+  private EdmNavigationProperty mockNavigationProperty() throws EdmException {
+    JPAEdmMappingImpl mapping = new JPAEdmMappingImpl();
+    mapping.setInternalName("notesDetails");
+    EdmNavigationProperty navigationProperty = EasyMock.createMock(EdmNavigationProperty.class);
+    EasyMock.expect(navigationProperty.getName()).andStubReturn("NotesDetails");
+    EasyMock.expect(navigationProperty.getMapping()).andStubReturn(mapping);
+    EasyMock.expect(navigationProperty.getMultiplicity()).andStubReturn(EdmMultiplicity.MANY);
+    EasyMock.replay(navigationProperty);
+    return navigationProperty;
+  }
+
+  private List<ArrayList<NavigationPropertySegment>> mockExpandList(final EdmNavigationProperty navigationProperty)
+      throws EdmException {
+    EdmEntityType noteType = EasyMock.createMock(EdmEntityType.class);
+    EasyMock.replay(noteType);
+    EdmEntitySet noteSet = EasyMock.createMock(EdmEntitySet.class);
+    EasyMock.expect(noteSet.getEntityType()).andStubReturn(noteType);
+    EasyMock.replay(noteSet);
+    NavigationPropertySegment segment = EasyMock.createMock(NavigationPropertySegment.class);
+    EasyMock.expect(segment.getNavigationProperty()).andStubReturn(navigationProperty);
+    EasyMock.expect(segment.getTargetEntitySet()).andStubReturn(noteSet);
+    EasyMock.replay(segment);
+
+    ArrayList<NavigationPropertySegment> path = new ArrayList<NavigationPropertySegment>();
+    path.add(segment);
+    List<ArrayList<NavigationPropertySegment>> expandList = new ArrayList<ArrayList<NavigationPropertySegment>>();
+    expandList.add(path);
+    return expandList;
+  }
+
+  public static class OrderedHeader {
+    private char id = 'a';
+    @OrderColumn
+    private List<Note> notesDetails = new ArrayList<Note>();
+
+    public char getId() {
+      return id;
+    }
+
+    public List<Note> getNotesDetails() {
+      return notesDetails;
+    }
+  }
+}
@@ -382,6 +382,45 @@ public class JPAPageBuilderTest {
     assertEquals(1, query.getMaxResults());
   }
 
+  @Test
+  public void testBuildTotalCountOfLastPage() {
+    JPAPageBuilder pageBuilder = new JPAPageBuilder();
+    Query query = mockQuery(false);
+
+    JPAPage page = pageBuilder.query(query)
+        .pageSize(PAGE_SIZE)
+        .skipToken("10")
+        .build();
+
+    assertEquals(11, page.getTotalCount());
+  }
+
+  @Test
+  public void testBuildTotalCountOfFullPage() {
+    JPAPageBuilder pageBuilder = new JPAPageBuilder();
+    Query query = mockQuery(false);
+
+    JPAPage page = pageBuilder.query(query)
+        .pageSize(PAGE_SIZE)
+        .top(1)
+        .build();
+
+    assertEquals(-1, page.getTotalCount());
+  }
+
+  @Test
+  public void testBuildTotalCountBehindLastPage() {
+    JPAPageBuilder pageBuilder = new JPAPageBuilder();
+    Query query = mockQuery(true);
+
+    JPAPage page = pageBuilder.query(query)
+        .pageSize(PAGE_SIZE)
+        .skipToken("10")
+        .build();
+
+    assertEquals(-1, page.getTotalCount());
+  }
+
   private Query mockQuery(final boolean setNoRecords) {
 
     return new Query() {
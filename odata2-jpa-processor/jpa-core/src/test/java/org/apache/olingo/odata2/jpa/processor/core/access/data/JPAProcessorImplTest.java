@@ -427,6 +427,9 @@ public class JPAProcessorImplTest {
     EasyMock.expect(odataJPAContext.getODataContext()).andStubReturn(getLocalODataContext());
     EasyMock.expect(odataJPAContext.getEntityManager()).andStubReturn(getLocalEntityManager());
     EasyMock.expect(odataJPAContext.getPageSize()).andReturn(10).anyTimes();
+    EasyMock.expect(odataJPAContext.isKeysetPaging()).andStubReturn(false);
+    EasyMock.expect(odataJPAContext.isOptimizedInlineCount()).andStubReturn(false);
+    EasyMock.expect(odataJPAContext.getInlineCountCacheTimeToLive()).andStubReturn(0L);
     odataJPAContext.setPaging(EasyMock.isA(JPAPaging.class));
     EasyMock.expectLastCall();
     EasyMock.replay(odataJPAContext);
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class JPAPropertyAccessorTest {
+
+    @Test
+    public void methodLookupIsCached() throws Exception {
+        Method method = JPAPropertyAccessor.getMethod(Item.class, "getName");
+        assertEquals(Item.class.getMethod("getName"), method);
+        assertSame(method, JPAPropertyAccessor.getMethod(Item.class, "getName", (Class<?>[]) null));
+        assertSame(JPAPropertyAccessor.get(method), JPAPropertyAccessor.get(Item.class.getMethod("getName")));
+
+        assertNull(JPAPropertyAccessor.getMethod(Item.class, "getUnknown"));
+        assertNull(JPAPropertyAccessor.getMethod(Item.class, "setCount", long.class));
+        assertEquals(int.class, JPAPropertyAccessor.get(JPAPropertyAccessor.getMethod(Item.class, "setCount", int.class))
+                                                  .getParameterType());
+    }
+
+    @Test
+    public void getAndSet() throws Exception {
+        Item item = new Item();
+        JPAPropertyAccessor.get(Item.class.getMethod("setName", String.class))
+                           .setValue(item, "Name");
+        JPAPropertyAccessor.get(Item.class.getMethod("setCount", int.class))
+                           .setValue(item, Short.valueOf((short) 3));
+        JPAPropertyAccessor.get(Item.class.getMethod("setChars", char[].class))
+                           .setValue(item, "AB".toCharArray());
+
+        assertEquals("Name", JPAPropertyAccessor.get(Item.class.getMethod("getName"))
+                                                .getValue(item, null));
+        assertEquals(3, JPAPropertyAccessor.get(Item.class.getMethod("getCount"))
+                                           .getValue(item, null));
+        assertEquals("AB", JPAPropertyAccessor.get(Item.class.getMethod("getChars"))
+                                              .getValue(item, null));
+        assertNull(JPAPropertyAccessor.get(Item.class.getMethod("getLetter"))
+                                      .getValue(item, null));
+    }
+
+    @Test
+    public void virtualAccess() throws Exception {
+        Item item = new Item();
+        JPAPropertyAccessor.get(Item.class.getMethod("set", String.class, Object.class))
+                           .setValue(item, "Dynamic", 42L);
+
+        assertEquals(42L, JPAPropertyAccessor.get(Item.class.getMethod("get", String.class))
+                                             .getValue(item, "Dynamic"));
+    }
+
+    @Test
+    public void exceptionsAreWrapped() throws Exception {
+        JPAPropertyAccessor accessor = JPAPropertyAccessor.get(Item.class.getMethod("setCount", int.class));
+        try {
+            accessor.setValue(new Item(), "3");
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+        try {
+            JPAPropertyAccessor.get(Item.class.getMethod("getFailure"))
+                               .getValue(new Item(), null);
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public static class Item {
+        private String name;
+        private int count;
+        private char[] chars;
+        private final Map<String, Object> dynamic = new HashMap<String, Object>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(final int count) {
+            this.count = count;
+        }
+
+        public char[] getChars() {
+            return chars;
+        }
+
+        public void setChars(final char[] chars) {
+            this.chars = chars;
+        }
+
+        public char getLetter() {
+            return '\u0000';
+        }
+
+        public Object getFailure() {
+            throw new IllegalStateException();
+        }
+
+        public Object get(final String propertyName) {
+            return dynamic.get(propertyName);
+        }
+
+        public void set(final String propertyName, final Object value) {
+            dynamic.put(propertyName, value);
+        }
+    }
+}
@@ -550,6 +550,18 @@ public class JPAQueryBuilderTest {
     }
   }
 
+  @Test
+  public void knownTotalCountWithoutCountQuery() throws ODataException {
+    UriInfoImpl uriInfo = EasyMock.createMock(UriInfoImpl.class);
+    Map<String, String> data = new HashMap<String, String>();
+    data.put("count", "7");
+    uriInfo.setCustomQueryOptions(data);
+    EasyMock.expectLastCall().times(1);
+    EasyMock.replay(uriInfo);
+    builder.getCount(uriInfo, 7);
+    EasyMock.verify(uriInfo);
+  }
+
   @Test
   public void buildQueryWithTopSkipInlineWithListener() {
     try {
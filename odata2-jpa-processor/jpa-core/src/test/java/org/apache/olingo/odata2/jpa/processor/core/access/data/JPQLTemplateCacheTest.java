@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.access.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.persistence.metamodel.Metamodel;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+public class JPQLTemplateCacheTest {
+
+  private static final String STATEMENT = "SELECT E1 FROM SalesOrderItem E1 WHERE E1.soId = ?1";
+
+  @Test
+  public void normalizedStatement() {
+    String statement = STATEMENT + " AND E1.liId = ?2";
+    assertNull(JPQLTemplateCache.getNormalized(statement));
+    JPQLTemplateCache.putNormalized(statement, "SELECT DISTINCT E1 FROM SalesOrderItem E1 WHERE E1.soId = ?1");
+    assertEquals("SELECT DISTINCT E1 FROM SalesOrderItem E1 WHERE E1.soId = ?1",
+        JPQLTemplateCache.getNormalized(new String(statement)));
+  }
+
+  @Test
+  public void embeddedAttributesPerMetamodel() {
+    Metamodel metamodel = EasyMock.createMock(Metamodel.class);
+    Metamodel otherMetamodel = EasyMock.createMock(Metamodel.class);
+    JPQLTemplateCache cache = JPQLTemplateCache.getInstance(metamodel);
+    assertSame(cache, JPQLTemplateCache.getInstance(metamodel));
+    assertNotSame(cache, JPQLTemplateCache.getInstance(otherMetamodel));
+    cache.putContainsEmbeddedAttributes(STATEMENT, true);
+    JPQLTemplateCache.getInstance(otherMetamodel).putContainsEmbeddedAttributes(STATEMENT, false);
+    assertTrue(JPQLTemplateCache.getInstance(metamodel).containsEmbeddedAttributes(STATEMENT));
+    assertFalse(JPQLTemplateCache.getInstance(otherMetamodel).containsEmbeddedAttributes(STATEMENT));
+    assertNull(cache.containsEmbeddedAttributes(STATEMENT + " AND E1.liId = ?2"));
+  }
+
+  @Test
+  public void countPerParametersUntilExpiry() {
+    JPQLTemplateCache cache = new JPQLTemplateCache(JPQLTemplateCache.DEFAULT_MAX_ENTRIES);
+    Map<Integer, Object> parameters = new TreeMap<Integer, Object>();
+    parameters.put(1, 2L);
+    Map<Integer, Object> otherParameters = new TreeMap<Integer, Object>();
+    otherParameters.put(1, 3L);
+    cache.putCount(STATEMENT, parameters, 42, 1000);
+    assertEquals(Long.valueOf(42), cache.getCount(STATEMENT, new TreeMap<Integer, Object>(parameters), 999));
+    assertNull(cache.getCount(STATEMENT, parameters, 1000));
+    assertNull(cache.getCount(STATEMENT, otherParameters, 999));
+    assertNull(new JPQLTemplateCache(JPQLTemplateCache.DEFAULT_MAX_ENTRIES).getCount(STATEMENT, parameters, 999));
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() {
+    JPQLTemplateCache cache = new JPQLTemplateCache(2);
+    cache.putContainsEmbeddedAttributes("A", true);
+    cache.putContainsEmbeddedAttributes("B", true);
+    assertTrue(cache.containsEmbeddedAttributes("A"));
+    cache.putContainsEmbeddedAttributes("C", true);
+    assertTrue(cache.containsEmbeddedAttributes("A"));
+    assertNull(cache.containsEmbeddedAttributes("B"));
+    assertTrue(cache.containsEmbeddedAttributes("C"));
+  }
+}
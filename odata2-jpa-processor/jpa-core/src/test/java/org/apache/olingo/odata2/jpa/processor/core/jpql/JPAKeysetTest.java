@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.jpa.processor.core.jpql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.uri.info.GetEntitySetUriInfo;
+import org.apache.olingo.odata2.jpa.processor.api.exception.ODataJPARuntimeException;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JPAKeysetTest {
+
+  private JPAKeyset keyset;
+
+  @Before
+  public void setUp() throws Exception {
+    EdmProperty keyProperty = EasyMock.createMock(EdmProperty.class);
+    EasyMock.expect(keyProperty.getName()).andStubReturn("SoId");
+    EasyMock.expect(keyProperty.getType()).andStubReturn(EdmSimpleTypeKind.Int32.getEdmSimpleTypeInstance());
+    EasyMock.expect(keyProperty.getMapping()).andStubReturn(null);
+    EasyMock.replay(keyProperty);
+
+    EdmEntityType entityType = EasyMock.createMock(EdmEntityType.class);
+    EasyMock.expect(entityType.getKeyProperties()).andStubReturn(Collections.singletonList(keyProperty));
+    EasyMock.replay(entityType);
+    EdmEntitySet entitySet = EasyMock.createMock(EdmEntitySet.class);
+    EasyMock.expect(entitySet.getEntityType()).andStubReturn(entityType);
+    EasyMock.replay(entitySet);
+    GetEntitySetUriInfo uriInfo = EasyMock.createMock(GetEntitySetUriInfo.class);
+    EasyMock.expect(uriInfo.getOrderBy()).andStubReturn(null);
+    EasyMock.expect(uriInfo.getTargetEntitySet()).andStubReturn(entitySet);
+    EasyMock.replay(uriInfo);
+
+    keyset = JPAKeyset.create(uriInfo);
+  }
+
+  @Test
+  public void seekExpression() throws ODataJPARuntimeException {
+    Map<String, Object> values = new HashMap<String, Object>();
+    values.put("SoId", 5);
+    final String skipToken = keyset.createSkipToken(values);
+
+    Map<Integer, Object> positionalParameters = new HashMap<Integer, Object>();
+    assertEquals("(E1.SoId >= ?1 AND ((E1.SoId > ?1)))",
+        keyset.getSeekExpression("E1", skipToken, 1, positionalParameters));
+    assertEquals(5, positionalParameters.get(1));
+  }
+
+  @Test
+  public void legacySkipToken() throws EdmException {
+    assertBadRequest("10");
+  }
+
+  @Test
+  public void malformedSkipToken() throws EdmException {
+    assertBadRequest("%%%");
+  }
+
+  @Test
+  public void invalidSkipTokenValue() throws EdmException {
+    // valid encoding of the value "abc", which is not an Int32 literal
+    assertBadRequest("MzphYmM");
+  }
+
+  private void assertBadRequest(final String skipToken) {
+    try {
+      keyset.getSeekExpression("E1", skipToken, 1, new HashMap<Integer, Object>());
+      fail("Exception expected");
+    } catch (ODataJPARuntimeException e) {
+      assertTrue(e.isCausedByHttpException());
+      assertEquals(HttpStatusCodes.BAD_REQUEST, e.getHttpExceptionCause().getHttpStatus());
+    }
+  }
+}
@@ -24,11 +24,17 @@ package org.apache.olingo.odata2.jpa.processor.core.jpql;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.edm.EdmEntityType;
 import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
 import org.apache.olingo.odata2.api.uri.SelectItem;
 import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
 import org.apache.olingo.odata2.api.uri.expression.OrderByExpression;
@@ -128,4 +134,63 @@ public class JPQLSelectStatementBuilderTest {
         .toString());
   }
 
+  @Test
+  public void testBuildQueryWithKeysetPaging() throws EdmException, ODataJPARuntimeException {
+    JPQLSelectContext jpqlSelectContextImpl = createKeysetSelectContext(
+        Base64.getUrlEncoder().withoutPadding().encodeToString("4:1234".getBytes(StandardCharsets.UTF_8)));
+    jpqlSelectStatementBuilder = new JPQLSelectStatementBuilder(jpqlSelectContextImpl);
+
+    assertEquals("SELECT E1 FROM SalesOrderHeader E1 WHERE (E1.soId >= ?1 AND ((E1.soId > ?1))) ORDER BY E1.soId",
+        jpqlSelectStatementBuilder.build().toString());
+    Map<Integer, Object> parameters = jpqlSelectContextImpl.getParameterizedQueryMap().values().iterator().next();
+    assertEquals(Long.valueOf(1234), parameters.get(1));
+  }
+
+  @Test
+  public void testBuildQueryWithKeysetPagingFirstPage() throws EdmException, ODataJPARuntimeException {
+    JPQLSelectContext jpqlSelectContextImpl = createKeysetSelectContext(null);
+    jpqlSelectStatementBuilder = new JPQLSelectStatementBuilder(jpqlSelectContextImpl);
+
+    assertEquals("SELECT E1 FROM SalesOrderHeader E1 ORDER BY E1.soId", jpqlSelectStatementBuilder.build().toString());
+  }
+
+  @Test(expected = ODataJPARuntimeException.class)
+  public void testBuildQueryWithInvalidKeysetSkipToken() throws EdmException, ODataJPARuntimeException {
+    createKeysetSelectContext("12");
+  }
+
+  private JPQLSelectContext createKeysetSelectContext(final String skipToken)
+      throws ODataJPARuntimeException, EdmException {
+    GetEntitySetUriInfo getEntitySetView = EasyMock.createMock(GetEntitySetUriInfo.class);
+    EdmEntitySet edmEntitySet = EasyMock.createMock(EdmEntitySet.class);
+    EdmEntityType edmEntityType = EasyMock.createMock(EdmEntityType.class);
+    EdmProperty keyProperty = EasyMock.createMock(EdmProperty.class);
+
+    EasyMock.expect(getEntitySetView.getTargetEntitySet()).andStubReturn(edmEntitySet);
+    EasyMock.expect(getEntitySetView.getOrderBy()).andStubReturn(null);
+    EasyMock.expect(getEntitySetView.getSelect()).andStubReturn(null);
+    EasyMock.expect(getEntitySetView.getFilter()).andStubReturn(null);
+    EasyMock.expect(getEntitySetView.getSkipToken()).andStubReturn(skipToken);
+    EasyMock.replay(getEntitySetView);
+    EasyMock.expect(edmEntitySet.getEntityType()).andStubReturn(edmEntityType);
+    EasyMock.replay(edmEntitySet);
+    EasyMock.expect(edmEntityType.getMapping()).andStubReturn(null);
+    EasyMock.expect(edmEntityType.getName()).andStubReturn("SalesOrderHeader");
+    EasyMock.expect(edmEntityType.getKeyProperties()).andStubReturn(Arrays.asList(keyProperty));
+    EasyMock.replay(edmEntityType);
+    EasyMock.expect(keyProperty.getName()).andStubReturn("soId");
+    EasyMock.expect(keyProperty.getMapping()).andStubReturn(null);
+    EasyMock.expect(keyProperty.getType()).andStubReturn(EdmSimpleTypeKind.Int64.getEdmSimpleTypeInstance());
+    EasyMock.replay(keyProperty);
+
+    JPQLContextBuilder contextBuilder = JPQLContext.createBuilder(JPQLContextType.SELECT, getEntitySetView,
+        true, true);
+    try {
+      return (JPQLSelectContext) contextBuilder.build();
+    } catch (ODataJPAModelException e) {
+      fail("Model Exception thrown");
+      return null;
+    }
+  }
+
 }
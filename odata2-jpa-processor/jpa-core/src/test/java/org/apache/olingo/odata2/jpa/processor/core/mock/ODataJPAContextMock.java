@@ -75,6 +75,8 @@ public abstract class ODataJPAContextMock {
                 .anyTimes();
         EasyMock.expect(odataJPAContext.getPageSize())
                 .andReturn(0);
+        EasyMock.expect(odataJPAContext.getInlineCountCacheTimeToLive())
+                .andStubReturn(0L);
 
         EasyMock.replay(odataJPAContext);
         return odataJPAContext;
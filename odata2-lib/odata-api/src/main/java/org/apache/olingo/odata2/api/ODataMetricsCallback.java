@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api;
+
+/**
+ * Callback receiving the latencies of the processing phases of every request,
+ * e.g., to feed timers or histograms of a metrics library or of JMX.
+ * <p>If the {@link ODataServiceFactory} provides this callback, the library measures the spans it already
+ * reports as runtime measurements of the {@link org.apache.olingo.odata2.api.processor.ODataContext ODataContext}
+ * also outside of debug mode, but only their durations. The spans are collected in a small fixed-size buffer per
+ * request and handed over when the request handling has finished, so that entity set and URI type are known;
+ * spans beyond the buffer size are dropped. Without this callback nothing is measured outside of debug mode.</p>
+ * <p>The callback is called concurrently for different requests and must therefore be thread-safe;
+ * it is called on the request thread and should return quickly.</p>
+ */
+public interface ODataMetricsCallback extends ODataCallback {
+
+  /**
+   * Processing phases of a request.
+   */
+  public enum Phase {
+    /** The complete handling of a request, from URI parsing to the final response. */
+    REQUEST,
+    /** Parsing of resource path and system query options. */
+    URI_PARSING,
+    /** Dispatching to and execution of the processor, including serialization and deserialization. */
+    PROCESSOR,
+    /** Serialization of the response payload, as reported by the processor. */
+    SERIALIZATION,
+    /** Deserialization of the request payload, as reported by the processor. */
+    DESERIALIZATION,
+    /** Execution of all parts of a batch request. */
+    BATCH
+  }
+
+  /**
+   * Receives the duration of one phase of a request.
+   * @param phase the processing phase
+   * @param entitySetName the name of the target entity set of the request or <code>null</code>
+   * if there is none or the URI could not be parsed
+   * @param uriType the type of the request URI as numbered in the OData URI conventions, i.e.,
+   * <code>URI0</code> for the service document up to <code>URI17</code> for the media resource
+   * of an entity, or <code>null</code> if the URI could not be parsed
+   * @param durationNanos the duration in nanoseconds
+   */
+  void record(Phase phase, String entitySetName, String uriType, long durationNanos);
+}
@@ -18,6 +18,7 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.api;
 
+import org.apache.olingo.odata2.api.edm.provider.EdmCache;
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
@@ -75,6 +76,21 @@ public abstract class ODataServiceFactory {
     return RuntimeDelegate.createODataSingleProcessorService(provider, processor);
   }
 
+  /**
+   * Create a default service instance based on <code>ODataSingleProcessor</code> whose entity data model
+   * is shared with all other services using the same cache key (see {@link EdmCache}).
+   * @param edmCacheKey Key of the shared entity data model, e.g. the name of the service.
+   * @param provider A custom <code>EdmProvider</code> implementation; only used if the entity data model
+   * is not cached yet.
+   * @param processor A custom processor implementation derived from <code>ODataSingleProcessor</code> .
+   * @return A new default <code>ODataSingleProcessorService</code> instance.
+   * @throws ODataException in case the entity data model cannot be created
+   */
+  public ODataService createODataSingleProcessorService(final String edmCacheKey, final EdmProvider provider,
+      final ODataSingleProcessor processor) throws ODataException {
+    return RuntimeDelegate.createODataSingleProcessorService(EdmCache.getEdm(edmCacheKey, provider), processor);
+  }
+
   /**
    * A service can return implementation classes for various callback interfaces.
    * @param callbackInterface a interface type to query for implementation
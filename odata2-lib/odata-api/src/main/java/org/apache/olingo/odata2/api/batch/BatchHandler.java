@@ -18,6 +18,9 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.api.batch;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
@@ -34,6 +37,24 @@ public interface BatchHandler {
    */
   public BatchResponsePart handleBatchPart(BatchRequestPart batchRequestPart) throws ODataException;
 
+  /**
+   * <p>Handles all {@link BatchRequestPart}s of a batch request.</p>
+   * <p>The default implementation handles the parts one after another with {@link #handleBatchPart}.
+   * The batch handler of the library executes query operations concurrently if the service factory provides a
+   * {@link BatchParallelExecutionCallback}; change sets are always handled one after another.</p>
+   * @param batchRequestParts the incoming MIME parts
+   * @return the corresponding results in the order of the request parts
+   * @throws ODataException
+   */
+  public default List<BatchResponsePart> handleBatchParts(final List<BatchRequestPart> batchRequestParts)
+      throws ODataException {
+    List<BatchResponsePart> batchResponseParts = new ArrayList<BatchResponsePart>(batchRequestParts.size());
+    for (BatchRequestPart batchRequestPart : batchRequestParts) {
+      batchResponseParts.add(handleBatchPart(batchRequestPart));
+    }
+    return batchResponseParts;
+  }
+
   /**
    * <p>Delegates a handling of the request {@link ODataRequest} to the request handler and provides ODataResponse
    * {@link ODataResponse}.</p>
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api.batch;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.olingo.odata2.api.ODataCallback;
+
+/**
+ * Callback to switch on the concurrent execution of the query operations of a batch request.
+ * <p>If the {@link org.apache.olingo.odata2.api.ODataServiceFactory ODataServiceFactory} provides this callback,
+ * consecutive query operations (outside of change sets) are executed on the given executor,
+ * each with an own service created by the factory; the responses keep the order of the request.
+ * Change sets are still executed one after another on the request thread.</p>
+ * <p>The service factory therefore has to create independent processors for every
+ * {@link org.apache.olingo.odata2.api.ODataServiceFactory#createService createService} call,
+ * and the data access of the processors has to be thread-safe. A processor implementing
+ * {@link java.io.Closeable} is closed once its query operation has been handled, so its response must not
+ * depend on resources released there.</p>
+ */
+public interface BatchParallelExecutionCallback extends ODataCallback {
+
+  /**
+   * @return the executor running the query operations, or <code>null</code> for sequential execution
+   */
+  ExecutorService getExecutorService();
+
+  /**
+   * @return the maximum number of query operations of one batch request running at the same time
+   */
+  int getParallelism();
+
+  /**
+   * @return the maximum time in milliseconds to wait for the query operations of one batch request;
+   * <code>0</code> or less means no limit
+   */
+  long getTimeout();
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api.commons;
+
+/**
+ * Content codings supported for responses and the negotiation of them
+ * out of the <code>Accept-Encoding</code> request header
+ *
+ */
+public final class ContentCoding {
+
+  public static final String GZIP = "gzip";
+  public static final String DEFLATE = "deflate";
+
+  private ContentCoding() {}
+
+  /**
+   * Chooses the content coding out of the <code>Accept-Encoding</code> request header;
+   * codings with a quality value of zero are not acceptable.
+   * @param acceptEncoding value of the <code>Accept-Encoding</code> header (may be <code>null</code>)
+   * @return {@value #GZIP}, {@value #DEFLATE}, or <code>null</code> if none of them is acceptable
+   */
+  public static String negotiate(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+    boolean deflate = false;
+    for (final String coding : acceptEncoding.split(",")) {
+      final String[] parts = coding.split(";");
+      final String name = parts[0].trim();
+      if (parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?")) {
+        continue;
+      }
+      if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+        return GZIP;
+      } else if (DEFLATE.equalsIgnoreCase(name)) {
+        deflate = true;
+      }
+    }
+    return deflate ? DEFLATE : null;
+  }
+}
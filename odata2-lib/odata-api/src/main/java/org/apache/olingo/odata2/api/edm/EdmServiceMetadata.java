@@ -38,6 +38,26 @@ public interface EdmServiceMetadata {
    */
   InputStream getMetadata() throws ODataException;
 
+  /**
+   * The metadata document is rendered once per entity data model; the compressed variant is created
+   * on first use and cached as well.
+   * @return {@link InputStream} containing the gzip-compressed metadata document
+   * or <code>null</code> if no compressed variant is available
+   * @throws ODataException
+   */
+  default InputStream getCompressedMetadata() throws ODataException {
+    return null;
+  }
+
+  /**
+   * @return <b>String</b> strong entity tag (including quotes) of the metadata document
+   * or <code>null</code> if the metadata document has no entity tag
+   * @throws ODataException
+   */
+  default String getMetadataETag() throws ODataException {
+    return null;
+  }
+
   /**
    * @return <b>String</b> data service version of this service
    * @throws ODataException
@@ -51,7 +51,11 @@ package org.apache.olingo.odata2.api.edm;
  * {@link java.sql.Time}, {@link Long}</td></tr>
  * </tbody>
  * </table></p>
- * <p>The first Java type is the default type for the respective EDM simple type.</p>
+ * <p>The first Java type is the default type for the respective EDM simple type.
+ * {@link #valueToString(Object, EdmLiteralKind, EdmFacets)} accepts for <code>DateTime</code>
+ * and <code>DateTimeOffset</code> also {@link java.time.Instant}, {@link java.time.LocalDateTime}
+ * (taken as UTC), {@link java.time.OffsetDateTime}, and {@link java.time.ZonedDateTime}
+ * with millisecond precision.</p>
  * <p>For all EDM simple types, the {@link EdmFacets facet} <code>Nullable</code> is
  * taken into account.
  * For <code>Binary</code>, <code>MaxLength</code> is also applicable.
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api.edm.provider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+
+/**
+ * Cache of entity data models which are shared across requests and service instances.
+ * <p>A cached {@link Edm} is fully resolved from its {@link EdmProvider} when it is added to the cache;
+ * afterwards it is not modified any more and may be used by any number of threads concurrently.
+ * Services which build their {@link EdmProvider} per request (e.g. by introspecting a metamodel)
+ * thereby pay the cost of creating the entity data model only once per cache key.</p>
+ * <p>The entries stay cached until {@link #invalidate(String)} or {@link #invalidateAll()} is called,
+ * e.g. after the underlying model has been changed.</p>
+ * 
+ */
+public final class EdmCache {
+
+  private static final ConcurrentMap<String, Edm> CACHE = new ConcurrentHashMap<String, Edm>();
+
+  private EdmCache() {
+
+  }
+
+  /**
+   * Returns the entity data model cached for the given key. If there is none yet, a fully resolved
+   * entity data model is created from the given provider and cached.
+   * @param key identifies the entity data model, e.g. the name of the service
+   * @param provider provider used only if the key is not cached yet
+   * @return the shared entity data model
+   * @throws ODataException if the provider fails while the entity data model is resolved
+   */
+  public static Edm getEdm(final String key, final EdmProvider provider) throws ODataException {
+    Edm edm = CACHE.get(key);
+    if (edm == null) {
+      Edm preloaded = RuntimeDelegate.createPreloadedEdm(provider);
+      edm = CACHE.putIfAbsent(key, preloaded);
+      if (edm == null) {
+        edm = preloaded;
+      }
+    }
+    return edm;
+  }
+
+  /**
+   * Removes the entity data model cached for the given key; the next request creates it again.
+   * @param key identifies the entity data model
+   */
+  public static void invalidate(final String key) {
+    CACHE.remove(key);
+  }
+
+  /**
+   * Removes all cached entity data models.
+   */
+  public static void invalidateAll() {
+    CACHE.clear();
+  }
+}
@@ -18,7 +18,12 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.api.ep;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -33,9 +38,13 @@ import org.apache.olingo.odata2.api.edm.EdmFunctionImport;
 import org.apache.olingo.odata2.api.edm.EdmProperty;
 import org.apache.olingo.odata2.api.edm.provider.DataServices;
 import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
+import org.apache.olingo.odata2.api.ep.entry.DeletedEntryMetadata;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.ep.feed.FeedMetadata;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 import org.apache.olingo.odata2.api.processor.ODataErrorContext;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
 import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
@@ -154,6 +163,47 @@ public final class EntityProvider {
     ODataResponse writeFeed(String contentType, EdmEntitySet entitySet, List<Map<String, Object>> data,
         EntityProviderWriteProperties properties) throws EntityProviderException;
 
+    /**
+     * Write the entries provided by the given <code>data</code> {@link Iterator} (a {@link Map} for each entity
+     * which contains all properties as <code>property name</code> to <code>property value</code> mapping) as feed in
+     * the specified format (given as <code>contentType</code>) based on given <code>entity data model for an entity
+     * set</code> (given as {@link EdmEntitySet}) and <code>properties</code> for this entity provider (given as
+     * {@link EntityProviderWriteProperties}).
+     * <p>In contrast to {@link #writeFeed(String, EdmEntitySet, List, EntityProviderWriteProperties)} the feed is not
+     * serialized in advance. The entity of the resulting {@link ODataResponse} is an
+     * {@link org.apache.olingo.odata2.api.processor.ODataStreamingContent} which pulls the entries one at a time
+     * from the iterator while it writes directly into the response output stream.
+     * If the iterator implements {@link java.io.Closeable} it is closed after the feed has been written.</p>
+     * <p>The default implementation collects the entries and writes them with
+     * {@link #writeFeed(String, EdmEntitySet, List, EntityProviderWriteProperties)}.</p>
+     * 
+     * @param contentType format in which the feed should be written
+     * @param entitySet entity data model for given entity data set
+     * @param data iterator over the entries in form of a {@link Map} for each entity
+     * @param properties additional properties necessary for writing of data
+     * @return resulting {@link ODataResponse} with streaming feed content.
+     * @throws EntityProviderException if the feed can not be prepared for writing
+     */
+    default ODataResponse writeStreamingFeed(String contentType, EdmEntitySet entitySet,
+        Iterator<Map<String, Object>> data, EntityProviderWriteProperties properties) throws EntityProviderException {
+      final List<Map<String, Object>> entries = new ArrayList<Map<String, Object>>();
+      try {
+        while (data.hasNext()) {
+          entries.add(data.next());
+        }
+      } finally {
+        if (data instanceof Closeable) {
+          try {
+            ((Closeable) data).close();
+          } catch (IOException e) {
+            throw new EntityProviderException(EntityProviderException.EXCEPTION_OCCURRED.addContent(e.getClass()
+                .getSimpleName()), e);
+          }
+        }
+      }
+      return writeFeed(contentType, entitySet, entries, properties);
+    }
+
     /**
      * Write given <code>data</code> (which is given in form of a {@link Map} for which contains all properties
      * as <code>property name</code> to <code>property value</code> mapping) for the entry in the specified
@@ -275,6 +325,49 @@ public final class EntityProvider {
     ODataDeltaFeed readDeltaFeed(String contentType, EdmEntitySet entitySet, InputStream content,
         EntityProviderReadProperties properties) throws EntityProviderException;
 
+    /**
+     * Read (de-serialize) a data feed from <code>content</code> (as {@link InputStream}) in specified format (given as
+     * <code>contentType</code>) based on <code>entity data model</code> (given as {@link EdmEntitySet}) and hand
+     * over every entry to <code>callback</code> as soon as it has been read instead of collecting it.
+     * 
+     * @param contentType format of content in the given input stream.
+     * @param entitySet entity data model for entity set to be read
+     * @param content feed data in form of an {@link InputStream} which contains the data in specified format
+     * @param properties additional properties necessary for reading content from {@link InputStream} into {@link Map}.
+     * @param callback receives the entries of the feed one after another
+     * @return an {@link ODataDeltaFeed} object with the feed metadata and the deleted entries but without entries
+     * @throws EntityProviderException if reading of data (de-serialization) fails or the callback fails
+     */
+    default ODataDeltaFeed readFeed(String contentType, EdmEntitySet entitySet, InputStream content,
+        EntityProviderReadProperties properties, OnReadFeedEntry callback) throws EntityProviderException {
+      // reads the complete feed first and hands over its entries afterwards
+      final ODataDeltaFeed feed = readDeltaFeed(contentType, entitySet, content, properties);
+      for (final ODataEntry entry : feed.getEntries()) {
+        try {
+          callback.handleReadEntry(entry);
+        } catch (ODataApplicationException e) {
+          throw new EntityProviderException(EntityProviderException.EXCEPTION_OCCURRED.addContent(e.getClass()
+              .getSimpleName()), e);
+        }
+      }
+      return new ODataDeltaFeed() {
+        @Override
+        public List<ODataEntry> getEntries() {
+          return Collections.emptyList();
+        }
+
+        @Override
+        public FeedMetadata getFeedMetadata() {
+          return feed.getFeedMetadata();
+        }
+
+        @Override
+        public List<DeletedEntryMetadata> getDeletedEntries() {
+          return feed.getDeletedEntries();
+        }
+      };
+    }
+
     /**
      * Reads (de-serializes) data from <code>content</code> (as {@link InputStream})
      * in specified format (given as <code>contentType</code>) based on
@@ -434,6 +527,26 @@ public final class EntityProvider {
      */
     ODataResponse writeBatchResponse(List<BatchResponsePart> batchResponseParts) throws BatchException;
 
+    /**
+     * Write responses of Batch Response Parts in Batch Response as {@link ODataResponse}.
+     * <p>In contrast to {@link #writeBatchResponse(List)} the batch response is not serialized in advance.
+     * The entity of the resulting {@link ODataResponse} is an
+     * {@link org.apache.olingo.odata2.api.processor.ODataStreamingContent} which writes the parts one after
+     * another directly into the response output stream and copies entity streams of the parts through
+     * without converting them into a String. Therefore the batch response carries no <code>Content-Length</code>
+     * header, and parts with a stream entity only carry one if the part response already contains it.</p>
+     * <p>The default implementation serializes the batch response in advance
+     * with {@link #writeBatchResponse(List)}.</p>
+     * 
+     * @param batchResponseParts a list of {@link BatchResponsePart}
+     * @return Batch Response with streaming content as {@link ODataResponse}
+     * @throws BatchException
+     */
+    default ODataResponse writeStreamingBatchResponse(List<BatchResponsePart> batchResponseParts)
+        throws BatchException {
+      return writeBatchResponse(batchResponseParts);
+    }
+
     /**
      * Create Batch Request body as InputStream.
      * 
@@ -588,6 +701,29 @@ public final class EntityProvider {
     return createEntityProvider().writeFeed(contentType, entitySet, data, properties);
   }
 
+  /**
+   * Write the entries provided by the given <code>data</code> {@link Iterator} (a {@link Map} for each entity which
+   * contains all properties as <code>property name</code> to <code>property value</code> mapping) as feed in the
+   * specified format (given as <code>contentType</code>) based on given <code>entity data model for an entity
+   * set</code> (given as {@link EdmEntitySet}) and <code>properties</code> for this entity provider (given as
+   * {@link EntityProviderWriteProperties}).
+   * <p>The feed is written directly into the response output stream while the entries are pulled from the iterator,
+   * so neither all entries nor the serialized feed have to be kept in memory.
+   * If the iterator implements {@link java.io.Closeable} it is closed after the feed has been written.</p>
+   * 
+   * @param contentType format in which the feed should be written
+   * @param entitySet entity data model for given entity data set
+   * @param data iterator over the entries in form of a {@link Map} for each entity
+   * @param properties additional properties necessary for writing of data
+   * @return resulting {@link ODataResponse} with streaming feed content.
+   * @throws EntityProviderException if the feed can not be prepared for writing
+   */
+  public static ODataResponse writeStreamingFeed(final String contentType, final EdmEntitySet entitySet,
+      final Iterator<Map<String, Object>> data, final EntityProviderWriteProperties properties)
+      throws EntityProviderException {
+    return createEntityProvider().writeStreamingFeed(contentType, entitySet, data, properties);
+  }
+
   /**
    * Write given <code>data</code> (which is given in form of a {@link Map} for which contains all properties
    * as <code>property name</code> to <code>property value</code> mapping) for the entry in the specified
@@ -727,6 +863,27 @@ public final class EntityProvider {
     return createEntityProvider().readDeltaFeed(contentType, entitySet, content, properties);
   }
 
+  /**
+   * Read (de-serialize) a data feed from <code>content</code> (as {@link InputStream}) in specified format (given as
+   * <code>contentType</code>) based on <code>entity data model</code> (given as {@link EdmEntitySet}) and hand over
+   * every entry to <code>callback</code> as soon as it has been read, so that large feeds can be processed
+   * with constant memory.
+   * 
+   * @param contentType format of content in the given input stream.
+   * @param entitySet entity data model for entity set to be read
+   * @param content feed data in form of an {@link InputStream} which contains the data in specified format
+   * @param properties additional properties necessary for reading content from {@link InputStream} into {@link Map}.
+   * Must not be null.
+   * @param callback receives the entries of the feed one after another; must not be null
+   * @return an {@link ODataDeltaFeed} object with the feed metadata and the deleted entries but without entries
+   * @throws EntityProviderException if reading of data (de-serialization) fails or the callback fails
+   */
+  public static ODataDeltaFeed readFeed(final String contentType, final EdmEntitySet entitySet,
+      final InputStream content, final EntityProviderReadProperties properties, final OnReadFeedEntry callback)
+      throws EntityProviderException {
+    return createEntityProvider().readFeed(contentType, entitySet, content, properties, callback);
+  }
+
   /**
    * Read (de-serialize) data from <code>content</code> (as {@link InputStream}) in specified format (given as
    * <code>contentType</code>)
@@ -932,6 +1089,24 @@ public final class EntityProvider {
     return createEntityProvider().writeBatchResponse(batchResponseParts);
   }
 
+  /**
+   * Write responses of Batch Response Parts in Batch Response as {@link ODataResponse}.
+   * <p>In contrast to {@link #writeBatchResponse(List)} the batch response is not serialized in advance.
+   * The entity of the resulting {@link ODataResponse} is an
+   * {@link org.apache.olingo.odata2.api.processor.ODataStreamingContent} which writes the parts one after
+   * another directly into the response output stream and copies entity streams of the parts through
+   * without converting them into a String. Therefore the batch response carries no <code>Content-Length</code>
+   * header, and parts with a stream entity only carry one if the part response already contains it.</p>
+   * 
+   * @param batchResponseParts a list of {@link BatchResponsePart}
+   * @return Batch Response with streaming content as {@link ODataResponse}
+   * @throws BatchException
+   */
+  public static ODataResponse writeStreamingBatchResponse(final List<BatchResponsePart> batchResponseParts)
+      throws BatchException {
+    return createEntityProvider().writeStreamingBatchResponse(batchResponseParts);
+  }
+
   /**
    * Create Batch Request body as InputStream.
    * 
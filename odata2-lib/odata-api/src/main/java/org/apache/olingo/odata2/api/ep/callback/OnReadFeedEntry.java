@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api.ep.callback;
+
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.exception.ODataApplicationException;
+
+/**
+ * <p>Callback interface for the streaming read of a feed, see
+ * {@link org.apache.olingo.odata2.api.ep.EntityProvider#readFeed(String,
+ * org.apache.olingo.odata2.api.edm.EdmEntitySet, java.io.InputStream,
+ * org.apache.olingo.odata2.api.ep.EntityProviderReadProperties, OnReadFeedEntry) EntityProvider.readFeed}.</p>
+ * <p>{@link #handleReadEntry(ODataEntry)} is called for every entry of the feed as soon as it has been read
+ * (de-serialized), in document order, before the next entry is read. The entries are not collected,
+ * so the memory needed does not depend on the number of entries.
+ * Inline content of an entry has already been read when the entry is handed over
+ * (either into the entry or to the {@link OnReadInlineContent} callback of the read properties).</p>
+ */
+public interface OnReadFeedEntry {
+
+  /**
+   * Handles one read (de-serialized) entry of the feed.
+   * @param entry the entry
+   * @throws ODataApplicationException to abort reading the feed
+   */
+  void handleReadEntry(ODataEntry entry) throws ODataApplicationException;
+}
@@ -19,6 +19,7 @@
 package org.apache.olingo.odata2.api.processor;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -72,6 +73,8 @@ public abstract class ODataResponse {
       return new ByteArrayInputStream((byte[]) obj);
     } else if(obj instanceof String) {
       return getInputStream((String) obj);
+    } else if(obj instanceof ODataStreamingContent) {
+      return getInputStream((ODataStreamingContent) obj);
     }
     throw new ODataException("Entity is not an instance of an InputStream (entity class: " +
         (obj == null ? "NULL": obj.getClass()) + ")");
@@ -93,6 +96,17 @@ public abstract class ODataResponse {
     }
   }
 
+  private InputStream getInputStream(ODataStreamingContent streamingEntity) throws ODataException {
+    // a streaming entity can only be consumed as stream by materializing it
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      streamingEntity.write(output);
+      return new ByteArrayInputStream(output.toByteArray());
+    } catch (IOException e) {
+      throw new ODataException("Unexpected exception for writing of streaming entity into InputStream.", e);
+    }
+  }
+
   /**
    * Close the underlying entity input stream (if such a stream is available) and release all with this repsonse
    * associated resources.
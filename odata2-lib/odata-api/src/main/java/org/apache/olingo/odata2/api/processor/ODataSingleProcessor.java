@@ -25,6 +25,8 @@ import java.util.List;
 import org.apache.olingo.odata2.api.ODataServiceVersion;
 import org.apache.olingo.odata2.api.batch.BatchHandler;
 import org.apache.olingo.odata2.api.batch.BatchResponsePart;
+import org.apache.olingo.odata2.api.commons.ContentCoding;
+import org.apache.olingo.odata2.api.commons.HttpHeaders;
 import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
 import org.apache.olingo.odata2.api.commons.ODataHttpHeaders;
 import org.apache.olingo.odata2.api.edm.Edm;
@@ -32,6 +34,7 @@ import org.apache.olingo.odata2.api.edm.EdmServiceMetadata;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.exception.ODataNotImplementedException;
+import org.apache.olingo.odata2.api.processor.ODataResponse.ODataResponseBuilder;
 import org.apache.olingo.odata2.api.processor.feature.CustomContentType;
 import org.apache.olingo.odata2.api.processor.part.BatchProcessor;
 import org.apache.olingo.odata2.api.processor.part.EntityComplexPropertyProcessor;
@@ -81,6 +84,8 @@ public abstract class ODataSingleProcessor implements MetadataProcessor, Service
     EntityMediaProcessor, EntitySimplePropertyProcessor, EntitySimplePropertyValueProcessor, FunctionImportProcessor,
     FunctionImportValueProcessor, BatchProcessor, CustomContentType {
 
+  private static final String GZIP = ContentCoding.GZIP;
+
   /**
    * A request context object usually injected by the OData library.
    */
@@ -365,21 +370,73 @@ public abstract class ODataSingleProcessor implements MetadataProcessor, Service
     } else {
       final String serviceRoot = getContext().getPathInfo().getServiceRoot().toASCIIString();
       final ODataResponse response = EntityProvider.writeServiceDocument(contentType, edm, serviceRoot);
+      if (isNotModified(response.getETag())) {
+        return ODataResponse.status(HttpStatusCodes.NOT_MODIFIED).eTag(response.getETag())
+            .header(ODataHttpHeaders.DATASERVICEVERSION, ODataServiceVersion.V10).build();
+      }
       return ODataResponse.fromResponse(response)
           .header(ODataHttpHeaders.DATASERVICEVERSION, ODataServiceVersion.V10).build();
     }
   }
 
   /**
+   * <p>The metadata document is rendered only once per entity data model and served with a strong
+   * entity tag; a request whose <code>If-None-Match</code> header contains this tag gets the status
+   * <code>304 Not Modified</code> without content. A client accepting the <code>gzip</code> content
+   * coding gets the precompressed document (except in debug mode, where the content is inspected)
+   * with an entity tag of its own, as both variants are different representations.</p>
    * @see MetadataProcessor
    */
   @Override
   public ODataResponse readMetadata(final GetMetadataUriInfo uriInfo, final String contentType) throws ODataException {
     final EdmServiceMetadata edmServiceMetadata = getContext().getService().getEntityDataModel().getServiceMetadata();
-
-    return ODataResponse.status(HttpStatusCodes.OK)
+    final String eTag = edmServiceMetadata.getMetadataETag();
+    final InputStream compressedMetadata =
+        eTag != null && acceptsGzip() ? edmServiceMetadata.getCompressedMetadata() : null;
+    final String variantETag = compressedMetadata == null ? eTag : getGzipETag(eTag);
+
+    if (isNotModified(eTag) || eTag != null && isNotModified(getGzipETag(eTag))) {
+      return ODataResponse.status(HttpStatusCodes.NOT_MODIFIED).eTag(variantETag)
+          .header(ODataHttpHeaders.DATASERVICEVERSION, edmServiceMetadata.getDataServiceVersion())
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+    }
+    final ODataResponseBuilder builder = ODataResponse.status(HttpStatusCodes.OK)
         .header(ODataHttpHeaders.DATASERVICEVERSION, edmServiceMetadata.getDataServiceVersion())
-        .entity(edmServiceMetadata.getMetadata()).build();
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .eTag(variantETag);
+    if (compressedMetadata != null) {
+      return builder.entity(compressedMetadata).header(HttpHeaders.CONTENT_ENCODING, GZIP).build();
+    }
+    return builder.entity(edmServiceMetadata.getMetadata()).build();
+  }
+
+  /** Appends <code>-gzip</code> to the opaque part of the given (quoted) entity tag. */
+  private static String getGzipETag(final String eTag) {
+    return eTag.endsWith("\"") ?
+        eTag.substring(0, eTag.length() - 1) + "-" + GZIP + "\"" :
+        eTag + "-" + GZIP;
+  }
+
+  private boolean isNotModified(final String eTag) {
+    if (eTag == null) {
+      return false;
+    }
+    final String ifNoneMatch = getContext().getRequestHeader(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null) {
+      for (final String candidate : ifNoneMatch.split(",")) {
+        // weak comparison (RFC 7232, 3.2): a body compressed on the fly is served with a weakened tag
+        final String trimmed = candidate.trim();
+        if ("*".equals(trimmed) || eTag.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean acceptsGzip() {
+    return !getContext().isInDebugMode()
+        && GZIP.equals(ContentCoding.negotiate(getContext().getRequestHeader(HttpHeaders.ACCEPT_ENCODING)));
   }
 
   /**
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.api.processor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>Response entity which is not serialized in advance but written directly into the
+ * output stream of the underlying transport (e.g. the servlet output stream) as soon as the
+ * response is sent.</p>
+ * <p>Such an entity can be set via {@link ODataResponse#entity(Object)}. It is created by the
+ * streaming write methods of the {@link org.apache.olingo.odata2.api.ep.EntityProvider} so
+ * that large feeds never have to be held completely in memory.</p>
+ * <p>The content can be written only once. If it is never written (e.g. because the response is
+ * discarded) {@link #close()} must be called to release the underlying data source.</p>
+ * 
+ */
+public interface ODataStreamingContent extends Closeable {
+
+  /**
+   * Writes the content into the given output stream.
+   * The given stream is flushed but not closed by this method.
+   * @param out stream the content is written to
+   * @throws IOException if writing fails; as the response status is usually already sent
+   * at this point, the failure can only be signaled by aborting the response
+   */
+  void write(OutputStream out) throws IOException;
+}
@@ -32,6 +32,7 @@ import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
 import org.apache.olingo.odata2.api.ep.EntityProvider.EntityProviderInterface;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
+import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.exception.ODataMessageException;
 import org.apache.olingo.odata2.api.processor.ODataRequest.ODataRequestBuilder;
 import org.apache.olingo.odata2.api.processor.ODataResponse.ODataResponseBuilder;
@@ -91,11 +92,25 @@ public abstract class RuntimeDelegate {
 
     protected abstract Edm createEdm(EdmProvider provider);
 
+    /**
+     * Creates an entity data model which has already resolved all elements of the provider's schemas.
+     * The default implementation returns a lazily resolving entity data model
+     * (see {@link #createEdm(EdmProvider)}).
+     */
+    protected Edm createPreloadedEdm(final EdmProvider provider) throws ODataException {
+      return createEdm(provider);
+    }
+
     protected abstract EntityProviderInterface createEntityProvider();
 
     protected abstract ODataService createODataSingleProcessorService(EdmProvider provider,
         ODataSingleProcessor processor);
 
+    /**
+     * Creates a single processor service for an existing entity data model.
+     */
+    protected abstract ODataService createODataSingleProcessorService(Edm edm, ODataSingleProcessor processor);
+
     protected abstract EdmProvider createEdmProvider(InputStream metadataXml, boolean validate)
         throws EntityProviderException;
 
@@ -154,6 +169,18 @@ public abstract class RuntimeDelegate {
     return RuntimeDelegate.getInstance().createEdm(provider);
   }
 
+  /**
+   * Creates and returns an entity data model which has already resolved all elements of the provider's schemas.
+   * The returned instance is not modified any more by lookups of these elements and can therefore be shared
+   * between threads.
+   * @param provider a provider implemented by the OData service
+   * @return an implementation object
+   * @throws ODataException if the provider fails
+   */
+  public static Edm createPreloadedEdm(final EdmProvider provider) throws ODataException {
+    return RuntimeDelegate.getInstance().createPreloadedEdm(provider);
+  }
+
   /**
    * Returns an parser which can parse OData uris based on metadata.
    * @param edm metadata of the implemented service
@@ -182,6 +209,17 @@ public abstract class RuntimeDelegate {
     return RuntimeDelegate.getInstance().createODataSingleProcessorService(provider, processor);
   }
 
+  /**
+   * Creates and returns a single processor service for an existing entity data model.
+   * @param edm the entity data model of the OData service, e.g. a shared one from
+   * {@link org.apache.olingo.odata2.api.edm.provider.EdmCache}
+   * @param processor a single data processor implementation of the OData service
+   * @return a implementation object
+   */
+  public static ODataService createODataSingleProcessorService(final Edm edm, final ODataSingleProcessor processor) {
+    return RuntimeDelegate.getInstance().createODataSingleProcessorService(edm, processor);
+  }
+
   /**
    * Creates and returns an edm provider.
    * @param metadataXml a metadata xml input stream (means the metadata document)
@@ -27,12 +27,14 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.apache.olingo.odata2.api.ODataDebugCallback;
+import org.apache.olingo.odata2.api.ODataMetricsCallback;
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.uri.PathInfo;
+import org.apache.olingo.odata2.api.uri.UriInfo;
 
 /**
  * Context.
@@ -52,6 +54,8 @@ public class ODataContextImpl implements ODataContext {
 
   private List<Locale> acceptableLanguages;
 
+  private RequestMetrics metrics;
+
   public ODataContextImpl(final ODataRequest request, final ODataServiceFactory factory) {
     setServiceFactory(factory);
     setRequest(request);
@@ -59,6 +63,8 @@ public class ODataContextImpl implements ODataContext {
     setHttpMethod(request.getHttpMethod());
     setAcceptableLanguages(request.getAcceptableLanguages());
     setDebugMode(checkDebugMode(request.getQueryParameters()));
+    final ODataMetricsCallback metricsCallback = factory.getCallback(ODataMetricsCallback.class);
+    metrics = metricsCallback == null ? null : new RequestMetrics(metricsCallback);
   }
 
   @Override
@@ -115,6 +121,9 @@ public class ODataContextImpl implements ODataContext {
 
   @Override
   public int startRuntimeMeasurement(final String className, final String methodName) {
+    // Debug measurements and metrics spans are started in lockstep, so their handles are the same
+    // as long as the metrics buffer is not full.
+    final int metricsHandle = metrics == null ? 0 : metrics.start(className);
     if (isInDebugMode()) {
       List<RuntimeMeasurement> runtimeMeasurements = getRuntimeMeasurements();
       int handleId = runtimeMeasurements.size();
@@ -129,12 +138,15 @@ public class ODataContextImpl implements ODataContext {
 
       return handleId;
     } else {
-      return 0;
+      return metricsHandle;
     }
   }
 
   @Override
   public void stopRuntimeMeasurement(final int handle) {
+    if (metrics != null) {
+      metrics.stop(handle);
+    }
     if (isInDebugMode()) {
       long stopTime = System.nanoTime();
       long stopMemory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
@@ -147,6 +159,16 @@ public class ODataContextImpl implements ODataContext {
     }
   }
 
+  /**
+   * Hands the spans measured so far over to the {@link ODataMetricsCallback} of the service factory, if any.
+   * @param uriInfo the parsed request URI or <code>null</code>
+   */
+  public void publishMetrics(final UriInfo uriInfo) {
+    if (metrics != null) {
+      metrics.publish(uriInfo);
+    }
+  }
+
   private RuntimeMeasurement getRuntimeMeasurement(final int handle) {
     List<RuntimeMeasurement> runtimeMeasurements = getRuntimeMeasurements();
     if (handle >= 0 && handle < runtimeMeasurements.size()) {
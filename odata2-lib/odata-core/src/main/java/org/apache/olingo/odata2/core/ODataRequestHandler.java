@@ -154,6 +154,9 @@ public class ODataRequestHandler {
           .wrapInExceptionResponse(e);
     }
     context.stopRuntimeMeasurement(timingHandle);
+    if (context instanceof ODataContextImpl) {
+      ((ODataContextImpl) context).publishMetrics(uriInfo);
+    }
 
     if (context.isInDebugMode()) {
       final String debugValue = getQueryDebugValue(request.getQueryParameters());
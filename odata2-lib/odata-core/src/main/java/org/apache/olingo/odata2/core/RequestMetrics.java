@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core;
+
+import org.apache.olingo.odata2.api.ODataMetricsCallback;
+import org.apache.olingo.odata2.api.ODataMetricsCallback.Phase;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.uri.UriInfo;
+import org.apache.olingo.odata2.core.uri.UriInfoImpl;
+
+/**
+ * Collects the spans of one request for the {@link ODataMetricsCallback} in fixed-size arrays.
+ * Spans are identified by the index returned from {@link #start(String)}.
+ */
+final class RequestMetrics {
+
+  static final int MAX_SPANS = 32;
+
+  private final ODataMetricsCallback callback;
+  private final Phase[] phases = new Phase[MAX_SPANS];
+  private final long[] started = new long[MAX_SPANS];
+  private final long[] durations = new long[MAX_SPANS];
+  private int count;
+
+  RequestMetrics(final ODataMetricsCallback callback) {
+    this.callback = callback;
+  }
+
+  /**
+   * Starts a span.
+   * @return the handle of the span or <code>-1</code> if the buffer is full
+   */
+  int start(final String className) {
+    if (count == MAX_SPANS) {
+      return -1;
+    }
+    phases[count] = getPhase(className);
+    durations[count] = -1;
+    started[count] = phases[count] == null ? 0 : System.nanoTime();
+    return count++;
+  }
+
+  void stop(final int handle) {
+    if (handle >= 0 && handle < count && phases[handle] != null && durations[handle] < 0) {
+      durations[handle] = System.nanoTime() - started[handle];
+    }
+  }
+
+  /**
+   * Hands the finished spans over to the callback; each span is handed over only once.
+   * @param uriInfo the parsed URI or <code>null</code>
+   */
+  void publish(final UriInfo uriInfo) {
+    final String uriType = uriInfo instanceof UriInfoImpl && ((UriInfoImpl) uriInfo).getUriType() != null ?
+        ((UriInfoImpl) uriInfo).getUriType().name() : null;
+    final String entitySetName = getEntitySetName(uriInfo);
+    for (int i = 0; i < count; i++) {
+      if (phases[i] != null && durations[i] >= 0) {
+        callback.record(phases[i], entitySetName, uriType, durations[i]);
+        phases[i] = null;
+      }
+    }
+  }
+
+  private static String getEntitySetName(final UriInfo uriInfo) {
+    final EdmEntitySet entitySet = uriInfo == null ? null : uriInfo.getTargetEntitySet();
+    try {
+      return entitySet == null ? null : entitySet.getName();
+    } catch (final EdmException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Maps the class names used for runtime measurements by the library and the processors to phases.
+   * Spans with other names are not recorded.
+   */
+  private static Phase getPhase(final String className) {
+    if ("ODataRequestHandler".equals(className)) {
+      return Phase.REQUEST;
+    } else if ("UriParserImpl".equals(className)) {
+      return Phase.URI_PARSING;
+    } else if ("Dispatcher".equals(className)) {
+      return Phase.PROCESSOR;
+    } else if ("EntityProvider".equals(className)) {
+      return Phase.SERIALIZATION;
+    } else if ("EntityConsumer".equals(className)) {
+      return Phase.DESERIALIZATION;
+    } else if ("BatchHandler".equals(className)) {
+      return Phase.BATCH;
+    } else {
+      return null;
+    }
+  }
+}
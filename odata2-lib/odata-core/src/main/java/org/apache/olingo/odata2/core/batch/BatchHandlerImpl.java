@@ -18,6 +18,8 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.batch;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -25,16 +27,26 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.batch.BatchHandler;
+import org.apache.olingo.odata2.api.batch.BatchParallelExecutionCallback;
 import org.apache.olingo.odata2.api.batch.BatchRequestPart;
 import org.apache.olingo.odata2.api.batch.BatchResponsePart;
 import org.apache.olingo.odata2.api.commons.HttpHeaders;
 import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
 import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.exception.ODataInternalServerErrorException;
+import org.apache.olingo.odata2.api.exception.ODataServiceUnavailableException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.apache.olingo.odata2.api.processor.ODataProcessor;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
 import org.apache.olingo.odata2.api.uri.PathSegment;
@@ -42,6 +54,7 @@ import org.apache.olingo.odata2.core.ODataContextImpl;
 import org.apache.olingo.odata2.core.ODataPathSegmentImpl;
 import org.apache.olingo.odata2.core.ODataRequestHandler;
 import org.apache.olingo.odata2.core.PathInfoImpl;
+import org.apache.olingo.odata2.core.rest.ODataExceptionWrapper;
 
 public class BatchHandlerImpl implements BatchHandler {
   private static final int BAD_REQUEST = 400;
@@ -51,9 +64,155 @@ public class BatchHandlerImpl implements BatchHandler {
   private static final String BATCH_ODATA_REQUEST_HEADERS = "batchODataRequestHeaders";
 
   public BatchHandlerImpl(final ODataServiceFactory factory, final ODataService service) {
+    this(factory, service, new HashMap<String, String>());
+  }
+
+  private BatchHandlerImpl(final ODataServiceFactory factory, final ODataService service,
+      final Map<String, String> contentIdMap) {
     this.factory = factory;
     this.service = service;
-    contentIdMap = new HashMap<String, String>();
+    this.contentIdMap = contentIdMap;
+  }
+
+  @Override
+  public List<BatchResponsePart> handleBatchParts(final List<BatchRequestPart> batchParts) throws ODataException {
+    final BatchParallelExecutionCallback callback = factory.getCallback(BatchParallelExecutionCallback.class);
+    final ExecutorService executor = callback == null ? null : callback.getExecutorService();
+    final List<BatchResponsePart> responseParts = new ArrayList<BatchResponsePart>(batchParts.size());
+    final long deadline = callback == null || callback.getTimeout() <= 0 ?
+        Long.MAX_VALUE : System.currentTimeMillis() + callback.getTimeout();
+    // The processor context is replaced while the parts are handled.
+    final ODataContext batchContext = service.getProcessor().getContext();
+    final int timingHandle = batchContext == null ? 0 :
+        batchContext.startRuntimeMeasurement("BatchHandler", "handleBatchParts");
+
+    try {
+      int index = 0;
+      while (index < batchParts.size()) {
+        int end = index;
+        while (executor != null && end < batchParts.size() && !batchParts.get(end).isChangeSet()) {
+          end++;
+        }
+        if (end - index > 1) {
+          responseParts.addAll(handleQueryPartsConcurrently(batchParts.subList(index, end), executor,
+              Math.max(1, callback.getParallelism()), deadline));
+          index = end;
+        } else {
+          responseParts.add(handleBatchPart(batchParts.get(index)));
+          index++;
+        }
+      }
+      return responseParts;
+    } finally {
+      if (batchContext != null) {
+        batchContext.stopRuntimeMeasurement(timingHandle);
+      }
+    }
+  }
+
+  /**
+   * Executes the query operations on the executor with at most <code>parallelism</code> of them running
+   * at the same time. Every query operation gets its own service, because processors are not thread-safe,
+   * and its own copy of the content-ID map, which is merged into the map of this handler in the order
+   * of the request parts. A processor of such a service which implements {@link Closeable} is closed
+   * as soon as its query operation has been handled.
+   */
+  private List<BatchResponsePart> handleQueryPartsConcurrently(final List<BatchRequestPart> queryParts,
+      final ExecutorService executor, final int parallelism, final long deadline) throws ODataException {
+    final ODataContext batchContext = service.getProcessor().getContext();
+    final List<Future<BatchResponsePart>> futures = new ArrayList<Future<BatchResponsePart>>(queryParts.size());
+    final List<Map<String, String>> workerContentIdMaps = new ArrayList<Map<String, String>>(queryParts.size());
+    final List<BatchResponsePart> responseParts = new ArrayList<BatchResponsePart>(queryParts.size());
+    try {
+      for (int i = 0; i < queryParts.size(); i++) {
+        if (i >= parallelism) {
+          final int index = i - parallelism;
+          responseParts.add(await(queryParts.get(index), futures.get(index), workerContentIdMaps.get(index),
+              deadline));
+        }
+        final BatchRequestPart queryPart = queryParts.get(i);
+        final Map<String, String> workerContentIdMap = new HashMap<String, String>(contentIdMap);
+        workerContentIdMaps.add(workerContentIdMap);
+        futures.add(executor.submit(new Callable<BatchResponsePart>() {
+          @Override
+          public BatchResponsePart call() throws ODataException {
+            final ODataService queryService = factory.createService(batchContext);
+            if (queryService == null) {
+              throw new ODataInternalServerErrorException(ODataInternalServerErrorException.NOSERVICE);
+            }
+            try {
+              queryService.getProcessor().setContext(batchContext);
+              return new BatchHandlerImpl(factory, queryService, workerContentIdMap).handleBatchPart(queryPart);
+            } finally {
+              close(queryService);
+            }
+          }
+        }));
+      }
+      for (int i = responseParts.size(); i < futures.size(); i++) {
+        responseParts.add(await(queryParts.get(i), futures.get(i), workerContentIdMaps.get(i), deadline));
+      }
+      return responseParts;
+    } finally {
+      for (Future<BatchResponsePart> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private void close(final ODataService queryService) throws ODataException {
+    final ODataProcessor processor = queryService.getProcessor();
+    if (processor instanceof Closeable) {
+      try {
+        ((Closeable) processor).close();
+      } catch (IOException e) {
+        throw new ODataException(e);
+      }
+    }
+  }
+
+  private BatchResponsePart await(final BatchRequestPart queryPart, final Future<BatchResponsePart> future,
+      final Map<String, String> workerContentIdMap, final long deadline) throws ODataException {
+    try {
+      final BatchResponsePart responsePart = deadline == Long.MAX_VALUE ? future.get()
+          : future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+      contentIdMap.putAll(workerContentIdMap);
+      return responsePart;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataException("Interrupted while waiting for the batch query operations.", e);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      return createTimeoutResponsePart(queryPart);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ODataException) {
+        throw (ODataException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new ODataException(e.getCause());
+    }
+  }
+
+  /**
+   * A query operation which has not finished in time fails on its own with the status
+   * <code>503 Service Unavailable</code>; the other parts of the batch request are not affected.
+   */
+  private BatchResponsePart createTimeoutResponsePart(final BatchRequestPart queryPart) throws ODataException {
+    if (queryPart.getRequests().size() != 1) {
+      throw new ODataException("Query Operation should contain one request");
+    }
+    final ODataRequest request = queryPart.getRequests().get(0);
+    final ODataContextImpl context = new ODataContextImpl(request, factory);
+    final ODataResponse errorResponse =
+        new ODataExceptionWrapper(context, request.getQueryParameters(), request.getAcceptHeaders())
+            .wrapInExceptionResponse(new ODataServiceUnavailableException(ODataServiceUnavailableException.COMMON));
+    final ODataResponse response = setContentIdHeader(request, errorResponse,
+        request.getRequestHeaderValue(BatchHelper.MIME_HEADER_CONTENT_ID.toLowerCase(Locale.ENGLISH)),
+        request.getRequestHeaderValue(BatchHelper.REQUEST_HEADER_CONTENT_ID.toLowerCase(Locale.ENGLISH)));
+    List<ODataResponse> responses = new ArrayList<ODataResponse>(1);
+    responses.add(response);
+    return BatchResponsePart.responses(responses).changeSet(false).build();
   }
 
   @Override
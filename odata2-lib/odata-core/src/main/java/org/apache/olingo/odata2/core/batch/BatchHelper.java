@@ -21,6 +21,7 @@ package org.apache.olingo.odata2.core.batch;
 import org.apache.olingo.odata2.api.client.batch.BatchChangeSetPart;
 import org.apache.olingo.odata2.api.commons.HttpHeaders;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.core.commons.ContentType;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 
@@ -292,6 +293,15 @@ public class BatchHelper {
       } else if(entity instanceof String) {
         setDefaultValues(UTF8_ENCODING);
         return ((String) entity).getBytes(DEFAULT_CHARSET);
+      } else if (entity instanceof ODataStreamingContent) {
+        extractCharset(ContentType.parse(response.getHeader("Content-Type")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+          ((ODataStreamingContent) entity).write(output);
+        } catch (IOException e) {
+          throw new ODataRuntimeException("Error on writing streaming content", e);
+        }
+        return output.toByteArray();
       } else {
         throw new ODataRuntimeException("Error on reading request content for entity type:" + entity.getClass());
       }
@@ -24,8 +24,14 @@ import org.apache.olingo.odata2.api.commons.HttpContentType;
 import org.apache.olingo.odata2.api.commons.HttpHeaders;
 import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.core.commons.ContentType;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.List;
 
 public class BatchResponseWriter {
@@ -73,6 +79,25 @@ public class BatchResponseWriter {
         .build();
   }
 
+  /**
+   * Writes the batch response as {@link ODataStreamingContent}: boundaries, headers and bodies of the
+   * parts are written directly into the output stream when the response is sent, and entity streams
+   * of the parts are copied through instead of being read into memory in advance.
+   * In contrast to {@link #writeResponse(List)} the bodies are written as they are (binary) and not
+   * converted into a String. As the total length is not known in advance, the batch response gets no
+   * <code>Content-Length</code> header; parts with a stream entity only get one if the part response
+   * already carries it. The parts are delimited by the boundaries.
+   * @param batchResponseParts the parts to be written
+   * @return batch response with streaming content
+   */
+  public ODataResponse writeStreamingResponse(final List<BatchResponsePart> batchResponseParts) {
+    String boundary = BatchHelper.generateBoundary("batch");
+    return ODataResponse.entity(new StreamingBatchContent(batchResponseParts, boundary))
+        .status(HttpStatusCodes.ACCEPTED)
+        .header(HttpHeaders.CONTENT_TYPE, HttpContentType.MULTIPART_MIXED + "; boundary=" + boundary)
+        .build();
+  }
+
   private void appendChangeSet(final BatchResponsePart batchResponsePart) throws BatchException {
     String boundary = BatchHelper.generateBoundary("changeset");
     writer.append(HttpHeaders.CONTENT_TYPE).append(COLON).append(SP)
@@ -137,4 +162,152 @@ public class BatchResponseWriter {
       }
     }
   }
+
+  /**
+   * Batch response body which writes its parts into the output stream one after another.
+   */
+  private static class StreamingBatchContent implements ODataStreamingContent {
+    private static final Charset HEADER_CHARSET = Charset.forName(BatchHelper.ISO_ENCODING);
+    private static final Charset STRING_CHARSET = Charset.forName(BatchHelper.UTF8_ENCODING);
+    private static final int BUFFER_SIZE = 8192;
+
+    private List<BatchResponsePart> batchResponseParts;
+    private final String boundary;
+
+    public StreamingBatchContent(final List<BatchResponsePart> batchResponseParts, final String boundary) {
+      this.batchResponseParts = batchResponseParts;
+      this.boundary = boundary;
+    }
+
+    @Override
+    public void write(final OutputStream out) throws IOException {
+      if (batchResponseParts == null) {
+        throw new IOException("Streaming batch content was already written or closed.");
+      }
+      try {
+        for (BatchResponsePart batchResponsePart : batchResponseParts) {
+          writeText(out, "--" + boundary + CRLF);
+          if (batchResponsePart.isChangeSet()) {
+            writeChangeSet(out, batchResponsePart);
+          } else {
+            writeResponsePart(out, batchResponsePart.getResponses().get(0));
+          }
+        }
+        writeText(out, "--" + boundary + "--");
+        out.flush();
+      } finally {
+        close();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (batchResponseParts == null) {
+        return;
+      }
+      List<BatchResponsePart> parts = batchResponseParts;
+      batchResponseParts = null;
+      IOException exception = null;
+      for (BatchResponsePart batchResponsePart : parts) {
+        for (ODataResponse response : batchResponsePart.getResponses()) {
+          if (response.getEntity() instanceof Closeable) {
+            try {
+              ((Closeable) response.getEntity()).close();
+            } catch (IOException e) {
+              exception = e;
+            }
+          }
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+    }
+
+    private void writeChangeSet(final OutputStream out, final BatchResponsePart batchResponsePart)
+        throws IOException {
+      String changeSetBoundary = BatchHelper.generateBoundary("changeset");
+      writeText(out, HttpHeaders.CONTENT_TYPE + COLON + SP
+          + "multipart/mixed; boundary=" + changeSetBoundary + CRLF + CRLF);
+      for (ODataResponse response : batchResponsePart.getResponses()) {
+        writeText(out, "--" + changeSetBoundary + CRLF);
+        writeResponsePart(out, response);
+      }
+      writeText(out, "--" + changeSetBoundary + "--" + CRLF);
+    }
+
+    private void writeResponsePart(final OutputStream out, final ODataResponse response) throws IOException {
+      StringBuilder head = new StringBuilder();
+      head.append(HttpHeaders.CONTENT_TYPE).append(COLON).append(SP)
+          .append(HttpContentType.APPLICATION_HTTP).append(CRLF);
+      head.append(BatchHelper.HTTP_CONTENT_TRANSFER_ENCODING).append(COLON).append(SP)
+          .append(BatchHelper.BINARY_ENCODING).append(CRLF);
+      if (response.getHeader(BatchHelper.MIME_HEADER_CONTENT_ID) != null) {
+        head.append(BatchHelper.HTTP_CONTENT_ID).append(COLON).append(SP)
+            .append(response.getHeader(BatchHelper.MIME_HEADER_CONTENT_ID)).append(CRLF);
+      }
+      head.append(CRLF);
+      head.append("HTTP/1.1").append(SP).append(response.getStatus().getStatusCode()).append(SP)
+          .append(response.getStatus().getInfo()).append(CRLF);
+      for (String name : response.getHeaderNames()) {
+        if (BatchHelper.REQUEST_HEADER_CONTENT_ID.equalsIgnoreCase(name)) {
+          head.append(BatchHelper.HTTP_CONTENT_ID).append(COLON).append(SP)
+              .append(response.getHeader(name)).append(CRLF);
+        } else if (!BatchHelper.MIME_HEADER_CONTENT_ID.equalsIgnoreCase(name)
+            && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+          head.append(name).append(COLON).append(SP).append(response.getHeader(name)).append(CRLF);
+        }
+      }
+
+      if (HttpStatusCodes.NO_CONTENT.equals(response.getStatus())) {
+        // No header if status code equals to 204 (No content)
+        writeText(out, head.append(CRLF).append(CRLF).toString());
+        return;
+      }
+
+      Object entity = response.getEntity();
+      byte[] content = null;
+      if (entity == null) {
+        content = BatchHelper.Body.EMPTY_BYTES;
+      } else if (entity instanceof byte[]) {
+        content = (byte[]) entity;
+      } else if (entity instanceof String) {
+        content = ((String) entity).getBytes(STRING_CHARSET);
+      }
+      if (content != null) {
+        head.append(HttpHeaders.CONTENT_LENGTH).append(COLON).append(SP).append(content.length).append(CRLF);
+      } else if (response.getHeader(HttpHeaders.CONTENT_LENGTH) != null) {
+        head.append(HttpHeaders.CONTENT_LENGTH).append(COLON).append(SP)
+            .append(response.getHeader(HttpHeaders.CONTENT_LENGTH)).append(CRLF);
+      }
+      writeText(out, head.append(CRLF).toString());
+
+      if (content != null) {
+        out.write(content);
+      } else if (entity instanceof InputStream) {
+        copy((InputStream) entity, out);
+      } else if (entity instanceof ODataStreamingContent) {
+        ((ODataStreamingContent) entity).write(out);
+      } else {
+        throw new IOException("Unsupported entity type in batch response part: " + entity.getClass());
+      }
+      writeText(out, CRLF);
+    }
+
+    private void copy(final InputStream in, final OutputStream out) throws IOException {
+      try {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+          out.write(buffer, 0, count);
+        }
+      } finally {
+        in.close();
+      }
+    }
+
+    private void writeText(final OutputStream out, final String text) throws IOException {
+      out.write(text.getBytes(HEADER_CHARSET));
+    }
+  }
 }
@@ -48,6 +48,8 @@ public class BatchLineReader {
   private byte[] buffer;
   private int offset = 0;
   private int limit = 0;
+  private int lineNumber = 0;
+  private ByteBuffer lineBuffer = ByteBuffer.allocate(BUFFER_SIZE);
 
   public BatchLineReader(final InputStream reader) {
     this(reader, BUFFER_SIZE);
@@ -82,20 +84,30 @@ public class BatchLineReader {
 
   public List<Line> toLineList() throws IOException {
     final List<Line> result = new ArrayList<Line>();
-    String currentLine = readLine();
-    if(currentLine != null) {
-      currentBoundary = currentLine.trim();
-      int counter = 1;
-      result.add(new Line(currentLine, counter++));
-
-      while ((currentLine = readLine()) != null) {
-        result.add(new Line(currentLine, counter++));
-      }
+    Line currentLine;
+    while ((currentLine = readNextLine()) != null) {
+      result.add(currentLine);
     }
 
     return result;
   }
 
+  /**
+   * Reads the next line, so that a message can be processed without holding all of its lines.
+   * @return the next line (numbered from 1 on) or <code>null</code> if the end of the stream is reached
+   * @throws IOException
+   */
+  public Line readNextLine() throws IOException {
+    final String currentLine = readLine();
+    if (currentLine == null) {
+      return null;
+    }
+    if (lineNumber == 0) {
+      currentBoundary = currentLine.trim();
+    }
+    return new Line(currentLine, ++lineNumber);
+  }
+
   private void updateCurrentCharset(String currentLine) {
     if(currentLine != null) {
       if(isContentTypeHeaderLine(currentLine)) {
@@ -146,7 +158,9 @@ public class BatchLineReader {
       return null;
     }
 
-    ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+    // the line buffer is reused for all lines
+    ByteBuffer buf = lineBuffer;
+    buf.clear();
     boolean foundLineEnd = false; // EOF will be considered as line ending
 
     while (!foundLineEnd) {
@@ -183,6 +197,7 @@ public class BatchLineReader {
       }
     }
 
+    lineBuffer = buf;
     if(buf.position() == 0) {
       return null;
     } else {
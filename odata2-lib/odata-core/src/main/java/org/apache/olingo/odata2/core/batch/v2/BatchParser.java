@@ -72,33 +72,31 @@ public class BatchParser {
     }
   }
 
+  /**
+   * Parses the message part by part: the message is not read into one list of lines first,
+   * and the lines of a body part are only held until the part is transformed.
+   * The bodies of the transformed parts are still decoded and copied, and all parts are kept
+   * in the returned list, so the memory needed still grows with the whole message.
+   */
   private List<BatchParserResult> parseBatch(final InputStream in,
       final BatchTransformator transformator) throws BatchException, IOException {
 
     final String baseUri = getBaseUri();
     final String boundary = BatchParserCommon.getBoundary(contentTypeMime, 1);
     final List<BatchParserResult> resultList = new LinkedList<BatchParserResult>();
-    final List<List<Line>> bodyPartStrings = splitBodyParts(in, boundary);
+    final BatchLineReader reader = new BatchLineReader(in);
+    final BatchParserCommon.BoundarySplitter splitter = new BatchParserCommon.BoundarySplitter(boundary);
 
-    for (List<Line> bodyPartString : bodyPartStrings) {
-      BatchBodyPart bodyPart = new BatchBodyPart(bodyPartString, boundary, isStrict).parse();
+    List<Line> bodyPartLines;
+    while ((bodyPartLines = splitter.nextPart(reader)) != null) {
+      BatchBodyPart bodyPart = new BatchBodyPart(bodyPartLines, boundary, isStrict).parse();
       resultList.addAll(transformator.transform(bodyPart, batchRequestPathInfo, baseUri));
     }
-
-    return resultList;
-  }
-  
-  private List<List<Line>> splitBodyParts(final InputStream in, final String boundary)
-      throws IOException, BatchException {
-
-    final BatchLineReader reader = new BatchLineReader(in);
-    final List<Line> message = reader.toLineList();
     reader.close();
 
-    return BatchParserCommon.splitMessageByBoundary(message, boundary);
+    return resultList;
   }
 
-
   private String getBaseUri() throws BatchException {
     String baseUri = "";
 
@@ -19,6 +19,7 @@
 package org.apache.olingo.odata2.core.batch.v2;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -125,50 +126,104 @@ public class BatchParserCommon {
   static List<List<Line>> splitMessageByBoundary(final List<Line> message, final String boundary)
       throws BatchException {
     final List<List<Line>> messageParts = new LinkedList<List<Line>>();
-    List<Line> currentPart = new ArrayList<Line>();
-    boolean isEndReached = false;
-
-    final String quotedBoundary = Pattern.quote(boundary);
-    final Pattern boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--[\\s ]*");
-    final Pattern boundaryPattern = Pattern.compile("--" + quotedBoundary + "[\\s ]*");
-
+    final BoundarySplitter splitter = new BoundarySplitter(boundary);
     for (Line currentLine : message) {
-      if (boundaryDelimiterPattern.matcher(currentLine.toString()).matches()) {
-        removeEndingCRLFFromList(currentPart);
-        messageParts.add(currentPart);
-        isEndReached = true;
-      } else if (boundaryPattern.matcher(currentLine.toString()).matches()) {
-        removeEndingCRLFFromList(currentPart);
-        messageParts.add(currentPart);
-        currentPart = new LinkedList<Line>();
-      } else {
-        currentPart.add(currentLine);
-      }
-
-      if (isEndReached) {
+      if (splitter.isEndReached) {
         break;
       }
+      final List<Line> part = splitter.add(currentLine);
+      if (part != null) {
+        messageParts.add(part);
+      }
     }
+    splitter.validate();
 
-    final int lineNumber = (!message.isEmpty()) ? message.get(0).getLineNumber() : 0;
-    // Remove preamble
-    if (!messageParts.isEmpty()) {
-      messageParts.remove(0);
-    } else {
+    return messageParts;
+  }
 
-      throw new BatchException(BatchException.MISSING_BOUNDARY_DELIMITER.addContent(lineNumber));
+  /**
+   * Splits a message line by line into the parts between the boundary delimiters.
+   * The message is either read part by part out of a {@link BatchLineReader}
+   * or given as a whole to {@link #splitMessageByBoundary(List, String)}.
+   */
+  static class BoundarySplitter {
+    private final String boundary;
+    private final Pattern boundaryDelimiterPattern;
+    private final Pattern boundaryPattern;
+    private List<Line> currentPart = new ArrayList<Line>();
+    private boolean isPreamble = true;
+    private boolean isEndReached = false;
+    private int firstLineNumber = 0;
+    private int partCount = 0;
+
+    BoundarySplitter(final String boundary) {
+      this.boundary = boundary;
+      final String quotedBoundary = Pattern.quote(boundary);
+      boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--[\\s ]*");
+      boundaryPattern = Pattern.compile("--" + quotedBoundary + "[\\s ]*");
     }
 
-    if (!isEndReached) {
-      throw new BatchException(BatchException.MISSING_CLOSE_DELIMITER.addContent(lineNumber));
+    /**
+     * Reads the next part.
+     * @param reader the reader of the message
+     * @return the lines of the next part or <code>null</code> if the close delimiter has been reached
+     * @throws BatchException if the message is not delimited correctly
+     * @throws IOException
+     */
+    List<Line> nextPart(final BatchLineReader reader) throws BatchException, IOException {
+      if (isEndReached) {
+        return null;
+      }
+      Line currentLine;
+      while (!isEndReached && (currentLine = reader.readNextLine()) != null) {
+        final List<Line> part = add(currentLine);
+        if (part != null) {
+          return part;
+        }
+      }
+      validate();
+      return null;
     }
 
-    if (messageParts.isEmpty()) {
-      throw new BatchException(BatchException.NO_MATCH_WITH_BOUNDARY_STRING
-          .addContent(boundary).addContent(lineNumber));
+    /**
+     * Adds the next line of the message.
+     * @param currentLine the line
+     * @return the lines of the part ended by this line or <code>null</code> if no part has been ended
+     */
+    private List<Line> add(final Line currentLine) {
+      if (firstLineNumber == 0) {
+        firstLineNumber = currentLine.getLineNumber();
+      }
+      final boolean isClose = boundaryDelimiterPattern.matcher(currentLine.toString()).matches();
+      if (isClose || boundaryPattern.matcher(currentLine.toString()).matches()) {
+        isEndReached = isClose;
+        final List<Line> part = currentPart;
+        currentPart = new ArrayList<Line>();
+        if (isPreamble) {
+          isPreamble = false;
+          return null;
+        }
+        removeEndingCRLFFromList(part);
+        partCount++;
+        return part;
+      } else {
+        currentPart.add(currentLine);
+        return null;
+      }
     }
 
-    return messageParts;
+    private void validate() throws BatchException {
+      if (isPreamble) {
+        throw new BatchException(BatchException.MISSING_BOUNDARY_DELIMITER.addContent(firstLineNumber));
+      }
+      if (!isEndReached) {
+        throw new BatchException(BatchException.MISSING_CLOSE_DELIMITER.addContent(firstLineNumber));
+      }
+      if (partCount == 0) {
+        throw new BatchException(BatchException.NO_MATCH_WITH_BOUNDARY_STRING
+            .addContent(boundary).addContent(firstLineNumber));
+      }
+    }
   }
 
   private static void removeEndingCRLFFromList(final List<Line> list) {
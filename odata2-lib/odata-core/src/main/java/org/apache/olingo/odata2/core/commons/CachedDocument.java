@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.commons;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataResponse.ODataResponseBuilder;
+import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
+
+/**
+ * An immutable, already rendered document (e.g. the metadata document) together with
+ * its strong entity tag and a lazily created gzip-compressed variant.
+ */
+public class CachedDocument {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final byte[] content;
+  private final Map<String, String> headers;
+  private final String eTag;
+  private volatile byte[] compressedContent;
+
+  public CachedDocument(final byte[] content) {
+    this(content, Collections.<String, String> emptyMap());
+  }
+
+  public CachedDocument(final byte[] content, final Map<String, String> headers) {
+    this.content = content;
+    this.headers = headers;
+    eTag = createETag(content);
+  }
+
+  /**
+   * Reads the given stream completely and closes it.
+   * @param stream the rendered document
+   * @return the cached document
+   * @throws IOException if the stream cannot be read
+   */
+  public static CachedDocument create(final InputStream stream) throws IOException {
+    return new CachedDocument(readAll(stream));
+  }
+
+  /**
+   * Reads the entity of the given response completely and keeps its headers.
+   * @param response a response whose entity is an {@link InputStream}
+   * @return the cached document
+   * @throws IOException if the entity cannot be read
+   */
+  public static CachedDocument create(final ODataResponse response) throws IOException {
+    Map<String, String> headers = new HashMap<String, String>();
+    for (String name : response.getHeaderNames()) {
+      headers.put(name, response.getHeader(name));
+    }
+    return new CachedDocument(readAll((InputStream) response.getEntity()), Collections.unmodifiableMap(headers));
+  }
+
+  /**
+   * @return a new response builder with the headers kept by {@link #create(ODataResponse)},
+   * the document content as entity, and the entity tag
+   */
+  public ODataResponseBuilder toResponseBuilder() {
+    ODataResponseBuilder builder = ODataResponse.entity(getContent());
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    return builder.eTag(eTag);
+  }
+
+  private static byte[] readAll(final InputStream stream) throws IOException {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } finally {
+      stream.close();
+    }
+  }
+
+  /**
+   * @return a new stream on the document content
+   */
+  public InputStream getContent() {
+    return new ByteArrayInputStream(content);
+  }
+
+  /**
+   * @return a new stream on the gzip-compressed document content
+   */
+  public InputStream getCompressedContent() {
+    byte[] compressed = compressedContent;
+    if (compressed == null) {
+      compressed = compress(content);
+      compressedContent = compressed;
+    }
+    return new ByteArrayInputStream(compressed);
+  }
+
+  /**
+   * @return the strong entity tag (including quotes) derived from the document content
+   */
+  public String getETag() {
+    return eTag;
+  }
+
+  private static String createETag(final byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+      char[] hex = new char[34];
+      hex[0] = '"';
+      for (int i = 0; i < 16; i++) {
+        hex[1 + 2 * i] = HEX[(digest[i] >> 4) & 0x0F];
+        hex[2 + 2 * i] = HEX[digest[i] & 0x0F];
+      }
+      hex[33] = '"';
+      return new String(hex);
+    } catch (NoSuchAlgorithmException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  private static byte[] compress(final byte[] content) {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+      GZIPOutputStream gzip = new GZIPOutputStream(out);
+      gzip.write(content);
+      gzip.close();
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+}
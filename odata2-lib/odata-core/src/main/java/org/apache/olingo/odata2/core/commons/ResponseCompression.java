@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.commons;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.servlet.ServletConfig;
+
+import org.apache.olingo.odata2.api.commons.ContentCoding;
+import org.apache.olingo.odata2.api.commons.HttpHeaders;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+
+/**
+ * Negotiation and configuration of the response compression (<code>gzip</code> or <code>deflate</code>)
+ * done by the servlet and the JAX-RS response path.
+ * <p>The configuration is read from the following init parameters:
+ * <ul>
+ * <li>{@value #COMPRESSION_LABEL}: <code>true</code> switches compression on (default <code>false</code>)</li>
+ * <li>{@value #COMPRESSION_THRESHOLD_LABEL}: minimum size in bytes of a compressed body
+ * (default {@value #DEFAULT_THRESHOLD})</li>
+ * <li>{@value #COMPRESSION_LEVEL_LABEL}: compression level between <code>1</code> and <code>9</code>
+ * (default {@value #DEFAULT_LEVEL})</li>
+ * </ul>
+ * Responses which already carry a <code>Content-Encoding</code> header are never compressed again.
+ * The threshold is checked by looking ahead into the body; streaming content written through
+ * {@link org.apache.olingo.odata2.api.processor.ODataStreamingContent} is compressed regardless of its size.
+ * A strong entity tag of a body compressed on the fly is weakened (see {@link #weakenETag(String)}).</p>
+ */
+public class ResponseCompression {
+
+  public static final String COMPRESSION_LABEL = "org.apache.olingo.odata2.core.compression";
+  public static final String COMPRESSION_THRESHOLD_LABEL = "org.apache.olingo.odata2.core.compression.threshold";
+  public static final String COMPRESSION_LEVEL_LABEL = "org.apache.olingo.odata2.core.compression.level";
+
+  public static final String GZIP = ContentCoding.GZIP;
+  public static final String DEFLATE = ContentCoding.DEFLATE;
+
+  private static final int DEFAULT_THRESHOLD = 1024;
+  private static final int DEFAULT_LEVEL = 6;
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final ResponseCompression DISABLED = new ResponseCompression(false, DEFAULT_THRESHOLD, DEFAULT_LEVEL);
+
+  private final boolean enabled;
+  private final int threshold;
+  private final int level;
+
+  public ResponseCompression(final boolean enabled, final int threshold, final int level) {
+    this.enabled = enabled;
+    this.threshold = threshold;
+    this.level = level;
+  }
+
+  /**
+   * Creates the compression configuration out of the init parameters of the given servlet configuration.
+   * @param config servlet configuration; if <code>null</code> compression is disabled
+   * @return the configuration
+   */
+  public static ResponseCompression create(final ServletConfig config) {
+    if (config == null) {
+      return DISABLED;
+    }
+    final boolean enabled = "true".equalsIgnoreCase(config.getInitParameter(COMPRESSION_LABEL));
+    final int threshold = parse(config.getInitParameter(COMPRESSION_THRESHOLD_LABEL), DEFAULT_THRESHOLD, 0,
+        Integer.MAX_VALUE);
+    final int level = parse(config.getInitParameter(COMPRESSION_LEVEL_LABEL), DEFAULT_LEVEL,
+        Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION);
+    return new ResponseCompression(enabled, threshold, level);
+  }
+
+  /**
+   * @return a configuration which never compresses
+   */
+  public static ResponseCompression disabled() {
+    return DISABLED;
+  }
+
+  private static int parse(final String value, final int defaultValue, final int min, final int max) {
+    if (value != null) {
+      try {
+        final int result = Integer.parseInt(value.trim());
+        if (result >= min && result <= max) {
+          return result;
+        }
+      } catch (NumberFormatException ignored) {
+        // this exception is ignored because if parameter is not parse able the default is used
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * @return the minimum size in bytes of a body worth compressing
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Checks whether the response body could be compressed, i.e., whether the response depends on the
+   * <code>Accept-Encoding</code> request header and therefore has to be marked with a <code>Vary</code> header.
+   * @param response the response
+   * @return <code>true</code> if the body is compressible
+   */
+  public boolean isApplicable(final ODataResponse response) {
+    if (!enabled || response.getEntity() == null || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+      return false;
+    }
+    final int status = response.getStatus().getStatusCode();
+    if (status == HttpStatusCodes.NO_CONTENT.getStatusCode()
+        || status == HttpStatusCodes.NOT_MODIFIED.getStatusCode()) {
+      return false;
+    }
+    final String contentType = response.getContentHeader();
+    if (contentType == null) {
+      return false;
+    }
+    final String type = contentType.toLowerCase(Locale.ROOT);
+    return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+        || type.startsWith("multipart/mixed") || type.startsWith("application/http");
+  }
+
+  /**
+   * Chooses the content coding out of the <code>Accept-Encoding</code> request header.
+   * @param acceptEncoding value of the <code>Accept-Encoding</code> header (may be <code>null</code>)
+   * @return {@value #GZIP}, {@value #DEFLATE}, or <code>null</code> if compression is disabled
+   * or none of them is acceptable
+   * @see ContentCoding#negotiate(String)
+   */
+  public String negotiate(final String acceptEncoding) {
+    return enabled ? ContentCoding.negotiate(acceptEncoding) : null;
+  }
+
+  /**
+   * Weakens the entity tag of a body compressed on the fly: the compressed bytes are a different
+   * representation, so they must not be served with the strong tag of the uncompressed body (RFC 7232, 2.3).
+   * @param eTag entity tag (may be <code>null</code>)
+   * @return the weak entity tag
+   */
+  public static String weakenETag(final String eTag) {
+    return eTag == null || eTag.startsWith("W/") ? eTag : "W/" + eTag;
+  }
+
+  /**
+   * Wraps the given stream into a compressing stream.
+   * Closing the returned stream finishes the compression and closes the given stream.
+   * @param out the target stream
+   * @param encoding {@value #GZIP} or {@value #DEFLATE}
+   * @return the compressing stream
+   * @throws IOException
+   */
+  public OutputStream compress(final OutputStream out, final String encoding) throws IOException {
+    if (GZIP.equals(encoding)) {
+      return new LeveledGZIPOutputStream(out, level);
+    } else {
+      return new DeflaterOutputStream(out, new Deflater(level), BUFFER_SIZE) {
+        @Override
+        public void close() throws IOException {
+          super.close();
+          def.end();
+        }
+      };
+    }
+  }
+
+  private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+    public LeveledGZIPOutputStream(final OutputStream out, final int level) throws IOException {
+      super(out, BUFFER_SIZE);
+      def.setLevel(level);
+    }
+  }
+}
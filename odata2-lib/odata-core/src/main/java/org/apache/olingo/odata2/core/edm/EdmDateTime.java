@@ -19,11 +19,14 @@
 package org.apache.olingo.odata2.core.edm;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.odata2.api.edm.EdmFacets;
 import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
@@ -32,13 +35,24 @@ import org.apache.olingo.odata2.api.edm.EdmSimpleTypeException;
 /**
  * Implementation of the EDM simple type DateTime.
  * 
+ * Literals are parsed and formatted with plain arithmetic on the proleptic Gregorian calendar;
+ * {@link Calendar} is only involved for values before the Gregorian reform (1582-10-15),
+ * where {@link java.util.GregorianCalendar} switches to the Julian calendar, and for values
+ * that need more than four year digits.
  */
 public class EdmDateTime extends AbstractSimpleType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "(\\p{Digit}{1,4})-(\\p{Digit}{1,2})-(\\p{Digit}{1,2})"
-          + "T(\\p{Digit}{1,2}):(\\p{Digit}{1,2})(?::(\\p{Digit}{1,2})(\\.(\\p{Digit}{0,9}?)0*)?)?");
-  private static final Pattern JSON_PATTERN = Pattern.compile("/Date\\((-?\\p{Digit}+)\\)/");
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+  /** 1582-10-15T00:00:00Z, the first day of the Gregorian calendar in {@link java.util.GregorianCalendar}. */
+  private static final long GREGORIAN_CUTOVER_MILLIS = -12219292800000L;
+  /** 10000-01-01T00:00:00Z */
+  private static final long YEAR_10000_MILLIS = 253402300800000L;
+  /** Days between 0000-03-01 and 1970-01-01 in the proleptic Gregorian calendar. */
+  private static final int DAYS_0000_TO_1970 = 719468;
+  private static final int DAYS_PER_400_YEARS = 146097;
+  private static final int[] DAYS_IN_MONTH = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+  private static final String JSON_PREFIX = "/Date(";
+  private static final String JSON_SUFFIX = ")/";
   private static final EdmDateTime instance = new EdmDateTime();
 
   public static EdmDateTime getInstance() {
@@ -54,38 +68,33 @@ public class EdmDateTime extends AbstractSimpleType {
   protected <T> T internalValueOfString(final String value, final EdmLiteralKind literalKind, final EdmFacets facets,
       final Class<T> returnType) throws EdmSimpleTypeException {
     // In JSON, we allow also the XML literal form, so there is on purpose
-    // no exception if the JSON pattern does not match.
-    if (literalKind == EdmLiteralKind.JSON) {
-      final Matcher matcher = JSON_PATTERN.matcher(value);
-      if (matcher.matches()) {
-        long millis;
-        try {
-          millis = Long.parseLong(matcher.group(1));
-        } catch (final NumberFormatException e) {
-          throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value), e);
-        }
-        if (returnType.isAssignableFrom(Long.class)) {
-          return returnType.cast(millis);
-        } else if (returnType.isAssignableFrom(Date.class)) {
-          return returnType.cast(new Date(millis));
-        } else if (returnType.isAssignableFrom(Calendar.class)) {
-          Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
-          dateTimeValue.clear();
-          dateTimeValue.setTimeInMillis(millis);
-          return returnType.cast(dateTimeValue);
-        } else {
-          throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(returnType));
-        }
+    // no exception if the JSON form does not match.
+    final int jsonMillisEnd = literalKind == EdmLiteralKind.JSON ? getJsonMillisEnd(value) : -1;
+    if (jsonMillisEnd > 0 && jsonMillisEnd == value.length() - JSON_SUFFIX.length()) {
+      long millis;
+      try {
+        millis = Long.parseLong(value.substring(JSON_PREFIX.length(), jsonMillisEnd));
+      } catch (final NumberFormatException e) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value), e);
+      }
+      if (returnType.isAssignableFrom(Long.class)) {
+        return returnType.cast(millis);
+      } else if (returnType.isAssignableFrom(Date.class)) {
+        return returnType.cast(new Date(millis));
+      } else if (returnType.isAssignableFrom(Calendar.class)) {
+        Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+        dateTimeValue.clear();
+        dateTimeValue.setTimeInMillis(millis);
+        return returnType.cast(dateTimeValue);
+      } else {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(returnType));
       }
     }
 
-    Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
-    dateTimeValue.clear();
-
     String valueString;
     if (literalKind == EdmLiteralKind.URI) {
       //OLINGO-883 prefix is case insensitve so we need to check with lower case if we want to use startsWith()
-      if (value.length() > 10 && value.toLowerCase().startsWith("datetime'") && value.endsWith("'")) {
+      if (value.length() > 10 && value.regionMatches(true, 0, "datetime'", 0, 9) && value.endsWith("'")) {
         valueString = value.substring(9, value.length() - 1);
       } else {
         throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
@@ -94,58 +103,34 @@ public class EdmDateTime extends AbstractSimpleType {
       valueString = value;
     }
 
-    final Matcher matcher = PATTERN.matcher(valueString);
-    if (!matcher.matches()) {
+    final LocalDateTimeFields fields = parseLocalDateTime(valueString, valueString.length(), 9);
+    if (fields == null) {
       throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
     }
-
-    dateTimeValue.set(
-        Short.parseShort(matcher.group(1)),
-        Byte.parseByte(matcher.group(2)) - 1, // month is zero-based
-        Byte.parseByte(matcher.group(3)),
-        Byte.parseByte(matcher.group(4)),
-        Byte.parseByte(matcher.group(5)),
-        matcher.group(6) == null ? 0 : Byte.parseByte(matcher.group(6)));
-
-    int nanoSeconds = 0;
-    if (matcher.group(7) != null) {
-      if (matcher.group(7).length() == 1 || matcher.group(7).length() > 10) {
+    if (facets != null && facets.getPrecision() != null && facets.getPrecision() < fields.fractionDigits) {
+      throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_FACETS_NOT_MATCHED.addContent(value, facets));
+    }
+    final int nanoSeconds = fields.nanoSecond;
+    long millis = fields.toEpochMillis(value);
+    if (!(returnType.isAssignableFrom(Timestamp.class))) {
+      if (nanoSeconds % (1000 * 1000) == 0) {
+        millis += nanoSeconds / (1000 * 1000);
+      } else {
         throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
       }
-      final String decimals = matcher.group(8);
-      if (facets != null && facets.getPrecision() != null && facets.getPrecision() < decimals.length()) {
-        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_FACETS_NOT_MATCHED.addContent(value, facets));
-      }
-      nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
-      if (!(returnType.isAssignableFrom(Timestamp.class))) {
-        if (nanoSeconds % (1000 * 1000) == 0) {
-          dateTimeValue.set(Calendar.MILLISECOND, nanoSeconds / (1000 * 1000));
-        } else {
-          throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
-        }
-      }
     }
 
-    // The Calendar class does not check any values until a get method is called,
-    // so we do just that to validate the fields set above, not because we want
-    // to return something else. For strict checks, the lenient mode is switched
-    // off temporarily.
-    dateTimeValue.setLenient(false);
-    try {
-      dateTimeValue.get(Calendar.MILLISECOND);
-    } catch (final IllegalArgumentException e) {
-      throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value), e);
-    }
-    dateTimeValue.setLenient(true);
-
     if (returnType.isAssignableFrom(Calendar.class)) {
+      Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+      dateTimeValue.clear();
+      dateTimeValue.setTimeInMillis(millis);
       return returnType.cast(dateTimeValue);
     } else if (returnType.isAssignableFrom(Long.class)) {
-      return returnType.cast(dateTimeValue.getTimeInMillis());
+      return returnType.cast(millis);
     } else if (returnType.isAssignableFrom(Date.class)) {
-      return returnType.cast(dateTimeValue.getTime());
+      return returnType.cast(new Date(millis));
     } else if (returnType.isAssignableFrom(Timestamp.class)) {
-        Timestamp timestamp = new Timestamp(dateTimeValue.getTimeInMillis());
+        Timestamp timestamp = new Timestamp(millis);
         if (literalKind != EdmLiteralKind.JSON) {
           timestamp.setNanos(nanoSeconds);
         }
@@ -166,38 +151,27 @@ public class EdmDateTime extends AbstractSimpleType {
     } else if (value instanceof Long) {
       timeInMillis = ((Long) value).longValue();
     } else {
-      throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(value.getClass()));
+      final Long javaTimeMillis = getJavaTimeMillis(value);
+      if (javaTimeMillis == null) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(value.getClass()));
+      }
+      timeInMillis = javaTimeMillis;
     }
 
     if (literalKind == EdmLiteralKind.JSON) {
       if (value instanceof Timestamp && ((Timestamp) value).getNanos() % (1000 * 1000) != 0) {
         throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_ILLEGAL_CONTENT.addContent(value));
       } else {
-        return "/Date(" + timeInMillis + ")/";
+        return JSON_PREFIX + timeInMillis + JSON_SUFFIX;
       }
     }
 
-    Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
-    dateTimeValue.setTimeInMillis(timeInMillis);
-
     StringBuilder result = new StringBuilder(29); // 29 characters are enough for nanosecond precision.
-    final int year = dateTimeValue.get(Calendar.YEAR);
-    appendTwoDigits(result, year / 100);
-    appendTwoDigits(result, year % 100);
-    result.append('-');
-    appendTwoDigits(result, dateTimeValue.get(Calendar.MONTH) + 1); // month is zero-based
-    result.append('-');
-    appendTwoDigits(result, dateTimeValue.get(Calendar.DAY_OF_MONTH));
-    result.append('T');
-    appendTwoDigits(result, dateTimeValue.get(Calendar.HOUR_OF_DAY));
-    result.append(':');
-    appendTwoDigits(result, dateTimeValue.get(Calendar.MINUTE));
-    result.append(':');
-    appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
+    appendDateTime(result, timeInMillis);
 
     final int fractionalSecs = value instanceof Timestamp ?
         ((Timestamp) value).getNanos() :
-        dateTimeValue.get(Calendar.MILLISECOND);
+        (int) Math.floorMod(timeInMillis, 1000L);
     try {
       appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, facets);
     } catch (final IllegalArgumentException e) {
@@ -207,6 +181,209 @@ public class EdmDateTime extends AbstractSimpleType {
     return result.toString();
   }
 
+  /**
+   * Returns the milliseconds since 1970-01-01T00:00:00Z for values of the <code>java.time</code> types
+   * {@link Instant}, {@link LocalDateTime} (taken as UTC), {@link OffsetDateTime}, and {@link ZonedDateTime}.
+   * @param value a value object
+   * @return the milliseconds or <code>null</code> if the value is of none of these types
+   * @throws EdmSimpleTypeException if the value is too far away from 1970 to be expressed in milliseconds
+   */
+  static Long getJavaTimeMillis(final Object value) throws EdmSimpleTypeException {
+    Instant instant;
+    if (value instanceof Instant) {
+      instant = (Instant) value;
+    } else if (value instanceof LocalDateTime) {
+      instant = ((LocalDateTime) value).toInstant(ZoneOffset.UTC);
+    } else if (value instanceof OffsetDateTime) {
+      instant = ((OffsetDateTime) value).toInstant();
+    } else if (value instanceof ZonedDateTime) {
+      instant = ((ZonedDateTime) value).toInstant();
+    } else {
+      return null;
+    }
+    try {
+      return instant.toEpochMilli();
+    } catch (ArithmeticException e) { // in case the Instant is far away from epoch
+      throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_ILLEGAL_CONTENT.addContent(value), e);
+    }
+  }
+
+  /**
+   * Returns the index after the last digit of the (optionally negative) number
+   * in a JSON literal of the form <code>/Date(&lt;number&gt;...)/</code>.
+   * @param value the literal
+   * @return the index, or -1 if the literal does not have this form
+   */
+  static int getJsonMillisEnd(final String value) {
+    if (!value.startsWith(JSON_PREFIX) || !value.endsWith(JSON_SUFFIX)) {
+      return -1;
+    }
+    final int end = value.length() - JSON_SUFFIX.length();
+    final int start = end > JSON_PREFIX.length() && value.charAt(JSON_PREFIX.length()) == '-' ?
+        JSON_PREFIX.length() + 1 :
+        JSON_PREFIX.length();
+    int index = start;
+    while (index < end && isDigit(value.charAt(index))) {
+      index++;
+    }
+    return index == start ? -1 : index;
+  }
+
+  /**
+   * Parses the local date and time <code>yyyy-mm-ddThh:mm[:ss[.fffffffff]]</code>
+   * at the beginning of the given string, with one to four digits for the year
+   * and one or two digits for the other fields.
+   * @param value the literal
+   * @param end the index after the last character of the local date and time
+   * @param maxFractionDigits the maximum number of digits for fractional seconds
+   * @return the parsed fields, or <code>null</code> if the syntax is not matched;
+   * the values of the fields are not checked
+   */
+  static LocalDateTimeFields parseLocalDateTime(final String value, final int end, final int maxFractionDigits) {
+    final int yearEnd = skipDigits(value, 0, end, 4);
+    final int monthEnd = skipDigits(value, skipCharacter(value, yearEnd, end, '-'), end, 2);
+    final int dayEnd = skipDigits(value, skipCharacter(value, monthEnd, end, '-'), end, 2);
+    final int hourEnd = skipDigits(value, skipCharacter(value, dayEnd, end, 'T'), end, 2);
+    final int minuteEnd = skipDigits(value, skipCharacter(value, hourEnd, end, ':'), end, 2);
+    if (minuteEnd < 0) {
+      return null;
+    }
+    LocalDateTimeFields fields = new LocalDateTimeFields();
+    fields.year = parseDigits(value, 0, yearEnd);
+    fields.month = parseDigits(value, yearEnd + 1, monthEnd);
+    fields.day = parseDigits(value, monthEnd + 1, dayEnd);
+    fields.hour = parseDigits(value, dayEnd + 1, hourEnd);
+    fields.minute = parseDigits(value, hourEnd + 1, minuteEnd);
+    if (minuteEnd < end) {
+      final int secondEnd = skipDigits(value, skipCharacter(value, minuteEnd, end, ':'), end, 2);
+      if (secondEnd < 0) {
+        return null;
+      }
+      fields.second = parseDigits(value, minuteEnd + 1, secondEnd);
+      if (secondEnd < end) {
+        if (skipDigits(value, skipCharacter(value, secondEnd, end, '.'), end, maxFractionDigits) != end) {
+          return null;
+        }
+        int nanoSecond = parseDigits(value, secondEnd + 1, end);
+        for (int digits = end - secondEnd - 1; digits < 9; digits++) {
+          nanoSecond *= 10;
+        }
+        fields.nanoSecond = nanoSecond;
+        int significantEnd = end;
+        while (significantEnd > secondEnd + 1 && value.charAt(significantEnd - 1) == '0') {
+          significantEnd--;
+        }
+        fields.fractionDigits = significantEnd - secondEnd - 1;
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Returns the index after at most <code>maxDigits</code> digits starting at the given index.
+   * @return the index after the last digit, or -1 if there is no digit at the start index
+   * or the start index is -1
+   */
+  private static int skipDigits(final String value, final int start, final int end, final int maxDigits) {
+    if (start < 0) {
+      return -1;
+    }
+    int index = start;
+    while (index < end && index - start < maxDigits && isDigit(value.charAt(index))) {
+      index++;
+    }
+    return index == start ? -1 : index;
+  }
+
+  private static int skipCharacter(final String value, final int index, final int end, final char character) {
+    return index >= 0 && index < end && value.charAt(index) == character ? index + 1 : -1;
+  }
+
+  private static int parseDigits(final String value, final int start, final int end) {
+    int number = 0;
+    for (int index = start; index < end; index++) {
+      number = number * 10 + value.charAt(index) - '0';
+    }
+    return number;
+  }
+
+  private static boolean isDigit(final char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  /**
+   * Returns the number of days from 1970-01-01 to the given date in the proleptic Gregorian calendar.
+   * @param year a year after 0
+   * @param month the month (1 to 12)
+   * @param day the day of the month
+   */
+  private static long getEpochDay(final int year, final int month, final int day) {
+    // Years start at March 1st so that the leap day is the last day of the year.
+    final int marchYear = month <= 2 ? year - 1 : year;
+    final int era = marchYear / 400;
+    final int yearOfEra = marchYear - era * 400;
+    final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return (long) era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  private static int getDaysInMonth(final int year, final int month) {
+    return month == 2 && year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : DAYS_IN_MONTH[month - 1];
+  }
+
+  /**
+   * Appends date and time (without fractional seconds) of the given point in time in UTC
+   * to the given string builder, in the form <code>yyyy-mm-ddThh:mm:ss</code>.
+   * @param result a {@link StringBuilder}
+   * @param timeInMillis milliseconds since 1970-01-01T00:00:00Z
+   */
+  static void appendDateTime(final StringBuilder result, final long timeInMillis) {
+    if (timeInMillis < GREGORIAN_CUTOVER_MILLIS || timeInMillis >= YEAR_10000_MILLIS) {
+      Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+      dateTimeValue.setTimeInMillis(timeInMillis);
+      appendDateTime(result, dateTimeValue.get(Calendar.YEAR),
+          dateTimeValue.get(Calendar.MONTH) + 1, // month is zero-based
+          dateTimeValue.get(Calendar.DAY_OF_MONTH),
+          dateTimeValue.get(Calendar.HOUR_OF_DAY),
+          dateTimeValue.get(Calendar.MINUTE),
+          dateTimeValue.get(Calendar.SECOND));
+      return;
+    }
+
+    final int secondOfDay = (int) (Math.floorMod(timeInMillis, MILLIS_PER_DAY) / 1000);
+    // Days since 0000-03-01; years start at March 1st so that the leap day is the last day of the year.
+    final int days = (int) (Math.floorDiv(timeInMillis, MILLIS_PER_DAY) + DAYS_0000_TO_1970);
+    final int era = days / DAYS_PER_400_YEARS;
+    final int dayOfEra = days - era * DAYS_PER_400_YEARS;
+    final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    final int marchMonth = (5 * dayOfYear + 2) / 153;
+    final int month = marchMonth < 10 ? marchMonth + 3 : marchMonth - 9;
+    appendDateTime(result,
+        era * 400 + yearOfEra + (month <= 2 ? 1 : 0),
+        month,
+        dayOfYear - (153 * marchMonth + 2) / 5 + 1,
+        secondOfDay / 3600,
+        secondOfDay / 60 % 60,
+        secondOfDay % 60);
+  }
+
+  private static void appendDateTime(final StringBuilder result, final int year, final int month, final int day,
+      final int hour, final int minute, final int second) {
+    appendTwoDigits(result, year / 100);
+    appendTwoDigits(result, year % 100);
+    result.append('-');
+    appendTwoDigits(result, month);
+    result.append('-');
+    appendTwoDigits(result, day);
+    result.append('T');
+    appendTwoDigits(result, hour);
+    result.append(':');
+    appendTwoDigits(result, minute);
+    result.append(':');
+    appendTwoDigits(result, second);
+  }
+
   /**
    * Appends the given number to the given string builder,
    * assuming that the number has at most two digits, performance-optimized.
@@ -268,4 +445,55 @@ public class EdmDateTime extends AbstractSimpleType {
   public String toUriLiteral(final String literal) throws EdmSimpleTypeException {
     return "datetime'" + literal + "'";
   }
+
+  /**
+   * Date and time fields of a literal, as read by {@link EdmDateTime#parseLocalDateTime}.
+   */
+  static final class LocalDateTimeFields {
+    int year;
+    int month;
+    int day;
+    int hour;
+    int minute;
+    int second;
+    int nanoSecond;
+    /** number of fractional digits without trailing zeroes */
+    int fractionDigits;
+
+    /**
+     * Checks the fields and computes the milliseconds since 1970-01-01T00:00:00Z
+     * of the date and time in UTC, without fractional seconds.
+     * @param literal the literal the fields have been read from, for error messages
+     * @throws EdmSimpleTypeException if a field is out of range
+     */
+    long toEpochMillis(final String literal) throws EdmSimpleTypeException {
+      if (year <= 1582) {
+        return toEpochMillisWithCalendar(literal);
+      }
+      if (month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month)
+          || hour > 23 || minute > 59 || second > 59) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(literal));
+      }
+      return (((getEpochDay(year, month, day) * 24 + hour) * 60 + minute) * 60 + second) * 1000;
+    }
+
+    /**
+     * Computes the milliseconds with {@link Calendar} which uses the Julian calendar
+     * before the Gregorian reform.
+     */
+    private long toEpochMillisWithCalendar(final String literal) throws EdmSimpleTypeException {
+      Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+      dateTimeValue.clear();
+      dateTimeValue.set(year, month - 1, day, hour, minute, second); // month is zero-based
+      // The Calendar class does not check any values until the time is computed,
+      // so we do just that to validate the fields set above. For strict checks,
+      // the lenient mode is switched off.
+      dateTimeValue.setLenient(false);
+      try {
+        return dateTimeValue.getTimeInMillis();
+      } catch (final IllegalArgumentException e) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(literal), e);
+      }
+    }
+  }
 }
@@ -19,16 +19,14 @@
 package org.apache.olingo.odata2.core.edm;
 
 import java.sql.Timestamp;
-import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.odata2.api.edm.EdmFacets;
 import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
 import org.apache.olingo.odata2.api.edm.EdmSimpleTypeException;
+import org.apache.olingo.odata2.core.edm.EdmDateTime.LocalDateTimeFields;
 
 /**
  * Implementation of the EDM simple type DateTimeOffset.
@@ -38,12 +36,6 @@ import org.apache.olingo.odata2.api.edm.EdmSimpleTypeException;
  */
 public class EdmDateTimeOffset extends AbstractSimpleType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "\\p{Digit}{1,4}-\\p{Digit}{1,2}-\\p{Digit}{1,2}"
-          + "T\\p{Digit}{1,2}:\\p{Digit}{1,2}(?::\\p{Digit}{1,2}(?:\\.\\p{Digit}{1,7})?)?"
-          + "(Z|([-+]\\p{Digit}{1,2}:\\p{Digit}{2}))?");
-  private static final Pattern JSON_PATTERN = Pattern.compile(
-      "/Date\\((-?\\p{Digit}+)(?:(\\+|-)(\\p{Digit}{1,4}))?\\)/");
   private static final EdmDateTimeOffset instance = new EdmDateTimeOffset();
 
   public static EdmDateTimeOffset getInstance() {
@@ -60,7 +52,7 @@ public class EdmDateTimeOffset extends AbstractSimpleType {
       final Class<T> returnType) throws EdmSimpleTypeException {
     if (literalKind == EdmLiteralKind.URI) {
       //OLINGO-883 prefix is case insensitve so we need to check with lower case if we want to use startsWith()
-      if (value.length() > 16 && value.toLowerCase().startsWith("datetimeoffset'") && value.endsWith("'")) {
+      if (value.length() > 16 && value.regionMatches(true, 0, "datetimeoffset'", 0, 15) && value.endsWith("'")) {
         return internalValueOfString(value.substring(15, value.length() - 1), EdmLiteralKind.DEFAULT, facets,
             returnType);
       } else {
@@ -68,60 +60,68 @@ public class EdmDateTimeOffset extends AbstractSimpleType {
       }
     }
 
-    Calendar dateTimeValue = null;
+    boolean isJsonForm = false;
     long millis = 0;
+    int offsetInMinutes = 0;
 
     if (literalKind == EdmLiteralKind.JSON) {
-      final Matcher matcher = JSON_PATTERN.matcher(value);
-      if (matcher.matches()) {
+      final int millisEnd = EdmDateTime.getJsonMillisEnd(value);
+      final int end = value.length() - 2;
+      if (millisEnd > 0 && (millisEnd == end || isJsonOffset(value, millisEnd, end))) {
         try {
-          millis = Long.parseLong(matcher.group(1));
+          millis = Long.parseLong(value.substring(6, millisEnd));
         } catch (final NumberFormatException e) {
           throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value), e);
         }
-        String timeZone = "GMT";
-        if (matcher.group(2) != null) {
-          final int offsetInMinutes = Integer.parseInt(matcher.group(3));
+        if (millisEnd < end) {
+          offsetInMinutes = Integer.parseInt(value.substring(millisEnd + 1, end));
           if (offsetInMinutes >= 24 * 60) {
             throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
           }
-          if (offsetInMinutes != 0) {
-            timeZone += matcher.group(2) + String.valueOf(offsetInMinutes / 60)
-                + ":" + String.format("%02d", offsetInMinutes % 60);
-            // Convert the local-time milliseconds to UTC.
-            millis -= ("+".equals(matcher.group(2)) ? 1 : -1) * offsetInMinutes * 60 * 1000;
+          if (value.charAt(millisEnd) == '-') {
+            offsetInMinutes = -offsetInMinutes;
           }
+          // Convert the local-time milliseconds to UTC.
+          millis -= offsetInMinutes * 60 * 1000;
         }
-        dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone(timeZone));
+        isJsonForm = true;
       }
     }
 
     int nanoSeconds = 0;
-    if (dateTimeValue == null) {
-      final Matcher matcher = PATTERN.matcher(value);
-      if (!matcher.matches()) {
-        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
+    if (!isJsonForm) {
+      int end = value.length();
+      if (end > 0 && value.charAt(end - 1) == 'Z') {
+        end--;
+      } else {
+        final int offsetStart = getOffsetStart(value);
+        if (offsetStart >= 0) {
+          final int hours = Integer.parseInt(value.substring(offsetStart + 1, end - 3));
+          final int minutes = Integer.parseInt(value.substring(end - 2));
+          if (hours > 23 || minutes > 59) {
+            throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
+          }
+          offsetInMinutes = (value.charAt(offsetStart) == '-' ? -1 : 1) * (hours * 60 + minutes);
+          end = offsetStart;
+        }
       }
 
-      final String timeZoneOffset =
-          matcher.group(1) != null && matcher.group(2) != null && !matcher.group(2).matches("[-+]0+:0+") ? matcher
-              .group(2) : null;
-      dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT" + timeZoneOffset));
-      if (dateTimeValue.get(Calendar.ZONE_OFFSET) == 0 && timeZoneOffset != null) {
+      final LocalDateTimeFields fields = EdmDateTime.parseLocalDateTime(value, end, 7);
+      if (fields == null) {
         throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
       }
-      dateTimeValue.clear();
-      final Timestamp timestamp = EdmDateTime.getInstance().internalValueOfString(
-          value.substring(0, matcher.group(1) == null ? value.length() : matcher.start(1)),
-          EdmLiteralKind.DEFAULT, facets, Timestamp.class);
-      millis = timestamp.getTime() - dateTimeValue.get(Calendar.ZONE_OFFSET);
-      nanoSeconds = timestamp.getNanos();
+      if (facets != null && facets.getPrecision() != null && facets.getPrecision() < fields.fractionDigits) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_FACETS_NOT_MATCHED.addContent(value, facets));
+      }
+      nanoSeconds = fields.nanoSecond;
+      millis = fields.toEpochMillis(value) + nanoSeconds / (1000 * 1000) - offsetInMinutes * 60 * 1000;
       if (nanoSeconds % (1000 * 1000) != 0 && !returnType.isAssignableFrom(Timestamp.class)) {
         throw new EdmSimpleTypeException(EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT.addContent(value));
       }
     }
 
     if (returnType.isAssignableFrom(Calendar.class)) {
+      Calendar dateTimeValue = Calendar.getInstance(getTimeZone(offsetInMinutes));
       dateTimeValue.clear();
       dateTimeValue.setTimeInMillis(millis);
       return returnType.cast(dateTimeValue);
@@ -140,10 +140,64 @@ public class EdmDateTimeOffset extends AbstractSimpleType {
     }
   }
 
+  /**
+   * Checks whether the JSON literal has a time-zone offset <code>(+|-)mmmm</code>
+   * of one to four digits between the given indexes.
+   */
+  private static boolean isJsonOffset(final String value, final int start, final int end) {
+    final char sign = value.charAt(start);
+    if (sign != '+' && sign != '-' || end - start < 2 || end - start > 5) {
+      return false;
+    }
+    for (int index = start + 1; index < end; index++) {
+      if (value.charAt(index) < '0' || value.charAt(index) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the start index of a time-zone offset <code>(+|-)h[h]:mm</code> at the end of the literal.
+   * @return the index of the sign, or -1 if the literal does not end with an offset
+   */
+  private static int getOffsetStart(final String value) {
+    int index = value.length() - 1;
+    if (index < 4 || !isDigit(value.charAt(index)) || !isDigit(value.charAt(index - 1))
+        || value.charAt(index - 2) != ':' || !isDigit(value.charAt(index - 3))) {
+      return -1;
+    }
+    index -= 4;
+    if (isDigit(value.charAt(index))) {
+      if (index == 0) {
+        return -1;
+      }
+      index--;
+    }
+    return value.charAt(index) == '+' || value.charAt(index) == '-' ? index : -1;
+  }
+
+  private static boolean isDigit(final char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  /**
+   * Returns the time zone for the given offset;
+   * only needed for {@link Calendar} values, so it is not looked up for other value types.
+   */
+  private static TimeZone getTimeZone(final int offsetInMinutes) {
+    if (offsetInMinutes == 0) {
+      return TimeZone.getTimeZone("GMT");
+    }
+    final int minutes = Math.abs(offsetInMinutes);
+    return TimeZone.getTimeZone("GMT" + (offsetInMinutes < 0 ? '-' : '+') + minutes / 60
+        + ':' + minutes % 60 / 10 + minutes % 10);
+  }
+
   @Override
   protected <T> String internalValueToString(final T value, final EdmLiteralKind literalKind, final EdmFacets facets)
       throws EdmSimpleTypeException {
-    Long milliSeconds; // number of milliseconds since 1970-01-01T00:00:00Z
+    long milliSeconds; // number of milliseconds since 1970-01-01T00:00:00Z
     if (value instanceof Date) {
       milliSeconds = ((Date) value).getTime();
     } else if (value instanceof Calendar) {
@@ -151,26 +205,29 @@ public class EdmDateTimeOffset extends AbstractSimpleType {
       milliSeconds = dateTimeValue.getTimeInMillis();
     } else if (value instanceof Long) {
       milliSeconds = (Long) value;
-    } else if (value instanceof Instant) {
-      try {
-        milliSeconds = ((Instant) value).toEpochMilli();
-      } catch (ArithmeticException e) { // in case the Instant is far away from epoch
-        milliSeconds = Long.MAX_VALUE;
-      }
     } else {
-      throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(value.getClass()));
+      final Long javaTimeMillis = EdmDateTime.getJavaTimeMillis(value);
+      if (javaTimeMillis == null) {
+        throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_TYPE_NOT_SUPPORTED.addContent(value.getClass()));
+      }
+      milliSeconds = javaTimeMillis;
     }
 
-
     if (literalKind == EdmLiteralKind.JSON) {
-        return "/Date(" + milliSeconds + ")/";
-    } else {
-      final String localTimeString =
-          EdmDateTime.getInstance().valueToString(
-              value instanceof Timestamp ? value : milliSeconds, EdmLiteralKind.DEFAULT, facets);
+      return "/Date(" + milliSeconds + ")/";
+    }
 
-      return localTimeString + "Z";
+    StringBuilder result = new StringBuilder(30);
+    EdmDateTime.appendDateTime(result, milliSeconds);
+    final int fractionalSecs = value instanceof Timestamp ?
+        ((Timestamp) value).getNanos() :
+        (int) Math.floorMod(milliSeconds, 1000L);
+    try {
+      EdmDateTime.appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, facets);
+    } catch (final IllegalArgumentException e) {
+      throw new EdmSimpleTypeException(EdmSimpleTypeException.VALUE_FACETS_NOT_MATCHED.addContent(value, facets), e);
     }
+    return result.append('Z').toString();
   }
 
   @Override
@@ -21,6 +21,7 @@ package org.apache.olingo.odata2.core.edm;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.olingo.odata2.api.edm.Edm;
 import org.apache.olingo.odata2.api.edm.EdmAssociation;
@@ -33,12 +34,15 @@ import org.apache.olingo.odata2.api.edm.EdmFunctionImport;
 import org.apache.olingo.odata2.api.edm.EdmServiceMetadata;
 import org.apache.olingo.odata2.api.edm.FullQualifiedName;
 import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.core.uri.UriParseCache;
 
 /**
  *  
  */
 public abstract class EdmImpl implements Edm {
 
+  private static final String DEFAULT_CONTAINER_KEY = " default";
+
   private Map<String, EdmEntityContainer> edmEntityContainers;
   private Map<FullQualifiedName, EdmEntityType> edmEntityTypes;
   private Map<FullQualifiedName, EdmComplexType> edmComplexTypes;
@@ -49,18 +53,38 @@ public abstract class EdmImpl implements Edm {
 
   protected EdmServiceMetadata edmServiceMetadata;
 
+  private volatile UriParseCache uriParseCache;
+
   public EdmImpl(final EdmServiceMetadata edmServiceMetadata) {
-    edmEntityContainers = new HashMap<String, EdmEntityContainer>();
-    edmEntityTypes = new HashMap<FullQualifiedName, EdmEntityType>();
-    edmComplexTypes = new HashMap<FullQualifiedName, EdmComplexType>();
-    edmAssociations = new HashMap<FullQualifiedName, EdmAssociation>();
+    edmEntityContainers = new ConcurrentHashMap<String, EdmEntityContainer>();
+    edmEntityTypes = new ConcurrentHashMap<FullQualifiedName, EdmEntityType>();
+    edmComplexTypes = new ConcurrentHashMap<FullQualifiedName, EdmComplexType>();
+    edmAssociations = new ConcurrentHashMap<FullQualifiedName, EdmAssociation>();
     this.edmServiceMetadata = edmServiceMetadata;
   }
 
+  /**
+   * Returns the cache of URI parse results for this entity data model.
+   * @return the cache or <code>null</code> if URI parse results are not cached
+   */
+  public UriParseCache getUriParseCache() {
+    return uriParseCache;
+  }
+
+  /**
+   * Sets the cache of URI parse results; only useful if this entity data model is shared across requests
+   * and not modified any more.
+   * @param uriParseCache the cache or <code>null</code> to disable caching
+   */
+  public void setUriParseCache(final UriParseCache uriParseCache) {
+    this.uriParseCache = uriParseCache;
+  }
+
   @Override
   public EdmEntityContainer getEntityContainer(final String name) throws EdmException {
-    if (edmEntityContainers.containsKey(name)) {
-      return edmEntityContainers.get(name);
+    final String key = getContainerKey(name);
+    if (edmEntityContainers.containsKey(key)) {
+      return edmEntityContainers.get(key);
     }
 
     EdmEntityContainer edmEntityContainer = null;
@@ -68,17 +92,18 @@ public abstract class EdmImpl implements Edm {
     try {
       edmEntityContainer = createEntityContainer(name);
       if (edmEntityContainer != null) {
-        if (name == null && edmEntityContainers.containsKey(edmEntityContainer.getName())) {
-          // ensure that the same default entity container is stored in the HashMap under null and its name
+        if (name == null && edmEntityContainer.getName() != null
+            && edmEntityContainers.containsKey(edmEntityContainer.getName())) {
+          // ensure that the same default entity container is stored in the map under null and its name
           edmEntityContainer = edmEntityContainers.get(edmEntityContainer.getName());
-          edmEntityContainers.put(name, edmEntityContainer);
-        } else if (edmEntityContainers.containsKey(null) && edmEntityContainers.get(null) != null
-            && name != null && name.equals(edmEntityContainers.get(null).getName())) {
-          // ensure that the same default entity container is stored in the HashMap under null and its name
-          edmEntityContainer = edmEntityContainers.get(null);
-          edmEntityContainers.put(name, edmEntityContainer);
+          edmEntityContainers.put(key, edmEntityContainer);
+        } else if (edmEntityContainers.containsKey(DEFAULT_CONTAINER_KEY)
+            && name != null && name.equals(edmEntityContainers.get(DEFAULT_CONTAINER_KEY).getName())) {
+          // ensure that the same default entity container is stored in the map under null and its name
+          edmEntityContainer = edmEntityContainers.get(DEFAULT_CONTAINER_KEY);
+          edmEntityContainers.put(key, edmEntityContainer);
         } else {
-          edmEntityContainers.put(name, edmEntityContainer);
+          edmEntityContainers.put(key, edmEntityContainer);
         }
       }
     } catch (EdmException e) {
@@ -90,6 +115,14 @@ public abstract class EdmImpl implements Edm {
     return edmEntityContainer;
   }
 
+  /**
+   * The concurrent map does not support <code>null</code> keys, so the default entity container
+   * is stored under a key which is no valid container name.
+   */
+  private static String getContainerKey(final String name) {
+    return name == null ? DEFAULT_CONTAINER_KEY : name;
+  }
+
   @Override
   public EdmEntityType getEntityType(final String namespaceOrAlias, final String name) throws EdmException {
     String finalNamespace = getNamespaceForAlias(namespaceOrAlias);
@@ -214,8 +214,14 @@ public class EdmEntityContainerImplProv implements EdmEntityContainer, EdmAnnota
       List<EntityContainer> entityContainerHierachyList = getEntityContainerHierachy();
       for (EntityContainer entityContainer : entityContainerHierachyList) {
         List<EntitySet> entitySets = entityContainer.getEntitySets();
+        if (entitySets == null) {
+          continue;
+        }
         for (EntitySet entitySet : entitySets) {
-          EdmEntitySet ees = createEntitySet(entitySet);
+          EdmEntitySet ees = edmEntitySets.get(entitySet.getName());
+          if (ees == null) {
+            ees = createEntitySet(entitySet);
+          }
           edmEntitySetsList.add(ees);
         }
       }
@@ -232,6 +238,9 @@ public class EdmEntityContainerImplProv implements EdmEntityContainer, EdmAnnota
       List<EdmAssociationSet> edmAssociationSetsList = new ArrayList<EdmAssociationSet>();
       for (EntityContainer entityContainer : containers) {
         List<AssociationSet> associationSets = entityContainer.getAssociationSets();
+        if (associationSets == null) {
+          continue;
+        }
         for (AssociationSet associationSet : associationSets) {
           EdmAssociationSet eas = createAssociationSet(associationSet);
           edmAssociationSetsList.add(eas);
@@ -261,18 +270,19 @@ public class EdmEntityContainerImplProv implements EdmEntityContainer, EdmAnnota
       return entityContainerHierachy;
     }
 
-    entityContainerHierachy = new ArrayList<EntityContainer>();
+    List<EntityContainer> temp = new ArrayList<EntityContainer>();
     Map<String, EntityContainer> name2Container = getEntityContainerMap();
     String currentName = getName();
     while (currentName != null) {
       EntityContainer currentContainer = name2Container.get(currentName);
-      entityContainerHierachy.add(currentContainer);
+      temp.add(currentContainer);
       currentName = currentContainer.getExtendz();
     }
 
-    if (entityContainerHierachy.isEmpty()) {
+    if (temp.isEmpty()) {
       throw new EdmException(EdmException.PROVIDERPROBLEM, "No container at all found.");
     }
+    entityContainerHierachy = temp;
     return entityContainerHierachy;
   }
   
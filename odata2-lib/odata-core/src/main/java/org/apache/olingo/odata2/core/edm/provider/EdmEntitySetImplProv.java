@@ -18,6 +18,9 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.edm.provider;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.olingo.odata2.api.edm.EdmAnnotatable;
 import org.apache.olingo.odata2.api.edm.EdmAnnotations;
 import org.apache.olingo.odata2.api.edm.EdmAssociationSet;
@@ -30,13 +33,18 @@ import org.apache.olingo.odata2.api.edm.EdmMapping;
 import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
 import org.apache.olingo.odata2.api.edm.FullQualifiedName;
 import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.core.ep.aggregator.EntityInfoAggregator;
 
 public class EdmEntitySetImplProv extends EdmNamedImplProv implements EdmEntitySet, EdmAnnotatable {
 
+  private static final int MAX_ENTITY_INFO_AGGREGATORS = 32;
+
   private EntitySet entitySet;
   private EdmEntityContainer edmEntityContainer;
   private EdmEntityType edmEntityType;
   private EdmAnnotationsImplProv annotations;
+  private final ConcurrentMap<String, EntityInfoAggregator> entityInfoAggregators =
+      new ConcurrentHashMap<String, EntityInfoAggregator>();
 
   public EdmEntitySetImplProv(final EdmImplProv edm, final EntitySet entitySet,
       final EdmEntityContainer edmEntityContainer) throws EdmException {
@@ -89,4 +97,26 @@ public class EdmEntitySetImplProv extends EdmNamedImplProv implements EdmEntityS
   public EdmMapping getMapping() throws EdmException {
     return entitySet.getMapping();
   }
+
+  /**
+   * Returns a cached serialization plan of this entity set.
+   * @param shape the normalized <code>$select</code>/<code>$expand</code> shape the plan was built for
+   * @return the cached {@link EntityInfoAggregator} or <code>null</code>
+   */
+  public EntityInfoAggregator getEntityInfoAggregator(final String shape) {
+    return entityInfoAggregators.get(shape);
+  }
+
+  /**
+   * Caches a serialization plan of this entity set. As the shapes are chosen by the clients,
+   * only a limited number of them is kept.
+   * @param shape the normalized <code>$select</code>/<code>$expand</code> shape the plan was built for
+   * @param entityInfoAggregator the immutable plan
+   */
+  public void putEntityInfoAggregator(final String shape, final EntityInfoAggregator entityInfoAggregator) {
+    if (entityInfoAggregators.size() >= MAX_ENTITY_INFO_AGGREGATORS) {
+      entityInfoAggregators.clear();
+    }
+    entityInfoAggregators.put(shape, entityInfoAggregator);
+  }
 }
@@ -69,16 +69,17 @@ public class EdmEntityTypeImplProv extends EdmStructuralTypeImplProv implements
         return ((EdmEntityType) edmBaseType).getKeyPropertyNames();
       }
 
-      edmKeyPropertyNames = new ArrayList<String>();
+      final List<String> temp = new ArrayList<String>();
 
       if (entityType.getKey() != null) {
         for (final PropertyRef keyProperty : entityType.getKey().getKeys()) {
-          edmKeyPropertyNames.add(keyProperty.getName());
+          temp.add(keyProperty.getName());
         }
       } else {
         // Entity Type does not define a key
         throw new EdmException(EdmException.COMMON);
       }
+      edmKeyPropertyNames = temp;
     }
 
     return edmKeyPropertyNames;
@@ -92,18 +93,20 @@ public class EdmEntityTypeImplProv extends EdmStructuralTypeImplProv implements
       }
 
       if (keyProperties == null) {
-        keyProperties = new HashMap<String, EdmProperty>();
-        edmKeyProperties = new ArrayList<EdmProperty>();
+        final Map<String, EdmProperty> tempMap = new HashMap<String, EdmProperty>();
+        final List<EdmProperty> temp = new ArrayList<EdmProperty>();
 
         for (String keyPropertyName : getKeyPropertyNames()) {
           final EdmTyped edmProperty = getProperty(keyPropertyName);
           if (edmProperty != null && edmProperty instanceof EdmProperty) {
-            keyProperties.put(keyPropertyName, (EdmProperty) edmProperty);
-            edmKeyProperties.add((EdmProperty) edmProperty);
+            tempMap.put(keyPropertyName, (EdmProperty) edmProperty);
+            temp.add((EdmProperty) edmProperty);
           } else {
             throw new EdmException(EdmException.COMMON);
           }
         }
+        keyProperties = tempMap;
+        edmKeyProperties = temp;
       }
     }
 
@@ -123,15 +126,16 @@ public class EdmEntityTypeImplProv extends EdmStructuralTypeImplProv implements
   @Override
   public List<String> getNavigationPropertyNames() throws EdmException {
     if (edmNavigationPropertyNames == null) {
-      edmNavigationPropertyNames = new ArrayList<String>();
+      final List<String> temp = new ArrayList<String>();
       if (edmBaseType != null) {
-        edmNavigationPropertyNames.addAll(((EdmEntityType) edmBaseType).getNavigationPropertyNames());
+        temp.addAll(((EdmEntityType) edmBaseType).getNavigationPropertyNames());
       }
       if (entityType.getNavigationProperties() != null) {
         for (final NavigationProperty navigationProperty : entityType.getNavigationProperties()) {
-          edmNavigationPropertyNames.add(navigationProperty.getName());
+          temp.add(navigationProperty.getName());
         }
       }
+      edmNavigationPropertyNames = temp;
     }
     return edmNavigationPropertyNames;
   }
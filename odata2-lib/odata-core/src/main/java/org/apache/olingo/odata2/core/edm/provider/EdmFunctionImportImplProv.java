@@ -97,14 +97,15 @@ public class EdmFunctionImportImplProv extends EdmNamedImplProv implements EdmFu
   @Override
   public List<String> getParameterNames() throws EdmException {
     if (parametersList == null) {
-      parametersList = new ArrayList<String>();
+      final List<String> temp = new ArrayList<String>();
 
       List<FunctionImportParameter> functionImportParameters = functionImport.getParameters();
       if(functionImportParameters != null) {
         for (FunctionImportParameter parameter : functionImportParameters) {
-          parametersList.add(parameter.getName());
+          temp.add(parameter.getName());
         }
       }
+      parametersList = temp;
     }
 
     return parametersList;
@@ -19,19 +19,26 @@
 package org.apache.olingo.odata2.core.edm.provider;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.olingo.odata2.api.edm.EdmAnnotatable;
 import org.apache.olingo.odata2.api.edm.EdmAssociation;
 import org.apache.olingo.odata2.api.edm.EdmComplexType;
 import org.apache.olingo.odata2.api.edm.EdmEntityContainer;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.edm.EdmFunctionImport;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmStructuralType;
+import org.apache.olingo.odata2.api.edm.EdmTyped;
 import org.apache.olingo.odata2.api.edm.FullQualifiedName;
 import org.apache.olingo.odata2.api.edm.provider.AliasInfo;
 import org.apache.olingo.odata2.api.edm.provider.Association;
+import org.apache.olingo.odata2.api.edm.provider.AssociationSet;
 import org.apache.olingo.odata2.api.edm.provider.ComplexType;
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
 import org.apache.olingo.odata2.api.edm.provider.EdmProviderAccessor;
@@ -91,6 +98,128 @@ public class EdmImplProv extends EdmImpl implements EdmProviderAccessor {
     return new EdmAssociationImplProv(this, association, fqName.getNamespace());
   }
 
+  /**
+   * Resolves every element the {@link EdmProvider} declares in its schemas so that all lazily
+   * filled caches of this entity data model are populated. Afterwards lookups of declared elements
+   * only read these caches and never call the provider again, which makes a preloaded instance
+   * safe to share between threads once it has been safely published.
+   * @throws ODataException if the provider fails
+   */
+  public void preload() throws ODataException {
+    getServiceMetadata().getDataServiceVersion();
+    getServiceMetadata().getEntitySetInfos();
+    getEntitySets();
+    getFunctionImports();
+    getDefaultEntityContainer();
+
+    for (Schema schema : getSchemas()) {
+      String namespace = schema.getNamespace();
+      for (EntityType entityType : listOrEmptyList(schema.getEntityTypes())) {
+        preloadEntityType(getEntityType(namespace, entityType.getName()));
+      }
+      for (ComplexType complexType : listOrEmptyList(schema.getComplexTypes())) {
+        preloadStructuralType(getComplexType(namespace, complexType.getName()));
+      }
+      for (Association association : listOrEmptyList(schema.getAssociations())) {
+        EdmAssociation edmAssociation = getAssociation(namespace, association.getName());
+        if (edmAssociation != null) {
+          edmAssociation.getAnnotations();
+          edmAssociation.getReferentialConstraint();
+        }
+      }
+      for (EntityContainer entityContainer : listOrEmptyList(schema.getEntityContainers())) {
+        preloadEntityContainer(getEntityContainer(entityContainer.getName()), entityContainer);
+      }
+    }
+  }
+
+  private void preloadEntityContainer(final EdmEntityContainer edmEntityContainer,
+      final EntityContainer entityContainer) throws ODataException {
+    if (edmEntityContainer == null) {
+      return;
+    }
+    edmEntityContainer.getAnnotations();
+    edmEntityContainer.getNamespace();
+    edmEntityContainer.getEntitySets();
+    edmEntityContainer.getAssociationSets();
+    for (EntitySet entitySet : listOrEmptyList(entityContainer.getEntitySets())) {
+      EdmEntitySet edmEntitySet = edmEntityContainer.getEntitySet(entitySet.getName());
+      edmEntitySet.getAnnotations();
+      EdmEntityType edmEntityType = edmEntitySet.getEntityType();
+      for (String name : edmEntityType.getNavigationPropertyNames()) {
+        EdmNavigationProperty navigationProperty = (EdmNavigationProperty) edmEntityType.getProperty(name);
+        try {
+          edmEntitySet.getRelatedEntitySet(navigationProperty);
+        } catch (EdmException e) {
+          // a navigation without association set only fails when it is used, so it must not fail the preload
+        }
+      }
+    }
+    for (AssociationSet associationSet : listOrEmptyList(entityContainer.getAssociationSets())) {
+      edmEntityContainer.getEntitySet(associationSet.getEnd1().getEntitySet());
+      edmEntityContainer.getEntitySet(associationSet.getEnd2().getEntitySet());
+    }
+    for (FunctionImport functionImport : listOrEmptyList(entityContainer.getFunctionImports())) {
+      EdmFunctionImport edmFunctionImport = edmEntityContainer.getFunctionImport(functionImport.getName());
+      edmFunctionImport.getAnnotations();
+      for (String name : edmFunctionImport.getParameterNames()) {
+        preloadTyped(edmFunctionImport.getParameter(name));
+      }
+      if (edmFunctionImport.getReturnType() != null) {
+        edmFunctionImport.getReturnType().getType();
+      }
+    }
+  }
+
+  private void preloadEntityType(final EdmEntityType edmEntityType) throws EdmException {
+    if (edmEntityType == null) {
+      return;
+    }
+    preloadStructuralType(edmEntityType);
+    edmEntityType.getKeyPropertyNames();
+    edmEntityType.getKeyProperties();
+    for (String name : edmEntityType.getNavigationPropertyNames()) {
+      EdmNavigationProperty navigationProperty = (EdmNavigationProperty) edmEntityType.getProperty(name);
+      navigationProperty.getAnnotations();
+      navigationProperty.getRelationship();
+      navigationProperty.getType();
+    }
+  }
+
+  private void preloadStructuralType(final EdmStructuralType edmStructuralType) throws EdmException {
+    if (edmStructuralType == null) {
+      return;
+    }
+    edmStructuralType.getAnnotations();
+    for (String name : edmStructuralType.getPropertyNames()) {
+      preloadTyped(edmStructuralType.getProperty(name));
+    }
+  }
+
+  private void preloadTyped(final EdmTyped edmTyped) throws EdmException {
+    if (edmTyped == null) {
+      return;
+    }
+    edmTyped.getType();
+    if (edmTyped instanceof EdmAnnotatable) {
+      ((EdmAnnotatable) edmTyped).getAnnotations();
+    }
+  }
+
+  private <T> List<T> listOrEmptyList(final List<T> list) {
+    if (list == null) {
+      return Collections.emptyList();
+    }
+    return list;
+  }
+
+  private List<Schema> getSchemas() throws ODataException {
+    if (schemas == null) {
+      schemas = edmProvider.getSchemas();
+    }
+    return schemas;
+  }
+
   @Override
   public EdmProvider getEdmProvider() {
     return edmProvider;
@@ -99,12 +228,9 @@ public class EdmImplProv extends EdmImpl implements EdmProviderAccessor {
   @Override
   protected List<EdmEntitySet> createEntitySets() throws ODataException {
     List<EdmEntitySet> edmEntitySets = new ArrayList<EdmEntitySet>();
-    if (schemas == null) {
-      schemas = edmProvider.getSchemas();
-    }
-    for (Schema schema : schemas) {
-      for (EntityContainer entityContainer : schema.getEntityContainers()) {
-        for (EntitySet entitySet : entityContainer.getEntitySets()) {
+    for (Schema schema : getSchemas()) {
+      for (EntityContainer entityContainer : listOrEmptyList(schema.getEntityContainers())) {
+        for (EntitySet entitySet : listOrEmptyList(entityContainer.getEntitySets())) {
           EdmEntityContainer edmEntityContainer = createEntityContainer(entityContainer.getName());
           edmEntitySets.add(new EdmEntitySetImplProv(this, entitySet, edmEntityContainer));
         }
@@ -116,12 +242,9 @@ public class EdmImplProv extends EdmImpl implements EdmProviderAccessor {
   @Override
   protected List<EdmFunctionImport> createFunctionImports() throws ODataException {
     List<EdmFunctionImport> edmFunctionImports = new ArrayList<EdmFunctionImport>();
-    if (schemas == null) {
-      schemas = edmProvider.getSchemas();
-    }
-    for (Schema schema : schemas) {
-      for (EntityContainer entityContainer : schema.getEntityContainers()) {
-        for (FunctionImport functionImport : entityContainer.getFunctionImports()) {
+    for (Schema schema : getSchemas()) {
+      for (EntityContainer entityContainer : listOrEmptyList(schema.getEntityContainers())) {
+        for (FunctionImport functionImport : listOrEmptyList(entityContainer.getFunctionImports())) {
           EdmEntityContainer edmEntityContainer = createEntityContainer(entityContainer.getName());
           edmFunctionImports.add(new EdmFunctionImportImplProv(this, functionImport, edmEntityContainer));
         }
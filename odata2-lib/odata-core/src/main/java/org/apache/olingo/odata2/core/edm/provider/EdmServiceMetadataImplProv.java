@@ -21,10 +21,11 @@ package org.apache.olingo.odata2.core.edm.provider;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -41,6 +42,7 @@ import org.apache.olingo.odata2.api.edm.provider.Property;
 import org.apache.olingo.odata2.api.edm.provider.Schema;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.core.commons.CachedDocument;
 import org.apache.olingo.odata2.core.commons.XmlHelper;
 import org.apache.olingo.odata2.core.ep.producer.XmlMetadataProducer;
 import org.apache.olingo.odata2.core.ep.util.CircleStreamBuffer;
@@ -51,10 +53,14 @@ import org.apache.olingo.odata2.core.ep.util.CircleStreamBuffer;
 public class EdmServiceMetadataImplProv implements EdmServiceMetadata {
 
   private static final String EDM_PROVIDER_EXEPTION = "EdmProvider is not set.";
+  private static final int MAX_SERVICE_DOCUMENTS = 16;
   private EdmProvider edmProvider;
   private String dataServiceVersion;
   private List<Schema> schemas;
   private List<EdmEntitySetInfo> entitySetInfos;
+  private volatile CachedDocument metadataDocument;
+  private final ConcurrentMap<String, CachedDocument> serviceDocuments =
+      new ConcurrentHashMap<String, CachedDocument>();
 
   public EdmServiceMetadataImplProv(final EdmProvider edmProvider) {
     this.edmProvider = edmProvider;
@@ -62,6 +68,51 @@ public class EdmServiceMetadataImplProv implements EdmServiceMetadata {
 
   @Override
   public InputStream getMetadata() throws ODataException {
+    return getMetadataDocument().getContent();
+  }
+
+  @Override
+  public InputStream getCompressedMetadata() throws ODataException {
+    return getMetadataDocument().getCompressedContent();
+  }
+
+  @Override
+  public String getMetadataETag() throws ODataException {
+    return getMetadataDocument().getETag();
+  }
+
+  /**
+   * Returns a rendered service document cached for this entity data model.
+   * @param key identifies content type and service root of the service document
+   * @return the cached document or <code>null</code>
+   */
+  public CachedDocument getServiceDocument(final String key) {
+    return serviceDocuments.get(key);
+  }
+
+  /**
+   * Caches a rendered service document for this entity data model. As the service root is taken from
+   * the request, only a limited number of variants is kept.
+   * @param key identifies content type and service root of the service document
+   * @param serviceDocument the rendered service document
+   */
+  public void putServiceDocument(final String key, final CachedDocument serviceDocument) {
+    if (serviceDocuments.size() >= MAX_SERVICE_DOCUMENTS) {
+      serviceDocuments.clear();
+    }
+    serviceDocuments.put(key, serviceDocument);
+  }
+
+  private CachedDocument getMetadataDocument() throws ODataException {
+    CachedDocument document = metadataDocument;
+    if (document == null) {
+      document = renderMetadata();
+      metadataDocument = document;
+    }
+    return document;
+  }
+
+  private CachedDocument renderMetadata() throws ODataException {
     if(edmProvider == null){
        throw new ODataException(EDM_PROVIDER_EXEPTION);
     }
@@ -77,11 +128,13 @@ public class EdmServiceMetadataImplProv implements EdmServiceMetadata {
       writer = new OutputStreamWriter(csb.getOutputStream(), "UTF-8");
       XMLStreamWriter xmlStreamWriter = XmlHelper.getXMLOutputFactory().createXMLStreamWriter(writer);
       XmlMetadataProducer.writeMetadata(metadata, xmlStreamWriter, null);
-      return csb.getInputStream();
+      writer.close();
+      writer = null;
+      return CachedDocument.create(csb.getInputStream());
     } catch (XMLStreamException e) {
       cachedException = new EntityProviderException(EntityProviderException.COMMON, e);
       throw cachedException;
-    } catch (UnsupportedEncodingException e) {
+    } catch (IOException e) {
       cachedException = new EntityProviderException(EntityProviderException.COMMON, e);
       throw cachedException;
     } finally {// NOPMD (suppress DoNotThrowExceptionInFinally)
@@ -145,7 +198,7 @@ public class EdmServiceMetadataImplProv implements EdmServiceMetadata {
       throw new ODataException(EDM_PROVIDER_EXEPTION);
    }
     if (entitySetInfos == null) {
-      entitySetInfos = new ArrayList<EdmEntitySetInfo>();
+      final List<EdmEntitySetInfo> temp = new ArrayList<EdmEntitySetInfo>();
 
       if (schemas == null) {
         schemas = edmProvider.getSchemas();
@@ -155,10 +208,11 @@ public class EdmServiceMetadataImplProv implements EdmServiceMetadata {
         for (EntityContainer entityContainer : listOrEmptyList(schema.getEntityContainers())) {
           for (EntitySet entitySet : listOrEmptyList(entityContainer.getEntitySets())) {
             EdmEntitySetInfo entitySetInfo = new EdmEntitySetInfoImplProv(entitySet, entityContainer);
-            entitySetInfos.add(entitySetInfo);
+            temp.add(entitySetInfo);
           }
         }
       }
+      entitySetInfos = temp;
 
     }
 
@@ -18,9 +18,11 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.ep;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -42,6 +44,7 @@ import org.apache.olingo.odata2.api.edm.EdmTypeKind;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
@@ -66,6 +69,7 @@ import org.apache.olingo.odata2.core.ep.producer.XmlLinkEntityProducer;
 import org.apache.olingo.odata2.core.ep.producer.XmlLinksEntityProducer;
 import org.apache.olingo.odata2.core.ep.producer.XmlPropertyEntityProducer;
 import org.apache.olingo.odata2.core.ep.util.CircleStreamBuffer;
+import org.apache.olingo.odata2.core.ep.util.StreamingFeedContent;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 
 /**
@@ -266,6 +270,29 @@ public class AtomEntityProvider implements ContentTypeBasedEntityProvider {
     }
   }
 
+  @Override
+  public ODataResponse writeStreamingFeed(final EdmEntitySet entitySet, final Iterator<Map<String, Object>> data,
+      final EntityProviderWriteProperties properties) throws EntityProviderException {
+    final AtomFeedProducer atomFeedProvider = new AtomFeedProducer(properties);
+    final EntityInfoAggregator eia = EntityInfoAggregator.create(entitySet, properties.getExpandSelectTree());
+
+    return ODataResponse.entity(new StreamingFeedContent(data) {
+      @Override
+      protected void writeFeed(final OutputStream out, final Iterator<Map<String, Object>> entries)
+          throws EntityProviderException, IOException {
+        try {
+          XMLStreamWriter writer = XmlHelper.getXMLOutputFactory().createXMLStreamWriter(out, DEFAULT_CHARSET);
+          writer.writeStartDocument(DEFAULT_CHARSET, XML_VERSION);
+          atomFeedProvider.append(writer, eia, entries, false);
+          writer.flush();
+        } catch (XMLStreamException e) {
+          throw new EntityProviderProducerException(EntityProviderException.EXCEPTION_OCCURRED.addContent(e
+              .getClass().getSimpleName()), e);
+        }
+      }
+    }).build();
+  }
+
   @Override
   public ODataResponse writeLink(final EdmEntitySet entitySet, final Map<String, Object> data,
       final EntityProviderWriteProperties properties) throws EntityProviderException {
@@ -393,6 +420,12 @@ public class AtomEntityProvider implements ContentTypeBasedEntityProvider {
     return xec.readFeed(entitySet, content, properties);
   }
 
+  @Override
+  public ODataDeltaFeed readFeed(final EdmEntitySet entitySet, final InputStream content,
+      final EntityProviderReadProperties properties, final OnReadFeedEntry callback) throws EntityProviderException {
+    return new XmlEntityConsumer().readFeed(entitySet, content, properties, callback);
+  }
+
   @Override
   public ODataEntry readEntry(final EdmEntitySet entitySet, final InputStream content,
       final EntityProviderReadProperties properties) throws EntityProviderException {
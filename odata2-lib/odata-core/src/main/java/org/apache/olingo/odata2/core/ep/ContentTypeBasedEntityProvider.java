@@ -19,6 +19,7 @@
 package org.apache.olingo.odata2.core.ep;
 
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -31,6 +32,7 @@ import org.apache.olingo.odata2.api.edm.EdmProperty;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
@@ -64,6 +66,9 @@ public interface ContentTypeBasedEntityProvider {
   ODataResponse writeFeed(EdmEntitySet entitySet, List<Map<String, Object>> data,
       EntityProviderWriteProperties properties) throws EntityProviderException;
 
+  ODataResponse writeStreamingFeed(EdmEntitySet entitySet, Iterator<Map<String, Object>> data,
+      EntityProviderWriteProperties properties) throws EntityProviderException;
+
   ODataResponse writeEntry(EdmEntitySet entitySet, Map<String, Object> data, EntityProviderWriteProperties properties)
       throws EntityProviderException;
 
@@ -88,6 +93,9 @@ public interface ContentTypeBasedEntityProvider {
   ODataDeltaFeed readDeltaFeed(EdmEntitySet entitySet, InputStream content, EntityProviderReadProperties properties)
       throws EntityProviderException;
 
+  ODataDeltaFeed readFeed(EdmEntitySet entitySet, InputStream content, EntityProviderReadProperties properties,
+      OnReadFeedEntry callback) throws EntityProviderException;
+
   ODataErrorContext readErrorDocument(InputStream errorDocument) throws EntityProviderException;
 
   Object readFunctionImport(EdmFunctionImport functionImport, InputStream content,
@@ -19,9 +19,12 @@
 package org.apache.olingo.odata2.core.ep;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +43,7 @@ import org.apache.olingo.odata2.api.edm.EdmTypeKind;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
@@ -61,6 +65,8 @@ import org.apache.olingo.odata2.core.ep.producer.JsonLinksEntityProducer;
 import org.apache.olingo.odata2.core.ep.producer.JsonPropertyEntityProducer;
 import org.apache.olingo.odata2.core.ep.producer.JsonServiceDocumentProducer;
 import org.apache.olingo.odata2.core.ep.util.CircleStreamBuffer;
+import org.apache.olingo.odata2.core.ep.util.StreamingFeedContent;
+import org.apache.olingo.odata2.core.ep.util.Utf8Writer;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 
 /**
@@ -156,7 +162,7 @@ public class JsonEntityProvider implements ContentTypeBasedEntityProvider {
     CircleStreamBuffer buffer = new CircleStreamBuffer();
 
     try {
-      BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(buffer.getOutputStream(), DEFAULT_CHARSET));
+      Writer writer = new Utf8Writer(buffer.getOutputStream());
       JsonEntryEntityProducer producer = new JsonEntryEntityProducer(properties);
       producer.append(writer, entityInfo, data, true);
       writer.flush();
@@ -212,7 +218,7 @@ public class JsonEntityProvider implements ContentTypeBasedEntityProvider {
     CircleStreamBuffer buffer = new CircleStreamBuffer();
 
     try {
-      BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(buffer.getOutputStream(), DEFAULT_CHARSET));
+      Writer writer = new Utf8Writer(buffer.getOutputStream());
       new JsonFeedEntityProducer(properties).appendAsObject(writer, entityInfo, data, true);
       writer.flush();
       buffer.closeWrite();
@@ -228,6 +234,23 @@ public class JsonEntityProvider implements ContentTypeBasedEntityProvider {
     }
   }
 
+  @Override
+  public ODataResponse writeStreamingFeed(final EdmEntitySet entitySet, final Iterator<Map<String, Object>> data,
+      final EntityProviderWriteProperties properties) throws EntityProviderException {
+    final EntityInfoAggregator entityInfo = EntityInfoAggregator.create(entitySet, properties.getExpandSelectTree());
+    final JsonFeedEntityProducer producer = new JsonFeedEntityProducer(properties);
+
+    return ODataResponse.entity(new StreamingFeedContent(data) {
+      @Override
+      protected void writeFeed(final OutputStream out, final Iterator<Map<String, Object>> entries)
+          throws EntityProviderException, IOException {
+        Writer writer = new Utf8Writer(out);
+        producer.appendAsObject(writer, entityInfo, entries, true);
+        writer.flush();
+      }
+    }).build();
+  }
+
   @Override
   public ODataResponse writeLink(final EdmEntitySet entitySet, final Map<String, Object> data,
       final EntityProviderWriteProperties properties) throws EntityProviderException {
@@ -390,6 +413,12 @@ public class JsonEntityProvider implements ContentTypeBasedEntityProvider {
     return new JsonEntityConsumer().readDeltaFeed(entitySet, content, properties);
   }
 
+  @Override
+  public ODataDeltaFeed readFeed(final EdmEntitySet entitySet, final InputStream content,
+      final EntityProviderReadProperties properties, final OnReadFeedEntry callback) throws EntityProviderException {
+    return new JsonEntityConsumer().readFeed(entitySet, content, properties, callback);
+  }
+
   @Override
   public ODataErrorContext readErrorDocument(final InputStream errorDocument) throws EntityProviderException {
     return new JsonErrorDocumentConsumer().readError(errorDocument);
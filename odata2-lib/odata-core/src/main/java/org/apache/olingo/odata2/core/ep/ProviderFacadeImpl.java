@@ -18,7 +18,9 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.ep;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +41,7 @@ import org.apache.olingo.odata2.api.ep.EntityProviderBatchProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
@@ -49,8 +52,10 @@ import org.apache.olingo.odata2.api.servicedocument.ServiceDocument;
 import org.apache.olingo.odata2.core.batch.BatchRequestWriter;
 import org.apache.olingo.odata2.core.batch.BatchResponseWriter;
 import org.apache.olingo.odata2.core.batch.v2.BatchParser;
+import org.apache.olingo.odata2.core.commons.CachedDocument;
 import org.apache.olingo.odata2.core.commons.ContentType;
 import org.apache.olingo.odata2.core.edm.provider.EdmImplProv;
+import org.apache.olingo.odata2.core.edm.provider.EdmServiceMetadataImplProv;
 import org.apache.olingo.odata2.core.edm.provider.EdmxProvider;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 
@@ -96,7 +101,23 @@ public class ProviderFacadeImpl implements EntityProviderInterface {
   @Override
   public ODataResponse writeServiceDocument(final String contentType, final Edm edm, final String serviceRoot)
       throws EntityProviderException {
-    return create(contentType).writeServiceDocument(edm, serviceRoot);
+    if (!(edm.getServiceMetadata() instanceof EdmServiceMetadataImplProv)) {
+      return create(contentType).writeServiceDocument(edm, serviceRoot);
+    }
+    // the rendered service document only depends on the entity data model, the content type, and the service root
+    EdmServiceMetadataImplProv serviceMetadata = (EdmServiceMetadataImplProv) edm.getServiceMetadata();
+    final String key = contentType + ' ' + serviceRoot;
+    CachedDocument serviceDocument = serviceMetadata.getServiceDocument(key);
+    if (serviceDocument == null) {
+      try {
+        serviceDocument = CachedDocument.create(create(contentType).writeServiceDocument(edm, serviceRoot));
+      } catch (IOException e) {
+        throw new EntityProviderException(EntityProviderException.EXCEPTION_OCCURRED.addContent(e.getClass()
+            .getSimpleName()), e);
+      }
+      serviceMetadata.putServiceDocument(key, serviceDocument);
+    }
+    return serviceDocument.toResponseBuilder().build();
   }
 
   @Override
@@ -122,6 +143,13 @@ public class ProviderFacadeImpl implements EntityProviderInterface {
     return create(contentType).writeFeed(entitySet, data, properties);
   }
 
+  @Override
+  public ODataResponse writeStreamingFeed(final String contentType, final EdmEntitySet entitySet,
+      final Iterator<Map<String, Object>> data, final EntityProviderWriteProperties properties)
+      throws EntityProviderException {
+    return create(contentType).writeStreamingFeed(entitySet, data, properties);
+  }
+
   @Override
   public ODataResponse writeEntry(final String contentType, final EdmEntitySet entitySet,
       final Map<String, Object> data, final EntityProviderWriteProperties properties) throws EntityProviderException {
@@ -172,6 +200,12 @@ public class ProviderFacadeImpl implements EntityProviderInterface {
     return create(contentType).readDeltaFeed(entitySet, content, properties);
   }
 
+  @Override
+  public ODataDeltaFeed readFeed(final String contentType, final EdmEntitySet entitySet, final InputStream content,
+      final EntityProviderReadProperties properties, final OnReadFeedEntry callback) throws EntityProviderException {
+    return create(contentType).readFeed(entitySet, content, properties, callback);
+  }
+
   @Override
   public ODataEntry readEntry(final String contentType, final EdmEntitySet entitySet, final InputStream content,
       final EntityProviderReadProperties properties) throws EntityProviderException {
@@ -251,6 +285,13 @@ public class ProviderFacadeImpl implements EntityProviderInterface {
     return batchWriter.writeResponse(batchResponseParts);
   }
 
+  @Override
+  public ODataResponse writeStreamingBatchResponse(final List<BatchResponsePart> batchResponseParts)
+      throws BatchException {
+    BatchResponseWriter batchWriter = new BatchResponseWriter();
+    return batchWriter.writeStreamingResponse(batchResponseParts);
+  }
+
   @Override
   public InputStream writeBatchRequest(final List<BatchPart> batchParts, final String boundary) {
     BatchRequestWriter batchWriter = new BatchRequestWriter();
@@ -44,6 +44,7 @@ import org.apache.olingo.odata2.api.edm.EdmType;
 import org.apache.olingo.odata2.api.edm.EdmTypeKind;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
+import org.apache.olingo.odata2.core.edm.provider.EdmEntitySetImplProv;
 
 /**
  * Aggregator to get easy and fast access to all for serialization and de-serialization necessary {@link EdmEntitySet}
@@ -69,7 +70,8 @@ public class EntityInfoAggregator {
 
   private Map<String, EntityPropertyInfo> propertyInfo = new HashMap<String, EntityPropertyInfo>();
   private Map<String, NavigationPropertyInfo> navigationPropertyInfos = new HashMap<String, NavigationPropertyInfo>();
-  private List<EntityPropertyInfo> keyPropertyInfos;
+  private volatile List<EntityPropertyInfo> keyPropertyInfos;
+  private List<EntityPropertyInfo> etagPropertyInfos;
 
   /*
    * list with all property names in the order based on order in {@link EdmProperty} (normally [key, entity,
@@ -99,6 +101,8 @@ public class EntityInfoAggregator {
 
   /**
    * Create an {@link EntityInfoAggregator} based on given {@link EdmEntitySet}
+   * <p>Aggregators are immutable; for entity sets of a provider-based entity data model they are cached
+   * per entity set and shape of the <code>$select</code>/<code>$expand</code> tree and reused.</p>
    * 
    * @param entitySet
    * with which the {@link EntityInfoAggregator} is initialized.
@@ -111,6 +115,23 @@ public class EntityInfoAggregator {
    */
   public static EntityInfoAggregator create(final EdmEntitySet entitySet, final ExpandSelectTreeNode expandSelectTree)
       throws EntityProviderException {
+    if (entitySet instanceof EdmEntitySetImplProv) {
+      final EdmEntitySetImplProv cachingEntitySet = (EdmEntitySetImplProv) entitySet;
+      final String shape = getShape(expandSelectTree);
+      EntityInfoAggregator eia = cachingEntitySet.getEntityInfoAggregator(shape);
+      if (eia == null) {
+        final EntityInfoAggregator base = expandSelectTree == null ?
+            null : cachingEntitySet.getEntityInfoAggregator(getShape(null));
+        eia = new EntityInfoAggregator();
+        if (base == null) {
+          eia.initialize(entitySet, expandSelectTree);
+        } else {
+          eia.initialize(base, expandSelectTree);
+        }
+        cachingEntitySet.putEntityInfoAggregator(shape, eia);
+      }
+      return eia;
+    }
     EntityInfoAggregator eia = new EntityInfoAggregator();
     eia.initialize(entitySet, expandSelectTree);
     return eia;
@@ -128,9 +149,35 @@ public class EntityInfoAggregator {
    * of {@link EdmEntitySet}).
    */
   public static EntityInfoAggregator create(final EdmEntitySet entitySet) throws EntityProviderException {
-    EntityInfoAggregator eia = new EntityInfoAggregator();
-    eia.initialize(entitySet, null);
-    return eia;
+    return create(entitySet, null);
+  }
+
+  /**
+   * Builds the part of the given tree the aggregator depends on: the selected properties in their order,
+   * and the selected and expanded navigation properties.
+   */
+  private static String getShape(final ExpandSelectTreeNode expandSelectTree) {
+    if (expandSelectTree == null) {
+      return "";
+    }
+    StringBuilder shape = new StringBuilder();
+    if (expandSelectTree.isAll()) {
+      shape.append('*');
+    } else {
+      for (EdmProperty property : expandSelectTree.getProperties()) {
+        try {
+          shape.append(property.getName()).append(',');
+        } catch (EdmException e) {
+          // the name is only used as part of the cache key
+          shape.append(System.identityHashCode(property)).append(',');
+        }
+      }
+    }
+    shape.append('|');
+    for (Map.Entry<String, ExpandSelectTreeNode> link : expandSelectTree.getLinks().entrySet()) {
+      shape.append(link.getKey()).append(link.getValue() == null ? '-' : '+').append(',');
+    }
+    return shape.toString();
   }
 
   /**
@@ -278,12 +325,7 @@ public class EntityInfoAggregator {
   }
 
   public Collection<EntityPropertyInfo> getETagPropertyInfos() {
-    List<EntityPropertyInfo> keyProperties = new ArrayList<EntityPropertyInfo>();
-    for (String etagPropertyName : etagPropertyNames) {
-      EntityPropertyInfo e = propertyInfo.get(etagPropertyName);
-      keyProperties.add(e);
-    }
-    return keyProperties;
+    return etagPropertyInfos;
   }
 
   /**
@@ -294,10 +336,11 @@ public class EntityInfoAggregator {
 
     if (keyPropertyInfos == null) {
       try {
-        keyPropertyInfos = new ArrayList<EntityPropertyInfo>();
+        final List<EntityPropertyInfo> infos = new ArrayList<EntityPropertyInfo>();
         for (String keyPropertyName : entityType.getKeyPropertyNames()) {
-          keyPropertyInfos.add(propertyInfo.get(keyPropertyName));
+          infos.add(propertyInfo.get(keyPropertyName));
         }
+        keyPropertyInfos = Collections.unmodifiableList(infos);
       } catch (EdmException e) {
         throw new EntityProviderException(EntityProviderException.COMMON, e);
       }
@@ -324,9 +367,45 @@ public class EntityInfoAggregator {
       propertyInfo = createPropertyInfoObjects(entityType, propertyNames);
       navigationPropertyInfos = createNavigationInfoObjects(entityType, navigationPropertyNames);
 
+      final List<EntityPropertyInfo> etagInfos = new ArrayList<EntityPropertyInfo>();
+      for (String etagPropertyName : etagPropertyNames) {
+        etagInfos.add(propertyInfo.get(etagPropertyName));
+      }
+      etagPropertyInfos = Collections.unmodifiableList(etagInfos);
+    } catch (EdmException e) {
+      throw new EntityProviderException(EntityProviderException.COMMON, e);
+    }
+    initializeSelection(expandSelectTree);
+  }
+
+  /**
+   * Takes over all selection-independent information of an already initialized aggregator
+   * for the same entity set.
+   */
+  private void initialize(final EntityInfoAggregator base, final ExpandSelectTreeNode expandSelectTree)
+      throws EntityProviderException {
+    entitySet = base.entitySet;
+    entityType = base.entityType;
+    entitySetName = base.entitySetName;
+    isDefaultEntityContainer = base.isDefaultEntityContainer;
+    entityContainerName = base.entityContainerName;
+    propertyNames = base.propertyNames;
+    navigationPropertyNames = base.navigationPropertyNames;
+    propertyInfo = base.propertyInfo;
+    navigationPropertyInfos = base.navigationPropertyInfos;
+    etagPropertyNames = base.etagPropertyNames;
+    etagPropertyInfos = base.etagPropertyInfos;
+    keyPropertyInfos = base.keyPropertyInfos;
+    targetPath2EntityPropertyInfo = base.targetPath2EntityPropertyInfo;
+    noneSyndicationTargetPaths = base.noneSyndicationTargetPaths;
+    initializeSelection(expandSelectTree);
+  }
+
+  private void initializeSelection(final ExpandSelectTreeNode expandSelectTree) throws EntityProviderException {
+    try {
       selectedPropertyNames = propertyNames;
       selectedNavigationPropertyNames = navigationPropertyNames;
-      expandedNavigationPropertyNames = new ArrayList<String>();
+      final List<String> expanded = new ArrayList<String>();
 
       if (expandSelectTree != null && !expandSelectTree.isAll()) {
         selectedPropertyNames = new ArrayList<String>();
@@ -337,16 +416,17 @@ public class EntityInfoAggregator {
         for (String property : expandSelectTree.getLinks().keySet()) {
           selectedNavigationPropertyNames.add(property);
           if (expandSelectTree.getLinks().get(property) != null) {
-            expandedNavigationPropertyNames.add(property);
+            expanded.add(property);
           }
         }
       } else if (expandSelectTree != null) {
         for (String property : expandSelectTree.getLinks().keySet()) {
           if (expandSelectTree.getLinks().get(property) != null) {
-            expandedNavigationPropertyNames.add(property);
+            expanded.add(property);
           }
         }
       }
+      expandedNavigationPropertyNames = Collections.unmodifiableList(expanded);
 
     } catch (EdmException e) {
       throw new EntityProviderException(EntityProviderException.COMMON, e);
@@ -18,6 +18,8 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.ep.aggregator;
 
+import java.nio.charset.StandardCharsets;
+
 import org.apache.olingo.odata2.api.edm.EdmCustomizableFeedMappings;
 import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.edm.EdmFacets;
@@ -36,6 +38,7 @@ public class EntityPropertyInfo {
   private final EdmCustomizableFeedMappings customMapping;
   private final String mimeType;
   private final EdmMapping mapping;
+  private final byte[] jsonName;
 
   EntityPropertyInfo(final String name, final EdmType type, final EdmFacets facets,
       final EdmCustomizableFeedMappings customizableFeedMapping, final String mimeType, final EdmMapping mapping) {
@@ -45,6 +48,7 @@ public class EntityPropertyInfo {
     customMapping = customizableFeedMapping;
     this.mimeType = mimeType;
     this.mapping = mapping;
+    jsonName = ('"' + name + "\":").getBytes(StandardCharsets.UTF_8);
   }
 
   static EntityPropertyInfo create(final EdmProperty property) throws EdmException {
@@ -89,6 +93,14 @@ public class EntityPropertyInfo {
     return mapping;
   }
 
+  /**
+   * Returns the name as JSON object member name, i.e., quoted and followed by a colon,
+   * encoded in UTF-8. The array must not be modified.
+   */
+  public byte[] getJsonName() {
+    return jsonName;
+  }
+
   @Override
   public String toString() {
     return name;
@@ -29,6 +29,7 @@ import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.edm.EdmProperty;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
@@ -83,6 +84,15 @@ public class JsonEntityConsumer {
 
   public ODataDeltaFeed readDeltaFeed(final EdmEntitySet entitySet, final InputStream content,
       final EntityProviderReadProperties readProperties) throws EntityProviderException {
+    return readFeed(entitySet, content, readProperties, null);
+  }
+
+  /**
+   * Reads a feed and hands over its entries to the callback (if not <code>null</code>) instead of collecting them.
+   */
+  public ODataDeltaFeed readFeed(final EdmEntitySet entitySet, final InputStream content,
+      final EntityProviderReadProperties readProperties, final OnReadFeedEntry callback)
+      throws EntityProviderException {
 
     JsonReader reader = null;
     EntityProviderException cachedException = null;
@@ -91,7 +101,7 @@ public class JsonEntityConsumer {
       EntityInfoAggregator eia = EntityInfoAggregator.create(entitySet);
       reader = createJsonReader(content);
 
-      JsonFeedConsumer jfc = new JsonFeedConsumer(reader, eia, readProperties);
+      JsonFeedConsumer jfc = new JsonFeedConsumer(reader, eia, readProperties, callback);
       ODataDeltaFeed result = jfc.readFeedStandalone();
 
       return result;
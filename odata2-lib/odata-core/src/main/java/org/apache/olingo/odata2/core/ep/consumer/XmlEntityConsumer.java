@@ -32,6 +32,7 @@ import org.apache.olingo.odata2.api.edm.EdmProperty;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties.EntityProviderReadPropertiesBuilder;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.core.commons.XmlHelper;
@@ -51,6 +52,14 @@ public class XmlEntityConsumer {
 
   public ODataDeltaFeed readFeed(final EdmEntitySet entitySet, final InputStream content,
       final EntityProviderReadProperties properties) throws EntityProviderException {
+    return readFeed(entitySet, content, properties, null);
+  }
+
+  /**
+   * Reads a feed and hands over its entries to the callback (if not <code>null</code>) instead of collecting them.
+   */
+  public ODataDeltaFeed readFeed(final EdmEntitySet entitySet, final InputStream content,
+      final EntityProviderReadProperties properties, final OnReadFeedEntry callback) throws EntityProviderException {
     XMLStreamReader reader = null;
     EntityProviderException cachedException = null;
 
@@ -59,7 +68,7 @@ public class XmlEntityConsumer {
 
       EntityInfoAggregator eia = EntityInfoAggregator.create(entitySet);
       XmlFeedConsumer xfc = new XmlFeedConsumer();
-      return xfc.readFeed(reader, eia, properties);
+      return xfc.readFeed(reader, eia, properties, callback);
     } catch (EntityProviderException e) {
       cachedException = e;
       throw cachedException;
@@ -20,6 +20,7 @@ package org.apache.olingo.odata2.core.ep.producer;
 
 import java.net.URI;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +56,15 @@ public class AtomFeedProducer {
 
   public void append(final XMLStreamWriter writer, final EntityInfoAggregator eia,
       final List<Map<String, Object>> data, final boolean isInline) throws EntityProviderException {
+    append(writer, eia, data.iterator(), isInline);
+  }
+
+  /**
+   * Writes the feed while pulling the entries one at a time from the given iterator,
+   * so that the entries have not to be kept in memory.
+   */
+  public void append(final XMLStreamWriter writer, final EntityInfoAggregator eia,
+      final Iterator<Map<String, Object>> data, final boolean isInline) throws EntityProviderException {
     try {
       writer.writeStartElement(FormatXml.ATOM_FEED);
       TombstoneCallback callback = null;
@@ -138,10 +148,10 @@ public class AtomFeedProducer {
   }
 
   private void appendEntries(final XMLStreamWriter writer, final EntityInfoAggregator eia,
-      final List<Map<String, Object>> data) throws EntityProviderException {
+      final Iterator<Map<String, Object>> data) throws EntityProviderException {
     AtomEntryEntityProducer entryProvider = new AtomEntryEntityProducer(properties);
-    for (Map<String, Object> singleEntryData : data) {
-      entryProvider.append(writer, eia, singleEntryData, false, true);
+    while (data.hasNext()) {
+      entryProvider.append(writer, eia, data.next(), false, true);
     }
   }
 
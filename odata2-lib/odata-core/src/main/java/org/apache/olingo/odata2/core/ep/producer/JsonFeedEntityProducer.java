@@ -20,6 +20,7 @@ package org.apache.olingo.odata2.core.ep.producer;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -48,6 +49,16 @@ public class JsonFeedEntityProducer {
   public void appendAsObject(final Writer writer, final EntityInfoAggregator entityInfo,
                              final List<Map<String, Object>> data,
                              final boolean isRootElement) throws EntityProviderException {
+    appendAsObject(writer, entityInfo, data.iterator(), isRootElement);
+  }
+
+  /**
+   * Writes the feed while pulling the entries one at a time from the given iterator,
+   * so that the entries have not to be kept in memory.
+   */
+  public void appendAsObject(final Writer writer, final EntityInfoAggregator entityInfo,
+                             final Iterator<Map<String, Object>> data,
+                             final boolean isRootElement) throws EntityProviderException {
     JsonStreamWriter jsonStreamWriter = new JsonStreamWriter(writer);
 
     TombstoneCallback callback = getTombstoneCallback();
@@ -68,10 +79,10 @@ public class JsonFeedEntityProducer {
       jsonStreamWriter.name(FormatJson.RESULTS)
           .beginArray();
 
-      appendEntries(writer, entityInfo, data, jsonStreamWriter);
+      final boolean noEntries = appendEntries(writer, entityInfo, data, jsonStreamWriter);
 
       if (callback != null) {
-        appendDeletedEntries(writer, entityInfo, data, callback);
+        appendDeletedEntries(writer, entityInfo, noEntries, callback);
       }
 
       jsonStreamWriter.endArray();
@@ -95,7 +106,7 @@ public class JsonFeedEntityProducer {
     JsonStreamWriter jsonStreamWriter = new JsonStreamWriter(writer);
     try {
       jsonStreamWriter.beginArray();
-      appendEntries(writer, entityInfo, data, jsonStreamWriter);
+      appendEntries(writer, entityInfo, data.iterator(), jsonStreamWriter);
       jsonStreamWriter.endArray();
     } catch (final IOException e) {
       throw new EntityProviderProducerException(EntityProviderException.EXCEPTION_OCCURRED.addContent(e.getClass()
@@ -104,21 +115,22 @@ public class JsonFeedEntityProducer {
   }
 
   private void appendDeletedEntries(final Writer writer, final EntityInfoAggregator entityInfo,
-      final List<Map<String, Object>> data, TombstoneCallback callback) throws EntityProviderException {
+      final boolean noEntries, TombstoneCallback callback) throws EntityProviderException {
     JsonDeletedEntryEntityProducer deletedEntryProducer = new JsonDeletedEntryEntityProducer(properties);
     TombstoneCallbackResult callbackResult = callback.getTombstoneCallbackResult();
     List<Map<String, Object>> deletedEntries = callbackResult.getDeletedEntriesData();
     if (deletedEntries != null) {
-      deletedEntryProducer.append(writer, entityInfo, deletedEntries, data.isEmpty());
+      deletedEntryProducer.append(writer, entityInfo, deletedEntries, noEntries);
     }
   }
 
-  private void appendEntries(final Writer writer, final EntityInfoAggregator entityInfo,
-      final List<Map<String, Object>> data, JsonStreamWriter jsonStreamWriter) throws EntityProviderException,
+  private boolean appendEntries(final Writer writer, final EntityInfoAggregator entityInfo,
+      final Iterator<Map<String, Object>> data, JsonStreamWriter jsonStreamWriter) throws EntityProviderException,
       IOException {
     JsonEntryEntityProducer entryProducer = new JsonEntryEntityProducer(properties);
     boolean first = true;
-    for (final Map<String, Object> entryData : data) {
+    while (data.hasNext()) {
+      final Map<String, Object> entryData = data.next();
       if (first) {
         first = false;
       } else {
@@ -126,6 +138,7 @@ public class JsonFeedEntityProducer {
       }
       entryProducer.append(writer, entityInfo, entryData, false);
     }
+    return first;
   }
 
   private TombstoneCallback getTombstoneCallback() {
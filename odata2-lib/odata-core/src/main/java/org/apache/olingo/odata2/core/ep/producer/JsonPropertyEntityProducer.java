@@ -53,7 +53,7 @@ public class JsonPropertyEntityProducer {
           .name(FormatJson.D)
           .beginObject();
 
-      jsonStreamWriter.name(propertyInfo.getName());
+      jsonStreamWriter.name(propertyInfo);
       appendPropertyValue(jsonStreamWriter, propertyInfo.isComplex() ? (EntityComplexPropertyInfo) propertyInfo
           : propertyInfo, value, true, false);
 
@@ -87,7 +87,7 @@ public class JsonPropertyEntityProducer {
             continue;
           } 
           jsonStreamWriter.separator();
-          jsonStreamWriter.name(name);
+          jsonStreamWriter.name(childPropertyInfo);
           appendPropertyValue(jsonStreamWriter, childPropertyInfo,
               value == null ? null : ((Map<?, ?>) value).get(name), validatingFacets, isDataBasedPropertySerialization);
         }
@@ -99,6 +99,16 @@ public class JsonPropertyEntityProducer {
     } else {
       final EdmSimpleType type = (EdmSimpleType) propertyInfo.getType();
       final Object contentValue = value instanceof Map ? ((Map<?, ?>) value).get(propertyInfo.getName()) : value;
+      final EdmSimpleTypeKind kind = EdmSimpleTypeKind.valueOf(type.getName());
+      if (isIntegral(kind, contentValue)) {
+        final long number = ((Number) contentValue).longValue();
+        if (kind == EdmSimpleTypeKind.Int64) {
+          jsonStreamWriter.quotedNumberValue(number);
+        } else {
+          jsonStreamWriter.numberValue(number);
+        }
+        return;
+      }
       final EdmFacets facets = validatingFacets ? propertyInfo.getFacets(): null;
       String valueAsString = null;
       try {
@@ -108,7 +118,7 @@ public class JsonPropertyEntityProducer {
             e.getMessageReference()).updateContent(e.getMessageReference().getContent(), 
                 propertyInfo.getName()), e);
       }
-      switch (EdmSimpleTypeKind.valueOf(type.getName())) {
+      switch (kind) {
       case String:
         jsonStreamWriter.stringValue(valueAsString);
         break;
@@ -133,6 +143,19 @@ public class JsonPropertyEntityProducer {
     }
   }
 
+  /**
+   * Checks whether the value can be written as number without conversion by the EDM simple type,
+   * i.e., its Java type is always within the value range of the EDM simple type.
+   */
+  private static boolean isIntegral(final EdmSimpleTypeKind kind, final Object value) {
+    final boolean isInt64 = kind == EdmSimpleTypeKind.Int64;
+    final boolean isInt32 = isInt64 || kind == EdmSimpleTypeKind.Int32;
+    final boolean isInt16 = isInt32 || kind == EdmSimpleTypeKind.Int16;
+    return isInt64 && value instanceof Long
+        || isInt32 && value instanceof Integer
+        || isInt16 && (value instanceof Short || value instanceof Byte);
+  }
+
   protected static void appendPropertyMetadata(final JsonStreamWriter jsonStreamWriter, final EdmType type)
       throws IOException, EdmException {
     jsonStreamWriter.name(FormatJson.METADATA)
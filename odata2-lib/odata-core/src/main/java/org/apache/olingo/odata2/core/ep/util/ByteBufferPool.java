@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.ep.util;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of {@link ByteBuffer}s used by the {@link CircleStreamBuffer}.
+ * <p>Buffers are kept in size classes (powers of two from {@link #MIN_POOLED_CAPACITY} up to
+ * {@link #MAX_POOLED_CAPACITY}); requested capacities inside this range are rounded up to the next class.
+ * Only a bounded number of buffers is retained per class, everything else is left to the garbage collector.
+ * Smaller or larger buffers are never pooled.</p>
+ * <p>The pool used by default can be replaced with {@link #setDefault(ByteBufferPool)},
+ * e.g. by a pool of direct (off-heap) buffers.</p>
+ */
+public class ByteBufferPool {
+
+  public static final int MIN_POOLED_CAPACITY = 8192;
+  public static final int MAX_POOLED_CAPACITY = MIN_POOLED_CAPACITY * 32;
+  private static final int DEFAULT_MAX_RETAINED = 32;
+
+  private static volatile ByteBufferPool defaultPool = new ByteBufferPool(false, DEFAULT_MAX_RETAINED);
+
+  private final boolean direct;
+  private final int maxRetained;
+  private final Queue<ByteBuffer>[] pools;
+  private final AtomicInteger[] retained;
+
+  /**
+   * Creates a pool.
+   * @param direct whether direct (off-heap) buffers are allocated
+   * @param maxRetained maximum number of buffers retained per size class;
+   * <code>0</code> disables pooling
+   */
+  @SuppressWarnings("unchecked")
+  public ByteBufferPool(final boolean direct, final int maxRetained) {
+    this.direct = direct;
+    this.maxRetained = maxRetained;
+    final int classes = sizeClass(MAX_POOLED_CAPACITY) + 1;
+    pools = new Queue[classes];
+    retained = new AtomicInteger[classes];
+    for (int i = 0; i < classes; i++) {
+      pools[i] = new ConcurrentLinkedQueue<ByteBuffer>();
+      retained[i] = new AtomicInteger();
+    }
+  }
+
+  /**
+   * Returns the pool used by {@link CircleStreamBuffer}s created without explicit pool.
+   * @return the default pool
+   */
+  public static ByteBufferPool getDefault() {
+    return defaultPool;
+  }
+
+  /**
+   * Replaces the pool used by {@link CircleStreamBuffer}s created without explicit pool.
+   * @param pool the new default pool
+   */
+  public static void setDefault(final ByteBufferPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must not be null.");
+    }
+    defaultPool = pool;
+  }
+
+  /**
+   * Provides a cleared buffer with at least the requested capacity.
+   * @param capacity minimal capacity
+   * @return the buffer
+   */
+  public ByteBuffer acquire(final int capacity) {
+    if (capacity < MIN_POOLED_CAPACITY || capacity > MAX_POOLED_CAPACITY) {
+      return allocate(capacity);
+    }
+    final int sizeClass = sizeClass(capacity);
+    final ByteBuffer buffer = pools[sizeClass].poll();
+    if (buffer == null) {
+      return allocate(MIN_POOLED_CAPACITY << sizeClass);
+    }
+    retained[sizeClass].decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Gives a buffer back to the pool. The caller must not use the buffer afterwards.
+   * @param buffer a buffer acquired from this pool
+   */
+  public void release(final ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    if (buffer.isDirect() != direct || capacity < MIN_POOLED_CAPACITY || capacity > MAX_POOLED_CAPACITY
+        || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    final int sizeClass = sizeClass(capacity);
+    if (retained[sizeClass].incrementAndGet() > maxRetained) {
+      retained[sizeClass].decrementAndGet();
+    } else {
+      pools[sizeClass].offer(buffer);
+    }
+  }
+
+  private ByteBuffer allocate(final int capacity) {
+    return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  private static int sizeClass(final int capacity) {
+    // index of the smallest power of two not less than the capacity, relative to the minimal capacity
+    final int sizeClass = 1 + Integer.numberOfLeadingZeros(MIN_POOLED_CAPACITY)
+        - Integer.numberOfLeadingZeros(capacity - 1);
+    return sizeClass < 0 ? 0 : sizeClass;
+  }
+}
@@ -22,12 +22,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Circular stream buffer to write/read into/from one single buffer.
  * With support of {@link InputStream} and {@link OutputStream} access to buffered data.
+ * <p>Buffers are drawn from a {@link ByteBufferPool} and given back as soon as they are read out
+ * or the read part is closed. A buffer is meant to be used by one thread at a time.</p>
  * 
  * 
  */
@@ -35,8 +37,8 @@ public class CircleStreamBuffer {
 
   private static final int NEW_BUFFER_RESIZE_FACTOR = 2;
   private static final int READ_EOF = -1;
-  private static final int DEFAULT_CAPACITY = 8192;
-  private static final int MAX_CAPACITY = DEFAULT_CAPACITY * 32;
+  private static final int DEFAULT_CAPACITY = ByteBufferPool.MIN_POOLED_CAPACITY;
+  private static final int MAX_CAPACITY = ByteBufferPool.MAX_POOLED_CAPACITY;
 
   private int currentAllocateCapacity = DEFAULT_CAPACITY;
 
@@ -44,7 +46,8 @@ public class CircleStreamBuffer {
   private boolean writeClosed = false;
   private boolean readClosed = false;
 
-  private Queue<ByteBuffer> bufferQueue = new LinkedBlockingQueue<ByteBuffer>();
+  private final ByteBufferPool pool;
+  private Queue<ByteBuffer> bufferQueue = new ArrayDeque<ByteBuffer>();
   private ByteBuffer currentWriteBuffer;
 
   private InternalInputStream inStream;
@@ -63,6 +66,17 @@ public class CircleStreamBuffer {
    * @param initialCapacity initial capacity of internal buffer
    */
   public CircleStreamBuffer(final int initialCapacity) {
+    this(initialCapacity, ByteBufferPool.getDefault());
+  }
+
+  /**
+   * Create a {@link CircleStreamBuffer} with given initial buffer size drawing its buffers from the given pool.
+   *
+   * @param initialCapacity initial capacity of internal buffer
+   * @param pool pool providing the internal buffers
+   */
+  public CircleStreamBuffer(final int initialCapacity, final ByteBufferPool pool) {
+    this.pool = pool;
     currentAllocateCapacity = initialCapacity;
     createNewWriteBuffer();
     inStream = new InternalInputStream(this);
@@ -107,10 +121,12 @@ public class CircleStreamBuffer {
    */
   public void closeRead() {
     readClosed = true;
-    // clear references to byte buffers
+    // give the byte buffers back; the current write buffer only if nothing can be written anymore
     ByteBuffer buffer = bufferQueue.poll();
     while (buffer != null) {
-      buffer.clear();
+      if (buffer != currentWriteBuffer || writeClosed) {
+        pool.release(buffer);
+      }
       buffer = bufferQueue.poll();
     }
   }
@@ -154,7 +170,7 @@ public class CircleStreamBuffer {
     } else {
       tmp = bufferQueue.peek();
       if (tmp != null && !tmp.hasRemaining()) {
-        tmp = bufferQueue.poll();
+        pool.release(bufferQueue.poll());
         next = true;
       }
     }
@@ -244,7 +260,7 @@ public class CircleStreamBuffer {
   }
 
   /**
-   * Allocate a new buffer with requested capacity
+   * Allocate a new buffer (from the {@link #pool}) with requested capacity
    *
    * @param requestedCapacity minimal capacity of new buffer
    * @return the buffer
@@ -252,7 +268,7 @@ public class CircleStreamBuffer {
   private ByteBuffer allocateBuffer(final int requestedCapacity) {
     if (requestedCapacity > MAX_CAPACITY) {
       currentAllocateCapacity = MAX_CAPACITY;
-      return ByteBuffer.allocate(requestedCapacity);
+      return pool.acquire(requestedCapacity);
     }
 
     if (requestedCapacity <= currentAllocateCapacity) {
@@ -264,7 +280,7 @@ public class CircleStreamBuffer {
       currentAllocateCapacity = requestedCapacity;
     }
 
-    return ByteBuffer.allocate(currentAllocateCapacity);
+    return pool.acquire(currentAllocateCapacity);
   }
 
   // #############################################
@@ -21,15 +21,20 @@ package org.apache.olingo.odata2.core.ep.util;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.apache.olingo.odata2.core.ep.aggregator.EntityPropertyInfo;
+
 /**
  * Writes JSON output.
- * 
+ * <p>If the given writer is a {@link Utf8Writer}, names of properties, strings,
+ * and numbers are encoded directly into its byte buffer.</p>
  */
 public class JsonStreamWriter {
   private final Writer writer;
+  private final Utf8Writer utf8Writer;
 
   public JsonStreamWriter(final Writer writer) {
     this.writer = writer;
+    utf8Writer = writer instanceof Utf8Writer ? (Utf8Writer) writer : null;
   }
 
   public JsonStreamWriter beginObject() throws IOException {
@@ -57,6 +62,36 @@ public class JsonStreamWriter {
     return this;
   }
 
+  /**
+   * Writes the name of the given property, using its pre-encoded form if possible.
+   * @param propertyInfo the information about the property
+   * @throws IOException if an I/O error occurs
+   */
+  public JsonStreamWriter name(final EntityPropertyInfo propertyInfo) throws IOException {
+    if (utf8Writer == null) {
+      name(propertyInfo.getName());
+    } else {
+      utf8Writer.writeBytes(propertyInfo.getJsonName());
+    }
+    return this;
+  }
+
+  public JsonStreamWriter numberValue(final long value) throws IOException {
+    if (utf8Writer == null) {
+      writer.append(Long.toString(value));
+    } else {
+      utf8Writer.writeNumber(value);
+    }
+    return this;
+  }
+
+  public JsonStreamWriter quotedNumberValue(final long value) throws IOException {
+    writer.append('"');
+    numberValue(value);
+    writer.append('"');
+    return this;
+  }
+
   public JsonStreamWriter unquotedValue(final String value) throws IOException {
     writer.append(value == null ? FormatJson.NULL : value);
     return this;
@@ -105,6 +140,10 @@ public class JsonStreamWriter {
    * @throws IOException if an I/O error occurs
    */
   protected void escape(final String value) throws IOException {
+    if (utf8Writer != null) {
+      utf8Writer.writeJsonEscaped(value);
+      return;
+    }
     // RFC 4627 says: "All Unicode characters may be placed within the
     // quotation marks except for the characters that must be escaped:
     // quotation mark, reverse solidus, and the control characters
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.ep.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.olingo.odata2.api.ep.EntityProviderException;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
+
+/**
+ * Base class for feeds which are written directly into the response output stream
+ * while the entries are pulled one at a time from an {@link Iterator}.
+ * 
+ */
+public abstract class StreamingFeedContent implements ODataStreamingContent {
+
+  private Iterator<Map<String, Object>> data;
+
+  protected StreamingFeedContent(final Iterator<Map<String, Object>> data) {
+    this.data = data;
+  }
+
+  @Override
+  public void write(final OutputStream out) throws IOException {
+    if (data == null) {
+      throw new IOException("Streaming feed content was already written or closed.");
+    }
+    try {
+      writeFeed(out, data);
+      out.flush();
+    } catch (EntityProviderException e) {
+      throw new IOException(e.getMessage(), e);
+    } finally {
+      close();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (data instanceof Closeable) {
+      ((Closeable) data).close();
+    }
+    data = null;
+  }
+
+  /**
+   * Writes the complete feed with all entries of the given iterator into the given output stream.
+   * @param out stream the feed is written to
+   * @param entries iterator over the feed entries
+   * @throws EntityProviderException if the serialization fails
+   * @throws IOException if writing into the output stream fails
+   */
+  protected abstract void writeFeed(OutputStream out, Iterator<Map<String, Object>> entries)
+      throws EntityProviderException, IOException;
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.ep.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writer encoding characters as UTF-8 directly into a byte array which is handed to
+ * the underlying output stream when it is full and on {@link #flush()}.
+ * <p>It replaces the combination of <code>BufferedWriter</code> and <code>OutputStreamWriter</code>
+ * without charset encoder and intermediate character buffer; {@link JsonStreamWriter} uses the
+ * additional methods for pre-encoded names, JSON escaping, and numbers.</p>
+ * <p>As with the UTF-8 encoder of the JDK, unpaired surrogates are written as <code>'?'</code>.</p>
+ */
+public class Utf8Writer extends Writer {
+
+  private static final int BUFFER_SIZE = 8192;
+  /** the maximum number of bytes of a <code>long</code> value in decimal notation */
+  private static final int MAX_LONG_LENGTH = 20;
+
+  private final OutputStream out;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int position;
+  /** high surrogate waiting for its low surrogate, <code>0</code> if there is none */
+  private char highSurrogate;
+
+  public Utf8Writer(final OutputStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void write(final int c) throws IOException {
+    writeChar((char) c);
+  }
+
+  @Override
+  public void write(final char[] chars, final int offset, final int length) throws IOException {
+    for (int i = offset; i < offset + length; i++) {
+      writeChar(chars[i]);
+    }
+  }
+
+  @Override
+  public void write(final String string, final int offset, final int length) throws IOException {
+    for (int i = offset; i < offset + length; i++) {
+      writeChar(string.charAt(i));
+    }
+  }
+
+  @Override
+  public Writer append(final char c) throws IOException {
+    writeChar(c);
+    return this;
+  }
+
+  /**
+   * Writes the given bytes unchanged; they must be valid UTF-8.
+   * @param bytes UTF-8 encoded characters, e.g., a pre-encoded name
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeBytes(final byte[] bytes) throws IOException {
+    flushPendingSurrogate();
+    if (bytes.length > buffer.length - position) {
+      flushBuffer();
+      if (bytes.length > buffer.length) {
+        out.write(bytes);
+        return;
+      }
+    }
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  /**
+   * Writes the given number in decimal notation.
+   * @param value a number
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeNumber(final long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      write(Long.toString(value));
+      return;
+    }
+    flushPendingSurrogate();
+    if (position + MAX_LONG_LENGTH > buffer.length) {
+      flushBuffer();
+    }
+    long remaining = value;
+    if (remaining < 0) {
+      buffer[position++] = '-';
+      remaining = -remaining;
+    }
+    int digits = 1;
+    for (long rest = remaining / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    int index = position + digits;
+    position = index;
+    do {
+      buffer[--index] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining > 0);
+  }
+
+  /**
+   * Writes the JSON-escaped form of a Java String value according to RFC 4627,
+   * with the same output as {@link JsonStreamWriter#escape(String)}.
+   * @param value the Java String
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeJsonEscaped(final String value) throws IOException {
+    final int length = value.length();
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\' && highSurrogate == 0) {
+        // fast path for printable ASCII characters
+        if (position == buffer.length) {
+          flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+      } else if (c == '"' || c == '\\') {
+        writeChar('\\');
+        writeChar(c);
+      } else if (c < 0x20) {
+        writeChar('\\');
+        switch (c) {
+        case '\b':
+          writeChar('b');
+          break;
+        case '\t':
+          writeChar('t');
+          break;
+        case '\n':
+          writeChar('n');
+          break;
+        case '\f':
+          writeChar('f');
+          break;
+        case '\r':
+          writeChar('r');
+          break;
+        default:
+          final int lastHexDigit = c % 0x10;
+          writeChar('u');
+          writeChar('0');
+          writeChar('0');
+          writeChar(c >= '\u0010' ? '1' : '0');
+          writeChar((char) ((lastHexDigit > 9 ? 'A' : '0') + lastHexDigit % 10));
+        }
+      } else {
+        writeChar(c);
+      }
+    }
+  }
+
+  private void writeChar(final char c) throws IOException {
+    if (c < 0x80 && highSurrogate == 0) {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      buffer[position++] = (byte) c;
+    } else {
+      writeNonAscii(c);
+    }
+  }
+
+  private void writeNonAscii(final char c) throws IOException {
+    if (highSurrogate != 0) {
+      final char high = highSurrogate;
+      highSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        final int codePoint = Character.toCodePoint(high, c);
+        if (position + 4 > buffer.length) {
+          flushBuffer();
+        }
+        buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+        buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+        return;
+      }
+      writeChar('?');
+    }
+    if (c < 0x80) {
+      writeChar(c);
+    } else if (Character.isHighSurrogate(c)) {
+      highSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      writeChar('?');
+    } else {
+      if (position + 3 > buffer.length) {
+        flushBuffer();
+      }
+      if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | c >> 6);
+      } else {
+        buffer[position++] = (byte) (0xE0 | c >> 12);
+        buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+      }
+      buffer[position++] = (byte) (0x80 | c & 0x3F);
+    }
+  }
+
+  private void flushPendingSurrogate() throws IOException {
+    if (highSurrogate != 0) {
+      highSurrogate = 0;
+      writeChar('?');
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (position > 0) {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  /**
+   * Hands the buffered bytes to the output stream and flushes it;
+   * a high surrogate at the end of the output so far is kept back for its low surrogate.
+   */
+  @Override
+  public void flush() throws IOException {
+    flushBuffer();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    flushPendingSurrogate();
+    flush();
+    out.close();
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.olingo.odata2.core.rest;
 import java.util.List;
 
 import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.Encoded;
 import jakarta.ws.rs.HeaderParam;
@@ -36,6 +37,7 @@ import jakarta.ws.rs.core.UriInfo;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.exception.ODataBadRequestException;
 import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 import org.apache.olingo.odata2.core.rest.app.AbstractODataApplication;
 
@@ -114,10 +116,29 @@ public class ODataRootLocator {
     param.setRequest(request);
     param.setServletRequest(servletRequest);
     param.setPathSplit(pathSplit);
+    param.setResponseCompression(getResponseCompression());
 
     return ODataSubLocator.create(param);
   }
 
+  /**
+   * The root locator is created per request; the compression configuration is therefore created only once
+   * per servlet and kept as attribute of the servlet context.
+   */
+  private ResponseCompression getResponseCompression() {
+    final ServletContext servletContext = servletConfig.getServletContext();
+    if (servletContext == null) {
+      return ResponseCompression.create(servletConfig);
+    }
+    final String attributeName = ResponseCompression.COMPRESSION_LABEL + "." + servletConfig.getServletName();
+    ResponseCompression compression = (ResponseCompression) servletContext.getAttribute(attributeName);
+    if (compression == null) {
+      compression = ResponseCompression.create(servletConfig);
+      servletContext.setAttribute(attributeName, compression);
+    }
+    return compression;
+  }
+
   public ODataServiceFactory getServiceFactory() {
     return createServiceFactoryFromContext(app, servletRequest, servletConfig);
   }
@@ -16,6 +16,7 @@ package org.apache.olingo.odata2.core.rest;
 
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.api.commons.HttpHeaders;
 import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
 import org.apache.olingo.odata2.api.exception.MessageReference;
 import org.apache.olingo.odata2.api.exception.ODataException;
@@ -27,6 +28,7 @@ import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
 import org.apache.olingo.odata2.core.ODataContextImpl;
 import org.apache.olingo.odata2.core.ODataRequestHandler;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -48,6 +50,8 @@ public final class ODataSubLocator {
 
     private HttpServletRequest httpRequest;
 
+    private ResponseCompression responseCompression;
+
     @GET
     public Response handleGet() throws ODataException {
         return handle(ODataHttpMethod.GET);
@@ -190,7 +194,8 @@ public final class ODataSubLocator {
         ODataRequestHandler requestHandler = new ODataRequestHandler(serviceFactory, service, context);
 
         final ODataResponse odataResponse = requestHandler.handle(request);
-        return RestUtil.convertResponse(odataResponse);
+        return RestUtil.convertResponse(odataResponse, false, request.getRequestHeaderValue(HttpHeaders.ACCEPT_ENCODING),
+                responseCompression);
     }
 
 
@@ -215,6 +220,7 @@ public final class ODataSubLocator {
                                          .build();
 
         subLocator.httpRequest = param.getServletRequest();
+        subLocator.responseCompression = param.getResponseCompression();
 
         return subLocator;
     }
@@ -21,6 +21,8 @@ package org.apache.olingo.odata2.core.rest;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -36,6 +38,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 
@@ -45,33 +48,96 @@ import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.exception.ODataNotFoundException;
 import org.apache.olingo.odata2.api.exception.ODataUnsupportedMediaTypeException;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.api.uri.PathSegment;
 import org.apache.olingo.odata2.core.ODataPathSegmentImpl;
 import org.apache.olingo.odata2.core.PathInfoImpl;
 import org.apache.olingo.odata2.core.commons.ContentType;
 import org.apache.olingo.odata2.core.commons.Decoder;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
+import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 
 /**
  *  
  */
 public class RestUtil {
+  private static final int LOOK_AHEAD_SIZE = 8192;
+
   public static Response convertResponse(final ODataResponse odataResponse) {
     return convertResponse(odataResponse, false);
   }
 
   public static Response convertResponse(final ODataResponse odataResponse, final boolean omitResponseBody) {
+    return convertResponse(odataResponse, omitResponseBody, null, ResponseCompression.disabled());
+  }
+
+  /**
+   * Converts the OData response into a JAX-RS response, compressing the body according to the given
+   * <code>Accept-Encoding</code> request header value.
+   * @param odataResponse the OData response
+   * @param omitResponseBody whether the body is left out
+   * @param acceptEncoding value of the <code>Accept-Encoding</code> request header (may be <code>null</code>)
+   * @param compression the compression configuration
+   * @return the JAX-RS response
+   */
+  public static Response convertResponse(final ODataResponse odataResponse, final boolean omitResponseBody,
+      final String acceptEncoding, final ResponseCompression compression) {
     try {
+      final boolean compressible = !omitResponseBody && compression.isApplicable(odataResponse);
+      String encoding = compressible ? getContentEncoding(odataResponse, acceptEncoding, compression) : null;
+      Object entity = odataResponse.getEntity();
+      if (encoding != null && entity instanceof InputStream
+          && odataResponse.getHeader(HttpHeaders.CONTENT_LENGTH) == null) {
+        // look ahead whether the content is large enough to be worth the compression, as the servlet does
+        final InputStream stream = (InputStream) entity;
+        final byte[] buffer = new byte[Math.max(1, Math.min(compression.getThreshold(), LOOK_AHEAD_SIZE))];
+        int filled = 0;
+        int len = 0;
+        while (filled < buffer.length && (len = stream.read(buffer, filled, buffer.length - filled)) != -1) {
+          filled += len;
+        }
+        if (len == -1) {
+          stream.close();
+          entity = new ByteArrayInputStream(buffer, 0, filled);
+          encoding = null;
+        } else {
+          entity = new SequenceInputStream(new ByteArrayInputStream(buffer, 0, filled), stream);
+        }
+      }
+      if (encoding != null) {
+        return convertCompressedResponse(odataResponse, entity, encoding, compression);
+      }
+
       ResponseBuilder responseBuilder =
           Response.noContent().status(odataResponse.getStatus().getStatusCode());
       if(!omitResponseBody) {
-        responseBuilder.entity(odataResponse.getEntity());
+        if (entity instanceof ODataStreamingContent) {
+          final ODataStreamingContent content = (ODataStreamingContent) entity;
+          responseBuilder.entity(new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException {
+              content.write(output);
+            }
+          });
+        } else {
+          responseBuilder.entity(entity);
+        }
+      } else if (entity instanceof ODataStreamingContent) {
+        // never written, so the underlying data source has to be released here
+        closeStreamingContent((ODataStreamingContent) entity);
       }
 
       for (final String name : odataResponse.getHeaderNames()) {
         responseBuilder = responseBuilder.header(name, odataResponse.getHeader(name));
       }
+      if (compressible && !HttpHeaders.ACCEPT_ENCODING.equals(odataResponse.getHeader(HttpHeaders.VARY))) {
+        responseBuilder = responseBuilder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      }
 
       return responseBuilder.build();
+    } catch (IOException e) {
+      closeResponse(odataResponse);
+      throw new ODataRuntimeException(e);
     } catch (RuntimeException e) {
       if (odataResponse != null) {
         try {
@@ -85,6 +151,86 @@ public class RestUtil {
     }
   }
 
+  private static void closeResponse(final ODataResponse odataResponse) {
+    try {
+      odataResponse.close();
+    } catch (IOException e) {
+      // the look-ahead failure is reported instead
+    }
+  }
+
+  /**
+   * Chooses the content coding; a body known to be smaller than the compression threshold is not compressed.
+   * The size of an input stream without <code>Content-Length</code> header is checked by the look-ahead
+   * in {@link #convertResponse(ODataResponse, boolean, String, ResponseCompression)}.
+   */
+  private static String getContentEncoding(final ODataResponse odataResponse, final String acceptEncoding,
+      final ResponseCompression compression) {
+    final Object entity = odataResponse.getEntity();
+    if (!(entity instanceof ODataStreamingContent || entity instanceof InputStream || entity instanceof String)) {
+      return null;
+    }
+    final String contentLength = odataResponse.getHeader(HttpHeaders.CONTENT_LENGTH);
+    try {
+      if (contentLength != null && Long.parseLong(contentLength) < compression.getThreshold()
+          || entity instanceof String && ((String) entity).length() * 3L < compression.getThreshold()) {
+        return null;
+      }
+    } catch (NumberFormatException e) {
+      // the size is not known
+    }
+    return compression.negotiate(acceptEncoding);
+  }
+
+  private static Response convertCompressedResponse(final ODataResponse odataResponse, final Object entity,
+      final String encoding, final ResponseCompression compression) {
+    ResponseBuilder responseBuilder = Response.status(odataResponse.getStatus().getStatusCode())
+        .entity(new StreamingOutput() {
+          @Override
+          public void write(final OutputStream output) throws IOException {
+            final OutputStream compressed = compression.compress(output, encoding);
+            if (entity instanceof ODataStreamingContent) {
+              ((ODataStreamingContent) entity).write(compressed);
+            } else if (entity instanceof InputStream) {
+              final InputStream stream = (InputStream) entity;
+              try {
+                final byte[] buffer = new byte[8192];
+                int len;
+                while ((len = stream.read(buffer)) != -1) {
+                  compressed.write(buffer, 0, len);
+                }
+              } finally {
+                stream.close();
+              }
+            } else {
+              compressed.write(((String) entity).getBytes("UTF-8"));
+            }
+            compressed.close();
+          }
+        });
+
+    for (final String name : odataResponse.getHeaderNames()) {
+      if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+        responseBuilder = responseBuilder.header(name, ResponseCompression.weakenETag(odataResponse.getHeader(name)));
+      } else if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        responseBuilder = responseBuilder.header(name, odataResponse.getHeader(name));
+      }
+    }
+    responseBuilder = responseBuilder.header(HttpHeaders.CONTENT_ENCODING, encoding);
+    if (!HttpHeaders.ACCEPT_ENCODING.equals(odataResponse.getHeader(HttpHeaders.VARY))) {
+      responseBuilder = responseBuilder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    return responseBuilder.build();
+  }
+
+  private static void closeStreamingContent(final ODataStreamingContent content) {
+    try {
+      content.close();
+    } catch (IOException e) {
+      // the response is not affected if the data source cannot be released
+    }
+  }
+
   /**
    * Return http header value.
    * consider first header value only
@@ -24,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Request;
 
 import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
 
 /**
  *  
@@ -37,6 +38,7 @@ public class SubLocatorParameter {
   private int pathSplit;
   private ODataServiceFactory serviceFactory;
   private HttpServletRequest servletRequest;
+  private ResponseCompression responseCompression = ResponseCompression.disabled();
 
   public ODataServiceFactory getServiceFactory() {
     return serviceFactory;
@@ -93,4 +95,12 @@ public class SubLocatorParameter {
   public HttpServletRequest getServletRequest() {
     return servletRequest;
   }
+
+  public ResponseCompression getResponseCompression() {
+    return responseCompression;
+  }
+
+  public void setResponseCompression(final ResponseCompression responseCompression) {
+    this.responseCompression = responseCompression;
+  }
 }
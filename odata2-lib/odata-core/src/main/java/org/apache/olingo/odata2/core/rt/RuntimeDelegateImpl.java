@@ -33,6 +33,7 @@ import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
 import org.apache.olingo.odata2.api.ep.EntityProvider.EntityProviderInterface;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
+import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.exception.ODataMessageException;
 import org.apache.olingo.odata2.api.processor.ODataRequest.ODataRequestBuilder;
 import org.apache.olingo.odata2.api.processor.ODataResponse.ODataResponseBuilder;
@@ -54,6 +55,7 @@ import org.apache.olingo.odata2.core.exception.MessageService;
 import org.apache.olingo.odata2.core.exception.MessageService.Message;
 import org.apache.olingo.odata2.core.processor.ODataSingleProcessorService;
 import org.apache.olingo.odata2.core.uri.ExpandSelectTreeNodeImpl;
+import org.apache.olingo.odata2.core.uri.UriParseCache;
 import org.apache.olingo.odata2.core.uri.UriParserImpl;
 
 /**
@@ -87,6 +89,14 @@ public class RuntimeDelegateImpl extends RuntimeDelegateInstance {
     return new EdmImplProv(provider);
   }
 
+  @Override
+  protected Edm createPreloadedEdm(final EdmProvider provider) throws ODataException {
+    EdmImplProv edm = new EdmImplProv(provider);
+    edm.preload();
+    edm.setUriParseCache(new UriParseCache());
+    return edm;
+  }
+
   @Override
   protected EntityProviderInterface createEntityProvider() {
     return new ProviderFacadeImpl();
@@ -98,6 +108,11 @@ public class RuntimeDelegateImpl extends RuntimeDelegateInstance {
     return new ODataSingleProcessorService(provider, processor);
   }
 
+  @Override
+  protected ODataService createODataSingleProcessorService(final Edm edm, final ODataSingleProcessor processor) {
+    return new ODataSingleProcessorService(edm, processor);
+  }
+
   @Override
   protected EdmProvider createEdmProvider(final InputStream metadataXml, final boolean validate)
       throws EntityProviderException {
@@ -15,7 +15,9 @@
 package org.apache.olingo.odata2.core.servlet;
 
 import java.io.IOException;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.commons.HttpHeaders;
@@ -31,8 +33,10 @@ import org.apache.olingo.odata2.api.exception.ODataNotImplementedException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.core.ODataContextImpl;
 import org.apache.olingo.odata2.core.ODataRequestHandler;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServlet;
@@ -56,6 +60,8 @@ public class ODataServlet extends HttpServlet {
     private static final int DEFAULT_BUFFER_SIZE = 32768;
     private static final String DEFAULT_READ_CHARSET = "utf-8";
 
+    private transient ResponseCompression compression;
+
     @Override
     protected void service(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
         // We have to create the Service Factory here because otherwise we do not have access to the error
@@ -226,11 +232,11 @@ public class ODataServlet extends HttpServlet {
                 final ODataResponse odataResponse = requestHandler.handle(odataRequest);
                 //
                 boolean omitResponseBody = HTTP_METHOD_HEAD.equals(req.getMethod());
-                createResponse(resp, odataResponse, omitResponseBody);
+                createResponse(req, resp, odataResponse, omitResponseBody);
             }
         } catch (Exception e) {
             ODataExceptionWrapper wrapper = new ODataExceptionWrapper(req, serviceFactory);
-            createResponse(resp, wrapper.wrapInExceptionResponse(e));
+            createResponse(req, resp, wrapper.wrapInExceptionResponse(e), false);
         }
     }
 
@@ -280,34 +286,78 @@ public class ODataServlet extends HttpServlet {
 
     protected void createResponse(final HttpServletResponse resp, final ODataResponse response, final boolean omitResponseBody)
             throws IOException {
+        createResponse(null, resp, response, omitResponseBody);
+    }
+
+    /**
+     * Writes the OData response into the servlet response. If a request is given, the body is compressed
+     * according to its <code>Accept-Encoding</code> header (see {@link ResponseCompression}).
+     */
+    protected void createResponse(final HttpServletRequest req, final HttpServletResponse resp, final ODataResponse response,
+            final boolean omitResponseBody) throws IOException {
+
+        final ResponseCompression compression = req == null || omitResponseBody ? ResponseCompression.disabled() : getCompression();
+        final boolean compressible = compression.isApplicable(response);
+        final String encoding = compressible ? compression.negotiate(req.getHeader(HttpHeaders.ACCEPT_ENCODING)) : null;
 
         resp.setStatus(response.getStatus()
                                .getStatusCode());
         resp.setContentType(response.getContentHeader());
         for (String headerName : response.getHeaderNames()) {
-            resp.setHeader(headerName, response.getHeader(headerName));
+            if (encoding == null || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+                resp.setHeader(headerName, response.getHeader(headerName));
+            }
+        }
+        if (compressible && !HttpHeaders.ACCEPT_ENCODING.equals(response.getHeader(HttpHeaders.VARY))) {
+            resp.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
         }
 
+        Object entity = response.getEntity();
         if (omitResponseBody) {
+            if (entity instanceof ODataStreamingContent) {
+                // never written, so the underlying data source has to be released here
+                ((ODataStreamingContent) entity).close();
+            }
             return;
         }
 
-        Object entity = response.getEntity();
-        if (entity != null) {
+        if (entity instanceof ODataStreamingContent) {
+            // written through without buffering, hence the content length is not known in advance
+            ServletOutputStream out = resp.getOutputStream();
+            if (encoding == null) {
+                ((ODataStreamingContent) entity).write(out);
+                out.flush();
+                out.close();
+            } else {
+                setContentEncoding(resp, response, encoding);
+                OutputStream compressed = compression.compress(out, encoding);
+                ((ODataStreamingContent) entity).write(compressed);
+                compressed.close();
+            }
+        } else if (entity != null) {
             ServletOutputStream out = resp.getOutputStream();
             int contentLength;
 
             if (entity instanceof InputStream) {
-                contentLength = handleStream((InputStream) entity, out);
+                contentLength = handleStream((InputStream) entity, resp, response, encoding, compression);
             } else if (entity instanceof String) {
                 String body = (String) entity;
                 final byte[] entityBytes = body.getBytes(DEFAULT_READ_CHARSET);
-                out.write(entityBytes);
-                contentLength = entityBytes.length;
+                if (encoding == null) {
+                    out.write(entityBytes);
+                    contentLength = entityBytes.length;
+                } else {
+                    contentLength = handleStream(new ByteArrayInputStream(entityBytes), resp, response, encoding, compression);
+                }
             } else {
                 throw new IOException("Illegal entity object in ODataResponse of type '" + entity.getClass() + "'.");
             }
 
+            if (contentLength < 0) {
+                // compressed, the stream is already closed
+                return;
+            }
+
             if (response.getHeader(HttpHeaders.CONTENT_LENGTH) != null) {
                 // Override content length
                 try {
@@ -323,6 +373,52 @@ public class ODataServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Copies the stream into the servlet response, compressed with the given encoding if the content
+     * is at least as large as the compression threshold.
+     * @return the number of written bytes, or <code>-1</code> if the content has been compressed
+     */
+    private int handleStream(InputStream stream, HttpServletResponse resp, ODataResponse response, String encoding,
+            ResponseCompression compression) throws IOException {
+        if (encoding == null) {
+            return handleStream(stream, resp.getOutputStream());
+        }
+        byte[] buffer = getBuffer();
+
+        try {
+            // look ahead whether the content is large enough to be worth the compression
+            final int lookAhead = Math.max(1, Math.min(compression.getThreshold(), buffer.length));
+            int filled = 0;
+            int len = 0;
+            while (filled < lookAhead && (len = stream.read(buffer, filled, lookAhead - filled)) != -1) {
+                filled += len;
+            }
+            if (len == -1) {
+                resp.getOutputStream()
+                    .write(buffer, 0, filled);
+                return filled;
+            }
+
+            setContentEncoding(resp, response, encoding);
+            OutputStream compressed = compression.compress(resp.getOutputStream(), encoding);
+            compressed.write(buffer, 0, filled);
+            while ((len = stream.read(buffer)) != -1) {
+                compressed.write(buffer, 0, len);
+            }
+            compressed.close();
+            return -1;
+        } finally {
+            stream.close();
+        }
+    }
+
+    private void setContentEncoding(HttpServletResponse resp, ODataResponse response, String encoding) {
+        resp.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        if (response.getETag() != null) {
+            resp.setHeader(HttpHeaders.ETAG, ResponseCompression.weakenETag(response.getETag()));
+        }
+    }
+
     private int handleStream(InputStream stream, ServletOutputStream out) throws IOException {
         int contentLength = 0;
         byte[] buffer = getBuffer();
@@ -339,6 +435,13 @@ public class ODataServlet extends HttpServlet {
         return contentLength;
     }
 
+    private ResponseCompression getCompression() {
+        if (compression == null) {
+            compression = ResponseCompression.create(getServletConfig());
+        }
+        return compression;
+    }
+
     private byte[] getBuffer() {
         int bufferSize = DEFAULT_BUFFER_SIZE;
         String bufSizeInit = getInitParameter(BUFFER_SIZE);
@@ -71,7 +71,7 @@ public class RestUtil {
   private static final Pattern REG_EX_MATRIX_PARAMETER = Pattern.compile("([^=]*)(?:=(.*))?");
   private static final String ACCEPT_FORM_ENCODING = "odata-accept-forms-encoding";
 
-  public static ContentType extractRequestContentType(final String contentType)
+  static ContentType extractRequestContentType(final String contentType)
       throws ODataUnsupportedMediaTypeException {
     if (contentType == null || contentType.isEmpty()) {
       // RFC 2616, 7.2.1:
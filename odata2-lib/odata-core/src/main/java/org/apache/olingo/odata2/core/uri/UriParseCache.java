@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.uri;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.apache.olingo.odata2.api.edm.EdmEntityContainer;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmFunctionImport;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmType;
+import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
+import org.apache.olingo.odata2.api.uri.NavigationSegment;
+import org.apache.olingo.odata2.api.uri.SelectItem;
+import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
+import org.apache.olingo.odata2.api.uri.expression.OrderByExpression;
+
+/**
+ * Bounded LRU cache of URI parse results for one entity data model.
+ * <p>Resource paths are cached as templates in which the content of all key predicates is replaced by a
+ * placeholder, so that requests which differ only in their key values share one entry; the key predicates
+ * are parsed again for every request. <code>$filter</code>, <code>$orderby</code>, <code>$expand</code>, and
+ * <code>$select</code> are cached per target and option text.</p>
+ * <p>Only successful parse results are cached. The cached objects are shared by all requests and must not be
+ * modified. The cache is meant for entity data models which are shared across requests, see
+ * {@link org.apache.olingo.odata2.api.edm.provider.EdmCache}.</p>
+ */
+public class UriParseCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 512;
+
+  private static final String KEY_PLACEHOLDER = "\u0000";
+
+  private final Lru<String, ResourcePath> resourcePaths;
+  private final Lru<Key, FilterExpression> filters;
+  private final Lru<Key, OrderByExpression> orderBys;
+  private final Lru<Key, List<ArrayList<NavigationPropertySegment>>> expands;
+  private final Lru<Key, List<SelectItem>> selects;
+
+  public UriParseCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * @param maxEntries maximum number of entries kept for each kind of parse result
+   */
+  public UriParseCache(final int maxEntries) {
+    resourcePaths = new Lru<String, ResourcePath>(maxEntries);
+    filters = new Lru<Key, FilterExpression>(maxEntries);
+    orderBys = new Lru<Key, OrderByExpression>(maxEntries);
+    expands = new Lru<Key, List<ArrayList<NavigationPropertySegment>>>(maxEntries);
+    selects = new Lru<Key, List<SelectItem>>(maxEntries);
+  }
+
+  /**
+   * Creates the template of the given resource path: the content of every key predicate
+   * is replaced by a placeholder and added to <code>keyPredicates</code> instead.
+   * @param pathSegments the (not yet percent-decoded) path segments
+   * @param keyPredicates receives the key predicate content of each segment, <code>null</code> for
+   * segments without key predicate
+   * @return the template
+   */
+  static String createTemplate(final List<String> pathSegments, final List<String> keyPredicates) {
+    StringBuilder template = new StringBuilder();
+    for (final String pathSegment : pathSegments) {
+      if (template.length() > 0) {
+        template.append('/');
+      }
+      final int open = pathSegment.indexOf('(');
+      final int close = pathSegment.length() - 1;
+      if (open > 0 && close > open + 1 && pathSegment.charAt(close) == ')') {
+        template.append(pathSegment, 0, open + 1).append(KEY_PLACEHOLDER).append(')');
+        keyPredicates.add(pathSegment.substring(open + 1, close));
+      } else {
+        template.append(pathSegment);
+        keyPredicates.add(null);
+      }
+    }
+    return template.toString();
+  }
+
+  ResourcePath getResourcePath(final String template) {
+    return resourcePaths.get(template);
+  }
+
+  void putResourcePath(final String template, final ResourcePath resourcePath) {
+    resourcePaths.put(template, resourcePath);
+  }
+
+  FilterExpression getFilter(final EdmType targetType, final boolean strict, final String originalText,
+      final String text) {
+    return filters.get(new Key(targetType, filterText(strict, originalText, text)));
+  }
+
+  void putFilter(final EdmType targetType, final boolean strict, final String originalText, final String text,
+      final FilterExpression filter) {
+    filters.put(new Key(targetType, filterText(strict, originalText, text)), filter);
+  }
+
+  private static String filterText(final boolean strict, final String originalText, final String text) {
+    return (strict ? "s" : "l") + originalText + KEY_PLACEHOLDER + text;
+  }
+
+  OrderByExpression getOrderBy(final EdmType targetType, final String text) {
+    return orderBys.get(new Key(targetType, text));
+  }
+
+  void putOrderBy(final EdmType targetType, final String text, final OrderByExpression orderBy) {
+    orderBys.put(new Key(targetType, text), orderBy);
+  }
+
+  List<ArrayList<NavigationPropertySegment>> getExpand(final EdmEntitySet entitySet, final String text) {
+    return expands.get(new Key(entitySet, text));
+  }
+
+  void putExpand(final EdmEntitySet entitySet, final String text,
+      final List<ArrayList<NavigationPropertySegment>> expand) {
+    expands.put(new Key(entitySet, text), expand);
+  }
+
+  List<SelectItem> getSelect(final EdmEntitySet entitySet, final String text) {
+    return selects.get(new Key(entitySet, text));
+  }
+
+  void putSelect(final EdmEntitySet entitySet, final String text, final List<SelectItem> select) {
+    selects.put(new Key(entitySet, text), select);
+  }
+
+  /**
+   * Resolved resource path without the values of its key predicates.
+   */
+  static class ResourcePath {
+    final UriType uriType;
+    final EdmEntityContainer entityContainer;
+    final EdmEntitySet startEntitySet;
+    final EdmEntitySet targetEntitySet;
+    final EdmFunctionImport functionImport;
+    final EdmType targetType;
+    /** entity type the key predicate of the first segment is parsed for; <code>null</code> if it has none */
+    final EdmEntityType keyEntityType;
+    final List<EdmEntitySet> navigationEntitySets;
+    final List<EdmNavigationProperty> navigationProperties;
+    final List<Boolean> navigationKeys;
+    final List<EdmProperty> propertyPath;
+    final boolean count;
+    final boolean value;
+    final boolean links;
+
+    ResourcePath(final UriInfoImpl uriInfo, final EdmEntityType keyEntityType) {
+      uriType = uriInfo.getUriType();
+      entityContainer = uriInfo.getEntityContainer();
+      startEntitySet = uriInfo.getStartEntitySet();
+      targetEntitySet = uriInfo.getTargetEntitySet();
+      functionImport = uriInfo.getFunctionImport();
+      targetType = uriInfo.getTargetType();
+      this.keyEntityType = keyEntityType;
+      List<EdmEntitySet> entitySets = new ArrayList<EdmEntitySet>();
+      List<EdmNavigationProperty> properties = new ArrayList<EdmNavigationProperty>();
+      List<Boolean> keys = new ArrayList<Boolean>();
+      for (final NavigationSegment navigationSegment : uriInfo.getNavigationSegments()) {
+        entitySets.add(navigationSegment.getEntitySet());
+        properties.add(navigationSegment.getNavigationProperty());
+        keys.add(!navigationSegment.getKeyPredicates().isEmpty());
+      }
+      navigationEntitySets = Collections.unmodifiableList(entitySets);
+      navigationProperties = Collections.unmodifiableList(properties);
+      navigationKeys = Collections.unmodifiableList(keys);
+      propertyPath = Collections.unmodifiableList(new ArrayList<EdmProperty>(uriInfo.getPropertyPath()));
+      count = uriInfo.isCount();
+      value = uriInfo.isValue();
+      links = uriInfo.isLinks();
+    }
+  }
+
+  /**
+   * Read-only path of an <code>$expand</code> option. The API exposes the paths as {@link ArrayList}s,
+   * so all modifying methods are overridden to keep the cached paths unchanged.
+   */
+  static final class ExpandPath extends ArrayList<NavigationPropertySegment> {
+    private static final long serialVersionUID = 1L;
+
+    ExpandPath(final List<NavigationPropertySegment> segments) {
+      super(segments);
+    }
+
+    @Override
+    public NavigationPropertySegment set(final int index, final NavigationPropertySegment element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean add(final NavigationPropertySegment element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(final int index, final NavigationPropertySegment element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends NavigationPropertySegment> elements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends NavigationPropertySegment> elements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NavigationPropertySegment remove(final int index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> elements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> elements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super NavigationPropertySegment> filter) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<NavigationPropertySegment> operator) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(final Comparator<? super NavigationPropertySegment> comparator) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<NavigationPropertySegment> subList(final int fromIndex, final int toIndex) {
+      return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+    }
+  }
+
+  /**
+   * Cache key of a query option text for an Edm element; the elements of a shared entity data model are
+   * never replaced, so they are compared by identity.
+   */
+  private static final class Key {
+    private final Object scope;
+    private final String text;
+
+    Key(final Object scope, final String text) {
+      this.scope = scope;
+      this.text = text;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return scope == other.scope && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(scope) + text.hashCode();
+    }
+  }
+
+  private static final class Lru<K, V> {
+    private final Map<K, V> map;
+
+    Lru(final int maxEntries) {
+      map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+          return size() > maxEntries;
+        }
+      };
+    }
+
+    synchronized V get(final K key) {
+      return map.get(key);
+    }
+
+    synchronized void put(final K key, final V value) {
+      map.put(key, value);
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.olingo.odata2.core.uri;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -66,6 +67,7 @@ import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
 import org.apache.olingo.odata2.api.uri.expression.OrderByExpression;
 import org.apache.olingo.odata2.core.ODataPathSegmentImpl;
 import org.apache.olingo.odata2.core.commons.Decoder;
+import org.apache.olingo.odata2.core.edm.EdmImpl;
 import org.apache.olingo.odata2.core.edm.EdmSimpleTypeFacadeImpl;
 import org.apache.olingo.odata2.core.exception.ODataRuntimeException;
 import org.apache.olingo.odata2.core.uri.expression.FilterParserImpl;
@@ -86,6 +88,7 @@ public class UriParserImpl extends UriParser {
   private static final String ACCEPT_FORM_ENCODING = "odata-accept-forms-encoding";
 
   private final Edm edm;
+  private final UriParseCache cache;
   private final EdmSimpleTypeFacade simpleTypeFacade;
   private List<String> pathSegments;
   private String currentPathSegment;
@@ -97,6 +100,7 @@ public class UriParserImpl extends UriParser {
 
   public UriParserImpl(final Edm edm) {
     this.edm = edm;
+    cache = edm instanceof EdmImpl ? ((EdmImpl) edm).getUriParseCache() : null;
     simpleTypeFacade = new EdmSimpleTypeFacadeImpl();
   }
 
@@ -133,7 +137,11 @@ public class UriParserImpl extends UriParser {
 
     preparePathSegments();
 
-    handleResourcePath();
+    if (cache == null) {
+      handleResourcePath();
+    } else {
+      handleResourcePathCached();
+    }
 
     distributeQueryParameters(allQueryParameters);
     checkSystemQueryOptionsCompatibility();
@@ -198,6 +206,67 @@ public class UriParserImpl extends UriParser {
     }
   }
 
+  private void handleResourcePathCached() throws UriSyntaxException, UriNotMatchingException, EdmException {
+    List<String> keyPredicates = new ArrayList<String>();
+    final String template = UriParseCache.createTemplate(pathSegments, keyPredicates);
+    final UriParseCache.ResourcePath resourcePath = cache.getResourcePath(template);
+    if (resourcePath == null) {
+      handleResourcePath();
+      EdmEntityType keyEntityType = null;
+      if (!uriResult.getKeyPredicates().isEmpty()) {
+        keyEntityType = uriResult.getFunctionImport() == null ?
+            uriResult.getStartEntitySet().getEntityType() :
+            uriResult.getFunctionImport().getEntitySet().getEntityType();
+      }
+      cache.putResourcePath(template, new UriParseCache.ResourcePath(uriResult, keyEntityType));
+    } else {
+      pathSegments.clear();
+      applyResourcePath(resourcePath, keyPredicates);
+    }
+  }
+
+  /**
+   * Fills the result from a cached resource path; only the key predicates are parsed.
+   * @param resourcePath the cached resource path
+   * @param keyPredicates the key predicate content of each path segment, <code>null</code> for segments
+   * without key predicate
+   */
+  private void applyResourcePath(final UriParseCache.ResourcePath resourcePath, final List<String> keyPredicates)
+      throws UriSyntaxException, EdmException {
+    uriResult.setUriType(resourcePath.uriType);
+    uriResult.setEntityContainer(resourcePath.entityContainer);
+    uriResult.setStartEntitySet(resourcePath.startEntitySet);
+    uriResult.setTargetEntitySet(resourcePath.targetEntitySet);
+    uriResult.setFunctionImport(resourcePath.functionImport);
+    uriResult.setTargetType(resourcePath.targetType);
+    if (resourcePath.keyEntityType != null) {
+      uriResult.setKeyPredicates(parseKey(keyPredicates.get(0), resourcePath.keyEntityType));
+    }
+
+    // Only navigation segments can have key predicates after the first segment.
+    int index = 1;
+    for (int i = 0; i < resourcePath.navigationProperties.size(); i++) {
+      final EdmEntitySet entitySet = resourcePath.navigationEntitySets.get(i);
+      NavigationSegmentImpl navigationSegment = new NavigationSegmentImpl();
+      navigationSegment.setEntitySet(entitySet);
+      navigationSegment.setNavigationProperty(resourcePath.navigationProperties.get(i));
+      if (resourcePath.navigationKeys.get(i)) {
+        while (keyPredicates.get(index) == null) {
+          index++;
+        }
+        navigationSegment.setKeyPredicates(parseKey(keyPredicates.get(index++), entitySet.getEntityType()));
+      }
+      uriResult.addNavigationSegment(navigationSegment);
+    }
+
+    for (final EdmProperty property : resourcePath.propertyPath) {
+      uriResult.addProperty(property);
+    }
+    uriResult.setCount(resourcePath.count);
+    uriResult.setValue(resourcePath.value);
+    uriResult.setLinks(resourcePath.links);
+  }
+
   private void handleNormalInitialSegment() throws UriSyntaxException, UriNotMatchingException, EdmException {
     final Matcher matcher = INITIAL_SEGMENT_PATTERN.matcher(currentPathSegment);
     if (!matcher.matches()) {
@@ -743,8 +812,16 @@ public class UriParserImpl extends UriParser {
     final EdmType targetType = uriResult.getTargetType();
     if (targetType instanceof EdmEntityType) {
       try {
-        uriResult.setFilter(new FilterParserImpl((EdmEntityType) targetType, strictFilter, originalFilterString).
-        		parseFilterString(filter, true));
+        FilterExpression filterExpression =
+            cache == null ? null : cache.getFilter(targetType, strictFilter, originalFilterString, filter);
+        if (filterExpression == null) {
+          filterExpression = new FilterParserImpl((EdmEntityType) targetType, strictFilter, originalFilterString).
+              parseFilterString(filter, true);
+          if (cache != null) {
+            cache.putFilter(targetType, strictFilter, originalFilterString, filter, filterExpression);
+          }
+        }
+        uriResult.setFilter(filterExpression);
       } catch (ExpressionParserException e) {
         throw new UriSyntaxException(UriSyntaxException.INVALIDFILTEREXPRESSION.addContent(filter), e);
       } catch (ODataMessageException e) {
@@ -757,7 +834,14 @@ public class UriParserImpl extends UriParser {
     final EdmType targetType = uriResult.getTargetType();
     if (targetType instanceof EdmEntityType) {
       try {
-        uriResult.setOrderBy(parseOrderByString((EdmEntityType) targetType, orderBy));
+        OrderByExpression orderByExpression = cache == null ? null : cache.getOrderBy(targetType, orderBy);
+        if (orderByExpression == null) {
+          orderByExpression = parseOrderByString((EdmEntityType) targetType, orderBy);
+          if (cache != null) {
+            cache.putOrderBy(targetType, orderBy, orderByExpression);
+          }
+        }
+        uriResult.setOrderBy(orderByExpression);
       } catch (ExpressionParserException e) {
         throw new UriSyntaxException(UriSyntaxException.INVALIDORDERBYEXPRESSION.addContent(orderBy), e);
       } catch (ODataMessageException e) {
@@ -810,6 +894,27 @@ public class UriParserImpl extends UriParser {
 
   private void handleSystemQueryOptionExpand(final String expandStatement) throws UriSyntaxException,
       UriNotMatchingException, EdmException {
+    if (cache != null) {
+      List<ArrayList<NavigationPropertySegment>> expand =
+          cache.getExpand(uriResult.getTargetEntitySet(), expandStatement);
+      if (expand == null) {
+        handleSystemQueryOptionExpandUncached(expandStatement);
+        // the cached paths are shared by all requests, so neither the list nor its paths may be modified
+        List<ArrayList<NavigationPropertySegment>> paths = new ArrayList<ArrayList<NavigationPropertySegment>>();
+        for (final ArrayList<NavigationPropertySegment> path : uriResult.getExpand()) {
+          paths.add(new UriParseCache.ExpandPath(path));
+        }
+        expand = Collections.unmodifiableList(paths);
+        cache.putExpand(uriResult.getTargetEntitySet(), expandStatement, expand);
+      }
+      uriResult.setExpand(expand);
+    } else {
+      handleSystemQueryOptionExpandUncached(expandStatement);
+    }
+  }
+
+  private void handleSystemQueryOptionExpandUncached(final String expandStatement) throws UriSyntaxException,
+      UriNotMatchingException, EdmException {
     ArrayList<ArrayList<NavigationPropertySegment>> expand = new ArrayList<ArrayList<NavigationPropertySegment>>();
 
     if (expandStatement.startsWith(",") || expandStatement.endsWith(",")) {
@@ -855,6 +960,21 @@ public class UriParserImpl extends UriParser {
 
   private void handleSystemQueryOptionSelect(final String selectStatement) throws UriSyntaxException,
       UriNotMatchingException, EdmException {
+    if (cache != null) {
+      List<SelectItem> select = cache.getSelect(uriResult.getTargetEntitySet(), selectStatement);
+      if (select == null) {
+        handleSystemQueryOptionSelectUncached(selectStatement);
+        select = Collections.unmodifiableList(uriResult.getSelect());
+        cache.putSelect(uriResult.getTargetEntitySet(), selectStatement, select);
+      }
+      uriResult.setSelect(select);
+    } else {
+      handleSystemQueryOptionSelectUncached(selectStatement);
+    }
+  }
+
+  private void handleSystemQueryOptionSelectUncached(final String selectStatement) throws UriSyntaxException,
+      UriNotMatchingException, EdmException {
     ArrayList<SelectItem> select = new ArrayList<SelectItem>();
 
     if (selectStatement.startsWith(",") || selectStatement.endsWith(",")) {
@@ -18,9 +18,6 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.uri.expression;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.apache.olingo.odata2.api.edm.EdmLiteral;
 import org.apache.olingo.odata2.api.edm.EdmLiteralException;
 import org.apache.olingo.odata2.api.edm.EdmSimpleTypeFacade;
@@ -30,18 +27,22 @@ import org.apache.olingo.odata2.core.edm.EdmSimpleTypeFacadeImpl;
 
 /**
  * Expression tokenizer
+ * <p>The expression is scanned once from left to right; keywords and literals are recognized by comparing
+ * the characters at the current position, so no substrings are created except for the tokens themselves.</p>
  * 
  */
 public class Tokenizer {
 
-  private static final Pattern OTHER_LIT = Pattern.compile("(?:\\p{L}|\\p{Digit}|[-._~%!$&*+;:@])+");
-  private static final Pattern FUNK =
-      Pattern
-          .compile("^(startswith|endswith|substring|substring|substringof|indexof|replace|tolower|toupper" +
-              "|trim|concat|length|year|mounth|day|hour|minute|second|round|ceiling|floor)( *)\\(");
-  private static final Pattern AND_SUB1 = Pattern.compile("^(add|sub|mul|div|mod|not) ");
-  private static final Pattern AND_SUB = Pattern.compile("^(and|or|eq|ne|lt|gt|le|ge) ");
-  private static final Pattern prefix = Pattern.compile("^(X|binary|guid|datetime|datetimeoffset|time)'");
+  private static final String[] BINARY_OPERATORS = { "and", "or", "eq", "ne", "lt", "gt", "le", "ge" };
+  private static final String[] MATH_OPERATORS = { "add", "sub", "mul", "div", "mod", "not" };
+  private static final String[] LITERAL_PREFIXES = { "X", "binary", "guid", "datetime", "datetimeoffset", "time" };
+  private static final String[] METHODS = { "startswith", "endswith", "substring", "substringof", "indexof",
+      "replace", "tolower", "toupper", "trim", "concat", "length", "year", "mounth", "day", "hour", "minute",
+      "second", "round", "ceiling", "floor" };
+  private static final String OTHER_LITERAL_CHARACTERS = "-._~%!$&*+;:@";
+  private static final String TRUE = "true";
+  private static final String FALSE = "false";
+
   private boolean flagIncludeWhitespace = false;
   private EdmSimpleTypeFacade typeDectector = null;
 
@@ -75,7 +76,6 @@ public class Tokenizer {
     curPosition = 0;
     int oldPosition;
     char curCharacter;
-    String token = "";
 
     while (curPosition < expressionLength) {
       oldPosition = curPosition;
@@ -99,8 +99,7 @@ public class Tokenizer {
         break;
 
       case '\'':
-        token = "";
-        readLiteral(curCharacter);
+        readLiteral(curPosition);
 
         break;
 
@@ -119,194 +118,184 @@ public class Tokenizer {
         break;
 
       default:
-        String rem_expr = expression.substring(curPosition); // remaining expression
-
-        boolean isBinary = checkForBinary(oldPosition, rem_expr);
-        if (isBinary) {
+        if (checkForKeyword(oldPosition, BINARY_OPERATORS)) {
           break;
         }
 
         // check for prefixes like X, binary, guid, datetime
-        boolean isPrefix = checkForPrefix(rem_expr);
-        if (isPrefix) {
+        if (checkForPrefix(oldPosition)) {
           break;
         }
 
         // check for math
-        boolean isMath = checkForMath(oldPosition, rem_expr);
-        if (isMath) {
+        if (checkForKeyword(oldPosition, MATH_OPERATORS)) {
           break;
         }
 
         // check for function
-        boolean isFunction = checkForMethod(oldPosition, rem_expr);
-        if (isFunction) {
+        if (checkForMethod(oldPosition)) {
           break;
         }
 
-        boolean isBoolean = checkForBoolean(oldPosition, rem_expr);
-        if (isBoolean) {
+        if (checkForBoolean(oldPosition)) {
           break;
         }
 
-        boolean isLiteral = checkForLiteral(oldPosition, curCharacter, rem_expr);
-        if (isLiteral) {
+        if (checkForLiteral(oldPosition, curCharacter)) {
           break;
         }
 
-        token = new Character(curCharacter).toString();
-        throw TokenizerException.createUNKNOWN_CHARACTER(oldPosition, token, expression);
+        throw TokenizerException.createUNKNOWN_CHARACTER(oldPosition, String.valueOf(curCharacter), expression);
       }
     }
     return tokens;
   }
 
-  private boolean checkForLiteral(final int oldPosition, final char curCharacter, final String rem_expr) {
-    final Matcher matcher = OTHER_LIT.matcher(rem_expr);
-    boolean isLiteral = false;
-    if (matcher.lookingAt()) {
-      String token = matcher.group();
-      try {
-        EdmLiteral edmLiteral = typeDectector.parseUriLiteral(token);
-        curPosition = curPosition + token.length();
-        // It is a simple type.
-        tokens.appendEdmTypedToken(oldPosition, TokenKind.SIMPLE_TYPE, token, edmLiteral);
-        isLiteral = true;
-      } catch (EdmLiteralException e) {
-        // We treat it as normal untyped literal.
-
-        // The '-' is checked here (and not in the switch statement) because it may be
-        // part of a negative number.
-        if (curCharacter == '-') {
-          curPosition = curPosition + 1;
-          tokens.appendToken(oldPosition, TokenKind.SYMBOL, curCharacter);
-          isLiteral = true;
-        } else {
-          curPosition = curPosition + token.length();
-          tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
-          isLiteral = true;
-        }
+  /**
+   * Returns the end of the word in the given list which starts at the current position and is
+   * followed by the given character.
+   * @return the word or <code>null</code> if there is none
+   */
+  private String findWord(final String[] words, final char following) {
+    for (final String word : words) {
+      final int end = curPosition + word.length();
+      if (end < expressionLength && expression.charAt(end) == following
+          && expression.startsWith(word, curPosition)) {
+        return word;
       }
     }
-    return isLiteral;
+    return null;
   }
 
-  private boolean checkForBoolean(final int oldPosition, final String rem_expr) {
-    boolean isBoolean = false;
-    if ("true".equals(rem_expr) || "false".equals(rem_expr)) {
-      curPosition = curPosition + rem_expr.length();
-      tokens.appendEdmTypedToken(oldPosition, TokenKind.SIMPLE_TYPE, rem_expr, new EdmLiteral(EdmSimpleTypeFacadeImpl
-          .getEdmSimpleType(EdmSimpleTypeKind.Boolean), rem_expr));
-      isBoolean = true;
+  /**
+   * Checks for an operator keyword which has to be followed by a space.
+   */
+  private boolean checkForKeyword(final int oldPosition, final String[] keywords) {
+    final String token = findWord(keywords, ' ');
+    if (token == null) {
+      return false;
     }
-    return isBoolean;
+    curPosition = curPosition + token.length();
+    tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
+    return true;
   }
 
-  private void eatWhiteSpaces(final int oldPosition, char curCharacter) {
-    int lv_token_len;
-    String expression_sub;
-    while ((curCharacter == ' ') && (curPosition < expressionLength)) {
-      curPosition = curPosition + 1;
-      if (curPosition < expressionLength) {
-        curCharacter = expression.charAt(curPosition);
+  private boolean checkForLiteral(final int oldPosition, final char curCharacter) {
+    int end = curPosition;
+    while (end < expressionLength) {
+      final int codePoint = expression.codePointAt(end);
+      if (Character.isLetter(codePoint) || codePoint >= '0' && codePoint <= '9'
+          || OTHER_LITERAL_CHARACTERS.indexOf(codePoint) >= 0) {
+        end = end + Character.charCount(codePoint);
+      } else {
+        break;
       }
     }
+    if (end == curPosition) {
+      return false;
+    }
 
-    lv_token_len = curPosition - oldPosition;
-
-    if (flagIncludeWhitespace == true) {
-      expression_sub = expression.substring(oldPosition, oldPosition + lv_token_len);
-      tokens.appendEdmTypedToken(oldPosition, TokenKind.WHITESPACE, expression_sub, null);
+    final String token = expression.substring(curPosition, end);
+    try {
+      EdmLiteral edmLiteral = typeDectector.parseUriLiteral(token);
+      curPosition = end;
+      // It is a simple type.
+      tokens.appendEdmTypedToken(oldPosition, TokenKind.SIMPLE_TYPE, token, edmLiteral);
+    } catch (EdmLiteralException e) {
+      // We treat it as normal untyped literal.
+
+      // The '-' is checked here (and not in the switch statement) because it may be
+      // part of a negative number.
+      if (curCharacter == '-') {
+        curPosition = curPosition + 1;
+        tokens.appendToken(oldPosition, TokenKind.SYMBOL, curCharacter);
+      } else {
+        curPosition = end;
+        tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
+      }
     }
+    return true;
   }
 
-  private boolean checkForMethod(final int oldPosition, final String rem_expr) {
-    boolean isMethod = false;
-    Matcher matcher = FUNK.matcher(rem_expr);
-    if (matcher.find()) {
-      String token = matcher.group(1);
-      curPosition = curPosition + token.length();
-      tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
-      isMethod = true;
+  /**
+   * A boolean literal is only recognized as the very end of the expression.
+   */
+  private boolean checkForBoolean(final int oldPosition) {
+    final int remaining = expressionLength - curPosition;
+    final String token = remaining == TRUE.length() && expression.startsWith(TRUE, curPosition) ? TRUE :
+        remaining == FALSE.length() && expression.startsWith(FALSE, curPosition) ? FALSE : null;
+    if (token == null) {
+      return false;
     }
-    return isMethod;
+    curPosition = expressionLength;
+    tokens.appendEdmTypedToken(oldPosition, TokenKind.SIMPLE_TYPE, token, new EdmLiteral(EdmSimpleTypeFacadeImpl
+        .getEdmSimpleType(EdmSimpleTypeKind.Boolean), token));
+    return true;
   }
 
-  private boolean checkForMath(final int oldPosition, final String rem_expr) {
-    boolean isMath = false;
-    Matcher matcher1 = AND_SUB1.matcher(rem_expr);
-    if (matcher1.find()) {
-      String token = matcher1.group(1);
-      curPosition = curPosition + token.length();
-      tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
-      isMath = true;
+  private void eatWhiteSpaces(final int oldPosition, char curCharacter) {
+    while ((curCharacter == ' ') && (curPosition < expressionLength)) {
+      curPosition = curPosition + 1;
+      if (curPosition < expressionLength) {
+        curCharacter = expression.charAt(curPosition);
+      }
     }
-    return isMath;
-  }
 
-  private boolean checkForBinary(final int oldPosition, final String rem_expr) {
-    boolean isBinary = false;
-    Matcher matcher1 = AND_SUB.matcher(rem_expr);
-    if (matcher1.find()) {
-      String token = matcher1.group(1);
-      curPosition = curPosition + token.length();
-      tokens.appendToken(oldPosition, TokenKind.LITERAL, token);
-      isBinary = true;
+    if (flagIncludeWhitespace == true) {
+      tokens.appendEdmTypedToken(oldPosition, TokenKind.WHITESPACE, expression.substring(oldPosition, curPosition),
+          null);
     }
-    return isBinary;
   }
 
-  private boolean checkForPrefix(final String rem_expr) throws ExpressionParserException, TokenizerException {
-    boolean isPrefix = false;
-    Matcher matcher = prefix.matcher(rem_expr);
-    String token = "";
-    char curCharacter;
-
-    if (matcher.find()) {
-      token = matcher.group(1);
-      curPosition = curPosition + token.length();
-      curCharacter = expression.charAt(curPosition); // "should be '
-      readLiteral(curCharacter, token);
-      isPrefix = true;
+  /**
+   * Checks for a method name which has to be followed by optional spaces and an opening parenthesis.
+   */
+  private boolean checkForMethod(final int oldPosition) {
+    for (final String method : METHODS) {
+      if (expression.startsWith(method, curPosition)) {
+        int position = curPosition + method.length();
+        while (position < expressionLength && expression.charAt(position) == ' ') {
+          position++;
+        }
+        if (position < expressionLength && expression.charAt(position) == '(') {
+          curPosition = curPosition + method.length();
+          tokens.appendToken(oldPosition, TokenKind.LITERAL, method);
+          return true;
+        }
+      }
     }
-    return isPrefix;
+    return false;
   }
 
-  private void readLiteral(final char curCharacter) throws ExpressionParserException, TokenizerException {
-    readLiteral(curCharacter, "");
+  private boolean checkForPrefix(final int oldPosition) throws ExpressionParserException, TokenizerException {
+    final String prefix = findWord(LITERAL_PREFIXES, '\'');
+    if (prefix == null) {
+      return false;
+    }
+    curPosition = curPosition + prefix.length();
+    readLiteral(oldPosition);
+    return true;
   }
 
   /**
    * Read up to single ' and move pointer to the following char and tries a type detection
-   * @param curCharacter
-   * @param token
+   * @param tokenStart start of the literal including a type prefix; the current position is at the leading '
    * @throws ExpressionParserException
    * @throws TokenizerException
    */
-  private void readLiteral(char curCharacter, String token) throws ExpressionParserException, TokenizerException {
-    int offsetPos = -token.length();
-    int oldPosition = curPosition;
-    token = token + Character.toString(curCharacter);
+  private void readLiteral(final int tokenStart) throws ExpressionParserException, TokenizerException {
+    final int oldPosition = curPosition;
     curPosition = curPosition + 1;
 
     boolean wasApostroph = false; // leading ' does not count
     while (curPosition < expressionLength) {
-      curCharacter = expression.charAt(curPosition);
-
-      if (curCharacter != '\'') {
-        if (wasApostroph == true) {
+      if (expression.charAt(curPosition) != '\'') {
+        if (wasApostroph) {
           break;
         }
-
-        token = token + curCharacter;
-        wasApostroph = false;
       } else {
-        if (wasApostroph) {
-          wasApostroph = false; // a double ' is a normal character '
-        } else {
-          wasApostroph = true;
-        }
-        token = token + curCharacter;
+        // a double ' is a normal character '
+        wasApostroph = !wasApostroph;
       }
       curPosition = curPosition + 1;
     }
@@ -316,9 +305,10 @@ public class Tokenizer {
       throw FilterParserExceptionImpl.createTOKEN_UNDETERMINATED_STRING(oldPosition, expression);
     }
 
+    final String token = expression.substring(tokenStart, curPosition);
     try {
       EdmLiteral edmLiteral = typeDectector.parseUriLiteral(token);
-      tokens.appendEdmTypedToken(oldPosition + offsetPos, TokenKind.SIMPLE_TYPE, token, edmLiteral);
+      tokens.appendEdmTypedToken(tokenStart, TokenKind.SIMPLE_TYPE, token, edmLiteral);
     } catch (EdmLiteralException ex) {
       throw TokenizerException.createTYPEDECTECTION_FAILED_ON_STRING(ex, oldPosition, token);
     }
@@ -26,10 +26,17 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.olingo.odata2.api.ODataMetricsCallback;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataRequest;
+import org.apache.olingo.odata2.core.uri.UriInfoImpl;
+import org.apache.olingo.odata2.core.uri.UriType;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -75,4 +82,76 @@ public class ODataContextImplTest {
     assertTrue(context.isInBatchMode());
     assertNotNull(context.getBatchParentContext());
   }
+
+  @Test
+  public void noMetricsWithoutCallback() {
+    assertEquals(0, context.startRuntimeMeasurement("ODataRequestHandler", "handle"));
+    context.stopRuntimeMeasurement(0);
+    context.publishMetrics(null);
+    assertTrue(context.getRuntimeMeasurements().isEmpty());
+  }
+
+  @Test
+  public void metrics() throws Exception {
+    final List<String> records = new ArrayList<String>();
+    final ODataContextImpl metricsContext = createContext(records);
+
+    final int requestHandle = metricsContext.startRuntimeMeasurement("ODataRequestHandler", "handle");
+    final int parseHandle = metricsContext.startRuntimeMeasurement("UriParserImpl", "parse");
+    metricsContext.stopRuntimeMeasurement(parseHandle);
+    final int otherHandle = metricsContext.startRuntimeMeasurement("Other", "method");
+    metricsContext.stopRuntimeMeasurement(otherHandle);
+    final int writeHandle = metricsContext.startRuntimeMeasurement("EntityProvider", "writeFeed");
+    metricsContext.stopRuntimeMeasurement(requestHandle);
+    assertTrue(records.isEmpty());
+    assertTrue(metricsContext.getRuntimeMeasurements().isEmpty());
+
+    EdmEntitySet entitySet = mock(EdmEntitySet.class);
+    when(entitySet.getName()).thenReturn("Employees");
+    UriInfoImpl uriInfo = mock(UriInfoImpl.class);
+    when(uriInfo.getTargetEntitySet()).thenReturn(entitySet);
+    when(uriInfo.getUriType()).thenReturn(UriType.URI1);
+    metricsContext.publishMetrics(uriInfo);
+    assertEquals(2, records.size());
+    assertEquals("REQUEST Employees URI1", records.get(0));
+    assertEquals("URI_PARSING Employees URI1", records.get(1));
+
+    // The unfinished span is published later, the others are not published again.
+    metricsContext.stopRuntimeMeasurement(writeHandle);
+    metricsContext.publishMetrics(null);
+    assertEquals(3, records.size());
+    assertEquals("SERIALIZATION null null", records.get(2));
+  }
+
+  @Test
+  public void metricsInDebugMode() {
+    final List<String> records = new ArrayList<String>();
+    final ODataContextImpl metricsContext = createContext(records);
+    metricsContext.setDebugMode(true);
+
+    for (int i = 0; i < RequestMetrics.MAX_SPANS + 2; i++) {
+      assertEquals(i, metricsContext.startRuntimeMeasurement("Dispatcher", "dispatch"));
+      metricsContext.stopRuntimeMeasurement(i);
+    }
+    assertEquals(RequestMetrics.MAX_SPANS + 2, metricsContext.getRuntimeMeasurements().size());
+    metricsContext.publishMetrics(null);
+    assertEquals(RequestMetrics.MAX_SPANS, records.size());
+    assertEquals("PROCESSOR null null", records.get(0));
+  }
+
+  private ODataContextImpl createContext(final List<String> records) {
+    ODataServiceFactory factory = mock(ODataServiceFactory.class);
+    when(factory.getCallback(ODataMetricsCallback.class)).thenReturn(new ODataMetricsCallback() {
+      @Override
+      public void record(final Phase phase, final String entitySetName, final String uriType,
+          final long durationNanos) {
+        assertTrue(durationNanos >= 0);
+        records.add(phase + " " + entitySetName + " " + uriType);
+      }
+    });
+    ODataRequest request = mock(ODataRequest.class);
+    when(request.getMethod()).thenReturn(ODataHttpMethod.GET);
+    when(request.getPathInfo()).thenReturn(new PathInfoImpl());
+    return new ODataContextImpl(request, factory);
+  }
 }
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.olingo.odata2.api.ODataService;
+import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.api.batch.BatchHandler;
+import org.apache.olingo.odata2.api.batch.BatchParallelExecutionCallback;
+import org.apache.olingo.odata2.api.batch.BatchRequestPart;
+import org.apache.olingo.odata2.api.batch.BatchResponsePart;
+import org.apache.olingo.odata2.api.commons.HttpContentType;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.apache.olingo.odata2.api.ep.EntityProviderBatchProperties;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.apache.olingo.odata2.api.processor.ODataRequest;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.part.BatchProcessor;
+import org.apache.olingo.odata2.api.processor.part.EntitySimplePropertyProcessor;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.api.uri.info.GetSimplePropertyUriInfo;
+import org.apache.olingo.odata2.api.uri.info.PutMergePatchUriInfo;
+import org.apache.olingo.odata2.core.ODataPathSegmentImpl;
+import org.apache.olingo.odata2.core.PathInfoImpl;
+import org.apache.olingo.odata2.testutil.helper.StringHelper;
+import org.apache.olingo.odata2.testutil.mock.MockFacade;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the concurrent execution of batch query operations switched on by a {@link BatchParallelExecutionCallback}.
+ */
+public class BatchHandlerParallelTest {
+
+    private static final String CONTENT_TYPE = HttpContentType.MULTIPART_MIXED + "; boundary=batch_123";
+    private static final String CRLF = "\r\n";
+    private static final String SERVICE_ROOT = "http://localhost/odata/";
+    private static final String SLOW_PROPERTY = "RoomId";
+
+    private ExecutorService executor;
+    private ODataServiceFactory factory;
+    private BatchParallelExecutionCallback callback;
+    private final List<ParallelProcessor> workerProcessors = new CopyOnWriteArrayList<ParallelProcessor>();
+
+    @Before
+    public void setupFactory() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        callback = mock(BatchParallelExecutionCallback.class);
+        when(callback.getExecutorService()).thenReturn(executor);
+        when(callback.getParallelism()).thenReturn(2);
+        when(callback.getTimeout()).thenReturn(10000L);
+        factory = mock(ODataServiceFactory.class);
+        when(factory.getCallback(BatchParallelExecutionCallback.class)).thenReturn(callback);
+        when(factory.createService(any(ODataContext.class))).thenAnswer(new Answer<ODataService>() {
+            @Override
+            public ODataService answer(final InvocationOnMock invocation) throws Throwable {
+                ParallelProcessor processor = new ParallelProcessor();
+                workerProcessors.add(processor);
+                return createServiceMock(processor);
+            }
+        });
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void queryPartsConcurrently() throws Exception {
+        final String[] properties = { "EmployeeName", "Age", "EmployeeName", "Age", "ImageUrl" };
+
+        List<BatchResponsePart> responseParts = createHandler().handleBatchParts(createQueryParts(properties));
+
+        assertEquals(properties.length, responseParts.size());
+        for (int i = 0; i < properties.length; i++) {
+            assertEquals(properties[i], responseParts.get(i)
+                                                     .getResponses()
+                                                     .get(0)
+                                                     .getEntity());
+        }
+        verify(factory, times(properties.length)).createService(any(ODataContext.class));
+    }
+
+    @Test
+    public void workerProcessorsClosed() throws Exception {
+        final String[] properties = { "EmployeeName", "Age", "ImageUrl" };
+
+        createHandler().handleBatchParts(createQueryParts(properties));
+
+        assertEquals(properties.length, workerProcessors.size());
+        for (ParallelProcessor processor : workerProcessors) {
+            assertTrue(processor.closed);
+        }
+    }
+
+    @Test
+    public void queryPartTimeout() throws Exception {
+        when(callback.getTimeout()).thenReturn(500L);
+        final String[] properties = { "EmployeeName", SLOW_PROPERTY, "Age" };
+
+        List<BatchResponsePart> responseParts = createHandler().handleBatchParts(createQueryParts(properties));
+
+        assertEquals(properties.length, responseParts.size());
+        assertEquals("EmployeeName", responseParts.get(0).getResponses().get(0).getEntity());
+        assertEquals(HttpStatusCodes.SERVICE_UNAVAILABLE, responseParts.get(1).getResponses().get(0).getStatus());
+        assertEquals("Age", responseParts.get(2).getResponses().get(0).getEntity());
+    }
+
+    @Test
+    public void runtimeMeasurementStoppedOnException() throws Exception {
+        ODataContext batchContext = mock(ODataContext.class);
+        when(batchContext.startRuntimeMeasurement("BatchHandler", "handleBatchParts")).thenReturn(7);
+        ParallelProcessor batchProcessor = new ParallelProcessor();
+        batchProcessor.setContext(batchContext);
+        ODataService batchService = createServiceMock(batchProcessor);
+        doThrow(new ODataException("no service")).when(factory).createService(any(ODataContext.class));
+
+        try {
+            new BatchHandlerImpl(factory, batchService).handleBatchParts(createQueryParts("EmployeeName", "Age"));
+            fail("Expected an ODataException");
+        } catch (ODataException e) {
+            assertEquals("no service", e.getMessage());
+        }
+        verify(batchContext).stopRuntimeMeasurement(7);
+    }
+
+    private BatchHandler createHandler() throws ODataException {
+        ParallelProcessor batchProcessor = new ParallelProcessor();
+        batchProcessor.setContext(mock(ODataContext.class));
+        return new BatchHandlerImpl(factory, createServiceMock(batchProcessor));
+    }
+
+    private ODataService createServiceMock(final ParallelProcessor processor) throws ODataException {
+        Edm edm = MockFacade.getMockEdm();
+        ODataService serviceMock = mock(ODataService.class);
+        when(serviceMock.getBatchProcessor()).thenReturn(processor);
+        when(serviceMock.getEntitySimplePropertyProcessor()).thenReturn(processor);
+        when(serviceMock.getProcessor()).thenReturn(processor);
+        when(serviceMock.getEntityDataModel()).thenReturn(edm);
+        List<String> supportedContentTypes = Arrays.asList(HttpContentType.APPLICATION_JSON_UTF8, HttpContentType.APPLICATION_JSON);
+        when(serviceMock.getSupportedContentTypes(EntitySimplePropertyProcessor.class)).thenReturn(supportedContentTypes);
+        return serviceMock;
+    }
+
+    private List<BatchRequestPart> createQueryParts(final String... properties) throws Exception {
+        PathInfoImpl pathInfo = new PathInfoImpl();
+        pathInfo.setServiceRoot(new URI(SERVICE_ROOT));
+        pathInfo.setODataPathSegment(Collections.<PathSegment>singletonList(new ODataPathSegmentImpl("$batch", null)));
+        StringBuilder batch = new StringBuilder();
+        for (String property : properties) {
+            batch.append("--batch_123" + CRLF
+                    + "Content-Type: application/http" + CRLF
+                    + "Content-Transfer-Encoding: binary" + CRLF
+                    + CRLF
+                    + "GET Employees('1')/" + property + " HTTP/1.1" + CRLF
+                    + CRLF
+                    + CRLF);
+        }
+        batch.append("--batch_123--");
+        return EntityProvider.parseBatchRequest(CONTENT_TYPE, StringHelper.encapsulate(batch.toString()),
+                EntityProviderBatchProperties.init()
+                                             .pathInfo(pathInfo)
+                                             .build());
+    }
+
+    public class ParallelProcessor implements BatchProcessor, EntitySimplePropertyProcessor, Closeable {
+
+        private ODataContext context;
+        private volatile boolean closed;
+
+        @Override
+        public void setContext(ODataContext context) throws ODataException {
+            this.context = context;
+        }
+
+        @Override
+        public ODataContext getContext() throws ODataException {
+            return context;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public ODataResponse readEntitySimpleProperty(GetSimplePropertyUriInfo uriInfo, String contentType) throws ODataException {
+            final String name = uriInfo.getPropertyPath()
+                                       .get(0)
+                                       .getName();
+            if (SLOW_PROPERTY.equals(name)) {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ODataResponse.entity(name)
+                                .status(HttpStatusCodes.OK)
+                                .build();
+        }
+
+        @Override
+        public ODataResponse updateEntitySimpleProperty(PutMergePatchUriInfo uriInfo, InputStream content, String requestContentType,
+                String contentType) throws ODataException {
+            // this method is not needed.
+            return null;
+        }
+
+        @Override
+        public BatchResponsePart executeChangeSet(BatchHandler handler, List<ODataRequest> requests) throws ODataException {
+            // this method is not needed.
+            return null;
+        }
+
+        @Override
+        public ODataResponse executeBatch(BatchHandler handler, String contentType, InputStream content) throws ODataException {
+            // this method is not needed.
+            return null;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -237,6 +238,42 @@ public class BatchParserCommonTest {
     assertEquals("Test            \r\nTest2    ", BatchParserCommon.removeEndingCRLF(new Line(line,1)).toString());
   }
   
+  @Test
+  public void testBoundarySplitterReadsPartByPart() throws Exception {
+    final String message = "preamble" + CRLF
+        + "--batch_123" + CRLF
+        + "Part 1" + CRLF
+        + CRLF
+        + "--batch_123" + CRLF
+        + "Part 2" + CRLF
+        + "--batch_123--" + CRLF
+        + "epilogue" + CRLF;
+    final BatchLineReader reader = new BatchLineReader(new ByteArrayInputStream(message.getBytes("UTF-8")));
+    final BatchParserCommon.BoundarySplitter splitter = new BatchParserCommon.BoundarySplitter("batch_123");
+
+    List<Line> part = splitter.nextPart(reader);
+    assertEquals(2, part.size());
+    assertEquals("Part 1" + CRLF, part.get(0).toString());
+    assertEquals(3, part.get(0).getLineNumber());
+    assertEquals("", part.get(1).toString());
+
+    part = splitter.nextPart(reader);
+    assertEquals(1, part.size());
+    assertEquals("Part 2", part.get(0).toString());
+    assertEquals(6, part.get(0).getLineNumber());
+
+    assertNull(splitter.nextPart(reader));
+    assertNull(splitter.nextPart(reader));
+  }
+
+  @Test(expected = BatchException.class)
+  public void testBoundarySplitterMissingCloseDelimiter() throws Exception {
+    final String message = "--batch_123" + CRLF + "Part 1" + CRLF;
+    final BatchLineReader reader = new BatchLineReader(new ByteArrayInputStream(message.getBytes("UTF-8")));
+    final BatchParserCommon.BoundarySplitter splitter = new BatchParserCommon.BoundarySplitter("batch_123");
+    splitter.nextPart(reader);
+  }
+
   private List<Line> toLineList(String[] messageRaw) {
     final List<Line> lineList = new ArrayList<Line>();
     int counter = 1;
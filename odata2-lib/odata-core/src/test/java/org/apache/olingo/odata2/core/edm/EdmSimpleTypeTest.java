@@ -31,6 +31,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -667,6 +672,68 @@ public class EdmSimpleTypeTest extends BaseTest {
     expectErrorInValueToString(instance, dateTime, null, null, EdmSimpleTypeException.LITERAL_KIND_MISSING);
   }
   
+  @Test
+  public void valueToStringDateTimeJavaTime() throws Exception {
+    final EdmSimpleType dateTime = EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance();
+    final EdmSimpleType dateTimeOffset = EdmSimpleTypeKind.DateTimeOffset.getEdmSimpleTypeInstance();
+    final LocalDateTime localDateTime = LocalDateTime.of(2012, 2, 29, 23, 32, 3, 7000000);
+
+    assertEquals("2012-02-29T23:32:03.007", dateTime.valueToString(localDateTime, EdmLiteralKind.DEFAULT, null));
+    assertEquals("/Date(1330558323007)/", dateTime.valueToString(localDateTime, EdmLiteralKind.JSON, null));
+    assertEquals("2012-02-29T23:32:03.007", dateTime.valueToString(localDateTime.toInstant(ZoneOffset.UTC),
+        EdmLiteralKind.DEFAULT, null));
+    assertEquals("2012-02-29T23:32:03.007Z", dateTimeOffset.valueToString(localDateTime.toInstant(ZoneOffset.UTC),
+        EdmLiteralKind.DEFAULT, null));
+    assertEquals("2012-02-29T23:32:03.007Z", dateTimeOffset.valueToString(
+        OffsetDateTime.of(2012, 3, 1, 1, 2, 3, 7000000, ZoneOffset.ofHoursMinutes(1, 30)),
+        EdmLiteralKind.DEFAULT, null));
+    assertEquals("datetimeoffset'2012-02-29T23:32:03Z'", dateTimeOffset.valueToString(
+        localDateTime.withNano(0).atZone(ZoneOffset.UTC).withZoneSameInstant(ZoneId.of("Europe/Berlin")),
+        EdmLiteralKind.URI, null));
+    assertEquals("/Date(1330558323007)/", dateTimeOffset.valueToString(
+        localDateTime.atOffset(ZoneOffset.UTC), EdmLiteralKind.JSON, null));
+    assertEquals("1970-01-01T00:00:00", dateTime.valueToString(Instant.EPOCH, EdmLiteralKind.DEFAULT, null));
+
+    expectErrorInValueToString(dateTime, Instant.MAX, EdmLiteralKind.DEFAULT, null,
+        EdmSimpleTypeException.VALUE_ILLEGAL_CONTENT);
+    expectErrorInValueToString(dateTimeOffset, Instant.MIN, EdmLiteralKind.JSON, null,
+        EdmSimpleTypeException.VALUE_ILLEGAL_CONTENT);
+  }
+
+  @Test
+  public void dateTimeOutsideGregorianFourDigitYears() throws Exception {
+    final EdmSimpleType instance = EdmSimpleTypeKind.DateTime.getEdmSimpleTypeInstance();
+    Calendar dateTime = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+
+    // Before the Gregorian reform, java.util.GregorianCalendar uses the Julian calendar.
+    dateTime.clear();
+    dateTime.set(1500, 1, 29, 12, 0, 0);
+    assertEquals("1500-02-29T12:00:00", instance.valueToString(dateTime, EdmLiteralKind.DEFAULT, null));
+    assertEquals(dateTime, instance.valueOfString("1500-02-29T12:00:00", EdmLiteralKind.DEFAULT, null,
+        Calendar.class));
+    dateTime.clear();
+    dateTime.set(1582, 9, 15);
+    assertEquals("1582-10-15T00:00:00", instance.valueToString(dateTime, EdmLiteralKind.DEFAULT, null));
+    dateTime.add(Calendar.MILLISECOND, -1);
+    assertEquals("1582-10-04T23:59:59.999", instance.valueToString(dateTime, EdmLiteralKind.DEFAULT, null));
+    assertEquals(dateTime, instance.valueOfString("1582-10-04T23:59:59.999", EdmLiteralKind.DEFAULT, null,
+        Calendar.class));
+    expectErrorInValueOfString(instance, "1582-10-10T00:00:00", EdmLiteralKind.DEFAULT, null,
+        EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT);
+    expectErrorInValueOfString(instance, "0-01-01T00:00:00", EdmLiteralKind.DEFAULT, null,
+        EdmSimpleTypeException.LITERAL_ILLEGAL_CONTENT);
+
+    dateTime.clear();
+    dateTime.set(9999, 11, 31, 23, 59, 59);
+    assertEquals("9999-12-31T23:59:59", instance.valueToString(dateTime, EdmLiteralKind.DEFAULT, null));
+    assertEquals(dateTime, instance.valueOfString("9999-12-31T23:59:59", EdmLiteralKind.DEFAULT, null,
+        Calendar.class));
+    assertEquals(Long.valueOf(-62135769600000L), instance.valueOfString("1-1-1T0:0", EdmLiteralKind.DEFAULT, null,
+        Long.class));
+    assertEquals(Long.valueOf(951782400000L), instance.valueOfString("2000-2-29T0:0", EdmLiteralKind.DEFAULT, null,
+        Long.class));
+  }
+
   @Test
   public void valueToStringDecimal() throws Exception {
     final EdmSimpleType instance = EdmSimpleTypeKind.Decimal.getEdmSimpleTypeInstance();
@@ -24,6 +24,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
@@ -31,6 +34,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.olingo.odata2.api.edm.Edm;
 import org.apache.olingo.odata2.api.edm.EdmEntitySetInfo;
@@ -69,6 +73,22 @@ public class EdmServiceMetadataImplProvTest extends BaseTest {
     XMLUnit.setXpathNamespaceContext(new SimpleNamespaceContext(prefixMap));
   }
 
+  @Test
+  public void metadataRenderedOnce() throws Exception {
+    EdmProvider edmProvider = spy(new EdmTestProvider());
+    EdmServiceMetadata serviceMetadata = new EdmImplProv(edmProvider).getServiceMetadata();
+
+    assertEquals(metadata, StringHelper.inputStreamToString(serviceMetadata.getMetadata()));
+    assertEquals(metadata, StringHelper.inputStreamToString(serviceMetadata.getMetadata()));
+    assertEquals(metadata,
+        StringHelper.inputStreamToString(new GZIPInputStream(serviceMetadata.getCompressedMetadata())));
+    verify(edmProvider, times(1)).getSchemas();
+
+    final String eTag = serviceMetadata.getMetadataETag();
+    assertTrue(eTag.matches("\"[0-9a-f]{32}\""));
+    assertEquals(eTag, new EdmImplProv(new EdmTestProvider()).getServiceMetadata().getMetadataETag());
+  }
+
   @Test
   public void getEntitySetInfosForEmptyEdmProvider() throws Exception {
     EdmProvider edmProvider = mock(EdmProvider.class);
@@ -21,13 +21,22 @@ package org.apache.olingo.odata2.core.ep.aggregator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
 import org.apache.olingo.odata2.api.edm.EdmTypeKind;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
 import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
 import org.apache.olingo.odata2.core.ep.AbstractProviderTest;
+import org.apache.olingo.odata2.core.uri.ExpandSelectTreeNodeImpl;
+import org.apache.olingo.odata2.testutil.mock.EdmTestProvider;
 import org.apache.olingo.odata2.testutil.mock.MockFacade;
 import org.junit.Test;
 
@@ -75,4 +84,35 @@ public class EntityInfoAggregatorTest extends AbstractProviderTest {
     assertFalse(cityInfo.getPropertyInfo("PostalCode").isComplex());
     assertEquals("String", cityInfo.getPropertyInfo("PostalCode").getType().getName());
   }
+
+  @Test
+  public void cachedPerShape() throws Exception {
+    EdmEntitySet entitySet = RuntimeDelegate.createEdm(new EdmTestProvider())
+        .getDefaultEntityContainer().getEntitySet("Employees");
+
+    EntityInfoAggregator all = EntityInfoAggregator.create(entitySet);
+    assertSame(all, EntityInfoAggregator.create(entitySet, null));
+
+    ExpandSelectTreeNodeImpl expanded = new ExpandSelectTreeNodeImpl();
+    expanded.putLink("ne_Room", new ExpandSelectTreeNodeImpl());
+    EntityInfoAggregator withExpand = EntityInfoAggregator.create(entitySet, expanded);
+    assertNotSame(all, withExpand);
+    assertEquals(Arrays.asList("ne_Room"), withExpand.getExpandedNavigationPropertyNames());
+    assertEquals(Collections.<String> emptyList(), all.getExpandedNavigationPropertyNames());
+    assertSame(all.getPropertyInfo("Age"), withExpand.getPropertyInfo("Age"));
+
+    ExpandSelectTreeNodeImpl sameShape = new ExpandSelectTreeNodeImpl();
+    sameShape.putLink("ne_Room", new ExpandSelectTreeNodeImpl());
+    assertSame(withExpand, EntityInfoAggregator.create(entitySet, sameShape));
+
+    ExpandSelectTreeNodeImpl selected = new ExpandSelectTreeNodeImpl();
+    selected.setAllKindFalse();
+    selected.addProperty((EdmProperty) entitySet.getEntityType().getProperty("Age"));
+    selected.putLink("ne_Room", null);
+    EntityInfoAggregator withSelect = EntityInfoAggregator.create(entitySet, selected);
+    assertNotSame(withExpand, withSelect);
+    assertEquals(Arrays.asList("Age"), withSelect.getSelectedPropertyNames());
+    assertEquals(Arrays.asList("ne_Room"), withSelect.getSelectedNavigationPropertyNames());
+    assertTrue(withSelect.getExpandedNavigationPropertyNames().isEmpty());
+  }
 }
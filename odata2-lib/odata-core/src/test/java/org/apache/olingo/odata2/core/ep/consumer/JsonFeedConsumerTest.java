@@ -21,8 +21,10 @@ package org.apache.olingo.odata2.core.ep.consumer;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,7 @@ import junit.framework.Assert;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.DeletedEntryMetadata;
 import org.apache.olingo.odata2.api.ep.entry.MediaMetadata;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
@@ -680,4 +683,45 @@ public class JsonFeedConsumerTest extends AbstractConsumerTest {
       }
     }
   }
+
+  @Test
+  public void teamsFeedWithCountStreamed() throws Exception {
+    final List<ODataEntry> handledEntries = new ArrayList<ODataEntry>();
+    EdmEntitySet entitySet = MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Teams");
+    ODataDeltaFeed feed = new JsonEntityConsumer().readFeed(entitySet,
+        createContentAsStream(readFile("JsonTeamsWithCount.json")), DEFAULT_PROPERTIES,
+        new OnReadFeedEntry() {
+          @Override
+          public void handleReadEntry(final ODataEntry entry) {
+            handledEntries.add(entry);
+          }
+        });
+    assertNotNull(feed);
+    assertTrue(feed.getEntries().isEmpty());
+    assertEquals(Integer.valueOf(3), feed.getFeedMetadata().getInlineCount());
+    assertEquals(2, handledEntries.size());
+    assertEquals("2", handledEntries.get(0).getProperties().get("Id"));
+    assertEquals("3", handledEntries.get(1).getProperties().get("Id"));
+  }
+
+  @Test
+  public void roomsFeedWithInlineEmployeesStreamed() throws Exception {
+    final List<ODataEntry> handledEntries = new ArrayList<ODataEntry>();
+    EdmEntitySet entitySet = MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Rooms");
+    ODataDeltaFeed feed = new JsonEntityConsumer().readFeed(entitySet,
+        getFileAsStream("JsonRooms_InlineEmployeesTeams.json"), DEFAULT_PROPERTIES,
+        new OnReadFeedEntry() {
+          @Override
+          public void handleReadEntry(final ODataEntry entry) {
+            handledEntries.add(entry);
+          }
+        });
+    assertTrue(feed.getEntries().isEmpty());
+    assertEquals(3, handledEntries.size());
+    for (ODataEntry entry : handledEntries) {
+      ODataFeed employees = (ODataFeed) entry.getProperties().get("nr_Employees");
+      assertNotNull(employees);
+    }
+  }
 }
+
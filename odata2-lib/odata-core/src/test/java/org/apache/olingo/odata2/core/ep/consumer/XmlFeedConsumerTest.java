@@ -20,9 +20,12 @@ package org.apache.olingo.odata2.core.ep.consumer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -32,11 +35,13 @@ import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.callback.OnReadFeedEntry;
 import org.apache.olingo.odata2.api.ep.entry.EntryMetadata;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.FeedMetadata;
 import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
 import org.apache.olingo.odata2.testutil.mock.MockFacade;
 import org.junit.Test;
@@ -331,4 +336,63 @@ public class XmlFeedConsumerTest extends AbstractXmlConsumerTest {
       }
     }
   }
+
+  @Test
+  public void roomsFeedStreamed() throws Exception {
+    final List<ODataEntry> handledEntries = new ArrayList<ODataEntry>();
+    ODataDeltaFeed feed = EntityProvider.readFeed("application/atom+xml",
+        MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Rooms"),
+        getFileAsStream("feed_rooms_small.xml"), DEFAULT_PROPERTIES,
+        new OnReadFeedEntry() {
+          @Override
+          public void handleReadEntry(final ODataEntry entry) {
+            handledEntries.add(entry);
+          }
+        });
+    assertNotNull(feed);
+    assertTrue(feed.getEntries().isEmpty());
+    assertNotNull(feed.getFeedMetadata().getNextLink());
+    assertEquals(3, handledEntries.size());
+    assertEquals("W/\"1\"", handledEntries.get(0).getMetadata().getEtag());
+  }
+
+  @Test
+  public void roomsFeedWithInlineEmployeesStreamed() throws Exception {
+    final List<ODataEntry> handledEntries = new ArrayList<ODataEntry>();
+    ODataDeltaFeed feed = EntityProvider.readFeed("application/atom+xml",
+        MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Rooms"),
+        getFileAsStream("Rooms_InlineEmployeesTeams.xml"), DEFAULT_PROPERTIES,
+        new OnReadFeedEntry() {
+          @Override
+          public void handleReadEntry(final ODataEntry entry) {
+            handledEntries.add(entry);
+          }
+        });
+    assertTrue(feed.getEntries().isEmpty());
+    assertEquals(3, handledEntries.size());
+    for (ODataEntry entry : handledEntries) {
+      ODataFeed employees = (ODataFeed) entry.getProperties().get("nr_Employees");
+      assertNotNull(employees);
+    }
+  }
+
+  @Test
+  public void streamedFeedCallbackFails() throws Exception {
+    final ODataApplicationException failure = new ODataApplicationException("stop", Locale.ROOT);
+    try {
+      EntityProvider.readFeed("application/atom+xml",
+          MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Rooms"),
+          getFileAsStream("feed_rooms_small.xml"), DEFAULT_PROPERTIES,
+          new OnReadFeedEntry() {
+            @Override
+            public void handleReadEntry(final ODataEntry entry) throws ODataApplicationException {
+              throw failure;
+            }
+          });
+      Assert.fail("Expected exception not thrown.");
+    } catch (EntityProviderException e) {
+      assertEquals(failure, e.getCause());
+    }
+  }
 }
+
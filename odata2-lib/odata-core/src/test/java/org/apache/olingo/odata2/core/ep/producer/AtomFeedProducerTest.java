@@ -28,6 +28,7 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -50,6 +51,7 @@ import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
 import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
 import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
 import org.apache.olingo.odata2.api.uri.PathSegment;
@@ -109,6 +111,23 @@ public class AtomFeedProducerTest extends AbstractProviderTest {
     assertXpathExists("/a:feed/a:entry/a:content/m:properties/d:Version[@m:type=\"Edm.Int16\"]", xmlString);
   }
 
+  @Test
+  public void testStreamingFeed() throws Exception {
+    AtomEntityProvider ser = createAtomEntityProvider();
+    EntityProviderWriteProperties properties =
+        EntityProviderWriteProperties.serviceRoot(BASE_URI).build();
+    ODataResponse response = ser.writeStreamingFeed(view.getTargetEntitySet(), roomsData.iterator(), properties);
+    assertTrue(response.getEntity() instanceof ODataStreamingContent);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((ODataStreamingContent) response.getEntity()).write(out);
+    String xmlString = new String(out.toByteArray(), "UTF-8");
+
+    assertXpathExists("/a:feed", xmlString);
+    assertXpathEvaluatesTo(String.valueOf(roomsData.size()), "count(/a:feed/a:entry)", xmlString);
+    assertXpathEvaluatesTo("Rooms", "/a:feed/a:link[@rel='self']/@href", xmlString);
+  }
+
   @Test
   public void testFeedNamespaces() throws Exception {
     AtomEntityProvider ser = createAtomEntityProvider();
@@ -25,6 +25,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
@@ -48,6 +50,7 @@ import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
 import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.api.uri.ExpandSelectTreeNode;
 import org.apache.olingo.odata2.core.ep.EntityProviderProducerException;
 import org.apache.olingo.odata2.core.ep.JsonEntityProvider;
@@ -97,6 +100,43 @@ public class JsonFeedEntityProducerTest extends BaseTest {
         json);
   }
 
+  @Test
+  public void streamingFeed() throws Exception {
+    final EdmEntitySet entitySet = MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Teams");
+    Map<String, Object> team1Data = new HashMap<String, Object>();
+    team1Data.put("Id", "1");
+    team1Data.put("isScrumTeam", true);
+    Map<String, Object> team2Data = new HashMap<String, Object>();
+    team2Data.put("Id", "2");
+    team2Data.put("isScrumTeam", false);
+    List<Map<String, Object>> teamsData = new ArrayList<Map<String, Object>>();
+    teamsData.add(team1Data);
+    teamsData.add(team2Data);
+
+    final ODataResponse response =
+        new JsonEntityProvider().writeStreamingFeed(entitySet, teamsData.iterator(), DEFAULT_PROPERTIES);
+    assertNotNull(response);
+    assertTrue(response.getEntity() instanceof ODataStreamingContent);
+    assertNull("EntitypProvider must not set content header", response.getContentHeader());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((ODataStreamingContent) response.getEntity()).write(out);
+    final String json = new String(out.toByteArray(), "UTF-8");
+    final String expected = StringHelper.inputStreamToString((InputStream)
+        new JsonEntityProvider().writeFeed(entitySet, teamsData, DEFAULT_PROPERTIES).getEntity());
+    assertEquals(expected, json);
+  }
+
+  @Test(expected = IOException.class)
+  public void streamingFeedCanOnlyBeWrittenOnce() throws Exception {
+    final EdmEntitySet entitySet = MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Teams");
+    final ODataResponse response = new JsonEntityProvider().writeStreamingFeed(entitySet,
+        new ArrayList<Map<String, Object>>().iterator(), DEFAULT_PROPERTIES);
+    ODataStreamingContent content = (ODataStreamingContent) response.getEntity();
+    content.write(new ByteArrayOutputStream());
+    content.write(new ByteArrayOutputStream());
+  }
+
   @Test
   public void omitJsonWrapperMustHaveNoEffect() throws Exception {
     final EdmEntitySet entitySet = MockFacade.getMockEdm().getDefaultEntityContainer().getEntitySet("Teams");
@@ -19,10 +19,14 @@
 package org.apache.olingo.odata2.core.ep.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import org.apache.olingo.odata2.testutil.fit.BaseTest;
@@ -291,6 +295,40 @@ public class CircleStreamBufferTest extends BaseTest {
     write.write("Test".getBytes(), 0, 4);
   }
 
+  @Test
+  public void testDirectPooledBuffers() throws Exception {
+    ByteBufferPool pool = new ByteBufferPool(true, 4);
+    final int signs = ByteBufferPool.MAX_POOLED_CAPACITY * 2;
+    String testData = createTestString(signs);
+
+    for (int i = 0; i < 3; i++) {
+      CircleStreamBuffer csb = new CircleStreamBuffer(ByteBufferPool.MIN_POOLED_CAPACITY, pool);
+      csb.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+      csb.closeWrite();
+      InputStream inStream = csb.getInputStream();
+      assertEquals(testData, readFrom(inStream, 1000));
+      inStream.close();
+    }
+  }
+
+  @Test
+  public void testBufferPool() throws Exception {
+    ByteBufferPool pool = new ByteBufferPool(false, 1);
+    ByteBuffer buffer = pool.acquire(ByteBufferPool.MIN_POOLED_CAPACITY + 1);
+    assertEquals(ByteBufferPool.MIN_POOLED_CAPACITY * 2, buffer.capacity());
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    pool.release(ByteBuffer.allocate(ByteBufferPool.MIN_POOLED_CAPACITY * 2));
+
+    ByteBuffer reused = pool.acquire(ByteBufferPool.MIN_POOLED_CAPACITY * 2);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertNotSame(buffer, pool.acquire(ByteBufferPool.MIN_POOLED_CAPACITY * 2));
+
+    assertEquals(100, pool.acquire(100).capacity());
+    assertTrue(new ByteBufferPool(true, 1).acquire(100).isDirect());
+  }
+
   // ###################################################
   // #
   // # Below here are test helper methods
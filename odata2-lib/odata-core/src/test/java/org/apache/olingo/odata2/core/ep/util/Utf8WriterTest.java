@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.ep.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.olingo.odata2.testutil.fit.BaseTest;
+import org.junit.Test;
+
+/**
+ *  
+ */
+public class Utf8WriterTest extends BaseTest {
+
+  private static final String OUTSIDE_BMP = String.valueOf(Character.toChars(0x1F603));
+
+  @Test
+  public void sameBytesAsOutputStreamWriter() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      builder.append("aä€").append(OUTSIDE_BMP).append(i);
+    }
+    final String text = builder.toString();
+
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    Writer writer = new OutputStreamWriter(expected, StandardCharsets.UTF_8);
+    writer.write(text);
+    writer.close();
+    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    writer = new Utf8Writer(actual);
+    writer.write(text.toCharArray(), 0, 5);
+    writer.write(text, 5, text.length() - 5);
+    writer.close();
+
+    assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+  }
+
+  @Test
+  public void surrogates() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Writer writer = new Utf8Writer(out);
+    writer.write(OUTSIDE_BMP.charAt(0));
+    writer.flush();
+    writer.write(OUTSIDE_BMP.charAt(1));
+    writer.write("x\uD83Dy\uDE03z\uD83D");
+    writer.close();
+    assertEquals(OUTSIDE_BMP + "x?y?z?", new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void numbers() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Utf8Writer writer = new Utf8Writer(out);
+    for (final long number : new long[] { 0, 7, -42, 1000000, Long.MAX_VALUE, Long.MIN_VALUE }) {
+      writer.writeNumber(number);
+      writer.write(' ');
+    }
+    writer.close();
+    assertEquals("0 7 -42 1000000 9223372036854775807 -9223372036854775808 ",
+        new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void largeBytes() throws Exception {
+    byte[] bytes = new byte[20000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) ('a' + i % 26);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Utf8Writer writer = new Utf8Writer(out);
+    writer.write('>');
+    writer.writeBytes(bytes);
+    writer.writeBytes(new byte[] { '<' });
+    writer.close();
+    assertEquals(">" + new String(bytes, StandardCharsets.UTF_8) + "<",
+        new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void jsonEscapingAsJsonStreamWriter() throws Exception {
+    final String value = "abc / ? \u007F € ﷼ \"\\ \b\t\n\f\r\u0001\u000B\u0011\u001F " + OUTSIDE_BMP;
+    StringWriter expected = new StringWriter();
+    new JsonStreamWriter(expected).beginObject().namedStringValue("name", value).separator()
+        .name("number").numberValue(-12).separator()
+        .name("quoted").quotedNumberValue(34).endObject();
+    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    Writer writer = new Utf8Writer(actual);
+    new JsonStreamWriter(writer).beginObject().namedStringValue("name", value).separator()
+        .name("number").numberValue(-12).separator()
+        .name("quoted").quotedNumberValue(34).endObject();
+    writer.flush();
+    assertEquals(expected.toString(), new String(actual.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.apache.olingo.odata2.api.commons.HttpHeaders;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
+import org.junit.Test;
+
+public class RestUtilTest {
+
+  private static final ResponseCompression COMPRESSION = new ResponseCompression(true, 100, 6);
+
+  @Test
+  public void smallStreamNotCompressed() throws Exception {
+    final byte[] content = new byte[99];
+    Arrays.fill(content, (byte) 'a');
+    final ODataResponse odataResponse = ODataResponse.status(HttpStatusCodes.OK)
+        .contentHeader("application/json")
+        .eTag("\"1\"")
+        .entity(new ByteArrayInputStream(content))
+        .build();
+
+    final Response response = RestUtil.convertResponse(odataResponse, false, "gzip", COMPRESSION);
+
+    assertNull(response.getMetadata().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getMetadata().getFirst(HttpHeaders.VARY));
+    assertEquals("\"1\"", response.getMetadata().getFirst(HttpHeaders.ETAG));
+    final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    final InputStream entity = (InputStream) response.getEntity();
+    int b;
+    while ((b = entity.read()) != -1) {
+      body.write(b);
+    }
+    assertEquals(new String(content, "UTF-8"), new String(body.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void compressedStreamWithWeakETag() throws Exception {
+    final byte[] content = new byte[5000];
+    Arrays.fill(content, (byte) 'a');
+    final ODataResponse odataResponse = ODataResponse.status(HttpStatusCodes.OK)
+        .contentHeader("application/json")
+        .eTag("\"1\"")
+        .entity(new ByteArrayInputStream(content))
+        .build();
+
+    final Response response = RestUtil.convertResponse(odataResponse, false, "gzip", COMPRESSION);
+
+    assertEquals(ResponseCompression.GZIP, response.getMetadata().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("W/\"1\"", response.getMetadata().getFirst(HttpHeaders.ETAG));
+    final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(body);
+    final InputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()));
+    int length = 0;
+    while (unzipped.read() != -1) {
+      length++;
+    }
+    assertEquals(content.length, length);
+  }
+}
@@ -24,6 +24,7 @@ import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Random;
+import java.util.zip.GZIPInputStream;
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
 import org.apache.olingo.odata2.api.commons.HttpHeaders;
@@ -31,7 +32,9 @@ import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataProcessor;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.processor.ODataStreamingContent;
 import org.apache.olingo.odata2.core.ODataResponseImpl;
+import org.apache.olingo.odata2.core.commons.ResponseCompression;
 import org.apache.olingo.odata2.core.rest.ODataServiceFactoryImpl;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -191,6 +194,24 @@ public class ODataServletTest {
     }
 
 
+    @Test
+    public void streamingContentClosedWithoutBody() throws Exception {
+        ODataServlet servlet = new ODataServlet();
+        prepareServlet(servlet);
+
+        HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        ODataStreamingContent content = Mockito.mock(ODataStreamingContent.class);
+        ODataResponse odataResponse = ODataResponse.status(HttpStatusCodes.OK)
+                                                   .entity(content)
+                                                   .build();
+        servlet.createResponse(servletResponse, odataResponse, true);
+
+        Mockito.verify(content)
+               .close();
+        Mockito.verify(servletResponse, Mockito.never())
+               .getOutputStream();
+    }
+
     @Test
     public void inputStreamResponse() throws Exception {
         testInputStreamResponse("123", "utf-8", null);
@@ -255,6 +276,128 @@ public class ODataServletTest {
     }
 
 
+    @Test
+    public void compressedResponse() throws Exception {
+        ODataServlet servlet = new ODataServlet();
+        prepareServlet(servlet);
+        Mockito.when(configMock.getInitParameter(ResponseCompression.COMPRESSION_LABEL))
+               .thenReturn("true");
+        Mockito.when(reqMock.getHeader(HttpHeaders.ACCEPT_ENCODING))
+               .thenReturn("deflate, gzip;q=0.8");
+
+        final String content = testData(5000);
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        Mockito.when(respMock.getOutputStream())
+               .thenReturn(new ServletOutputStream() {
+                   @Override
+                   public void write(int i) throws IOException {
+                       bout.write(i);
+                   }
+
+                   @Override
+                   public boolean isReady() {
+                       return false;
+                   }
+
+                   @Override
+                   public void setWriteListener(WriteListener writeListener) {}
+               });
+        final ODataResponse response = ODataResponseImpl.status(HttpStatusCodes.OK)
+                                                        .contentHeader("application/json")
+                                                        .header(HttpHeaders.CONTENT_LENGTH, "5000")
+                                                        .entity(new ByteArrayInputStream(content.getBytes("utf-8")))
+                                                        .build();
+        servlet.createResponse(reqMock, respMock, response, false);
+
+        Mockito.verify(respMock)
+               .setHeader(HttpHeaders.CONTENT_ENCODING, ResponseCompression.GZIP);
+        Mockito.verify(respMock)
+               .addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Mockito.verify(respMock, Mockito.never())
+               .setHeader(Mockito.eq(HttpHeaders.CONTENT_LENGTH), Mockito.anyString());
+        Mockito.verify(respMock, Mockito.never())
+               .setContentLength(Mockito.anyInt());
+        InputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(bout.toByteArray()));
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int len;
+        while ((len = unzipped.read(buffer)) != -1) {
+            result.write(buffer, 0, len);
+        }
+        Assert.assertEquals(content, new String(result.toByteArray(), "utf-8"));
+    }
+
+    @Test
+    public void compressedResponseWithWeakETag() throws Exception {
+        ODataServlet servlet = new ODataServlet();
+        prepareServlet(servlet);
+        Mockito.when(configMock.getInitParameter(ResponseCompression.COMPRESSION_LABEL))
+               .thenReturn("true");
+        Mockito.when(reqMock.getHeader(HttpHeaders.ACCEPT_ENCODING))
+               .thenReturn("gzip");
+        prepareResponseMockToWrite(respMock);
+        final String content = testData(5000);
+        final ODataResponse response = ODataResponseImpl.status(HttpStatusCodes.OK)
+                                                        .contentHeader("application/json")
+                                                        .eTag("\"1\"")
+                                                        .entity(new ByteArrayInputStream(content.getBytes("utf-8")))
+                                                        .build();
+        servlet.createResponse(reqMock, respMock, response, false);
+
+        Mockito.verify(respMock)
+               .setHeader(HttpHeaders.CONTENT_ENCODING, ResponseCompression.GZIP);
+        Mockito.verify(respMock)
+               .setHeader(HttpHeaders.ETAG, "W/\"1\"");
+    }
+
+    @Test
+    public void smallResponseNotCompressed() throws Exception {
+        ODataServlet servlet = new ODataServlet();
+        prepareServlet(servlet);
+        Mockito.when(configMock.getInitParameter(ResponseCompression.COMPRESSION_LABEL))
+               .thenReturn("true");
+        Mockito.when(configMock.getInitParameter(ResponseCompression.COMPRESSION_THRESHOLD_LABEL))
+               .thenReturn("100");
+        Mockito.when(reqMock.getHeader(HttpHeaders.ACCEPT_ENCODING))
+               .thenReturn("gzip");
+        prepareResponseMockToWrite(respMock);
+        final String content = testData(99);
+        final ODataResponse response = ODataResponseImpl.status(HttpStatusCodes.OK)
+                                                        .contentHeader("application/atom+xml")
+                                                        .entity(new ByteArrayInputStream(content.getBytes("utf-8")))
+                                                        .build();
+        servlet.createResponse(reqMock, respMock, response, false);
+
+        Mockito.verify(respMock, Mockito.never())
+               .setHeader(Mockito.eq(HttpHeaders.CONTENT_ENCODING), Mockito.anyString());
+        Mockito.verify(respMock)
+               .addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Mockito.verify(respMock)
+               .setContentLength(99);
+    }
+
+    @Test
+    public void compressionDisabledByDefault() throws Exception {
+        ODataServlet servlet = new ODataServlet();
+        prepareServlet(servlet);
+        Mockito.when(reqMock.getHeader(HttpHeaders.ACCEPT_ENCODING))
+               .thenReturn("gzip");
+        prepareResponseMockToWrite(respMock);
+        final String content = testData(5000);
+        final ODataResponse response = ODataResponseImpl.status(HttpStatusCodes.OK)
+                                                        .contentHeader("application/json")
+                                                        .entity(new ByteArrayInputStream(content.getBytes("utf-8")))
+                                                        .build();
+        servlet.createResponse(reqMock, respMock, response, false);
+
+        Mockito.verify(respMock, Mockito.never())
+               .setHeader(Mockito.eq(HttpHeaders.CONTENT_ENCODING), Mockito.anyString());
+        Mockito.verify(respMock, Mockito.never())
+               .addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Mockito.verify(respMock)
+               .setContentLength(5000);
+    }
+
     private String testData(int amount) {
         StringBuilder result = new StringBuilder();
         Random r = new Random();
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.core.uri;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.api.uri.UriSyntaxException;
+import org.apache.olingo.odata2.core.edm.provider.EdmImplProv;
+import org.apache.olingo.odata2.testutil.fit.BaseTest;
+import org.apache.olingo.odata2.testutil.mock.EdmTestProvider;
+import org.apache.olingo.odata2.testutil.mock.MockFacade;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the cache of URI parse results.
+ */
+public class UriParseCacheTest extends BaseTest {
+
+  private EdmImplProv edm;
+
+  @Before
+  public void createEdm() throws ODataException {
+    edm = new EdmImplProv(new EdmTestProvider());
+    edm.setUriParseCache(new UriParseCache());
+  }
+
+  private UriInfoImpl parse(final String path, final String... queryOptions) throws ODataException {
+    final List<PathSegment> pathSegments =
+        MockFacade.getPathSegmentsAsODataPathSegmentMock(Arrays.asList(path.split("/", -1)));
+    Map<String, List<String>> queryParameters = new HashMap<String, List<String>>();
+    for (int i = 0; i < queryOptions.length; i += 2) {
+      List<String> values = new ArrayList<String>();
+      values.add(queryOptions[i + 1]);
+      queryParameters.put(queryOptions[i], values);
+    }
+    return (UriInfoImpl) new UriParserImpl(edm).parseAll(pathSegments, queryParameters);
+  }
+
+  @Test
+  public void template() {
+    List<String> keyPredicates = new ArrayList<String>();
+    assertEquals("Employees(\u0000)/ne_Room/nr_Employees()/$count",
+        UriParseCache.createTemplate(Arrays.asList("Employees('1')", "ne_Room", "nr_Employees()", "$count"),
+            keyPredicates));
+    assertEquals(Arrays.asList("'1'", null, null, null), keyPredicates);
+  }
+
+  @Test
+  public void keysAreParsedForCachedPath() throws Exception {
+    final UriInfoImpl first = parse("Employees('1')/ne_Room/nr_Employees('3')/EmployeeName");
+    final UriInfoImpl second = parse("Employees('2')/ne_Room/nr_Employees('4')/EmployeeName");
+
+    assertEquals(UriType.URI5, second.getUriType());
+    assertSame(first.getStartEntitySet(), second.getStartEntitySet());
+    assertSame(first.getTargetEntitySet(), second.getTargetEntitySet());
+    assertSame(first.getTargetType(), second.getTargetType());
+    assertEquals(first.getPropertyPath(), second.getPropertyPath());
+    assertEquals(2, second.getNavigationSegments().size());
+    assertSame(first.getNavigationSegments().get(0).getNavigationProperty(),
+        second.getNavigationSegments().get(0).getNavigationProperty());
+    assertTrue(second.getNavigationSegments().get(0).getKeyPredicates().isEmpty());
+
+    assertEquals("1", first.getKeyPredicates().get(0).getLiteral());
+    assertEquals("2", second.getKeyPredicates().get(0).getLiteral());
+    assertEquals("3", first.getNavigationSegments().get(1).getKeyPredicates().get(0).getLiteral());
+    assertEquals("4", second.getNavigationSegments().get(1).getKeyPredicates().get(0).getLiteral());
+  }
+
+  @Test
+  public void wrongKeyForCachedPath() throws Exception {
+    parse("Employees('1')");
+    try {
+      parse("Employees(Id='1')");
+      fail("Expected UriSyntaxException not thrown");
+    } catch (UriSyntaxException e) {
+      assertEquals(UriSyntaxException.INVALIDKEYPREDICATE.getKey(), e.getMessageReference().getKey());
+    }
+  }
+
+  @Test
+  public void queryOptionsAreShared() throws Exception {
+    final UriInfoImpl first = parse("Employees", "$filter", "Age gt 20", "$orderby", "EmployeeName",
+        "$expand", "ne_Room", "$select", "EmployeeName,ne_Room");
+    final UriInfoImpl second = parse("Employees", "$filter", "Age gt 20", "$orderby", "EmployeeName",
+        "$expand", "ne_Room", "$select", "EmployeeName,ne_Room");
+    assertNotNull(first.getFilter());
+    assertSame(first.getFilter(), second.getFilter());
+    assertSame(first.getOrderBy(), second.getOrderBy());
+    assertSame(first.getExpand(), second.getExpand());
+    assertSame(first.getSelect(), second.getSelect());
+
+    final UriInfoImpl other = parse("Employees", "$filter", "Age gt 30");
+    assertTrue(first.getFilter() != other.getFilter());
+    assertEquals("Age gt 30", other.getFilter().getExpressionString());
+  }
+
+  @Test
+  public void cachedExpandIsReadOnly() throws Exception {
+    final ArrayList<NavigationPropertySegment> path =
+        parse("Employees", "$expand", "ne_Room/nr_Building").getExpand().get(0);
+    assertEquals(2, path.size());
+    try {
+      path.clear();
+      fail("Expected an UnsupportedOperationException");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    try {
+      path.subList(0, 1).clear();
+      fail("Expected an UnsupportedOperationException");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    try {
+      path.set(0, path.get(1));
+      fail("Expected an UnsupportedOperationException");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    final List<ArrayList<NavigationPropertySegment>> expand =
+        parse("Employees", "$expand", "ne_Room/nr_Building").getExpand();
+    assertSame(path, expand.get(0));
+    assertEquals("ne_Room", expand.get(0).get(0).getNavigationProperty().getName());
+    assertEquals("nr_Building", expand.get(0).get(1).getNavigationProperty().getName());
+  }
+}
@@ -18,6 +18,7 @@
  ******************************************************************************/
 package org.apache.olingo.odata2.core.uri.expression;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import org.apache.commons.codec.DecoderException;
@@ -155,6 +156,37 @@ public class TestTokenizer {
 
   }
 
+  @Test
+  public void tokenizeKeywordBoundaries() throws Exception {
+    getTT("datetimeoffset'2011-01-12T00:00:00Z'").aKind(TokenKind.SIMPLE_TYPE)
+        .aUriLiteral("datetimeoffset'2011-01-12T00:00:00Z'").aPosition(0);
+    getTT("time'PT12H'").aKind(TokenKind.SIMPLE_TYPE).aUriLiteral("time'PT12H'").aPosition(0);
+    getTT("X").aKind(TokenKind.LITERAL).aUriLiteral("X");
+    getTT("substring (a)").at(0).aKind(TokenKind.LITERAL).aUriLiteral("substring").at(1)
+        .aKind(TokenKind.OPENPAREN).aPosition(10);
+    getTT("month(a)").at(0).aKind(TokenKind.LITERAL).aUriLiteral("month");
+    getTT("not a").at(0).aKind(TokenKind.LITERAL).aUriLiteral("not").at(1).aUriLiteral("a").aPosition(4);
+    getTT("nota").at(0).aKind(TokenKind.LITERAL).aUriLiteral("nota");
+    getTT("a eq true").at(2).aKind(TokenKind.SIMPLE_TYPE).aUriLiteral("true").aPosition(5);
+    getTT("trueish").aKind(TokenKind.LITERAL).aUriLiteral("trueish");
+    getTT("Stra\u00dfe eq 'x'").at(0).aKind(TokenKind.LITERAL).aUriLiteral("Stra\u00dfe");
+    getTT("-a").at(0).aKind(TokenKind.SYMBOL).aUriLiteral("-").at(1).aUriLiteral("a").aPosition(1);
+  }
+
+  @Test
+  public void tokenizeLongOrChain() throws Exception {
+    StringBuilder expression = new StringBuilder("Id eq '0'");
+    for (int i = 1; i < 2000; i++) {
+      expression.append(" or Id eq '").append(i).append('\'');
+    }
+    TokenList tokens = new Tokenizer(expression.toString()).tokenize();
+    assertEquals(4 * 2000 - 1, tokens.tokenCount());
+    Token last = tokens.elementAt(tokens.tokenCount() - 1);
+    assertEquals(TokenKind.SIMPLE_TYPE, last.getKind());
+    assertEquals("'1999'", last.getUriLiteral());
+    assertEquals(expression.length() - 6, last.getPosition());
+  }
+
   /**
    * Create TokenTool ( and Token list) without respecting whitespaces
    * @param expression Expression to be tokenized
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ ******************************************************************************/
+package org.apache.olingo.odata2.fit.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntityContainer;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmFunctionImport;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.provider.EdmCache;
+import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
+import org.apache.olingo.odata2.ref.edm.ScenarioEdmProvider;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ *  
+ */
+public class EdmCacheTest {
+
+  private static final String KEY = "RefScenario";
+
+  @After
+  public void invalidate() {
+    EdmCache.invalidateAll();
+  }
+
+  @Test
+  public void preloadedEdmDoesNotCallProvider() throws Exception {
+    EdmProvider provider = spy(new ScenarioEdmProvider());
+    Edm edm = EdmCache.getEdm(KEY, provider);
+    clearInvocations(provider);
+
+    EdmEntityContainer container = edm.getDefaultEntityContainer();
+    EdmEntitySet employees = container.getEntitySet("Employees");
+    EdmEntityType employee = edm.getEntityType(ScenarioEdmProvider.NAMESPACE_1, "Employee");
+    assertSame(employee, employees.getEntityType());
+    assertEquals("EmployeeId", employee.getKeyProperties().get(0).getName());
+    assertNotNull(employee.getProperty("Location").getType());
+    EdmNavigationProperty manager = (EdmNavigationProperty) employee.getProperty("ne_Manager");
+    assertEquals("Managers", employees.getRelatedEntitySet(manager).getName());
+    EdmFunctionImport functionImport = container.getFunctionImport("EmployeeSearch");
+    assertNotNull(functionImport.getParameter("q"));
+    assertEquals(edm.getEntitySets().size(), edm.getServiceMetadata().getEntitySetInfos().size());
+
+    verifyNoMoreInteractions(provider);
+  }
+
+  @Test
+  public void sharedUntilInvalidated() throws Exception {
+    Edm edm = EdmCache.getEdm(KEY, new ScenarioEdmProvider());
+    assertSame(edm, EdmCache.getEdm(KEY, new ScenarioEdmProvider()));
+    assertNotSame(edm, EdmCache.getEdm("other", new ScenarioEdmProvider()));
+
+    EdmCache.invalidate(KEY);
+    assertNotSame(edm, EdmCache.getEdm(KEY, new ScenarioEdmProvider()));
+  }
+}
@@ -130,6 +130,12 @@ public class FeedXmlReadOnlyTest extends AbstractRefXmlTest {
     assertXpathEvaluatesTo("1", "count(/atom:feed/atom:entry)", body);
     assertXpathEvaluatesTo("Room 1", "/atom:feed/atom:entry[1]/atom:content/m:properties/d:Name", body);
 
+    response = callUri("Employees?$orderby=EmployeeId%20desc&$skip=1&$top=2");
+    body = getBody(response);
+    assertXpathEvaluatesTo("2", "count(/atom:feed/atom:entry)", body);
+    assertXpathEvaluatesTo(EMPLOYEE_5_NAME, "/atom:feed/atom:entry[1]/atom:title", body);
+    assertXpathEvaluatesTo(EMPLOYEE_4_NAME, "/atom:feed/atom:entry[2]/atom:title", body);
+
     badRequest("Employees?$orderby=(id");
     badRequest("Employees?$orderby=id");
   }
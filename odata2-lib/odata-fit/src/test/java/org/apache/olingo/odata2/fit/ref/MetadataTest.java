@@ -19,10 +19,18 @@
 package org.apache.olingo.odata2.fit.ref;
 
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathExists;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.zip.GZIPInputStream;
 
 import org.apache.http.HttpResponse;
 import org.apache.olingo.odata2.api.commons.HttpContentType;
+import org.apache.olingo.odata2.api.commons.HttpHeaders;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.testutil.helper.StringHelper;
 import org.apache.olingo.odata2.testutil.server.ServletType;
 import org.junit.Before;
 import org.junit.Test;
@@ -54,6 +62,58 @@ public class MetadataTest extends AbstractRefXmlTest {
     badRequest("$metadata?$format=atom");
   }
 
+  @Test
+  public void metadataNotModified() throws Exception {
+    final HttpResponse response = callUri("$metadata");
+    final String eTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+    assertEquals(payload, getBody(response));
+
+    final HttpResponse notModified =
+        callUri("$metadata", HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag, HttpStatusCodes.NOT_MODIFIED);
+    assertNull(notModified.getEntity());
+    checkEtag(notModified, eTag);
+
+    callUri("$metadata", HttpHeaders.IF_NONE_MATCH, "\"other\"", HttpStatusCodes.OK);
+  }
+
+  @Test
+  public void metadataCompressed() throws Exception {
+    final HttpResponse response = callUri("$metadata", HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+    assertEquals("gzip", response.getFirstHeader(HttpHeaders.CONTENT_ENCODING).getValue());
+    assertEquals(payload,
+        StringHelper.inputStreamToString(new GZIPInputStream(response.getEntity().getContent())));
+
+    final HttpResponse uncompressed = callUri("$metadata", HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+    assertNull(uncompressed.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(payload, getBody(uncompressed));
+
+    final String eTag = uncompressed.getFirstHeader(HttpHeaders.ETAG).getValue();
+    final String gzipETag = eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    checkEtag(response, gzipETag);
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getFirstHeader(HttpHeaders.VARY).getValue());
+
+    final HttpResponse notModified =
+        callUri("$metadata", HttpHeaders.IF_NONE_MATCH, gzipETag, HttpStatusCodes.NOT_MODIFIED);
+    assertNull(notModified.getEntity());
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, notModified.getFirstHeader(HttpHeaders.VARY).getValue());
+  }
+
+  @Test
+  public void metadataIdentityHeaders() throws Exception {
+    final HttpResponse response = callUri("$metadata", HttpHeaders.ACCEPT_ENCODING, "identity");
+    assertNull(response.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getFirstHeader(HttpHeaders.VARY).getValue());
+    final String eTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+    assertTrue(eTag.startsWith("\""));
+    assertFalse(eTag.endsWith("-gzip\""));
+    assertEquals(payload, getBody(response));
+
+    final HttpResponse notModified =
+        callUri("$metadata", HttpHeaders.IF_NONE_MATCH, eTag, HttpStatusCodes.NOT_MODIFIED);
+    checkEtag(notModified, eTag);
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, notModified.getFirstHeader(HttpHeaders.VARY).getValue());
+  }
+
   @Test
   public void testGeneral() throws Exception {
     assertXpathExists("/edmx:Edmx[@Version='1.0']", payload);
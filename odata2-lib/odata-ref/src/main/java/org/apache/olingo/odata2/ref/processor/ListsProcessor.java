@@ -21,6 +21,7 @@ package org.apache.olingo.odata2.ref.processor;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -28,6 +29,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import org.apache.olingo.odata2.api.ODataCallback;
 import org.apache.olingo.odata2.api.batch.BatchHandler;
@@ -1192,84 +1194,156 @@ public class ListsProcessor extends ODataSingleProcessor {
 
     final Integer count = inlineCount == InlineCount.ALLPAGES ? data.size() : null;
 
+    List<String> skipTokens = null;
     if (orderBy != null) {
-      sort(entitySet, data, orderBy);
+      // Without a skip token only the first entities up to $skip + $top have to be sorted.
+      final long limit = skipToken == null && top != null ? (skip == null ? 0L : skip) + top : Long.MAX_VALUE;
+      sort(entitySet, data, orderBy, limit);
     } else if (skipToken != null || skip != null || top != null) {
-      sortInDefaultOrder(entitySet, data);
+      skipTokens = sortInDefaultOrder(entitySet, data);
     }
 
+    // The requested page is determined by index arithmetic and cut out in one step.
+    int from = 0;
     if (skipToken != null) {
-      while (!data.isEmpty() && !getSkipToken(entitySet, data.get(0)).equals(skipToken)) {
-        data.remove(0);
-      }
+      from = skipTokens == null ?
+          seekSkipToken(entitySet, data, skipToken) :
+          seekSkipToken(skipTokens, skipToken);
     }
-
     if (skip != null) {
-      if (skip >= data.size()) {
-        data.clear();
-      } else {
-        for (int i = 0; i < skip; i++) {
-          data.remove(0);
-        }
-      }
-    }
-
-    if (top != null) {
-      while (data.size() > top) {
-        data.remove(top.intValue());
-      }
+      from = (int) Math.min((long) from + skip, data.size());
     }
+    final int to = top == null ? data.size() : (int) Math.min((long) from + top, data.size());
+    data.subList(to, data.size()).clear();
+    data.subList(0, from).clear();
 
     context.stopRuntimeMeasurement(timingHandle);
 
     return count;
   }
 
-  private <T> void sort(final EdmEntitySet entitySet, final List<T> data, final OrderByExpression orderBy) {
-    Collections.sort(data, new Comparator<T>() {
+  /**
+   * Sorts the data according to the order-by expression.
+   * If <code>limit</code> is smaller than the number of entities, only the first <code>limit</code>
+   * entities are determined (with a bounded heap) and all other entities are removed.
+   */
+  private <T> void sort(final EdmEntitySet entitySet, final List<T> data, final OrderByExpression orderBy,
+      final long limit) throws ODataException {
+    final List<OrderExpression> orders = orderBy.getOrders();
+    final int size = orders.size();
+
+    final Comparator<Object[]> comparator = new Comparator<Object[]>() {
       @Override
-      public int compare(final T entity1, final T entity2) {
-        try {
-          int result = 0;
-          for (final OrderExpression expression : orderBy.getOrders()) {
-            String first = evaluateExpression(entitySet, entity1, expression.getExpression());
-            String second = evaluateExpression(entitySet, entity2, expression.getExpression());
-
-            if (first != null && second != null) {
-              result = first.compareTo(second);
-            } else if (first == null && second != null) {
-              result = 1;
-            } else if (first != null && second == null) {
-              result = -1;
-            }
-
-            if (expression.getSortOrder() == SortOrder.desc) {
-              result = -result;
-            }
-
-            if (result != 0) {
-              break;
-            }
+      public int compare(final Object[] entry1, final Object[] entry2) {
+        int result = 0;
+        for (int i = 0; i < size && result == 0; i++) {
+          final String first = (String) entry1[i];
+          final String second = (String) entry2[i];
+
+          if (first != null && second != null) {
+            result = first.compareTo(second);
+          } else if (first == null && second != null) {
+            result = 1;
+          } else if (first != null && second == null) {
+            result = -1;
+          }
+
+          if (orders.get(i).getSortOrder() == SortOrder.desc) {
+            result = -result;
           }
-          return result;
-        } catch (final ODataException e) {
-          return 0;
         }
+        // The original position keeps the order stable.
+        return result == 0 ? ((Integer) entry1[size + 1]).compareTo((Integer) entry2[size + 1]) : result;
       }
-    });
+    };
+
+    // The sort keys are evaluated only once per entity; the entity itself and its original position
+    // are stored behind its keys.
+    final boolean partial = limit < data.size();
+    Collection<Object[]> entries = partial ?
+        new PriorityQueue<Object[]>((int) limit + 1, Collections.reverseOrder(comparator)) :
+        new ArrayList<Object[]>(data.size());
+    for (int index = 0; index < data.size(); index++) {
+      final T entity = data.get(index);
+      Object[] entry = new Object[size + 2];
+      for (int i = 0; i < size; i++) {
+        entry[i] = evaluateExpression(entitySet, entity, orders.get(i).getExpression());
+      }
+      entry[size] = entity;
+      entry[size + 1] = index;
+      entries.add(entry);
+      if (partial && entries.size() > limit) {
+        ((PriorityQueue<Object[]>) entries).poll();
+      }
+    }
+
+    List<Object[]> sortedEntries = partial ? new ArrayList<Object[]>(entries) : (List<Object[]>) entries;
+    Collections.sort(sortedEntries, comparator);
+
+    data.subList(sortedEntries.size(), data.size()).clear();
+    for (int i = 0; i < sortedEntries.size(); i++) {
+      @SuppressWarnings("unchecked")
+      final T entity = (T) sortedEntries.get(i)[size];
+      data.set(i, entity);
+    }
   }
 
-  private <T> void sortInDefaultOrder(final EdmEntitySet entitySet, final List<T> data) {
-    Collections.sort(data, new Comparator<T>() {
+  /**
+   * Sorts the data by their skip tokens.
+   * @return the skip tokens of the sorted data
+   */
+  private <T> List<String> sortInDefaultOrder(final EdmEntitySet entitySet, final List<T> data)
+      throws ODataException {
+    // The skip token is computed only once per entity.
+    List<Object[]> entries = new ArrayList<Object[]>(data.size());
+    for (final T entity : data) {
+      entries.add(new Object[] { getSkipToken(entitySet, entity), entity });
+    }
+
+    Collections.sort(entries, new Comparator<Object[]>() {
       @Override
-      public int compare(final T entity1, final T entity2) {
-        try {
-          return getSkipToken(entitySet, entity1).compareTo(getSkipToken(entitySet, entity2));
-        } catch (final ODataException e) {
-          return 0;
-        }
+      public int compare(final Object[] entry1, final Object[] entry2) {
+        return ((String) entry1[0]).compareTo((String) entry2[0]);
       }
     });
+
+    List<String> skipTokens = new ArrayList<String>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      skipTokens.add((String) entries.get(i)[0]);
+      @SuppressWarnings("unchecked")
+      final T entity = (T) entries.get(i)[1];
+      data.set(i, entity);
+    }
+    return skipTokens;
+  }
+
+  /**
+   * Determines the position of the entity with the given skip token in data sorted by skip tokens.
+   * @return the position or the size of the data if there is no such entity
+   */
+  private int seekSkipToken(final List<String> sortedSkipTokens, final String skipToken) {
+    int index = Collections.binarySearch(sortedSkipTokens, skipToken);
+    if (index < 0) {
+      return sortedSkipTokens.size();
+    }
+    while (index > 0 && sortedSkipTokens.get(index - 1).equals(skipToken)) {
+      index--;
+    }
+    return index;
+  }
+
+  /**
+   * Determines the position of the first entity with the given skip token.
+   * @return the position or the size of the data if there is no such entity
+   */
+  private <T> int seekSkipToken(final EdmEntitySet entitySet, final List<T> data, final String skipToken)
+      throws ODataException {
+    for (int index = 0; index < data.size(); index++) {
+      if (getSkipToken(entitySet, data.get(index)).equals(skipToken)) {
+        return index;
+      }
+    }
+    return data.size();
   }
 
   private <T> boolean appliesFilter(final EdmEntitySet entitySet, final T data, final FilterExpression filter)
@@ -1635,13 +1709,10 @@ public class ListsProcessor extends ODataSingleProcessor {
   public ODataResponse executeBatch(final BatchHandler handler, final String contentType, final InputStream content)
       throws ODataException {
     ODataResponse batchResponse;
-    List<BatchResponsePart> batchResponseParts = new ArrayList<BatchResponsePart>();
     PathInfo pathInfo = getContext().getPathInfo();
     EntityProviderBatchProperties batchProperties = EntityProviderBatchProperties.init().pathInfo(pathInfo).build();
     List<BatchRequestPart> batchParts = EntityProvider.parseBatchRequest(contentType, content, batchProperties);
-    for (BatchRequestPart batchPart : batchParts) {
-      batchResponseParts.add(handler.handleBatchPart(batchPart));
-    }
+    List<BatchResponsePart> batchResponseParts = handler.handleBatchParts(batchParts);
     batchResponse = EntityProvider.writeBatchResponse(batchResponseParts);
     return batchResponse;
   }